@@ -0,0 +1,109 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atlauncher.thread.TaskPool;
+import com.atlauncher.utils.ArchiveUtils;
+import com.atlauncher.utils.FileUtils;
+
+/**
+ * Zipping up a world as done when backing up an instance, which is mostly region files that are already compressed
+ * along with textures and sounds which are stored as is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BackupBenchmark {
+    /**
+     * The compression level as set in the backup settings, from none up to the most.
+     */
+    @Param({ "0", "1", "6", "9" })
+    public int compressionLevel;
+
+    /**
+     * How many threads compress entries.
+     */
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    /**
+     * How many region files are in the world, each 1 to 2MB.
+     */
+    @Param({ "16" })
+    public int regions;
+
+    private Path workingDir;
+    private Path instance;
+    private Path output;
+    private TaskPool pool;
+
+    @Setup
+    public void setUp() throws IOException {
+        workingDir = Fixtures.setUpLauncher();
+
+        instance = workingDir.resolve("instance");
+        Fixtures.writeWorld(instance.resolve("saves/World"), regions, 1);
+
+        pool = new TaskPool("Benchmark", threads);
+    }
+
+    /**
+     * Each invocation writes to a new place, so the time to overwrite the last output isn't included.
+     */
+    @Setup(Level.Invocation)
+    public void setUpInvocation() throws IOException {
+        output = Files.createTempDirectory(workingDir, "output");
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() {
+        FileUtils.deleteDirectory(output);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileUtils.deleteDirectory(workingDir);
+    }
+
+    @Benchmark
+    public boolean createZip() {
+        return ArchiveUtils.createZip(instance, output.resolve("backup.zip"), name -> name, compressionLevel, pool);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.benchmark;
+
+/**
+ * What to generate and how the mock CDN behaves, read from command line arguments such as "--assets 4000". Sizes are
+ * in bytes and are the average size, with each file being between half and one and a half times it.
+ */
+public final class BenchmarkConfig {
+    public int assets = 2000;
+    public int assetSize = 8 * 1024;
+    public int libraries = 50;
+    public int librarySize = 256 * 1024;
+    public int mods = 10;
+    public int modSize = 4 * 1024 * 1024;
+    public long latencyMillis = 20;
+    public long bandwidthKbps = 0;
+    public int connections = 8;
+    public long seed = 1;
+    public transient String output = null;
+
+    public static BenchmarkConfig parse(String[] args) {
+        BenchmarkConfig config = new BenchmarkConfig();
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("No value given for " + args[i]);
+            }
+
+            String value = args[i + 1];
+
+            switch (args[i]) {
+                case "--assets":
+                    config.assets = Integer.parseInt(value);
+                    break;
+                case "--asset-size":
+                    config.assetSize = Integer.parseInt(value);
+                    break;
+                case "--libraries":
+                    config.libraries = Integer.parseInt(value);
+                    break;
+                case "--library-size":
+                    config.librarySize = Integer.parseInt(value);
+                    break;
+                case "--mods":
+                    config.mods = Integer.parseInt(value);
+                    break;
+                case "--mod-size":
+                    config.modSize = Integer.parseInt(value);
+                    break;
+                case "--latency":
+                    config.latencyMillis = Long.parseLong(value);
+                    break;
+                case "--bandwidth":
+                    config.bandwidthKbps = Long.parseLong(value);
+                    break;
+                case "--connections":
+                    config.connections = Integer.parseInt(value);
+                    break;
+                case "--seed":
+                    config.seed = Long.parseLong(value);
+                    break;
+                case "--output":
+                    config.output = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + args[i]);
+            }
+        }
+
+        return config;
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.benchmark;
+
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.atlauncher.App;
+import com.atlauncher.Gsons;
+import com.atlauncher.constants.Constants;
+import com.atlauncher.data.Pack;
+import com.atlauncher.data.PackVersion;
+import com.atlauncher.data.Settings;
+import com.atlauncher.data.json.DownloadType;
+import com.atlauncher.data.json.Mod;
+import com.atlauncher.data.json.ModType;
+import com.atlauncher.data.json.Version;
+import com.atlauncher.data.minecraft.MinecraftVersion;
+import com.atlauncher.network.Download;
+import com.atlauncher.utils.FileUtils;
+import com.atlauncher.workers.InstanceInstaller;
+
+/**
+ * Installs a synthetic Minecraft version and modpack from a local mock CDN, through the instance installer's own
+ * resource, library and mod download stages, and reports how long each stage took as JSON.
+ *
+ * Run it with "gradlew benchmarkDownloads", passing arguments with -PbenchmarkArgs="--assets 4000 --latency 50". See
+ * {@link BenchmarkConfig} for the arguments.
+ */
+public final class DownloadBenchmark {
+    private final BenchmarkConfig config;
+    private final MockCdn cdn;
+    private final List<StageResult> stages = new ArrayList<>();
+
+    private DownloadBenchmark(BenchmarkConfig config, MockCdn cdn) {
+        this.config = config;
+        this.cdn = cdn;
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkConfig config = BenchmarkConfig.parse(args);
+
+        // everything is downloaded into a fresh directory, so every run starts from nothing
+        Path workingDir = Files.createTempDirectory("atlauncher-benchmark");
+        App.workingDir = workingDir;
+        App.settings = new Settings();
+        App.settings.concurrentConnections = config.connections;
+
+        BenchmarkResult result;
+
+        try (MockCdn cdn = new MockCdn(config.latencyMillis, config.bandwidthKbps * 1024)) {
+            // the installer always gets assets from Mojang's resources server
+            Constants.MINECRAFT_RESOURCES = cdn.getUrl("assets");
+
+            result = new DownloadBenchmark(config, cdn).run();
+        } finally {
+            FileUtils.deleteDirectory(workingDir);
+        }
+
+        String json = Gsons.DEFAULT.toJson(result);
+        System.out.println(json);
+
+        if (config.output != null) {
+            Path output = Paths.get(config.output);
+            Files.createDirectories(output.toAbsolutePath().getParent());
+
+            try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                writer.write(json);
+            }
+        }
+
+        // the shared clients keep non daemon threads around, so don't wait for them
+        System.exit(result.failedFiles == 0 ? 0 : 1);
+    }
+
+    private BenchmarkResult run() throws Exception {
+        SyntheticInstall install = SyntheticInstall.generate(cdn, config);
+        long start = System.nanoTime();
+
+        MinecraftVersion version = stage("version", 1,
+                () -> Download.build().setUrl(install.versionUrl).asClass(MinecraftVersion.class));
+
+        SyntheticInstall.Modpack modpack = stage("modpack", 1,
+                () -> Download.build().setUrl(install.modpackUrl).asClass(SyntheticInstall.Modpack.class));
+
+        BenchmarkInstaller installer = new BenchmarkInstaller(version, modpack);
+
+        // the asset index is downloaded as part of the resources stage, as it is when installing
+        stage("assets", config.assets + 1, () -> installer.downloadResources());
+        stage("libraries", version.libraries.size(), () -> installer.downloadLibraries());
+        stage("mods", modpack.files.size(), () -> installer.downloadMods());
+
+        // installing again over the finished install should find every file is already there and download nothing
+        long requestsBeforeVerify = cdn.getRequests();
+        stage("verify", config.assets + 1 + version.libraries.size() + modpack.files.size(), () -> {
+            installer.downloadResources();
+            installer.downloadLibraries();
+            installer.downloadMods();
+        });
+
+        BenchmarkResult result = new BenchmarkResult();
+        result.timestamp = Instant.now().toString();
+        result.config = config;
+        result.stages = stages;
+        result.totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        result.totalRequests = cdn.getRequests();
+        result.totalBytes = cdn.getBytesServed();
+        result.throughputMBps = throughput(result.totalBytes, result.totalMillis);
+        result.failedFiles = (int) (cdn.getRequests() - requestsBeforeVerify);
+
+        return result;
+    }
+
+    private <T> T stage(String name, int files, Stage<T> stage) throws Exception {
+        long requests = cdn.getRequests();
+        long bytes = cdn.getBytesServed();
+        long start = System.nanoTime();
+
+        T value = stage.run();
+
+        StageResult result = new StageResult();
+        result.name = name;
+        result.files = files;
+        result.millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        result.requests = cdn.getRequests() - requests;
+        result.bytes = cdn.getBytesServed() - bytes;
+        result.throughputMBps = throughput(result.bytes, result.millis);
+        stages.add(result);
+
+        return value;
+    }
+
+    private void stage(String name, int files, InstallerStage stage) throws Exception {
+        stage(name, files, () -> {
+            stage.run();
+            return null;
+        });
+    }
+
+    private static double throughput(long bytes, long millis) {
+        return millis == 0 ? 0 : bytes / 1024.0 / 1024.0 / (millis / 1000.0);
+    }
+
+    @FunctionalInterface
+    private interface Stage<T> {
+        T run() throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface InstallerStage {
+        void run() throws Exception;
+    }
+
+    /**
+     * An instance installer for the synthetic version and modpack, so the benchmark can run its download stages
+     * without the pack json, loaders and everything else a real install goes through first.
+     */
+    private static final class BenchmarkInstaller extends InstanceInstaller {
+        public BenchmarkInstaller(MinecraftVersion minecraftVersion, SyntheticInstall.Modpack modpack) {
+            super("Benchmark", getPack(), getPackVersion(), false, false, false, false, null, false, null, null, null,
+                    null, null, null, null, null, null, null);
+
+            this.headless = true;
+            this.minecraftVersion = minecraftVersion;
+            this.packVersion = new Version();
+            this.selectedMods = modpack.files.stream().map(BenchmarkInstaller::toMod).collect(Collectors.toList());
+        }
+
+        @Override
+        protected void downloadResources() throws Exception {
+            super.downloadResources();
+            checkNotCancelled();
+        }
+
+        @Override
+        protected void downloadLibraries() {
+            super.downloadLibraries();
+            checkNotCancelled();
+        }
+
+        @Override
+        protected void downloadMods() throws Exception {
+            super.downloadMods();
+            checkNotCancelled();
+        }
+
+        /**
+         * Downloads cancel the install when a file fails to download, which would otherwise go unnoticed here.
+         */
+        private void checkNotCancelled() {
+            if (isCancelled()) {
+                throw new IllegalStateException("A download failed and cancelled the install");
+            }
+        }
+
+        private static Pack getPack() {
+            Pack pack = new Pack();
+            pack.name = "Benchmark";
+
+            return pack;
+        }
+
+        private static PackVersion getPackVersion() {
+            PackVersion packVersion = new PackVersion();
+            packVersion.version = "1.0";
+
+            return packVersion;
+        }
+
+        private static Mod toMod(SyntheticInstall.ModpackFile file) {
+            Mod mod = new Mod();
+            mod.name = file.name;
+            mod.file = file.name;
+            mod.url = file.url;
+            mod.sha1 = file.sha1;
+            mod.filesize = (int) file.size;
+            mod.download = DownloadType.direct;
+            mod.type = ModType.mods;
+
+            return mod;
+        }
+    }
+
+    public static final class BenchmarkResult {
+        public String timestamp;
+        public BenchmarkConfig config;
+        public List<StageResult> stages;
+        public long totalMillis;
+        public long totalRequests;
+        public long totalBytes;
+        public double throughputMBps;
+
+        /**
+         * How many files had to be downloaded again when installing over the finished install, which should be none.
+         */
+        public int failedFiles;
+    }
+
+    public static final class StageResult {
+        public String name;
+        public int files;
+        public long millis;
+        public long requests;
+        public long bytes;
+        public double throughputMBps;
+    }
+}
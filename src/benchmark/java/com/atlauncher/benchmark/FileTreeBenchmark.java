@@ -0,0 +1,180 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.benchmark;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atlauncher.utils.FileUtils;
+import com.atlauncher.utils.walker.FileTree;
+
+/**
+ * Listing, deleting and copying a large instance with {@link FileTree}, compared with doing the same on one thread with
+ * {@link Files#walkFileTree}, as was done before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileTreeBenchmark {
+    @Param({ "50000" })
+    public int files;
+
+    private Path workingDir;
+    private Path instance;
+
+    @Setup
+    public void setUp() throws IOException {
+        workingDir = Fixtures.setUpLauncher();
+
+        instance = workingDir.resolve("instance");
+        Fixtures.writeInstance(instance, files, 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileUtils.deleteDirectory(workingDir);
+    }
+
+    /**
+     * A fresh copy of the instance to delete for each invocation. The copy is hard linked so it's quick to make, which
+     * doesn't change the work needed to delete it.
+     */
+    @State(Scope.Thread)
+    public static class InstanceCopy {
+        private Path dir;
+
+        @Setup(Level.Invocation)
+        public void setUp(FileTreeBenchmark benchmark) throws IOException {
+            dir = Files.createTempDirectory(benchmark.workingDir, "copy");
+            FileTree.copy(benchmark.instance, dir, true);
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+
+    /**
+     * An empty directory to copy the instance into for each invocation.
+     */
+    @State(Scope.Thread)
+    public static class Output {
+        private Path dir;
+
+        @Setup(Level.Invocation)
+        public void setUp(FileTreeBenchmark benchmark) throws IOException {
+            dir = Files.createTempDirectory(benchmark.workingDir, "output");
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+
+    @Benchmark
+    public List<Path> listFiles() throws IOException {
+        return FileTree.listFiles(instance, directory -> true, false);
+    }
+
+    @Benchmark
+    public List<Path> listFilesWithWalkFileTree() throws IOException {
+        List<Path> found = new ArrayList<>();
+
+        Files.walkFileTree(instance, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                found.add(file);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        return found;
+    }
+
+    @Benchmark
+    public void delete(InstanceCopy copy) throws IOException {
+        FileTree.delete(copy.dir);
+    }
+
+    @Benchmark
+    public void deleteWithWalkFileTree(InstanceCopy copy) throws IOException {
+        Files.walkFileTree(copy.dir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @Benchmark
+    public void copy(Output output) throws IOException {
+        FileTree.copy(instance, output.dir, false);
+    }
+
+    @Benchmark
+    public void copyWithWalkFileTree(Output output) throws IOException {
+        Files.walkFileTree(instance, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(output.dir.resolve(instance.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, output.dir.resolve(instance.relativize(file).toString()),
+                        StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.atlauncher.App;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.Settings;
+import com.atlauncher.data.minecraft.AssetIndex;
+import com.atlauncher.data.minecraft.AssetObject;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Generates realistic inputs for the benchmarks. Everything is random but comes from the seed given, so the same
+ * inputs are generated on every run.
+ */
+public final class Fixtures {
+    private static final String[] CLASS_TOKENS = { "java/lang/Object", "java/lang/String", "net/minecraft/world/item",
+            "Lnet/minecraft/core/BlockPos;", "<init>", "()V", "Code", "LineNumberTable", "LocalVariableTable", "this",
+            "getValue", "setValue", "Ljava/util/List;", "SourceFile" };
+
+    private static final String[] LOG_TEMPLATES = {
+            "[12:%02d:%02d] [Render thread/INFO]: Loaded %d recipes",
+            "[12:%02d:%02d] [Worker-Main-%d/INFO]: Found unifont_all_no_pua-15.0.06.hex, loading",
+            "[12:%02d:%02d] [Client thread/INFO]: Setting user: Player%d",
+            "[12:%02d:%02d] [Server thread/WARN]: Can't keep up! Is the server overloaded? Running %dms behind",
+            "[12:%02d:%02d] [main/INFO]: Loading %d mods",
+            "[12:%02d:%02d] [main/WARN]: Mod %d uses a deprecated API",
+            "[12:%02d:%02d] [Render thread/ERROR]: Failed to load texture %d",
+            "java.lang.NullPointerException: Cannot invoke \"Object.toString()\" because \"value\" is null %d%d%d",
+            "\tat com.example.mod.Handler.onTick(Handler.java:%d) ~[mod-%d.jar:%d]" };
+
+    /**
+     * Sets up the launcher enough for the code being benchmarked to run, with a temporary working directory.
+     */
+    public static Path setUpLauncher() throws IOException {
+        Path workingDir = Files.createTempDirectory("atlauncher-benchmark");
+        App.workingDir = workingDir;
+        App.settings = new Settings();
+
+        return workingDir;
+    }
+
+    /**
+     * Writes a jar laid out like a typical mod, with a mod metadata file, mostly small class files which compress well,
+     * and some textures which don't.
+     */
+    public static void writeModJar(Path jar, int entries, long seed) throws IOException {
+        Random random = new Random(seed);
+
+        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(jar))) {
+            writeEntry(zos, "META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n".getBytes(StandardCharsets.UTF_8));
+            writeEntry(zos, "fabric.mod.json", String.format(
+                    "{\"schemaVersion\":1,\"id\":\"benchmark%d\",\"version\":\"1.0.0\",\"name\":\"Benchmark Mod\"}",
+                    seed).getBytes(StandardCharsets.UTF_8));
+
+            for (int i = 0; i < entries; i++) {
+                if (i % 10 == 9) {
+                    byte[] texture = new byte[2048 + random.nextInt(14 * 1024)];
+                    random.nextBytes(texture);
+                    writeEntry(zos, String.format("assets/benchmark/textures/texture_%d.png", i), texture);
+                } else {
+                    writeEntry(zos, String.format("com/example/benchmark/Class%d.class", i), classContent(random));
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes random bytes to the given file, for benchmarks which only care about its size.
+     */
+    public static void writeRandomFile(Path file, int size, long seed) throws IOException {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(content);
+        }
+    }
+
+    /**
+     * Writes an instance shaped like a large modpack, with the given number of small files spread over nested folders
+     * such as configs, scripts and saves.
+     */
+    public static void writeInstance(Path root, int files, long seed) throws IOException {
+        Random random = new Random(seed);
+        String[] folders = { "config", "scripts", "saves/world/data", "resourcepacks", "mods" };
+
+        for (int i = 0; i < files; i++) {
+            Path directory = root.resolve(folders[i % folders.length])
+                    .resolve(String.format("group_%d/folder_%d", i / 1000, (i / 50) % 20));
+            Files.createDirectories(directory);
+
+            byte[] content = new byte[256 + random.nextInt(4 * 1024)];
+            random.nextBytes(content);
+            Files.write(directory.resolve(String.format("file_%d.dat", i)), content);
+        }
+    }
+
+    /**
+     * Writes a world folder like a singleplayer save, with region files of compressed chunks padded out to 4KB
+     * sectors, a level.dat, player data and some textures and sounds which are stored in zips rather than compressed.
+     */
+    public static void writeWorld(Path world, int regions, long seed) throws IOException {
+        Random random = new Random(seed);
+
+        Files.createDirectories(world.resolve("region"));
+        for (int i = 0; i < regions; i++) {
+            Files.write(world.resolve(String.format("region/r.%d.%d.mca", i % 8 - 4, i / 8 - 4)),
+                    regionContent(random));
+        }
+
+        Files.write(world.resolve("level.dat"), randomBytes(random, 2 * 1024));
+
+        Files.createDirectories(world.resolve("playerdata"));
+        for (int i = 0; i < 4; i++) {
+            UUID player = new UUID(random.nextLong(), random.nextLong());
+            Files.write(world.resolve("playerdata/" + player + ".dat"),
+                    randomBytes(random, 1024 + random.nextInt(4 * 1024)));
+        }
+
+        Files.write(world.resolve("icon.png"), randomBytes(random, 8 * 1024));
+
+        Files.createDirectories(world.resolve("resources/textures"));
+        Files.createDirectories(world.resolve("resources/sounds"));
+        for (int i = 0; i < 20; i++) {
+            Files.write(world.resolve(String.format("resources/textures/texture_%d.png", i)),
+                    randomBytes(random, 2048 + random.nextInt(14 * 1024)));
+            Files.write(world.resolve(String.format("resources/sounds/sound_%d.ogg", i)),
+                    randomBytes(random, 16 * 1024 + random.nextInt(64 * 1024)));
+        }
+    }
+
+    public static String assetIndexJson(int objects, long seed) {
+        Random random = new Random(seed);
+
+        AssetIndex assetIndex = new AssetIndex();
+        assetIndex.objects = new HashMap<>();
+
+        for (int i = 0; i < objects; i++) {
+            AssetObject object = new AssetObject();
+            object.hash = randomHash(random);
+            object.size = 1024 + random.nextInt(64 * 1024);
+
+            assetIndex.objects.put(String.format("minecraft/sounds/benchmark/sound_%d.ogg", i), object);
+        }
+
+        return Gsons.MINECRAFT.toJson(assetIndex);
+    }
+
+    /**
+     * Generates a version json shaped like Mojang's, with arguments, rules and natives so the custom type adapters are
+     * used the same way they are for real versions.
+     */
+    public static String versionJson(int libraries, long seed) {
+        Random random = new Random(seed);
+
+        JsonObject version = new JsonObject();
+        version.addProperty("id", "benchmark");
+        version.addProperty("type", "release");
+        version.addProperty("mainClass", "net.minecraft.client.main.Main");
+        version.addProperty("assets", "benchmark");
+        version.addProperty("complianceLevel", 1);
+        version.addProperty("releaseTime", "2022-08-05T11:57:05+00:00");
+        version.addProperty("time", "2022-08-05T11:57:05+00:00");
+
+        JsonObject javaVersion = new JsonObject();
+        javaVersion.addProperty("component", "java-runtime-gamma");
+        javaVersion.addProperty("majorVersion", 17);
+        version.add("javaVersion", javaVersion);
+
+        JsonArray game = new JsonArray();
+        for (String argument : new String[] { "--username", "${auth_player_name}", "--version", "${version_name}",
+                "--gameDir", "${game_directory}", "--assetsDir", "${assets_root}", "--accessToken",
+                "${auth_access_token}" }) {
+            game.add(argument);
+        }
+        JsonObject demo = new JsonObject();
+        demo.add("rules", rules("allow", null));
+        demo.add("value", new JsonArray());
+        demo.getAsJsonArray("value").add("--demo");
+        game.add(demo);
+
+        JsonArray jvm = new JsonArray();
+        JsonObject macArgument = new JsonObject();
+        macArgument.add("rules", rules("allow", "osx"));
+        macArgument.add("value", new JsonArray());
+        macArgument.getAsJsonArray("value").add("-XstartOnFirstThread");
+        jvm.add(macArgument);
+        jvm.add("-Djava.library.path=${natives_directory}");
+        jvm.add("-cp");
+        jvm.add("${classpath}");
+
+        JsonObject arguments = new JsonObject();
+        arguments.add("game", game);
+        arguments.add("jvm", jvm);
+        version.add("arguments", arguments);
+
+        JsonObject assetIndex = download(random, null, "https://piston-meta.mojang.com/v1/packages/benchmark.json");
+        assetIndex.addProperty("id", "benchmark");
+        assetIndex.addProperty("totalSize", 400 * 1024 * 1024);
+        version.add("assetIndex", assetIndex);
+
+        JsonObject downloads = new JsonObject();
+        downloads.add("client", download(random, null, "https://piston-data.mojang.com/v1/objects/client.jar"));
+        version.add("downloads", downloads);
+
+        JsonArray libraryArray = new JsonArray();
+        for (int i = 0; i < libraries; i++) {
+            String path = String.format("com/example/library-%d/1.0/library-%d-1.0", i, i);
+
+            JsonObject library = new JsonObject();
+            library.addProperty("name", String.format("com.example:library-%d:1.0", i));
+
+            JsonObject libraryDownloads = new JsonObject();
+            libraryDownloads.add("artifact",
+                    download(random, path + ".jar", "https://libraries.minecraft.net/" + path + ".jar"));
+
+            if (i % 8 == 7) {
+                JsonObject natives = new JsonObject();
+                natives.addProperty("linux", "natives-linux");
+                natives.addProperty("windows", "natives-windows");
+                natives.addProperty("osx", "natives-macos");
+                library.add("natives", natives);
+
+                JsonObject classifiers = new JsonObject();
+                for (String classifier : new String[] { "natives-linux", "natives-windows", "natives-macos" }) {
+                    String nativePath = path + "-" + classifier + ".jar";
+                    classifiers.add(classifier,
+                            download(random, nativePath, "https://libraries.minecraft.net/" + nativePath));
+                }
+                libraryDownloads.add("classifiers", classifiers);
+            } else if (i % 4 == 3) {
+                library.add("rules", rules("allow", "linux"));
+            }
+
+            library.add("downloads", libraryDownloads);
+            libraryArray.add(library);
+        }
+        version.add("libraries", libraryArray);
+
+        return Gsons.MINECRAFT.toJson(version);
+    }
+
+    /**
+     * Generates lines as a Minecraft process would print them, in the old and new log formats along with stack traces.
+     */
+    public static String[] logLines(int count, long seed) {
+        Random random = new Random(seed);
+        String[] lines = new String[count];
+
+        for (int i = 0; i < count; i++) {
+            lines[i] = String.format(LOG_TEMPLATES[random.nextInt(LOG_TEMPLATES.length)], random.nextInt(60),
+                    random.nextInt(60), random.nextInt(1000));
+        }
+
+        return lines;
+    }
+
+    private static byte[] classContent(Random random) {
+        StringBuilder content = new StringBuilder("\u00ca\u00fe\u00ba\u00be");
+        int length = 1024 + random.nextInt(7 * 1024);
+
+        while (content.length() < length) {
+            content.append(CLASS_TOKENS[random.nextInt(CLASS_TOKENS.length)]).append((char) random.nextInt(32));
+        }
+
+        return content.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * A region file has an 8KB header of chunk locations and timestamps, then each chunk already zlib compressed and
+     * padded with zeros to a whole number of sectors.
+     */
+    private static byte[] regionContent(Random random) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        content.write(randomBytes(random, 8 * 1024), 0, 8 * 1024);
+
+        for (int i = 0; i < 256; i++) {
+            int length = 1024 + random.nextInt(6 * 1024);
+            content.write(randomBytes(random, length), 0, length);
+
+            int padding = 4096 - length % 4096;
+            content.write(new byte[padding], 0, padding);
+        }
+
+        return content.toByteArray();
+    }
+
+    private static byte[] randomBytes(Random random, int size) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static void writeEntry(ZipOutputStream zos, String name, byte[] content) throws IOException {
+        zos.putNextEntry(new ZipEntry(name));
+        zos.write(content);
+        zos.closeEntry();
+    }
+
+    private static JsonArray rules(String action, String os) {
+        JsonObject rule = new JsonObject();
+        rule.addProperty("action", action);
+
+        if (os == null) {
+            JsonObject features = new JsonObject();
+            features.addProperty("is_demo_user", true);
+            rule.add("features", features);
+        } else {
+            JsonObject osRule = new JsonObject();
+            osRule.addProperty("name", os);
+            rule.add("os", osRule);
+        }
+
+        JsonArray rules = new JsonArray();
+        rules.add(rule);
+        return rules;
+    }
+
+    private static JsonObject download(Random random, String path, String url) {
+        JsonObject download = new JsonObject();
+
+        if (path != null) {
+            download.addProperty("path", path);
+        }
+
+        download.addProperty("sha1", randomHash(random));
+        download.addProperty("size", 1024 + random.nextInt(1024 * 1024));
+        download.addProperty("url", url);
+        return download;
+    }
+
+    private static String randomHash(Random random) {
+        StringBuilder hash = new StringBuilder(40);
+
+        for (int i = 0; i < 40; i++) {
+            hash.append(Character.forDigit(random.nextInt(16), 16));
+        }
+
+        return hash.toString();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atlauncher.utils.FileUtils;
+import com.atlauncher.utils.Hashing;
+import com.google.common.hash.HashCode;
+
+/**
+ * Hashing mod jars, as done when checking downloads and looking mods up on CurseForge and Modrinth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HashingBenchmark {
+    /**
+     * How many files are in the mod jar, from a small library mod up to a large content mod.
+     */
+    @Param({ "100", "2000" })
+    public int entries;
+
+    private Path workingDir;
+    private Path jar;
+
+    @Setup
+    public void setUp() throws IOException {
+        workingDir = Fixtures.setUpLauncher();
+        jar = workingDir.resolve("mod.jar");
+        Fixtures.writeModJar(jar, entries, 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileUtils.deleteDirectory(workingDir);
+    }
+
+    @Benchmark
+    public long murmur() throws IOException {
+        return Hashing.murmur(jar);
+    }
+
+    @Benchmark
+    public HashCode sha1() {
+        return Hashing.sha1(jar);
+    }
+}
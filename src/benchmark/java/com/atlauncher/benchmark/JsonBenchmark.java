@@ -0,0 +1,119 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.minecraft.AssetIndex;
+import com.atlauncher.data.minecraft.MinecraftVersion;
+import com.atlauncher.data.minecraft.MojangAssetIndex;
+import com.atlauncher.managers.SnapshotManager;
+import com.atlauncher.network.Download;
+import com.atlauncher.utils.FileUtils;
+import com.atlauncher.utils.Hashing;
+
+/**
+ * Reading version and asset index json, as done before every install and launch, along with reading an asset index from
+ * its snapshot instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonBenchmark {
+    /**
+     * How many objects are in the asset index. Recent versions of Minecraft have around 4000.
+     */
+    @Param({ "4000" })
+    public int assets;
+
+    /**
+     * How many libraries are in the version. Recent versions of Minecraft have around 60, with mod loaders adding more.
+     */
+    @Param({ "60" })
+    public int libraries;
+
+    private Path workingDir;
+    private String versionJson;
+    private String assetIndexJson;
+    private MojangAssetIndex mojangAssetIndex;
+    private Path assetIndexPath;
+
+    @Setup
+    public void setUp() throws IOException {
+        workingDir = Fixtures.setUpLauncher();
+
+        versionJson = Fixtures.versionJson(libraries, 1);
+        assetIndexJson = Fixtures.assetIndexJson(assets, 1);
+
+        assetIndexPath = FileSystem.RESOURCES_INDEXES.resolve("benchmark.json");
+        Files.createDirectories(assetIndexPath.getParent());
+        Files.write(assetIndexPath, assetIndexJson.getBytes(StandardCharsets.UTF_8));
+
+        mojangAssetIndex = new MojangAssetIndex();
+        mojangAssetIndex.id = "benchmark";
+        mojangAssetIndex.sha1 = Hashing.sha1(assetIndexPath).toString();
+        mojangAssetIndex.size = Files.size(assetIndexPath);
+
+        // the first read parses the json and makes the snapshot the benchmark reads
+        readAssetIndexSnapshot();
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileUtils.deleteDirectory(workingDir);
+    }
+
+    @Benchmark
+    public MinecraftVersion parseVersion() {
+        return Gsons.MINECRAFT.fromJson(versionJson, MinecraftVersion.class);
+    }
+
+    @Benchmark
+    public AssetIndex parseAssetIndex() {
+        return Gsons.MINECRAFT.fromJson(assetIndexJson, AssetIndex.class);
+    }
+
+    @Benchmark
+    public AssetIndex readAssetIndexSnapshot() {
+        return SnapshotManager.getAssetIndex(mojangAssetIndex, Download.build().setUrl("http://127.0.0.1/")
+                .hash(mojangAssetIndex.sha1).size(mojangAssetIndex.size).downloadTo(assetIndexPath)
+                .rememberVerified());
+    }
+}
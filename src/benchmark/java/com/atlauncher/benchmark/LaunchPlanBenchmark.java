@@ -0,0 +1,109 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atlauncher.Gsons;
+import com.atlauncher.data.Instance;
+import com.atlauncher.data.InstanceLauncher;
+import com.atlauncher.data.minecraft.MinecraftVersion;
+import com.atlauncher.managers.LaunchPlanManager;
+import com.atlauncher.mclauncher.LaunchPlan;
+import com.atlauncher.utils.FileUtils;
+
+/**
+ * Getting the launch plan for an instance with a large classpath, as done on every launch, when it's already cached
+ * compared with building it from scratch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LaunchPlanBenchmark {
+    /**
+     * How many libraries are on the classpath, as in a large modded instance.
+     */
+    @Param({ "300" })
+    public int libraries;
+
+    private Path workingDir;
+    private Instance instance;
+
+    @Setup
+    public void setUp() throws IOException {
+        workingDir = Fixtures.setUpLauncher();
+
+        instance = new Instance(Gsons.MINECRAFT.fromJson(Fixtures.versionJson(libraries, 1), MinecraftVersion.class));
+        instance.launcher = new InstanceLauncher();
+        instance.launcher.name = "Benchmark";
+        instance.launcher.javaPath = System.getProperty("java.home");
+        instance.ROOT = workingDir.resolve("instances/Benchmark");
+        Files.createDirectories(instance.ROOT.resolve("bin"));
+        Files.createDirectories(instance.ROOT.resolve("jarmods"));
+
+        // the first launch builds the plan which the cached benchmark then reuses
+        LaunchPlanManager.getLaunchPlan(instance);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileUtils.deleteDirectory(workingDir);
+    }
+
+    @Benchmark
+    public LaunchPlan cachedPlan() {
+        return LaunchPlanManager.getLaunchPlan(instance);
+    }
+
+    /**
+     * Builds the plan and saves it to disk, as the first launch after an instance changes does.
+     */
+    @Benchmark
+    public LaunchPlan coldPlan() {
+        LaunchPlanManager.invalidate(instance);
+
+        return LaunchPlanManager.getLaunchPlan(instance);
+    }
+
+    /**
+     * Builds the plan without caching it, as every launch did before plans were cached.
+     */
+    @Benchmark
+    public LaunchPlan buildPlan() {
+        return LaunchPlan.build(instance, null);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A local stand in for a CDN, serving files from memory with a set latency before each response and a set bandwidth for
+ * each connection, so results don't depend on the real internet.
+ */
+public final class MockCdn implements AutoCloseable {
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    private final long latencyMillis;
+    private final long bytesPerSecond;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    /**
+     * @param latencyMillis  how long to wait before responding to each request
+     * @param bytesPerSecond how fast each response is sent, or 0 for as fast as possible
+     */
+    public MockCdn(long latencyMillis, long bytesPerSecond) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.bytesPerSecond = bytesPerSecond;
+
+        // without this the headers and body go out in separate packets held up by Nagle's algorithm, adding around
+        // 40ms to every small response that a real CDN wouldn't have
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String add(String path, byte[] content) {
+        files.put(path, content);
+
+        return getUrl(path);
+    }
+
+    public String getUrl(String path) {
+        return String.format("http://127.0.0.1:%d/%s", server.getAddress().getPort(), path);
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getBytesServed() {
+        return bytesServed.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+
+            byte[] content = files.get(exchange.getRequestURI().getPath().substring(1));
+
+            if (content == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+            exchange.sendResponseHeaders(200, content.length);
+
+            long start = System.nanoTime();
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int offset = 0; offset < content.length; offset += CHUNK_SIZE) {
+                    int length = Math.min(CHUNK_SIZE, content.length - offset);
+                    out.write(content, offset, length);
+                    bytesServed.addAndGet(length);
+
+                    if (bytesPerSecond > 0) {
+                        // sleep until the bytes sent so far are within the bandwidth
+                        long dueNanos = TimeUnit.SECONDS.toNanos(offset + length) / bytesPerSecond;
+                        long aheadNanos = dueNanos - (System.nanoTime() - start);
+
+                        if (aheadNanos > 0) {
+                            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import com.atlauncher.Gsons;
+import com.atlauncher.data.minecraft.AssetIndex;
+import com.atlauncher.data.minecraft.AssetObject;
+import com.atlauncher.data.minecraft.Download;
+import com.atlauncher.data.minecraft.Downloads;
+import com.atlauncher.data.minecraft.Library;
+import com.atlauncher.data.minecraft.MinecraftVersion;
+import com.atlauncher.data.minecraft.MojangAssetIndex;
+import com.google.common.hash.HashCode;
+
+/**
+ * Makes up a Minecraft version, with its asset index and libraries, and a modpack, and puts all their files on the
+ * mock CDN. File contents are random but come from the configs seed, so every run generates the same files.
+ */
+public final class SyntheticInstall {
+    public final String versionUrl;
+    public final String modpackUrl;
+
+    private SyntheticInstall(String versionUrl, String modpackUrl) {
+        this.versionUrl = versionUrl;
+        this.modpackUrl = modpackUrl;
+    }
+
+    public static SyntheticInstall generate(MockCdn cdn, BenchmarkConfig config) {
+        Random random = new Random(config.seed);
+
+        AssetIndex assetIndex = new AssetIndex();
+        assetIndex.objects = new HashMap<>();
+
+        for (int i = 0; i < config.assets; i++) {
+            byte[] content = randomContent(random, config.assetSize);
+
+            AssetObject object = new AssetObject();
+            object.hash = sha1(content);
+            object.size = content.length;
+
+            cdn.add("assets/" + object.hash.substring(0, 2) + "/" + object.hash, content);
+            assetIndex.objects.put(String.format("benchmark/asset-%d.bin", i), object);
+        }
+
+        byte[] assetIndexContent = Gsons.MINECRAFT.toJson(assetIndex).getBytes(StandardCharsets.UTF_8);
+
+        MinecraftVersion version = new MinecraftVersion();
+        version.id = "benchmark";
+        version.assets = "benchmark";
+        version.assetIndex = new MojangAssetIndex();
+        version.assetIndex.id = "benchmark";
+        version.assetIndex.sha1 = sha1(assetIndexContent);
+        version.assetIndex.size = assetIndexContent.length;
+        version.assetIndex.url = cdn.add("indexes/benchmark.json", assetIndexContent);
+        version.libraries = new ArrayList<>();
+
+        for (int i = 0; i < config.libraries; i++) {
+            byte[] content = randomContent(random, config.librarySize);
+
+            Library library = new Library();
+            library.name = String.format("com.example:library-%d:1.0", i);
+            library.downloads = new Downloads();
+            library.downloads.artifact = new Download();
+            library.downloads.artifact.path = String.format("com/example/library-%d/1.0/library-%d-1.0.jar", i, i);
+            library.downloads.artifact.sha1 = sha1(content);
+            library.downloads.artifact.size = content.length;
+            library.downloads.artifact.url = cdn.add("libraries/" + library.downloads.artifact.path, content);
+
+            version.libraries.add(library);
+        }
+
+        Modpack modpack = new Modpack();
+        modpack.files = new ArrayList<>();
+
+        for (int i = 0; i < config.mods; i++) {
+            byte[] content = randomContent(random, config.modSize);
+
+            ModpackFile file = new ModpackFile();
+            file.name = String.format("mod-%d.jar", i);
+            file.sha1 = sha1(content);
+            file.size = content.length;
+            file.url = cdn.add("mods/" + file.name, content);
+
+            modpack.files.add(file);
+        }
+
+        byte[] versionContent = Gsons.MINECRAFT.toJson(version).getBytes(StandardCharsets.UTF_8);
+        byte[] modpackContent = Gsons.MINECRAFT.toJson(modpack).getBytes(StandardCharsets.UTF_8);
+
+        return new SyntheticInstall(cdn.add("versions/benchmark.json", versionContent),
+                cdn.add("packs/benchmark.json", modpackContent));
+    }
+
+    private static byte[] randomContent(Random random, int averageSize) {
+        byte[] content = new byte[Math.max(1, averageSize / 2 + random.nextInt(Math.max(1, averageSize)))];
+        random.nextBytes(content);
+
+        return content;
+    }
+
+    private static String sha1(byte[] content) {
+        try {
+            return HashCode.fromBytes(MessageDigest.getInstance("SHA-1").digest(content)).toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has to support SHA-1, so this can't happen
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A bare bones modpack manifest, listing the files to download into the instance.
+     */
+    public static final class Modpack {
+        public List<ModpackFile> files = Collections.emptyList();
+    }
+
+    public static final class ModpackFile {
+        public String name;
+        public String url;
+        public String sha1;
+        public long size;
+    }
+}
@@ -43,8 +43,6 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import javax.swing.BorderFactory;
 import javax.swing.InputMap;
@@ -73,6 +71,7 @@ import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.PackManager;
 import com.atlauncher.network.ErrorReporting;
 import com.atlauncher.themes.ATLauncherLaf;
+import com.atlauncher.thread.TaskPools;
 import com.atlauncher.utils.Java;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
@@ -98,11 +97,6 @@ import oshi.software.os.OperatingSystem;
 public class App {
     public static String[] PASSED_ARGS;
 
-    /**
-     * The taskpool used to quickly add in tasks to do in the background.
-     */
-    public static final ExecutorService TASKPOOL = Executors.newFixedThreadPool(2);
-
     /**
      * The instance of toaster to show popups in the bottom right.
      */
@@ -224,6 +218,14 @@ public class App {
      */
     public static String autoLaunch = null;
 
+    /**
+     * The command to run without showing the launcher, if one of the headless
+     * command line arguments was passed in.
+     * <p/>
+     * --install, --install-server, --update or --export
+     */
+    public static Headless headlessCommand = null;
+
     /**
      * This is the Settings instance which holds all the users settings.
      */
@@ -264,6 +266,10 @@ public class App {
         // Parse all the command line arguments
         parseCommandLineArguments(args);
 
+        if (headlessCommand != null) {
+            System.exit(runHeadless());
+        }
+
         // Initialize the error reporting unless disabled by command line
         if (!disableErrorReporting) {
             ErrorReporting.enable();
@@ -394,6 +400,46 @@ public class App {
         });
     }
 
+    /**
+     * Loads only what's needed to run the headless command, without creating any
+     * Swing components, and returns the exit code to exit with.
+     */
+    private static int runHeadless() {
+        System.setProperty("java.awt.headless", "true");
+
+        if (!disableErrorReporting) {
+            ErrorReporting.enable();
+        }
+
+        try {
+            FileSystem.organise();
+        } catch (IOException e) {
+            LogManager.logStackTrace("Error organising filesystem", e, false);
+        }
+
+        loadSettings();
+
+        try {
+            Language.init();
+            Language.setLanguage(settings.language);
+        } catch (IOException e1) {
+            LogManager.logStackTrace("Error loading language", e1);
+        }
+
+        Java.injectNeededCerts();
+
+        if (allowAllSslCerts) {
+            Network.allowAllSslCerts();
+        }
+
+        LogManager.start();
+
+        launcher = new Launcher();
+        launcher.loadEverythingHeadless();
+
+        return headlessCommand.run();
+    }
+
     public static void ensureDiscordIsInitialized() {
         if (!discordInitialized) {
             try {
@@ -419,7 +465,8 @@ public class App {
         LogManager.info(String.format("JVM Arguments: %s",
                 Gsons.DEFAULT_SLIM.toJson(ManagementFactory.getRuntimeMXBean().getInputArguments())));
 
-        SwingUtilities.invokeLater(
+        // also warms up the Java installs cache, so the Java settings don't need to wait on it
+        TaskPools.CPU.submit("App::logInstalledJavas",
                 () -> Java.getInstalledJavas().forEach(version -> LogManager.debug(Gsons.DEFAULT.toJson(version))));
 
         LogManager.info("Java Version: "
@@ -876,10 +923,12 @@ public class App {
         parser.accepts("proxy-port", "The port of the proxy to use.").withRequiredArg().ofType(Integer.class);
         parser.accepts("config-override", "A JSON string to override the launchers config.").withRequiredArg()
                 .ofType(String.class);
+        Headless.addOptions(parser);
         parser.acceptsAll(Arrays.asList("help", "?"), "Shows help for the arguments for the application.").forHelp();
 
         OptionSet options = parser.parse(args);
         autoLaunch = options.has("launch") ? (String) options.valueOf("launch") : null;
+        headlessCommand = Headless.fromOptions(options);
 
         if (options.has("help")) {
             try {
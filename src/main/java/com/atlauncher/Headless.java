@@ -0,0 +1,323 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher;
+
+import java.beans.PropertyChangeEvent;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Collectors;
+
+import javax.swing.SwingUtilities;
+
+import com.atlauncher.data.Instance;
+import com.atlauncher.data.InstanceExportFormat;
+import com.atlauncher.data.Pack;
+import com.atlauncher.data.PackVersion;
+import com.atlauncher.data.json.Version;
+import com.atlauncher.data.minecraft.loaders.LoaderVersion;
+import com.atlauncher.managers.InstanceManager;
+import com.atlauncher.managers.LogManager;
+import com.atlauncher.managers.PackManager;
+import com.atlauncher.managers.ServerManager;
+import com.atlauncher.workers.InstanceInstaller;
+
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+
+/**
+ * Runs a single install, update, server install or export from the command line without creating any Swing
+ * components, so instances and servers can be provisioned from scripts and CI.
+ *
+ * Progress is written to stdout as one JSON object per line, and the process exits with one of the exit codes below.
+ */
+public class Headless {
+    public static final int EXIT_SUCCESS = 0;
+    public static final int EXIT_FAILED = 1;
+    public static final int EXIT_INVALID_ARGUMENTS = 2;
+    public static final int EXIT_NOT_FOUND = 3;
+
+    private static final List<String> DEFAULT_EXPORT_OVERRIDES = Arrays.asList("config", "mods", "oresources",
+            "resourcepacks", "resources", "scripts");
+
+    private final OptionSet options;
+
+    /**
+     * The original stdout, since once logging starts everything written to System.out also goes into the logs.
+     */
+    private final PrintStream out = System.out;
+
+    private int lastPercent = -1;
+
+    private Headless(OptionSet options) {
+        this.options = options;
+    }
+
+    public static void addOptions(OptionParser parser) {
+        parser.accepts("install", "Installs the given pack without showing the launcher, then exits.")
+                .withRequiredArg().ofType(String.class);
+        parser.accepts("install-server", "Installs a server for the given pack without showing the launcher, then exits.")
+                .withRequiredArg().ofType(String.class);
+        parser.accepts("update",
+                "Updates the given instance to the latest (or given) version of its pack without showing the launcher, then exits.")
+                .withRequiredArg().ofType(String.class);
+        parser.accepts("export", "Exports the given instance without showing the launcher, then exits.")
+                .withRequiredArg().ofType(String.class);
+        parser.accepts("pack-version", "The version of the pack to install or update to. Defaults to the latest.")
+                .withRequiredArg().ofType(String.class);
+        parser.accepts("loader-version", "The loader version to use for packs which allow choosing one.")
+                .withRequiredArg().ofType(String.class);
+        parser.accepts("instance-name", "The name of the instance or server to install to. Defaults to the pack name.")
+                .withRequiredArg().ofType(String.class);
+        parser.accepts("export-format", "The format to export as. Can be \"curseforge\", \"modrinth\" or \"multimc\".")
+                .withRequiredArg().ofType(String.class);
+        parser.accepts("export-path", "The folder to export the instance to.").withRequiredArg().ofType(String.class);
+    }
+
+    /**
+     * Returns the command to run if one of the headless options was given, otherwise null.
+     */
+    public static Headless fromOptions(OptionSet options) {
+        if (options.has("install") || options.has("install-server") || options.has("update")
+                || options.has("export")) {
+            return new Headless(options);
+        }
+
+        return null;
+    }
+
+    public int run() {
+        try {
+            if (options.has("install")) {
+                return install((String) options.valueOf("install"), false);
+            }
+
+            if (options.has("install-server")) {
+                return install((String) options.valueOf("install-server"), true);
+            }
+
+            if (options.has("update")) {
+                return update((String) options.valueOf("update"));
+            }
+
+            return export((String) options.valueOf("export"));
+        } catch (Throwable t) {
+            LogManager.logStackTrace("Error running command", t);
+            return result(EXIT_FAILED, t.getMessage(), null);
+        }
+    }
+
+    private int install(String packName, boolean isServer) {
+        Pack pack = Optional.ofNullable(PackManager.getPackByName(packName))
+                .orElse(PackManager.getPackBySafeName(packName));
+
+        if (pack == null) {
+            return result(EXIT_NOT_FOUND, "No pack found with the name " + packName, null);
+        }
+
+        PackVersion version = getPackVersion(pack);
+        if (version == null) {
+            return result(EXIT_NOT_FOUND, "No version found for pack " + pack.getName(), null);
+        }
+
+        String name = options.has("instance-name") ? (String) options.valueOf("instance-name") : pack.getName();
+
+        if (name.replaceAll("[^A-Za-z0-9]", "").length() == 0) {
+            return result(EXIT_INVALID_ARGUMENTS, "The name " + name + " is invalid", null);
+        }
+
+        if (isServer ? ServerManager.isServer(name) : InstanceManager.isInstance(name)) {
+            return result(EXIT_INVALID_ARGUMENTS, "There is already " + (isServer ? "a server" : "an instance")
+                    + " named " + name, null);
+        }
+
+        InstanceInstaller installer = new InstanceInstaller(name, pack, version, false, isServer, false, false, null,
+                false, getLoaderVersion(pack, version), null, null, null, null, null, null, null, null, null);
+
+        return runInstaller(installer);
+    }
+
+    private int update(String instanceName) {
+        Instance instance = Optional.ofNullable(InstanceManager.getInstanceByName(instanceName))
+                .orElse(InstanceManager.getInstanceBySafeName(instanceName));
+
+        if (instance == null) {
+            return result(EXIT_NOT_FOUND, "No instance found with the name " + instanceName, null);
+        }
+
+        Pack pack = instance.getPack();
+        if (pack == null) {
+            return result(EXIT_INVALID_ARGUMENTS,
+                    "Only instances of ATLauncher packs can be updated from the command line", null);
+        }
+
+        PackVersion version = getPackVersion(pack);
+        if (version == null) {
+            return result(EXIT_NOT_FOUND, "No version found for pack " + pack.getName(), null);
+        }
+
+        InstanceInstaller installer = new InstanceInstaller(instance.launcher.name, pack, version, true, false, false,
+                true, null, false, getLoaderVersion(pack, version), null, null, null, null, null, null, null, null,
+                null);
+        installer.setInstance(instance);
+
+        return runInstaller(installer);
+    }
+
+    private int export(String instanceName) {
+        Instance instance = Optional.ofNullable(InstanceManager.getInstanceByName(instanceName))
+                .orElse(InstanceManager.getInstanceBySafeName(instanceName));
+
+        if (instance == null) {
+            return result(EXIT_NOT_FOUND, "No instance found with the name " + instanceName, null);
+        }
+
+        if (!instance.canBeExported()) {
+            return result(EXIT_INVALID_ARGUMENTS, "The instance " + instance.getName() + " cannot be exported", null);
+        }
+
+        InstanceExportFormat format;
+        try {
+            format = InstanceExportFormat.valueOf(Optional.ofNullable((String) options.valueOf("export-format"))
+                    .orElse("curseforge").toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            return result(EXIT_INVALID_ARGUMENTS, "Unknown export format " + options.valueOf("export-format"), null);
+        }
+
+        String saveTo = options.has("export-path") ? (String) options.valueOf("export-path")
+                : Optional.ofNullable(instance.launcher.lastExportSaveTo)
+                        .orElse(instance.getRoot().toAbsolutePath().toString());
+        List<String> overrides = DEFAULT_EXPORT_OVERRIDES.stream()
+                .filter(folder -> Files.exists(instance.getRoot().resolve(folder))).collect(Collectors.toList());
+
+        task("Exporting " + instance.getName());
+
+        boolean success = instance.export(
+                Optional.ofNullable(instance.launcher.lastExportName).orElse(instance.launcher.name),
+                Optional.ofNullable(instance.launcher.lastExportVersion).orElse(instance.launcher.version),
+                Optional.ofNullable(instance.launcher.lastExportAuthor).orElse(""), format, saveTo, overrides);
+
+        return success ? result(EXIT_SUCCESS, null, saveTo)
+                : result(EXIT_FAILED, "Failed to export " + instance.getName(), null);
+    }
+
+    private PackVersion getPackVersion(Pack pack) {
+        if (options.has("pack-version")) {
+            return pack.getVersionByName((String) options.valueOf("pack-version"));
+        }
+
+        return pack.getLatestVersion();
+    }
+
+    private LoaderVersion getLoaderVersion(Pack pack, PackVersion packVersion) {
+        if (!options.has("loader-version")) {
+            return null;
+        }
+
+        String wanted = (String) options.valueOf("loader-version");
+        Version jsonVersion = Gsons.DEFAULT.fromJson(pack.getJSON(packVersion.version), Version.class);
+
+        if (jsonVersion == null || !jsonVersion.hasLoader()) {
+            return null;
+        }
+
+        return jsonVersion.getLoader().getChoosableVersions(jsonVersion.getMinecraft()).stream()
+                .filter(v -> v.version.equalsIgnoreCase(wanted)).findFirst().orElse(null);
+    }
+
+    private int runInstaller(InstanceInstaller installer) {
+        installer.headless = true;
+        installer.addPropertyChangeListener(this::onInstallerEvent);
+
+        try {
+            installer.execute();
+            installer.get();
+        } catch (CancellationException e) {
+            // installer cancels itself when it fails, so the result is in installer.success
+        } catch (Exception e) {
+            LogManager.logStackTrace("Error while installing", e);
+        }
+
+        // progress events are delivered on the event dispatch thread, so let them all be written before the result
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+            });
+        } catch (Exception ignored) {
+        }
+
+        if (!installer.success) {
+            return result(EXIT_FAILED, "Install failed, check the launcher logs for more information", null);
+        }
+
+        return result(EXIT_SUCCESS, null, installer.root.toAbsolutePath().toString());
+    }
+
+    private void onInstallerEvent(PropertyChangeEvent event) {
+        if ("doing".equals(event.getPropertyName())) {
+            task((String) event.getNewValue());
+        } else if ("progress".equals(event.getPropertyName())) {
+            int percent = ((Double) event.getNewValue()).intValue();
+
+            if (percent != lastPercent) {
+                lastPercent = percent;
+
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("type", "progress");
+                line.put("percent", percent);
+                print(line);
+            }
+        }
+    }
+
+    private void task(String message) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", "task");
+        line.put("message", message);
+        print(line);
+    }
+
+    private int result(int exitCode, String error, String path) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", "result");
+        line.put("success", exitCode == EXIT_SUCCESS);
+        line.put("exitCode", exitCode);
+
+        if (error != null) {
+            line.put("error", error);
+        }
+
+        if (path != null) {
+            line.put("path", path);
+        }
+
+        print(line);
+
+        return exitCode;
+    }
+
+    private synchronized void print(Map<String, Object> line) {
+        out.println(Gsons.DEFAULT_SLIM.toJson(line));
+        out.flush();
+    }
+}
@@ -59,8 +59,13 @@ import com.atlauncher.managers.PackManager;
 import com.atlauncher.managers.PerformanceManager;
 import com.atlauncher.managers.ServerManager;
 import com.atlauncher.managers.TechnicModpackUpdateManager;
+import com.atlauncher.managers.VerifiedFileManager;
 import com.atlauncher.network.Analytics;
+import com.atlauncher.network.BandwidthScheduler;
 import com.atlauncher.network.DownloadPool;
+import com.atlauncher.network.DownloadPriority;
+import com.atlauncher.network.ZipDeltaDownload;
+import com.atlauncher.thread.TaskPools;
 import com.atlauncher.utils.Java;
 import com.atlauncher.utils.OS;
 import com.google.gson.JsonIOException;
@@ -104,7 +109,7 @@ public class Launcher {
         MinecraftManager.loadMinecraftVersions(); // Load info about the different Minecraft versions
 
         // Load info about the different java runtimes
-        App.TASKPOOL.execute(() -> {
+        TaskPools.NETWORK.submit("MinecraftManager::loadJavaRuntimes", () -> {
             MinecraftManager.loadJavaRuntimes();
         });
 
@@ -143,6 +148,28 @@ public class Launcher {
         PerformanceManager.end();
     }
 
+    /**
+     * Loads what's needed to install and export instances when running from the command line, without showing any
+     * dialogs or checking for launcher updates.
+     */
+    public void loadEverythingHeadless() {
+        if (hasUpdatedFiles()) {
+            DownloadPool pool = new DownloadPool();
+            pool.addAll(getLauncherFiles());
+            pool.downsize().downloadAll();
+            VerifiedFileManager.saveCache();
+        }
+
+        ConfigManager.loadConfig();
+        MinecraftManager.loadMinecraftVersions();
+        MinecraftManager.loadJavaRuntimes();
+        AccountManager.loadAccounts();
+        PackManager.loadPacks();
+        PackManager.loadUsers();
+        InstanceManager.loadInstances();
+        ServerManager.loadServers();
+    }
+
     public boolean launcherHasUpdate() {
         try {
             this.latestLauncherVersion = Gsons.DEFAULT
@@ -173,16 +200,15 @@ public class Launcher {
             ProgressDialog<Boolean> progressDialog = new ProgressDialog<>(GetText.tr("Downloading Launcher Update"), 1,
                     GetText.tr("Downloading Launcher Update"));
             progressDialog.addThread(new Thread(() -> {
-                com.atlauncher.network.Download download = com.atlauncher.network.Download.build()
-                        .setUrl(String.format(
-                                "https://github.com/Kaydax/ATLauncher-Curseforge-Fix/releases/latest/download/ATLauncher.%s",
-                                toget))
-                        .withHttpClient(Network.createProgressClient(progressDialog)).downloadTo(newFile.toPath());
-
-                progressDialog.setTotalBytes(download.getFilesize());
+                String url = String.format(
+                        "https://github.com/Kaydax/ATLauncher-Curseforge-Fix/releases/latest/download/ATLauncher.%s",
+                        toget);
+                OkHttpClient httpClient = Network.createProgressClient(progressDialog);
 
+                // try to only download what's changed since this version, falling back to the whole file
                 try {
-                    download.downloadFile();
+                    new ZipDeltaDownload(url, thisFile.toPath(), newFile.toPath(), httpClient, progressDialog)
+                            .downloadOrFallBack();
                 } catch (IOException e) {
                     LogManager.logStackTrace("Failed to download update", e);
                     progressDialog.setReturnValue(false);
@@ -274,7 +300,8 @@ public class Launcher {
 
             progressDialog.setTotalBytes(smallPool.totalSize());
 
-            pool.downloadAll();
+            smallPool.downloadAll();
+            VerifiedFileManager.saveCache();
             progressDialog.doneTask();
             progressDialog.close();
         }));
@@ -286,7 +313,7 @@ public class Launcher {
     public boolean checkForUpdatedFiles() {
         this.launcherFiles = null;
 
-        App.TASKPOOL.execute(() -> {
+        TaskPools.NETWORK.submit("Launcher::checkForExternalPackUpdates", () -> {
             checkForExternalPackUpdates();
         });
 
@@ -305,7 +332,13 @@ public class Launcher {
             return false;
         }
 
-        return downloads.stream().anyMatch(com.atlauncher.network.Download::needToDownload);
+        // files not changed since they were last verified aren't hashed again, so this only hashes new or changed files
+        boolean hasUpdatedFiles = TaskPools.CPU
+                .map("Launcher::hasUpdatedFiles", downloads, com.atlauncher.network.Download::needToDownload).stream()
+                .anyMatch(needToDownload -> needToDownload);
+        VerifiedFileManager.saveCache();
+
+        return hasUpdatedFiles;
     }
 
     public void checkForExternalPackUpdates() {
@@ -313,7 +346,7 @@ public class Launcher {
             updateThread.interrupt();
         }
 
-        updateThread = new Thread(() -> {
+        updateThread = new Thread(() -> BandwidthScheduler.runWithPriority(DownloadPriority.BACKGROUND, () -> {
             if (InstanceManager.getInstances().stream().anyMatch(i -> i.isModpacksChPack())) {
                 ModpacksChUpdateManager.checkForUpdates();
             }
@@ -326,7 +359,7 @@ public class Launcher {
             if (InstanceManager.getInstances().stream().anyMatch(i -> i.isModrinthPack())) {
                 ModrinthModpackUpdateManager.checkForUpdates();
             }
-        });
+        }));
         updateThread.start();
     }
 
@@ -351,7 +384,7 @@ public class Launcher {
         dialog.setLayout(new FlowLayout());
         dialog.setResizable(false);
         dialog.add(new JLabel(GetText.tr("Updating Launcher. Please Wait")));
-        App.TASKPOOL.execute(() -> {
+        TaskPools.NETWORK.submit("Launcher::updateData", () -> {
             if (hasUpdatedFiles()) {
                 downloadUpdatedFiles(); // Downloads updated files on the server
             }
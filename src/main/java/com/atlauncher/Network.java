@@ -22,6 +22,7 @@ import java.security.cert.X509Certificate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -35,14 +36,20 @@ import javax.net.ssl.X509TrustManager;
 import com.atlauncher.constants.Constants;
 import com.atlauncher.interfaces.NetworkProgressable;
 import com.atlauncher.listener.ProgressListener;
+import com.atlauncher.managers.ConfigManager;
+import com.atlauncher.network.BandwidthInterceptor;
 import com.atlauncher.network.DebugLoggingInterceptor;
+import com.atlauncher.network.DownloadPriority;
 import com.atlauncher.network.ErrorReportingInterceptor;
+import com.atlauncher.network.HostLimitInterceptor;
+import com.atlauncher.network.NetworkMetrics;
 import com.atlauncher.network.UserAgentInterceptor;
 import com.atlauncher.utils.Java;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.ProgressResponseBody;
 
 import okhttp3.Cache;
+import okhttp3.ConnectionPool;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
 import okhttp3.Response;
@@ -54,7 +61,42 @@ public final class Network {
     private static List<Protocol> protocols = App.settings.dontUseHttp2 ? Arrays.asList(Protocol.HTTP_1_1)
             : Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1);
 
+    /**
+     * The most requests which can be made to a host at once, unless it's one of the hosts below.
+     *
+     * These limits and host lists are defaults, which can be changed with the "network.maxRequestsPerHost",
+     * "network.maxRequestsPerCdnHost", "network.cdnHosts", "network.maxRequestsPerApiHost" and "network.apiHosts" config
+     * items. They're read the first time a request is made to each host.
+     */
+    private static final int MAX_REQUESTS_PER_HOST = 8;
+
+    /**
+     * CDN hosts serve lots of small files (such as assets and libraries), which are multiplexed over the same HTTP/2
+     * connection, so can take many more requests at once.
+     */
+    private static final int MAX_REQUESTS_PER_CDN_HOST = 32;
+    private static final List<String> CDN_HOSTS = Arrays.asList("resources.download.minecraft.net",
+            "libraries.minecraft.net", "piston-data.mojang.com", "piston-meta.mojang.com", "launcher.mojang.com",
+            "edge.forgecdn.net", "mediafilez.forgecdn.net", "cdn.modrinth.com");
+
+    /**
+     * API hosts are rate limited, so are kept to fewer requests at once.
+     */
+    private static final int MAX_REQUESTS_PER_API_HOST = 4;
+    private static final List<String> API_HOSTS = Arrays.asList(Constants.CURSEFORGE_CORE_API_HOST,
+            Constants.MODRINTH_HOST, Constants.MODPACKS_CH_HOST, Constants.TECHNIC_HOST);
+
+    /**
+     * Shared by every client, including ones made with {@link OkHttpClient#newBuilder()}, so connections are reused
+     * no matter which client a request is made with. Idle connections are kept for longer than OkHttp's default, so
+     * the connections made while installing aren't closed straight away.
+     */
+    private static final ConnectionPool CONNECTION_POOL = new ConnectionPool(32, 5, TimeUnit.MINUTES);
+
     public static OkHttpClient CLIENT = new OkHttpClient.Builder().protocols(protocols)
+            .connectionPool(CONNECTION_POOL).eventListenerFactory(NetworkMetrics.FACTORY)
+            .pingInterval(30, TimeUnit.SECONDS).addInterceptor(new HostLimitInterceptor())
+            .addNetworkInterceptor(new BandwidthInterceptor())
             .addNetworkInterceptor(new UserAgentInterceptor()).addInterceptor(new DebugLoggingInterceptor())
             .addNetworkInterceptor(new ErrorReportingInterceptor())
             .connectTimeout(App.settings.connectionTimeout, TimeUnit.SECONDS)
@@ -78,32 +120,69 @@ public final class Network {
         Logger.getLogger(OkHttpClient.class.getName()).setLevel(Level.FINE);
     }
 
-    public static void setConnectionTimeouts() {
-        CLIENT = CLIENT.newBuilder().connectTimeout(App.settings.connectionTimeout, TimeUnit.SECONDS)
-                .readTimeout(App.settings.connectionTimeout, TimeUnit.SECONDS)
-                .writeTimeout(App.settings.connectionTimeout, TimeUnit.SECONDS).build();
+    public static int getMaxRequestsForHost(String host) {
+        if (ConfigManager.getConfigItem("network.cdnHosts", CDN_HOSTS).contains(host)
+                || host.equals(Constants.DOWNLOAD_HOST)) {
+            return ConfigManager.<Number>getConfigItem("network.maxRequestsPerCdnHost", MAX_REQUESTS_PER_CDN_HOST)
+                    .intValue();
+        }
+
+        if (ConfigManager.getConfigItem("network.apiHosts", API_HOSTS).contains(host)
+                || host.equals(Constants.API_HOST)) {
+            return ConfigManager.<Number>getConfigItem("network.maxRequestsPerApiHost", MAX_REQUESTS_PER_API_HOST)
+                    .intValue();
+        }
 
-        CACHED_CLIENT = CACHED_CLIENT.newBuilder().connectTimeout(App.settings.connectionTimeout, TimeUnit.SECONDS)
+        return ConfigManager.<Number>getConfigItem("network.maxRequestsPerHost", MAX_REQUESTS_PER_HOST).intValue();
+    }
+
+    /**
+     * Changes the settings of both clients. The cached client is always made from the normal one, and both share the
+     * same connection pool, so connections which are still usable with the new settings are kept.
+     */
+    private static void reconfigure(Function<OkHttpClient.Builder, OkHttpClient.Builder> configure) {
+        CLIENT = configure.apply(CLIENT.newBuilder()).build();
+        CACHED_CLIENT = CLIENT.newBuilder().cache(CACHE).build();
+    }
+
+    public static void setConnectionTimeouts() {
+        reconfigure(builder -> builder.connectTimeout(App.settings.connectionTimeout, TimeUnit.SECONDS)
                 .readTimeout(App.settings.connectionTimeout, TimeUnit.SECONDS)
-                .writeTimeout(App.settings.connectionTimeout, TimeUnit.SECONDS).build();
+                .writeTimeout(App.settings.connectionTimeout, TimeUnit.SECONDS));
     }
 
     public static void setProtocols() {
         protocols = App.settings.dontUseHttp2 ? Arrays.asList(Protocol.HTTP_1_1)
                 : Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1);
 
-        CLIENT = CLIENT.newBuilder().protocols(protocols).build();
-        CACHED_CLIENT = CACHED_CLIENT.newBuilder().protocols(protocols).build();
+        reconfigure(builder -> builder.protocols(protocols));
     }
 
     public static OkHttpClient createProgressClient(final NetworkProgressable progressable) {
+        return createProgressClient(progressable, null);
+    }
+
+    /**
+     * Creates a client which reports the bytes it downloads to the given progressable, with requests which haven't been
+     * given a priority using the given one.
+     */
+    public static OkHttpClient createProgressClient(final NetworkProgressable progressable,
+            final DownloadPriority priority) {
         final ProgressListener progressListener = (bytesRead, contentLength, done) -> {
             if (bytesRead > 0 && progressable != null) {
                 progressable.addDownloadedBytes(bytesRead);
             }
         };
 
-        return Network.CLIENT.newBuilder().addNetworkInterceptor(chain -> {
+        OkHttpClient.Builder builder = Network.CLIENT.newBuilder();
+
+        if (priority != null) {
+            builder.addInterceptor(chain -> chain.proceed(chain.request().tag(DownloadPriority.class) == null
+                    ? chain.request().newBuilder().tag(DownloadPriority.class, priority).build()
+                    : chain.request()));
+        }
+
+        return builder.addNetworkInterceptor(chain -> {
             Response originalResponse = chain.proceed(chain.request());
             return originalResponse.newBuilder()
                     .body(new ProgressResponseBody(originalResponse.body(), progressListener)).build();
@@ -114,11 +193,8 @@ public final class Network {
         HandshakeCertificates certificates = new HandshakeCertificates.Builder().addPlatformTrustedCertificates()
                 .addTrustedCertificate(certificate).build();
 
-        CLIENT = CLIENT.newBuilder().sslSocketFactory(certificates.sslSocketFactory(), certificates.trustManager())
-                .build();
-
-        CACHED_CLIENT = CACHED_CLIENT.newBuilder()
-                .sslSocketFactory(certificates.sslSocketFactory(), certificates.trustManager()).build();
+        reconfigure(
+                builder -> builder.sslSocketFactory(certificates.sslSocketFactory(), certificates.trustManager()));
     }
 
     public static void allowAllSslCerts() {
@@ -146,22 +222,13 @@ public final class Network {
 
             final SSLSocketFactory sslSocketFactory = sslContext.getSocketFactory();
 
-            CLIENT = CLIENT.newBuilder().sslSocketFactory(sslSocketFactory, (X509TrustManager) trustAllCerts[0])
-                    .hostnameVerifier(new HostnameVerifier() {
-                        @Override
-                        public boolean verify(String hostname, SSLSession session) {
-                            return true;
-                        }
-                    }).build();
-
-            CACHED_CLIENT = CACHED_CLIENT.newBuilder()
-                    .sslSocketFactory(sslSocketFactory, (X509TrustManager) trustAllCerts[0])
+            reconfigure(builder -> builder.sslSocketFactory(sslSocketFactory, (X509TrustManager) trustAllCerts[0])
                     .hostnameVerifier(new HostnameVerifier() {
                         @Override
                         public boolean verify(String hostname, SSLSession session) {
                             return true;
                         }
-                    }).build();
+                    }));
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -120,7 +120,7 @@ public class Constants {
     // Minecraft domains, endpoints, etc
     public static final String LAUNCHER_META_MINECRAFT = "https://launchermeta.mojang.com";
     public static final String MINECRAFT_LIBRARIES = "https://libraries.minecraft.net/";
-    public static final String MINECRAFT_RESOURCES = "https://resources.download.minecraft.net";
+    public static String MINECRAFT_RESOURCES = "https://resources.download.minecraft.net";
     public static final String MINECRAFT_VERSION_MANIFEST_URL = LAUNCHER_META_MINECRAFT
             + "/mc/game/version_manifest.json";
     public static final String MINECRAFT_JAVA_RUNTIME_URL = LAUNCHER_META_MINECRAFT
@@ -25,6 +25,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import javax.swing.ImageIcon;
 
@@ -37,8 +38,9 @@ import com.atlauncher.gui.tabs.ServersTab;
 import com.atlauncher.managers.AccountManager;
 import com.atlauncher.managers.DialogManager;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.managers.SkinManager;
 import com.atlauncher.network.Download;
-import com.atlauncher.utils.SkinUtils;
+import com.atlauncher.thread.TaskPools;
 import com.atlauncher.utils.Utils;
 import com.mojang.util.UUIDTypeAdapter;
 
@@ -88,6 +90,17 @@ public abstract class AbstractAccount implements Serializable {
      */
     public boolean skinUpdating = false;
 
+    /**
+     * The URL the skin was last downloaded from, so it's only downloaded again when the skin has changed.
+     */
+    public String skinUrl;
+
+    /**
+     * If the skin has been downloaded in the background this session, so a failing download isn't retried on every
+     * paint.
+     */
+    private transient boolean skinDownloadedInBackground = false;
+
     public abstract String getAccessToken();
 
     public abstract String getSessionToken();
@@ -150,70 +163,12 @@ public abstract class AbstractAccount implements Serializable {
 
         if (!this.skinUpdating) {
             this.skinUpdating = true;
-            final File file = FileSystem.SKINS.resolve(this.getUUIDNoDashes() + ".png").toFile();
             LogManager.info("Downloading skin for " + this.minecraftUsername);
             final ProgressDialog<Boolean> dialog = new ProgressDialog<>(GetText.tr("Downloading Skin"), 0,
                     GetText.tr("Downloading Skin For {0}", this.minecraftUsername),
                     "Aborting downloading Minecraft skin for " + this.minecraftUsername);
-            final UUID uid = this.getRealUUID();
             dialog.addThread(new Thread(() -> {
-                dialog.setReturnValue(false);
-                String skinURL = getSkinUrl();
-                if (skinURL == null) {
-                    LogManager.warn("Couldn't download skin because the url found was NULL. Using default skin");
-                    if (!file.exists()) {
-                        String skinFilename = "default.png";
-
-                        // even UUID's use the alex skin
-                        if ((uid.hashCode() & 1) != 0) {
-                            skinFilename = "default-alex.png";
-                        }
-
-                        // Only copy over the default skin if there is no skin for the user
-                        try {
-                            java.nio.file.Files.copy(
-                                    Utils.getResourceInputStream("/assets/image/skins/" + skinFilename), file.toPath());
-                        } catch (IOException e) {
-                            LogManager.logStackTrace(e);
-                        }
-
-                        dialog.setReturnValue(true);
-                    }
-                } else {
-                    try {
-                        HttpURLConnection conn = (HttpURLConnection) new URL(skinURL).openConnection();
-                        if (conn.getResponseCode() == 200) {
-                            if (file.exists()) {
-                                Utils.delete(file);
-                            }
-                            Download.build().setUrl(skinURL).downloadTo(file.toPath()).downloadFile();
-                            dialog.setReturnValue(true);
-                        } else {
-                            if (!file.exists()) {
-                                String skinFilename = "default.png";
-
-                                // even UUID's use the alex skin
-                                if ((uid.hashCode() & 1) != 0) {
-                                    skinFilename = "default-alex.png";
-                                }
-
-                                // Only copy over the default skin if there is no skin for the user
-                                try {
-                                    java.nio.file.Files.copy(
-                                            Utils.getResourceInputStream("/assets/image/skins/" + skinFilename),
-                                            file.toPath());
-                                } catch (IOException e) {
-                                    LogManager.logStackTrace(e);
-                                }
-
-                                dialog.setReturnValue(true);
-                            }
-                        }
-                    } catch (IOException e) {
-                        LogManager.logStackTrace(e);
-                    }
-                    com.atlauncher.evnt.manager.AccountManager.post();
-                }
+                dialog.setReturnValue(downloadSkin());
                 dialog.close();
             }));
             dialog.start();
@@ -227,8 +182,91 @@ public abstract class AbstractAccount implements Serializable {
     }
 
     /**
-     * Creates an {@link ImageIcon} of the Account's Minecraft skin, getting just
-     * the head of it.
+     * Downloads the skin in the background with no dialogs, such as when it's needed to paint the account but there's
+     * no skin yet.
+     */
+    private void updateSkinInBackground() {
+        if (this.skinUpdating || this.skinDownloadedInBackground) {
+            return;
+        }
+
+        this.skinUpdating = true;
+        this.skinDownloadedInBackground = true;
+        TaskPools.NETWORK.submit("AbstractAccount::updateSkin", () -> {
+            try {
+                updateSkinPreCheck();
+                downloadSkin();
+            } finally {
+                this.skinUpdating = false;
+            }
+        });
+    }
+
+    private boolean downloadSkin() {
+        final File file = getSkinFile();
+        final UUID uid = this.getRealUUID();
+        boolean downloaded = false;
+        String skinURL = getSkinUrl();
+        if (skinURL == null) {
+            LogManager.warn("Couldn't download skin because the url found was NULL. Using default skin");
+            if (!file.exists()) {
+                copyDefaultSkin(file, uid);
+                downloaded = true;
+            }
+        } else if (skinURL.equals(this.skinUrl) && file.exists()) {
+            LogManager.debug("Skin for " + this.minecraftUsername + " hasn't changed, so not downloading it");
+            downloaded = true;
+        } else {
+            try {
+                HttpURLConnection conn = (HttpURLConnection) new URL(skinURL).openConnection();
+                if (conn.getResponseCode() == 200) {
+                    if (file.exists()) {
+                        Utils.delete(file);
+                    }
+                    Download.build().setUrl(skinURL).downloadTo(file.toPath()).downloadFile();
+                    SkinManager.invalidate(file.toPath());
+                    this.skinUrl = skinURL;
+                    AccountManager.saveAccounts();
+                    downloaded = true;
+                } else {
+                    if (!file.exists()) {
+                        copyDefaultSkin(file, uid);
+                        downloaded = true;
+                    }
+                }
+            } catch (IOException e) {
+                LogManager.logStackTrace(e);
+            }
+            com.atlauncher.evnt.manager.AccountManager.post();
+        }
+        return downloaded;
+    }
+
+    private void copyDefaultSkin(File file, UUID uid) {
+        String skinFilename = "default.png";
+
+        // even UUID's use the alex skin
+        if ((uid.hashCode() & 1) != 0) {
+            skinFilename = "default-alex.png";
+        }
+
+        // Only copy over the default skin if there is no skin for the user
+        try {
+            java.nio.file.Files.copy(Utils.getResourceInputStream("/assets/image/skins/" + skinFilename),
+                    file.toPath());
+        } catch (IOException e) {
+            LogManager.logStackTrace(e);
+        }
+    }
+
+    private File getSkinFile() {
+        return FileSystem.SKINS.resolve(this.getUUIDNoDashes() + ".png").toFile();
+    }
+
+    /**
+     * Gets an {@link ImageIcon} of the head of the Account's Minecraft skin. This
+     * is safe to call when painting, as the skin is downloaded and rendered in the
+     * background if needed, with the default head being returned until it's ready.
      *
      * @return The Account's Minecraft usernames head
      */
@@ -236,36 +274,32 @@ public abstract class AbstractAccount implements Serializable {
         File file = FileSystem.SKINS.resolve((this.uuid == null ? "default" : this.getUUIDNoDashes()) + ".png")
                 .toFile();
 
+        // If the file doesn't exist then use the default Minecraft skin until it's downloaded.
         if (!file.exists()) {
-            this.updateSkin(); // Download/update the users skin
-        }
-
-        // If the file doesn't exist then use the default Minecraft skin.
-        if (file == null || !file.exists()) {
-            return SkinUtils.getDefaultHead();
+            this.updateSkinInBackground();
+            return SkinManager.getDefaultHead();
         }
 
-        return SkinUtils.getHead(file);
+        return SkinManager.getHead(file.toPath());
     }
 
     /**
-     * Creates an {@link ImageIcon} of the Account's Minecraft skin.
+     * Gets an {@link ImageIcon} of the Account's Minecraft skin, downloading and
+     * rendering it in the background if needed. The callback is called on the EDT
+     * once the skin is ready.
      *
-     * @return The Account's Minecraft usernames skin
+     * @param callback called with the Account's Minecraft usernames skin
      */
-    public ImageIcon getMinecraftSkin() {
-        File file = FileSystem.SKINS.resolve(this.getUUIDNoDashes() + ".png").toFile();
+    public void getMinecraftSkin(Consumer<ImageIcon> callback) {
+        File file = getSkinFile();
 
         if (!file.exists()) {
-            this.updateSkin(); // Download/update the users skin
-        }
-
-        // If the file doesn't exist then use the default Minecraft skin.
-        if (file == null || !file.exists()) {
-            return SkinUtils.getDefaultSkin();
+            this.updateSkinInBackground();
+            callback.accept(SkinManager.getDefaultSkin());
+            return;
         }
 
-        return SkinUtils.getSkin(file);
+        SkinManager.getSkin(file.toPath(), callback);
     }
 
     /**
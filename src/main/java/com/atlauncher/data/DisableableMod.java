@@ -34,8 +34,7 @@ import org.mini2Dx.gettext.GetText;
 import com.atlauncher.App;
 import com.atlauncher.data.curseforge.CurseForgeFile;
 import com.atlauncher.data.curseforge.CurseForgeProject;
-import com.atlauncher.data.minecraft.FabricMod;
-import com.atlauncher.data.minecraft.MCMod;
+import com.atlauncher.data.minecraft.ModMetadata;
 import com.atlauncher.data.modrinth.ModrinthProject;
 import com.atlauncher.data.modrinth.ModrinthVersion;
 import com.atlauncher.exceptions.InvalidMinecraftVersion;
@@ -44,7 +43,9 @@ import com.atlauncher.gui.dialogs.ModrinthVersionSelectorDialog;
 import com.atlauncher.gui.dialogs.ProgressDialog;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.MinecraftManager;
+import com.atlauncher.managers.ModMetadataManager;
 import com.atlauncher.network.Analytics;
+import com.atlauncher.thread.TaskPools;
 import com.atlauncher.utils.CurseForgeApi;
 import com.atlauncher.utils.ModrinthApi;
 import com.atlauncher.utils.Pair;
@@ -348,7 +349,7 @@ public class DisableableMod implements Serializable {
                     // #. {0} is the platform were checking for updates (e.g. CurseForge/Modrinth)
                     GetText.tr("Checking For Update On {0}", "CurseForge"),
                     "Cancelled checking for update on CurseForge", parent);
-            dialog.addThread(new Thread(() -> {
+            dialog.addTask(TaskPools.NETWORK, "DisableableMod::checkForUpdateOnCurseForge", () -> {
                 List<CurseForgeFile> curseForgeFiles = CurseForgeApi.getFilesForProject(curseForgeProjectId);
 
                 if (curseForgeFiles == null) {
@@ -407,7 +408,7 @@ public class DisableableMod implements Serializable {
 
                 dialog.setReturnValue(CurseForgeApi.getProjectById(curseForgeProjectId));
                 dialog.close();
-            }));
+            });
             dialog.start();
 
             if (dialog.getReturnValue() instanceof Boolean) {
@@ -428,7 +429,7 @@ public class DisableableMod implements Serializable {
                     // #. {0} is the platform were checking for updates (e.g. CurseForge/Modrinth)
                     GetText.tr("Checking For Update On {0}", "Modrinth"), "Cancelled checking for update on Modrinth",
                     parent);
-            dialog.addThread(new Thread(() -> {
+            dialog.addTask(TaskPools.NETWORK, "DisableableMod::checkForUpdateOnModrinth", () -> {
                 ModrinthProject mod = ModrinthApi.getProject(modrinthProject.id);
                 List<ModrinthVersion> versions = ModrinthApi.getVersions(modrinthProject.id, instance.id,
                         instance.launcher.loaderVersion);
@@ -455,7 +456,7 @@ public class DisableableMod implements Serializable {
 
                 dialog.setReturnValue(new Pair<ModrinthProject, List<ModrinthVersion>>(mod, versions));
                 dialog.close();
-            }));
+            });
             dialog.start();
 
             if (dialog.getReturnValue() == null) {
@@ -485,10 +486,10 @@ public class DisableableMod implements Serializable {
                     // #. {0} is the platform were getting files from (e.g. CurseForge/Modrinth)
                     0, GetText.tr("Getting Files From {0}", "CurseForge"), "Cancelled getting files from CurseForge",
                     parent);
-            dialog.addThread(new Thread(() -> {
+            dialog.addTask(TaskPools.NETWORK, "DisableableMod::getCurseForgeProject", () -> {
                 dialog.setReturnValue(CurseForgeApi.getProjectById(curseForgeProjectId));
                 dialog.close();
-            }));
+            });
             dialog.start();
 
             new CurseForgeProjectFileSelectorDialog(parent, dialog.getReturnValue(), instance, curseForgeFileId);
@@ -499,10 +500,10 @@ public class DisableableMod implements Serializable {
                     GetText.tr("Getting Files From {0}", "Modrinth"), 0,
                     // #. {0} is the platform were getting files from (e.g. CurseForge/Modrinth)
                     GetText.tr("Getting Files From {0}", "Modrinth"), "Cancelled getting files from Modrinth", parent);
-            dialog.addThread(new Thread(() -> {
+            dialog.addTask(TaskPools.NETWORK, "DisableableMod::getModrinthProject", () -> {
                 dialog.setReturnValue(ModrinthApi.getProject(modrinthProject.id));
                 dialog.close();
-            }));
+            });
             dialog.start();
 
             new ModrinthVersionSelectorDialog(parent, dialog.getReturnValue(), instance, modrinthVersion.id);
@@ -523,18 +524,11 @@ public class DisableableMod implements Serializable {
         mod.version = "Unknown";
         mod.description = null;
 
-        MCMod mcMod = Utils.getMCModForFile(file);
-        if (mcMod != null) {
-            mod.name = Optional.ofNullable(mcMod.name).orElse(file.getName());
-            mod.version = Optional.ofNullable(mcMod.version).orElse("Unknown");
-            mod.description = Optional.ofNullable(mcMod.description).orElse(null);
-        } else {
-            FabricMod fabricMod = Utils.getFabricModForFile(file);
-            if (fabricMod != null) {
-                mod.name = Optional.ofNullable(fabricMod.name).orElse(file.getName());
-                mod.version = Optional.ofNullable(fabricMod.version).orElse("Unknown");
-                mod.description = Optional.ofNullable(fabricMod.description).orElse(null);
-            }
+        ModMetadata metadata = ModMetadataManager.getMetadata(file);
+        if (metadata.hasMetadata()) {
+            mod.name = Optional.ofNullable(metadata.getName()).orElse(file.getName());
+            mod.version = Optional.ofNullable(metadata.getVersion()).orElse("Unknown");
+            mod.description = Optional.ofNullable(metadata.getDescription()).orElse(null);
         }
         return mod;
     }
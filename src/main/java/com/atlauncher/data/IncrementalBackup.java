@@ -0,0 +1,58 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data;
+
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * The manifest for a single incremental backup of an instance. The contents of the files are stored once in the
+ * backup store by their SHA1 hash, and each backup just lists which hash each file had at the time of the backup.
+ */
+public class IncrementalBackup {
+    public String instanceName;
+    public BackupMode backupMode;
+    public long createdAt;
+
+    /**
+     * Map of path relative to the instance root (using forward slashes) to the file that was backed up.
+     */
+    public Map<String, BackupFile> files;
+
+    /**
+     * Where this manifest was loaded from.
+     */
+    public transient Path manifestPath;
+
+    public long getTotalSize() {
+        return files.values().stream().mapToLong(f -> f.size).sum();
+    }
+
+    @Override
+    public String toString() {
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(createdAt)) + " (" + backupMode + ")";
+    }
+
+    public static class BackupFile {
+        public String hash;
+        public long size;
+        public long lastModified;
+    }
+}
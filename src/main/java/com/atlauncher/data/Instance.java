@@ -49,7 +49,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
-import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -92,8 +91,6 @@ import com.atlauncher.data.installables.Installable;
 import com.atlauncher.data.installables.VanillaInstallable;
 import com.atlauncher.data.minecraft.AssetIndex;
 import com.atlauncher.data.minecraft.JavaRuntime;
-import com.atlauncher.data.minecraft.JavaRuntimeManifest;
-import com.atlauncher.data.minecraft.JavaRuntimeManifestFileType;
 import com.atlauncher.data.minecraft.JavaRuntimes;
 import com.atlauncher.data.minecraft.Library;
 import com.atlauncher.data.minecraft.LoggingFile;
@@ -125,20 +122,31 @@ import com.atlauncher.gui.dialogs.InstanceInstallerDialog;
 import com.atlauncher.gui.dialogs.ProgressDialog;
 import com.atlauncher.gui.dialogs.RenameInstanceDialog;
 import com.atlauncher.managers.AccountManager;
+import com.atlauncher.managers.BackupManager;
+import com.atlauncher.managers.CombinedJarManager;
 import com.atlauncher.managers.ConfigManager;
 import com.atlauncher.managers.CurseForgeUpdateManager;
 import com.atlauncher.managers.DialogManager;
 import com.atlauncher.managers.InstanceManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.MinecraftManager;
+import com.atlauncher.managers.ModIdentificationManager;
+import com.atlauncher.managers.ModMetadataManager;
 import com.atlauncher.managers.ModpacksChUpdateManager;
 import com.atlauncher.managers.ModrinthModpackUpdateManager;
 import com.atlauncher.managers.PackManager;
 import com.atlauncher.managers.PerformanceManager;
+import com.atlauncher.managers.SnapshotManager;
 import com.atlauncher.managers.TechnicModpackUpdateManager;
 import com.atlauncher.mclauncher.MCLauncher;
+import com.atlauncher.mclauncher.ProcessMonitor;
 import com.atlauncher.network.Analytics;
 import com.atlauncher.network.DownloadPool;
+import com.atlauncher.network.DownloadPriority;
+import com.atlauncher.network.JavaRuntimeDownload;
+import com.atlauncher.thread.GameLogWriter;
+import com.atlauncher.thread.Task;
+import com.atlauncher.thread.TaskPools;
 import com.atlauncher.utils.ArchiveUtils;
 import com.atlauncher.utils.ComboItem;
 import com.atlauncher.utils.CommandExecutor;
@@ -159,6 +167,8 @@ import okhttp3.OkHttpClient;
 
 @Json
 public class Instance extends MinecraftVersion {
+    private static final int MAX_RECENT_SESSIONS = 10;
+
     public String inheritsFrom;
     public InstanceLauncher launcher;
 
@@ -456,7 +466,7 @@ public class Instance extends MinecraftVersion {
      */
     public boolean prepareForLaunch(ProgressDialog progressDialog, Path nativesTempDir) {
         PerformanceManager.start();
-        OkHttpClient httpClient = Network.createProgressClient(progressDialog);
+        OkHttpClient httpClient = Network.createProgressClient(progressDialog, DownloadPriority.LAUNCH);
 
         // make sure latest manifest is being used
         PerformanceManager.start("Grabbing Latest Manifest");
@@ -595,51 +605,8 @@ public class Instance extends MinecraftVersion {
                 JavaRuntime runtimeToDownload = runtimesForSystem.get(javaVersion.component).get(0);
 
                 try {
-                    JavaRuntimeManifest javaRuntimeManifest = com.atlauncher.network.Download.build().cached()
-                            .setUrl(runtimeToDownload.manifest.url).size(runtimeToDownload.manifest.size)
-                            .hash(runtimeToDownload.manifest.sha1).downloadTo(FileSystem.MINECRAFT_RUNTIMES
-                                    .resolve(javaVersion.component).resolve("manifest.json"))
-                            .asClassWithThrow(JavaRuntimeManifest.class);
-
-                    DownloadPool pool = new DownloadPool();
-
-                    // create root directory
-                    Path runtimeSystemDirectory = FileSystem.MINECRAFT_RUNTIMES.resolve(javaVersion.component)
-                            .resolve(runtimeSystemString);
-                    Path runtimeDirectory = runtimeSystemDirectory.resolve(javaVersion.component);
-                    FileUtils.createDirectory(runtimeDirectory);
-
-                    // create all the directories
-                    javaRuntimeManifest.files.forEach((key, file) -> {
-                        if (file.type == JavaRuntimeManifestFileType.DIRECTORY) {
-                            FileUtils.createDirectory(runtimeDirectory.resolve(key));
-                        }
-                    });
-
-                    // collect the files we need to download
-                    javaRuntimeManifest.files.forEach((key, file) -> {
-                        if (file.type == JavaRuntimeManifestFileType.FILE) {
-                            com.atlauncher.network.Download download = new com.atlauncher.network.Download()
-                                    .setUrl(file.downloads.raw.url).downloadTo(runtimeDirectory.resolve(key))
-                                    .hash(file.downloads.raw.sha1).size(file.downloads.raw.size)
-                                    .executable(file.executable).withHttpClient(httpClient);
-
-                            pool.add(download);
-                        }
-                    });
-
-                    DownloadPool smallPool = pool.downsize();
-
-                    progressDialog.setTotalBytes(smallPool.totalSize());
-
-                    smallPool.downloadAll();
-
-                    // write out the version file (theres also a .sha1 file created, but we're not
-                    // doing that)
-                    Files.write(runtimeSystemDirectory.resolve(".version"),
-                            runtimeToDownload.version.name.getBytes(StandardCharsets.UTF_8));
-                    // Files.write(runtimeSystemDirectory.resolve(javaVersion.component
-                    // + ".sha1"), runtimeToDownload.version.name.getBytes(StandardCharsets.UTF_8));
+                    new JavaRuntimeDownload(runtimeToDownload, javaVersion.component, runtimeSystemString, httpClient,
+                            progressDialog).download();
                 } catch (IOException e) {
                     LogManager.logStackTrace("Failed to download Java runtime", e);
                 }
@@ -653,9 +620,10 @@ public class Instance extends MinecraftVersion {
         progressDialog.setLabel(GetText.tr("Organising Resources"));
         MojangAssetIndex assetIndex = this.assetIndex;
 
-        AssetIndex index = com.atlauncher.network.Download.build().setUrl(assetIndex.url).hash(assetIndex.sha1)
-                .size(assetIndex.size).downloadTo(FileSystem.RESOURCES_INDEXES.resolve(assetIndex.id + ".json"))
-                .withHttpClient(httpClient).asClass(AssetIndex.class);
+        AssetIndex index = SnapshotManager.getAssetIndex(assetIndex,
+                com.atlauncher.network.Download.build().setUrl(assetIndex.url).hash(assetIndex.sha1)
+                        .size(assetIndex.size).downloadTo(FileSystem.RESOURCES_INDEXES.resolve(assetIndex.id + ".json"))
+                        .withHttpClient(httpClient).rememberVerified());
 
         DownloadPool pool = new DownloadPool();
 
@@ -738,8 +706,9 @@ public class Instance extends MinecraftVersion {
                 FileUtils.delete(getCustomMinecraftJarLibraryPath());
             }
 
-            if (!Utils.combineJars(getMinecraftJar(), getRoot().resolve("bin/modpack.jar").toFile(),
-                    getCustomMinecraftJar())) {
+            Path combinedJar = CombinedJarManager.getCombinedJar(this);
+
+            if (combinedJar == null || !FileUtils.copyFile(combinedJar, getCustomMinecraftJarLibraryPath(), true)) {
                 LogManager.error("Failed to combine jars into custom minecraft.jar");
                 PerformanceManager.end("Creating custom minecraft.jar");
                 PerformanceManager.end();
@@ -972,7 +941,7 @@ public class Instance extends MinecraftVersion {
 
                 if (this.getPack() != null && this.getPack().isLoggingEnabled() && !this.launcher.isDev
                         && App.settings.enableLogs) {
-                    App.TASKPOOL.execute(() -> {
+                    TaskPools.NETWORK.submit("Instance::addPlay", () -> {
                         addPlay(this.launcher.version);
                     });
                 }
@@ -1004,6 +973,17 @@ public class Instance extends MinecraftVersion {
                 }
 
                 App.launcher.showKillMinecraft(process);
+
+                ProcessMonitor processMonitor = null;
+                if (App.settings.processMonitorInterval > 0) {
+                    processMonitor = new ProcessMonitor(process, maximumMemory, App.settings.processMonitorInterval,
+                            App.console::setProcessStats);
+                    processMonitor.start();
+                }
+
+                GameLogWriter gameLog = GameLogWriter.open(this);
+                LogManager.setGameLog(gameLog);
+
                 InputStream is = process.getInputStream();
                 InputStreamReader isr = new InputStreamReader(is);
                 StringBuilder sb = new StringBuilder();
@@ -1069,6 +1049,14 @@ public class Instance extends MinecraftVersion {
                     LogManager.minecraft(line);
                 }
                 App.launcher.hideKillMinecraft();
+                LogManager.setGameLog(null);
+                if (gameLog != null) {
+                    gameLog.close();
+                }
+                if (processMonitor != null) {
+                    addSession(processMonitor.stop());
+                    App.console.setProcessStats(null);
+                }
                 if (App.launcher.getParent() != null && App.settings.keepLauncherOpen) {
                     App.launcher.getParent().setVisible(true);
                 }
@@ -1125,7 +1113,7 @@ public class Instance extends MinecraftVersion {
                         && App.settings.enableLogs) {
                     final int timePlayed = (int) (end - start) / 1000;
                     if (timePlayed > 0) {
-                        App.TASKPOOL.submit(() -> {
+                        TaskPools.NETWORK.submit("Instance::addTimePlayed", () -> {
                             addTimePlayed(timePlayed, this.launcher.version);
                         });
                     }
@@ -1163,6 +1151,31 @@ public class Instance extends MinecraftVersion {
         return true;
     }
 
+    /**
+     * Keeps the resource usage of a finished session, so the memory settings can be compared against what was used.
+     */
+    private void addSession(ProcessStats stats) {
+        if (stats.samples == 0) {
+            return;
+        }
+
+        LogManager.info(String.format(
+                "Minecraft used a peak of %d MB of memory (%d MB average) with a maximum of %d MB set, and %.1f%% CPU on average",
+                stats.peakRss / 1048576, stats.averageRss / 1048576, stats.maximumMemory, stats.averageCpu));
+
+        if (this.launcher.recentSessions == null) {
+            this.launcher.recentSessions = new ArrayList<>();
+        }
+
+        this.launcher.recentSessions.add(stats);
+
+        while (this.launcher.recentSessions.size() > MAX_RECENT_SESSIONS) {
+            this.launcher.recentSessions.remove(0);
+        }
+
+        this.save();
+    }
+
     private boolean executeCommand(String command) {
         try {
             CommandExecutor.executeCommand(this, command);
@@ -1979,17 +1992,19 @@ public class Instance extends MinecraftVersion {
                     .filter(m -> !m.disabled && !m.isFromModrinth() && m.getFile(this).exists())
                     .collect(Collectors.toList());
 
-            String[] sha1Hashes = nonModrinthMods.parallelStream()
-                    .map(m -> Hashing.sha1(m.getFile(this).toPath()).toString()).toArray(String[]::new);
+            List<String> sha1Hashes = TaskPools.CPU.map("Instance::hashMods", nonModrinthMods,
+                    m -> Hashing.sha1(m.getFile(this).toPath()).toString());
 
-            Map<String, ModrinthVersion> modrinthVersions = ModrinthApi.getVersionsFromSha1Hashes(sha1Hashes);
+            Map<String, ModrinthVersion> modrinthVersions = ModrinthApi
+                    .getVersionsFromSha1Hashes(sha1Hashes.toArray(new String[0]));
 
-            if (modrinthVersions.size() != 0) {
+            if (modrinthVersions != null && modrinthVersions.size() != 0) {
                 Map<String, ModrinthProject> modrinthProjects = ModrinthApi.getProjectsAsMap(
                         modrinthVersions.values().parallelStream().map(mv -> mv.projectId).toArray(String[]::new));
 
-                nonModrinthMods.parallelStream().forEach(mod -> {
-                    String hash = Hashing.sha1(mod.getFile(this).toPath()).toString();
+                for (int i = 0; i < nonModrinthMods.size(); i++) {
+                    DisableableMod mod = nonModrinthMods.get(i);
+                    String hash = sha1Hashes.get(i);
 
                     if (modrinthVersions.containsKey(hash)) {
                         ModrinthVersion modrinthVersion = modrinthVersions.get(hash);
@@ -2002,7 +2017,7 @@ public class Instance extends MinecraftVersion {
                             mod.modrinthProject = modrinthProjects.get(modrinthVersion.projectId);
                         }
                     }
-                });
+                }
                 this.save();
             }
         }
@@ -2012,8 +2027,10 @@ public class Instance extends MinecraftVersion {
         manifest.versionId = version;
         manifest.name = name;
         manifest.summary = this.launcher.description;
-        manifest.files = this.launcher.mods.parallelStream()
-                .filter(m -> !m.disabled && m.modrinthVersion != null && m.getFile(this).exists()).map(mod -> {
+        List<DisableableMod> modsToExport = this.launcher.mods.stream()
+                .filter(m -> !m.disabled && m.modrinthVersion != null && m.getFile(this).exists())
+                .collect(Collectors.toList());
+        manifest.files = TaskPools.CPU.map("Instance::exportModrinthFiles", modsToExport, mod -> {
                     Path modPath = mod.getFile(this).toPath();
 
                     ModrinthModpackFile file = new ModrinthModpackFile();
@@ -2045,7 +2062,7 @@ public class Instance extends MinecraftVersion {
                     file.downloads.add(HttpUrl.get(mod.modrinthVersion.getFileBySha1(sha1Hash).url).toString());
 
                     return file;
-                }).collect(Collectors.toList());
+                });
         manifest.dependencies = new HashMap<>();
 
         manifest.dependencies.put("minecraft", this.id);
@@ -2407,27 +2424,84 @@ public class Instance extends MinecraftVersion {
 
         Analytics.sendEvent(launcher.pack + " - " + launcher.version, "Backup", getAnalyticsCategory());
 
-        final Thread backupThread = new Thread(() -> {
-            Timestamp timestamp = new Timestamp(new Date().getTime());
-            String time = timestamp.toString().replaceAll("[^0-9]", "_");
-            String filename = getSafeName() + "-" + time.substring(0, time.lastIndexOf("_")) + ".zip";
+        final Task<Void> backupTask = TaskPools.DISK.submit("Instance::backup", () -> {
+            boolean success;
 
-            ArchiveUtils.createZip(getRoot(), FileSystem.BACKUPS.resolve(filename),
-                    ZipNameMapper.getMapperForBackupMode(backupMode));
+            if (App.settings.enableIncrementalBackups) {
+                success = BackupManager.createIncrementalBackup(this, backupMode) != null;
+            } else {
+                Timestamp timestamp = new Timestamp(new Date().getTime());
+                String time = timestamp.toString().replaceAll("[^0-9]", "_");
+                String filename = getSafeName() + "-" + time.substring(0, time.lastIndexOf("_")) + ".zip";
+
+                success = ArchiveUtils.createZip(getRoot(), FileSystem.BACKUPS.resolve(filename),
+                        ZipNameMapper.getMapperForBackupMode(backupMode));
+            }
 
             dialog.dispose();
-            App.TOASTER.pop(GetText.tr("Backup is complete"));
+
+            if (success) {
+                App.TOASTER.pop(GetText.tr("Backup is complete"));
+            } else {
+                App.TOASTER.popError(GetText.tr("Error making backup"));
+            }
         });
-        backupThread.start();
         dialog.addWindowListener(new WindowAdapter() {
             public void windowClosing(WindowEvent e) {
-                backupThread.interrupt();
+                backupTask.cancel();
                 dialog.dispose();
             }
         });
         dialog.setVisible(true);
     }
 
+    public void restoreBackup() {
+        List<IncrementalBackup> backups = BackupManager.getBackups(this);
+
+        if (backups.size() == 0) {
+            DialogManager.okDialog().setTitle(GetText.tr("Restore Backup"))
+                    .setContent(new HTMLBuilder().center().text(GetText.tr(
+                            "There are no incremental backups for this instance.<br/><br/>Backups made as zip files can be found in the backups folder."))
+                            .build())
+                    .setType(DialogManager.INFO).show();
+            return;
+        }
+
+        JComboBox<IncrementalBackup> backupsComboBox = new JComboBox<>(backups.toArray(new IncrementalBackup[0]));
+
+        JPanel panel = new JPanel(new BorderLayout(0, 10));
+        panel.add(new JLabel(new HTMLBuilder().center().text(GetText.tr(
+                "Select the backup to restore.<br/><br/>Any saves, configs and other backed up files which have changed since the backup was made will be lost."))
+                .build()), BorderLayout.NORTH);
+        panel.add(backupsComboBox, BorderLayout.CENTER);
+
+        int ret = DialogManager.okCancelDialog().setTitle(GetText.tr("Restore Backup")).setContent(panel)
+                .setType(DialogManager.WARNING).show();
+
+        if (ret != 0) {
+            return;
+        }
+
+        IncrementalBackup backup = (IncrementalBackup) backupsComboBox.getSelectedItem();
+
+        Analytics.sendEvent(launcher.pack + " - " + launcher.version, "RestoreBackup", getAnalyticsCategory());
+
+        // #. {0} is the name of the instance
+        final ProgressDialog<Boolean> dialog = new ProgressDialog<>(GetText.tr("Restoring {0}", launcher.name), 0,
+                GetText.tr("Restoring {0}", launcher.name), "Cancelled restoring backup");
+        dialog.addTask(TaskPools.DISK, "Instance::restoreBackup", () -> {
+            dialog.setReturnValue(BackupManager.restoreBackup(this, backup));
+            dialog.close();
+        });
+        dialog.start();
+
+        if (dialog.getReturnValue() != null && dialog.getReturnValue()) {
+            App.TOASTER.pop(GetText.tr("Backup restored"));
+        } else {
+            App.TOASTER.popError(GetText.tr("Error restoring backup"));
+        }
+    }
+
     public boolean canChangeDescription() {
         return isExternalPack() || launcher.vanillaInstance || (getPack() != null && getPack().system);
     }
@@ -2884,125 +2958,15 @@ public class Instance extends MinecraftVersion {
                         .map(file -> DisableableMod.generateMod(file.toFile(), com.atlauncher.data.Type.mods,
                                 file.getParent().equals(ROOT.resolve("mods"))))
                         .collect(Collectors.toList());
+                ModMetadataManager.saveCache();
 
-                if (!App.settings.dontCheckModsOnCurseForge) {
-                    Map<Long, DisableableMod> murmurHashes = new HashMap<>();
-
-                    mods.stream()
-                            .filter(dm -> dm.curseForgeProject == null && dm.curseForgeFile == null)
-                            .filter(dm -> dm.getFile(ROOT, id) != null).forEach(dm -> {
-                                try {
-                                    long hash = Hashing
-                                            .murmur(dm.disabled ? dm.getDisabledFile(this).toPath()
-                                                    : dm
-                                                            .getFile(ROOT, id).toPath());
-                                    murmurHashes.put(hash, dm);
-                                } catch (Throwable t) {
-                                    LogManager.logStackTrace(t);
-                                }
-                            });
-
-                    if (murmurHashes.size() != 0) {
-                        CurseForgeFingerprint fingerprintResponse = CurseForgeApi
-                                .checkFingerprints(murmurHashes.keySet().stream().toArray(Long[]::new));
-
-                        if (fingerprintResponse != null && fingerprintResponse.exactMatches != null) {
-                            int[] projectIdsFound = fingerprintResponse.exactMatches.stream().mapToInt(em -> em.id)
-                                    .toArray();
-
-                            if (projectIdsFound.length != 0) {
-                                Map<Integer, CurseForgeProject> foundProjects = CurseForgeApi
-                                        .getProjectsAsMap(projectIdsFound);
-
-                                if (foundProjects != null) {
-                                    fingerprintResponse.exactMatches.stream()
-                                            .filter(em -> em != null && em.file != null
-                                                    && murmurHashes.containsKey(em.file.packageFingerprint))
-                                            .forEach(foundMod -> {
-                                                DisableableMod dm = murmurHashes
-                                                        .get(foundMod.file.packageFingerprint);
-
-                                                // add CurseForge information
-                                                dm.curseForgeProjectId = foundMod.id;
-                                                dm.curseForgeFile = foundMod.file;
-                                                dm.curseForgeFileId = foundMod.file.id;
-
-                                                CurseForgeProject curseForgeProject = foundProjects
-                                                        .get(foundMod.id);
-
-                                                if (curseForgeProject != null) {
-                                                    dm.curseForgeProject = curseForgeProject;
-                                                    dm.name = curseForgeProject.name;
-                                                    dm.description = curseForgeProject.summary;
-                                                }
-
-                                                LogManager.debug("Found matching mod from CurseForge called "
-                                                        + dm.curseForgeFile.displayName);
-                                            });
-                                }
-                            }
-                        }
+                ModIdentificationManager.identify(mods, dm -> {
+                    if (dm.getFile(ROOT, id) == null) {
+                        return null;
                     }
-                }
 
-                if (!App.settings.dontCheckModsOnModrinth) {
-                    Map<String, DisableableMod> sha1Hashes = new HashMap<>();
-
-                    mods.stream()
-                            .filter(dm -> dm.modrinthProject == null && dm.modrinthVersion == null)
-                            .filter(dm -> dm.getFile(ROOT, id) != null).forEach(dm -> {
-                                try {
-                                    sha1Hashes.put(Hashing
-                                            .sha1(dm.disabled ? dm.getDisabledFile(this).toPath()
-                                                    : dm
-                                                            .getFile(ROOT, id).toPath())
-                                            .toString(), dm);
-                                } catch (Throwable t) {
-                                    LogManager.logStackTrace(t);
-                                }
-                            });
-
-                    if (sha1Hashes.size() != 0) {
-                        Set<String> keys = sha1Hashes.keySet();
-                        Map<String, ModrinthVersion> modrinthVersions = ModrinthApi
-                                .getVersionsFromSha1Hashes(keys.toArray(new String[keys.size()]));
-
-                        if (modrinthVersions != null && modrinthVersions.size() != 0) {
-                            String[] projectIdsFound = modrinthVersions.values().stream().map(mv -> mv.projectId)
-                                    .toArray(String[]::new);
-
-                            if (projectIdsFound.length != 0) {
-                                Map<String, ModrinthProject> foundProjects = ModrinthApi
-                                        .getProjectsAsMap(projectIdsFound);
-
-                                if (foundProjects != null) {
-                                    for (Map.Entry<String, ModrinthVersion> entry : modrinthVersions.entrySet()) {
-                                        ModrinthVersion version = entry.getValue();
-                                        ModrinthProject project = foundProjects.get(version.projectId);
-
-                                        if (project != null) {
-                                            DisableableMod dm = sha1Hashes.get(entry.getKey());
-
-                                            // add Modrinth information
-                                            dm.modrinthProject = project;
-                                            dm.modrinthVersion = version;
-
-                                            if (!dm.isFromCurseForge()
-                                                    || App.settings.defaultModPlatform == ModPlatform.MODRINTH) {
-                                                dm.name = project.title;
-                                                dm.description = project.description;
-                                            }
-
-                                            LogManager.debug(String.format(
-                                                    "Found matching mod from Modrinth called %s with file %s",
-                                                    project.title, version.name));
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
+                    return dm.disabled ? dm.getDisabledFile(this).toPath() : dm.getFile(ROOT, id).toPath();
+                });
 
                 mods.forEach(mod -> LogManager.info("Found extra mod with name of " + mod.file));
                 launcher.mods.addAll(mods);
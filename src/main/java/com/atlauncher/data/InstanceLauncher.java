@@ -102,6 +102,11 @@ public class InstanceLauncher {
     public Instant lastPlayed = null;
     public Long numPlays = null;
 
+    /**
+     * Resource usage of the most recent sessions, newest last, for tuning the memory settings.
+     */
+    public List<ProcessStats> recentSessions = null;
+
     public String lastExportName = null;
     public String lastExportVersion = null;
     public String lastExportAuthor = null;
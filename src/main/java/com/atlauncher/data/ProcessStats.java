@@ -0,0 +1,51 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data;
+
+import java.time.Instant;
+
+import com.atlauncher.annot.Json;
+
+/**
+ * A summary of the resources used by a Minecraft process over one session, as sampled by the process monitor.
+ *
+ * Memory is the resident set size of the process (so includes more than just the heap), and CPU is as a percentage of
+ * the whole system.
+ */
+@Json
+public class ProcessStats {
+    public Instant started;
+    public long durationSeconds;
+    public int samples;
+
+    /**
+     * The maximum memory (in MB) the instance was launched with, to compare the memory used against.
+     */
+    public int maximumMemory;
+
+    public long currentRss;
+    public long peakRss;
+    public long averageRss;
+
+    public double currentCpu;
+    public double peakCpu;
+    public double averageCpu;
+
+    public int threads;
+    public int peakThreads;
+}
@@ -18,6 +18,7 @@
 package com.atlauncher.data;
 
 import java.awt.Dimension;
+import java.awt.GraphicsEnvironment;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.io.File;
@@ -105,6 +106,8 @@ public class Settings {
     public int concurrentConnections = 8;
     public int connectionTimeout = 30;
     public boolean dontUseHttp2 = false;
+    public int downloadSpeedLimit = 0; // KB/s, 0 is unlimited
+    public int backgroundDownloadSpeedLimit = 0; // KB/s, 0 is unlimited
     public boolean enableProxy = false;
     public String proxyHost = "";
     public int proxyPort = 8080;
@@ -115,11 +118,15 @@ public class Settings {
     public String forgeLoggingLevel = "INFO";
     public boolean enableLogs = true;
     public boolean enableAnalytics = true;
+    public int processMonitorInterval = 5;
     public String analyticsClientId = UUID.randomUUID().toString();
 
     // Backups
     public boolean enableAutomaticBackupAfterLaunch = false;
     public BackupMode backupMode = BackupMode.NORMAL;
+    public boolean enableIncrementalBackups = false;
+    public int incrementalBackupsToKeep = 10;
+    public int archiveCompressionLevel = 6;
 
     // Commands
     public boolean enableCommands = false;
@@ -287,7 +294,10 @@ public class Settings {
     public void validate() {
         validateAnalyticsClientId();
 
-        validateWindowSettings();
+        // there's no screen to check the window sizes and positions against when running headless
+        if (!GraphicsEnvironment.isHeadless()) {
+            validateWindowSettings();
+        }
 
         validateSelectedTabOnStartup();
 
@@ -297,11 +307,18 @@ public class Settings {
         validateJavaPath();
 
         validateMemory();
-        validateWindowSize();
+
+        if (!GraphicsEnvironment.isHeadless()) {
+            validateWindowSize();
+        }
 
         validateProxy();
 
         validateConcurrentConnections();
+        validateDownloadSpeedLimits();
+
+        validateArchiveCompressionLevel();
+        validateProcessMonitorInterval();
 
         validateDateFormat();
 
@@ -481,6 +498,36 @@ public class Settings {
         }
     }
 
+    private void validateDownloadSpeedLimits() {
+        if (downloadSpeedLimit < 0) {
+            LogManager.warn("Tried to set the download speed limit to " + downloadSpeedLimit
+                    + " which is not valid! Must be 0 or more. Setting back to default of 0!");
+            downloadSpeedLimit = 0;
+        }
+
+        if (backgroundDownloadSpeedLimit < 0) {
+            LogManager.warn("Tried to set the background download speed limit to " + backgroundDownloadSpeedLimit
+                    + " which is not valid! Must be 0 or more. Setting back to default of 0!");
+            backgroundDownloadSpeedLimit = 0;
+        }
+    }
+
+    private void validateProcessMonitorInterval() {
+        if (processMonitorInterval < 0) {
+            LogManager.warn("Tried to set the process monitor interval to " + processMonitorInterval
+                    + " which is not valid! Must be 0 or more. Setting back to default of 5!");
+            processMonitorInterval = 5;
+        }
+    }
+
+    private void validateArchiveCompressionLevel() {
+        if (archiveCompressionLevel < 0 || archiveCompressionLevel > 9) {
+            LogManager.warn("Tried to set the archive compression level to " + archiveCompressionLevel
+                    + " which is not valid! Must be between 0 and 9. Setting back to default of 6!");
+            archiveCompressionLevel = 6;
+        }
+    }
+
     private void validateDateFormat() {
         if (!Arrays.asList(Constants.DATE_FORMATS).contains(dateFormat)) {
             LogManager.warn("Tried to set the date format to " + dateFormat + " which is not valid! Setting "
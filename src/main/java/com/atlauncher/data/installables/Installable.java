@@ -23,7 +23,6 @@ import java.awt.Window;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 
@@ -52,6 +51,7 @@ import com.atlauncher.managers.InstanceManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.ServerManager;
 import com.atlauncher.utils.FileUtils;
+import com.atlauncher.utils.PackArchive;
 import com.atlauncher.workers.InstanceInstaller;
 
 public abstract class Installable {
@@ -69,13 +69,13 @@ public abstract class Installable {
 
     public boolean showModsChooser = true;
     public CurseForgeManifest curseForgeManifest;
-    public Path curseExtractedPath;
+    public PackArchive curseForgeArchive;
     public ModrinthProject modrinthProject;
     public ModrinthModpackManifest modrinthManifest;
-    public Path modrinthExtractedPath;
+    public PackArchive modrinthArchive;
     public ModpacksChPackManifest modpacksChPackManifest;
     public MultiMCManifest multiMCManifest;
-    public Path multiMCExtractedPath;
+    public PackArchive multiMCArchive;
     public TechnicModpack technicModpack;
 
     public abstract Pack getPack();
@@ -161,8 +161,8 @@ public abstract class Installable {
 
         final InstanceInstaller instanceInstaller = new InstanceInstaller(instanceName, pack, version, isReinstall,
                 isServer, changingLoader, saveMods, null, showModsChooser, loaderVersion, curseForgeManifest,
-                curseExtractedPath, modpacksChPackManifest, modrinthManifest, modrinthExtractedPath, multiMCManifest,
-                multiMCExtractedPath, technicModpack, dialog) {
+                curseForgeArchive, modpacksChPackManifest, modrinthManifest, modrinthArchive, multiMCManifest,
+                multiMCArchive, technicModpack, dialog) {
 
             protected void done() {
                 Boolean success = false;
@@ -265,14 +265,6 @@ public abstract class Installable {
                     }
                 }
 
-                if (this.curseForgeExtractedPath != null) {
-                    FileUtils.deleteDirectory(this.curseForgeExtractedPath);
-                }
-
-                if (this.multiMCExtractedPath != null) {
-                    FileUtils.deleteDirectory(this.multiMCExtractedPath);
-                }
-
                 if (this.technicModpackExtractedPath != null) {
                     FileUtils.deleteDirectory(this.technicModpackExtractedPath);
                 }
@@ -45,6 +45,7 @@ public class Mod {
     public String name;
     public String version;
     public String url;
+    public List<String> mirrors;
     public String file;
     public String path;
     public String md5;
@@ -24,4 +24,9 @@ public class JavaRuntimeManifestFile {
     public JavaRuntimeManifestFileType type;
     public JavaRuntimeManifestFileDownloads downloads;
     public boolean executable;
+
+    /**
+     * For links, the path the link points to, relative to the link.
+     */
+    public String target;
 }
@@ -27,4 +27,7 @@ public enum JavaRuntimeManifestFileType {
 
     @SerializedName("file")
     FILE,
+
+    @SerializedName("link")
+    LINK,
 }
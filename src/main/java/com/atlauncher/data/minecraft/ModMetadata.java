@@ -0,0 +1,92 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.data.minecraft;
+
+/**
+ * Holds the metadata read out of a mod file. Any of the metadata files that weren't present in the file will be null.
+ */
+public class ModMetadata {
+    public MCMod mcMod;
+    public FabricMod fabricMod;
+    public QuiltMod quiltMod;
+    public ForgeMod forgeMod;
+
+    public boolean hasMetadata() {
+        return mcMod != null || fabricMod != null || quiltMod != null || forgeMod != null;
+    }
+
+    public String getName() {
+        if (mcMod != null) {
+            return mcMod.name;
+        }
+
+        if (fabricMod != null) {
+            return fabricMod.name;
+        }
+
+        if (quiltMod != null && quiltMod.quiltLoader != null && quiltMod.quiltLoader.metadata != null) {
+            return quiltMod.quiltLoader.metadata.name;
+        }
+
+        if (forgeMod != null) {
+            return forgeMod.displayName;
+        }
+
+        return null;
+    }
+
+    public String getVersion() {
+        if (mcMod != null) {
+            return mcMod.version;
+        }
+
+        if (fabricMod != null) {
+            return fabricMod.version;
+        }
+
+        if (quiltMod != null && quiltMod.quiltLoader != null) {
+            return quiltMod.quiltLoader.version;
+        }
+
+        if (forgeMod != null) {
+            return forgeMod.version;
+        }
+
+        return null;
+    }
+
+    public String getDescription() {
+        if (mcMod != null) {
+            return mcMod.description;
+        }
+
+        if (fabricMod != null) {
+            return fabricMod.description;
+        }
+
+        if (quiltMod != null && quiltMod.quiltLoader != null && quiltMod.quiltLoader.metadata != null) {
+            return quiltMod.quiltLoader.metadata.description;
+        }
+
+        if (forgeMod != null) {
+            return forgeMod.description;
+        }
+
+        return null;
+    }
+}
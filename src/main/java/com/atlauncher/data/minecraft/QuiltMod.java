@@ -15,29 +15,30 @@
  * You should have received a copy of the GNU General Public License
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
-package com.atlauncher.utils.walker;
+package com.atlauncher.data.minecraft;
 
-import java.io.IOException;
-import java.nio.file.FileVisitResult;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
 
-public final class DeleteDirVisitor extends SimpleFileVisitor<Path> {
-    @Override
-    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-        Files.delete(file);
-        return FileVisitResult.CONTINUE;
+import com.google.gson.annotations.SerializedName;
+
+public class QuiltMod {
+    @SerializedName("schema_version")
+    public Integer schemaVersion;
+
+    @SerializedName("quilt_loader")
+    public QuiltLoader quiltLoader;
+
+    public static class QuiltLoader {
+        public String group;
+        public String id;
+        public String version;
+        public QuiltMetadata metadata;
     }
 
-    @Override
-    public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-        if (exc == null) {
-            Files.delete(dir);
-            return FileVisitResult.CONTINUE;
-        } else {
-            throw exc;
-        }
+    public static class QuiltMetadata {
+        public String name;
+        public String description;
+        public Map<String, String> contact;
+        public String icon;
     }
 }
@@ -30,6 +30,8 @@ public class VersionManifestVersion {
     public String time;
     public String releaseTime;
 
+    private transient long releaseTimeMillis = -1;
+
     public static DateTime release_1_2_5 = ISODateTimeFormat.dateTimeParser()
             .parseDateTime("2012-03-29T22:00:00+00:00");
     public static DateTime release_18w48a = ISODateTimeFormat.dateTimeParser()
@@ -48,6 +50,21 @@ public class VersionManifestVersion {
     public static DateTime release_1_18_1 = ISODateTimeFormat.dateTimeParser()
             .parseDateTime("2021-12-10T08:23:00+00:00");
 
+    /**
+     * Gets the release time in milliseconds since the epoch, parsing it only the first time.
+     */
+    public long getReleaseTimeMillis() {
+        if (releaseTimeMillis == -1) {
+            releaseTimeMillis = ISODateTimeFormat.dateTimeParser().parseDateTime(releaseTime).getMillis();
+        }
+
+        return releaseTimeMillis;
+    }
+
+    public void setReleaseTimeMillis(long releaseTimeMillis) {
+        this.releaseTimeMillis = releaseTimeMillis;
+    }
+
     private boolean isBeforeOrEqualDate(DateTime a, DateTime b) {
         return a.isBefore(b) || a.isEqual(b);
     }
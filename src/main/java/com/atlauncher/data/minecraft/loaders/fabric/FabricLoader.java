@@ -18,33 +18,22 @@
 package com.atlauncher.data.minecraft.loaders.fabric;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.jar.Attributes;
-import java.util.jar.JarEntry;
-import java.util.jar.JarInputStream;
-import java.util.jar.Manifest;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
-import com.atlauncher.FileSystem;
 import com.atlauncher.data.minecraft.Arguments;
 import com.atlauncher.data.minecraft.Library;
 import com.atlauncher.data.minecraft.loaders.Loader;
 import com.atlauncher.data.minecraft.loaders.LoaderVersion;
 import com.atlauncher.managers.ConfigManager;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.managers.ServerLaunchJarManager;
 import com.atlauncher.network.Download;
-import com.atlauncher.utils.Utils;
 import com.atlauncher.workers.InstanceInstaller;
 import com.google.gson.reflect.TypeToken;
 
@@ -53,7 +42,6 @@ public class FabricLoader implements Loader {
     protected FabricMetaVersion version;
     protected File tempDir;
     protected InstanceInstaller instanceInstaller;
-    private final Pattern manifestPattern = Pattern.compile("META-INF/[^/]+\\.(SF|DSA|RSA|EC)");
 
     @Override
     public void set(Map<String, Object> metadata, File tempDir, InstanceInstaller instanceInstaller,
@@ -108,12 +96,6 @@ public class FabricLoader implements Loader {
         return libraries;
     }
 
-    private List<File> getLibraryFiles() {
-        return this.getLibraries().stream()
-                .map(library -> FileSystem.LIBRARIES.resolve(library.downloads.artifact.path).toFile())
-                .collect(Collectors.toList());
-    }
-
     @Override
     public String getMainClass() {
         return this.version.launcherMeta.getMainClass(this.instanceInstaller.isServer);
@@ -139,64 +121,11 @@ public class FabricLoader implements Loader {
     }
 
     private void makeServerLaunchJar() {
-        File file = new File(this.instanceInstaller.root.toFile(), "fabric-server-launch.jar");
-        if (file.exists()) {
-            Utils.delete(file);
-        }
-
         try {
-
-            FileOutputStream outputStream = new FileOutputStream(file);
-            ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream);
-
-            List<File> libraryFiles = this.getLibraryFiles();
-
-            Set<String> addedEntries = new HashSet<>();
-            {
-                addedEntries.add("META-INF/MANIFEST.MF");
-                zipOutputStream.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
-
-                Manifest manifest = new Manifest();
-                manifest.getMainAttributes().put(new Attributes.Name("Manifest-Version"), "1.0");
-                manifest.getMainAttributes().put(new Attributes.Name("Main-Class"),
-                        "net.fabricmc.loader.launch.server.FabricServerLauncher");
-                manifest.write(zipOutputStream);
-
-                zipOutputStream.closeEntry();
-
-                addedEntries.add("fabric-server-launch.properties");
-                zipOutputStream.putNextEntry(new ZipEntry("fabric-server-launch.properties"));
-                zipOutputStream.write(
-                        ("launch.mainClass=" + this.version.launcherMeta.getMainClass(this.instanceInstaller.isServer)
-                                + "\n").getBytes(StandardCharsets.UTF_8));
-                zipOutputStream.closeEntry();
-
-                byte[] buffer = new byte[32768];
-
-                for (File f : libraryFiles) {
-                    try (FileInputStream is = new FileInputStream(f); JarInputStream jis = new JarInputStream(is)) {
-                        JarEntry entry;
-                        while ((entry = jis.getNextJarEntry()) != null) {
-                            if (!addedEntries.contains(entry.getName())
-                                    && !manifestPattern.matcher(entry.getName()).matches()) {
-                                JarEntry newEntry = new JarEntry(entry.getName());
-                                zipOutputStream.putNextEntry(newEntry);
-
-                                int r;
-                                while ((r = jis.read(buffer, 0, buffer.length)) >= 0) {
-                                    zipOutputStream.write(buffer, 0, r);
-                                }
-
-                                zipOutputStream.closeEntry();
-                                addedEntries.add(entry.getName());
-                            }
-                        }
-                    }
-                }
-            }
-
-            zipOutputStream.close();
-            outputStream.close();
+            ServerLaunchJarManager.makeServerLaunchJar("fabric-server-launch.jar",
+                    "net.fabricmc.loader.launch.server.FabricServerLauncher",
+                    this.version.launcherMeta.getMainClass(this.instanceInstaller.isServer), this.getLibraries(),
+                    this.instanceInstaller.root);
 
             FileOutputStream propertiesOutputStream = new FileOutputStream(
                     new File(this.instanceInstaller.root.toFile(), "fabric-server-launcher.properties"));
@@ -18,9 +18,9 @@
 package com.atlauncher.data.minecraft.loaders.forge;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -31,11 +31,16 @@ import com.atlauncher.data.minecraft.ArgumentRule;
 import com.atlauncher.data.minecraft.Arguments;
 import com.atlauncher.data.minecraft.Library;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.managers.PerformanceManager;
+import com.atlauncher.managers.ProcessorCacheManager;
+import com.atlauncher.thread.TaskPools;
 import com.atlauncher.utils.FileUtils;
 import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
 
 public class Forge113Loader extends ForgeLoader {
+    private Version versionJson;
+
     @Override
     public ForgeInstallProfile getInstallProfile() {
         ForgeInstallProfile installProfile = super.getInstallProfile();
@@ -75,32 +80,100 @@ public class Forge113Loader extends ForgeLoader {
         });
     }
 
+    /**
+     * Reads the version json from the extracted installer. This is only read once and then reused.
+     */
     public Version getVersion() {
-        Version version = null;
+        if (this.versionJson != null) {
+            return this.versionJson;
+        }
 
-        try {
-            version = Gsons.MINECRAFT.fromJson(new FileReader(new File(this.tempDir, "version.json")), Version.class);
-        } catch (JsonSyntaxException | JsonIOException | FileNotFoundException e) {
+        try (FileReader fileReader = new FileReader(new File(this.tempDir, "version.json"))) {
+            this.versionJson = Gsons.MINECRAFT.fromJson(fileReader, Version.class);
+        } catch (JsonSyntaxException | JsonIOException | IOException e) {
             LogManager.logStackTrace(e);
         }
 
-        return version;
+        return this.versionJson;
     }
 
+    /**
+     * Runs the processors for this side. Processors which don't use any of the same files are run at the same time,
+     * while any which share files run in the order they're listed in the install profile.
+     */
     public void runProcessors() {
+        PerformanceManager.start("Forge113Loader::runProcessors");
         ForgeInstallProfile installProfile = this.getInstallProfile();
 
-        installProfile.processors.forEach(processor -> {
-            if (!instanceInstaller.isCancelled()) {
-                try {
-                    processor.process(installProfile, this.tempDir, instanceInstaller);
-                } catch (IOException e) {
-                    LogManager.logStackTrace(e);
-                    LogManager.error("Failed to process processor with jar " + processor.getJar());
-                    instanceInstaller.cancel(true);
+        List<Processor> processors = installProfile.processors.stream()
+                .filter(processor -> processor.isForSide(instanceInstaller.isServer)).collect(Collectors.toList());
+
+        for (List<Processor> wave : getProcessorWaves(installProfile, processors)) {
+            if (instanceInstaller.isCancelled()) {
+                break;
+            }
+
+            TaskPools.CPU.forEach("Forge113Loader::runProcessor", wave, processor -> {
+                if (!instanceInstaller.isCancelled()) {
+                    try {
+                        processor.process(installProfile, this.tempDir, instanceInstaller);
+                    } catch (IOException e) {
+                        LogManager.logStackTrace(e);
+                        LogManager.error("Failed to process processor with jar " + processor.getJar());
+                        instanceInstaller.cancel(true);
+                    }
+                }
+            });
+        }
+
+        ProcessorCacheManager.saveCache();
+        PerformanceManager.end("Forge113Loader::runProcessors");
+    }
+
+    /**
+     * Groups the processors into waves, where each processor is in the wave after the last earlier processor it shares
+     * a file with. Processors whose files can't be worked out share files with everything.
+     */
+    private List<List<Processor>> getProcessorWaves(ForgeInstallProfile installProfile, List<Processor> processors) {
+        List<List<Path>> usedFiles = processors.stream().map(processor -> {
+            List<File> files = processor.getUsedFiles(installProfile, this.tempDir, instanceInstaller);
+
+            return files == null ? null
+                    : files.stream().map(file -> file.toPath().toAbsolutePath().normalize())
+                            .collect(Collectors.toList());
+        }).collect(Collectors.toList());
+
+        List<List<Processor>> waves = new ArrayList<>();
+        int[] waveOf = new int[processors.size()];
+
+        for (int i = 0; i < processors.size(); i++) {
+            int wave = 0;
+
+            for (int j = 0; j < i; j++) {
+                if (waveOf[j] >= wave && sharesFiles(usedFiles.get(i), usedFiles.get(j))) {
+                    wave = waveOf[j] + 1;
                 }
             }
-        });
+
+            waveOf[i] = wave;
+
+            if (waves.size() == wave) {
+                waves.add(new ArrayList<>());
+            }
+            waves.get(wave).add(processors.get(i));
+        }
+
+        return waves;
+    }
+
+    private static boolean sharesFiles(List<Path> a, List<Path> b) {
+        if (a == null || b == null) {
+            return true;
+        }
+
+        // directories (such as the libraries folder) share files with anything inside them
+        return a.stream().anyMatch(
+                pathA -> b.stream().anyMatch(pathB -> pathA.startsWith(pathB) || pathB.startsWith(pathA)));
     }
 
     public List<Library> getInstallLibraries() {
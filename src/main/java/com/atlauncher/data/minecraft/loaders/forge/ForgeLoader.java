@@ -58,6 +58,9 @@ public class ForgeLoader implements Loader {
     protected InstanceInstaller instanceInstaller;
     protected Path installerPath;
 
+    private ForgeInstallProfile installProfile;
+    private ForgeInstallProfile versionInfo;
+
     @Override
     public void set(Map<String, Object> metadata, File tempDir, InstanceInstaller instanceInstaller,
             LoaderVersion versionOverride) {
@@ -201,17 +204,21 @@ public class ForgeLoader implements Loader {
         }
     }
 
+    /**
+     * Reads the install profile from the extracted installer. This is only read once and then reused.
+     */
     public ForgeInstallProfile getInstallProfile() {
-        ForgeInstallProfile installProfile = null;
+        if (this.installProfile != null) {
+            return this.installProfile;
+        }
 
-        try {
-            installProfile = Gsons.MINECRAFT.fromJson(new FileReader(new File(this.tempDir, "install_profile.json")),
-                    ForgeInstallProfile.class);
+        try (FileReader fileReader = new FileReader(new File(this.tempDir, "install_profile.json"))) {
+            this.installProfile = Gsons.MINECRAFT.fromJson(fileReader, ForgeInstallProfile.class);
         } catch (Throwable e) {
             LogManager.logStackTrace(e);
         }
 
-        return installProfile;
+        return this.installProfile;
     }
 
     public ForgeInstallProfile getVersionInfo() {
@@ -219,16 +226,17 @@ public class ForgeLoader implements Loader {
             return this.getInstallProfile().versionInfo;
         }
 
-        ForgeInstallProfile versionInfo = null;
+        if (this.versionInfo != null) {
+            return this.versionInfo;
+        }
 
-        try {
-            versionInfo = Gsons.MINECRAFT.fromJson(new FileReader(new File(this.tempDir, "version.json")),
-                    ForgeInstallProfile.class);
+        try (FileReader fileReader = new FileReader(new File(this.tempDir, "version.json"))) {
+            this.versionInfo = Gsons.MINECRAFT.fromJson(fileReader, ForgeInstallProfile.class);
         } catch (Throwable e) {
             LogManager.logStackTrace(e);
         }
 
-        return versionInfo;
+        return this.versionInfo;
     }
 
     @Override
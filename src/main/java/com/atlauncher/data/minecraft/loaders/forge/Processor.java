@@ -23,17 +23,20 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.jar.Attributes;
 import java.util.jar.JarFile;
+import java.util.stream.Collectors;
 
 import com.atlauncher.FileSystem;
 import com.atlauncher.annot.Json;
 import com.atlauncher.managers.LogManager;
-import com.atlauncher.utils.Hashing;
+import com.atlauncher.managers.ProcessorCacheManager;
 import com.atlauncher.utils.Utils;
 import com.atlauncher.workers.InstanceInstaller;
 
@@ -65,6 +68,10 @@ public class Processor {
         return this.outputs != null && this.outputs.size() != 0;
     }
 
+    public boolean isForSide(boolean isServer) {
+        return this.sides == null || this.sides.contains(isServer ? "server" : "client");
+    }
+
     public void process(ForgeInstallProfile installProfile, File extractedDir, InstanceInstaller instanceInstaller)
             throws IOException {
         // delete any outputs that are invalid. They still need to run
@@ -72,8 +79,7 @@ public class Processor {
             return;
         }
 
-        File librariesDirectory = instanceInstaller.isServer ? instanceInstaller.root.resolve("libraries").toFile()
-                : FileSystem.LIBRARIES.toFile();
+        File librariesDirectory = getLibrariesDirectory(instanceInstaller);
 
         File jarPath = Utils.convertMavenIdentifierToFile(this.jar, librariesDirectory);
         LogManager.debug("Jar path is " + jarPath);
@@ -111,6 +117,72 @@ public class Processor {
             classpath.add(classpathFile.toURI().toURL());
         }
 
+        List<String> args = this.resolveArgs(installProfile, extractedDir, instanceInstaller, true);
+
+        if (args == null) {
+            instanceInstaller.cancel(true);
+            return;
+        }
+
+        // if this exact run has been done before, reuse its outputs rather than running it again
+        Map<String, File> outputFiles = this.getOutputFiles(installProfile, instanceInstaller);
+        String runKey = null;
+
+        if (outputFiles != null) {
+            runKey = this.getRunKey(installProfile, extractedDir, instanceInstaller, args, outputFiles);
+
+            if (ProcessorCacheManager.restoreOutputs(runKey, outputFiles)) {
+                LogManager.debug("No need to run processor " + this.jar + " since its outputs were cached");
+                return;
+            }
+        }
+
+        ClassLoader parentClassLoader = null;
+        try {
+            Method getPlatform = ClassLoader.class.getDeclaredMethod("getPlatformClassLoader");
+            parentClassLoader = (ClassLoader) getPlatform.invoke(null);
+        } catch (Exception e) {
+        }
+
+        ClassLoader cl = new URLClassLoader(classpath.toArray(new URL[0]), parentClassLoader);
+        Thread currentThread = Thread.currentThread();
+        ClassLoader threadClassloader = currentThread.getContextClassLoader();
+        currentThread.setContextClassLoader(cl);
+
+        try {
+            LogManager.debug("Running processor with args \"" + String.join(" ", args) + "\"");
+            Class<?> cls = Class.forName(mainClass, true, cl);
+            Method main = cls.getDeclaredMethod("main", String[].class);
+            main.invoke(null, (Object) args.toArray(new String[args.size()]));
+
+            if (runKey != null) {
+                ProcessorCacheManager.recordOutputs(runKey, outputFiles);
+            }
+        } catch (InvocationTargetException ite) {
+            Throwable e = ite.getCause();
+            LogManager.logStackTrace(e);
+            LogManager.error(
+                    "Failed to process processor with jar " + this.jar + " as there was an error invoking the jar");
+            instanceInstaller.cancel(true);
+        } catch (Throwable e) {
+            LogManager.logStackTrace(e);
+            LogManager.error(
+                    "Failed to process processor with jar " + this.jar + " as there was an error invoking the jar");
+            instanceInstaller.cancel(true);
+        } finally {
+            currentThread.setContextClassLoader(threadClassloader);
+        }
+    }
+
+    /**
+     * Resolves the arguments to pass to the processor, replacing data keys and maven identifiers with their values.
+     *
+     * When strict, any missing files are logged as errors and null is returned. Otherwise files aren't checked, which
+     * is used to work out which files the processor uses before any processors have run.
+     */
+    public List<String> resolveArgs(ForgeInstallProfile installProfile, File extractedDir,
+            InstanceInstaller instanceInstaller, boolean strict) {
+        File librariesDirectory = getLibrariesDirectory(instanceInstaller);
         List<String> args = new ArrayList<>();
 
         for (String arg : this.getArgs()) {
@@ -119,23 +191,26 @@ public class Processor {
                         installProfile.data.get("ROOT").getValue(!instanceInstaller.isServer, librariesDirectory));
             }
 
-            LogManager.debug("Processing argument " + arg);
+            if (strict) {
+                LogManager.debug("Processing argument " + arg);
+            }
             char start = arg.charAt(0);
             char end = arg.charAt(arg.length() - 1);
 
             if (start == '{' && end == '}') {
                 String key = arg.substring(1, arg.length() - 1);
-                LogManager.debug("Getting data with key of " + key);
-                String value = installProfile.data.get(key).getValue(!instanceInstaller.isServer, librariesDirectory);
+                Data data = installProfile.data.get(key);
+                String value = data == null ? null : data.getValue(!instanceInstaller.isServer, librariesDirectory);
 
                 if (value == null || value.isEmpty()) {
-                    LogManager.error("Failed to process processor with jar " + this.jar + " as the argument with name "
-                            + arg + " as the data item with key " + key + " was empty or null");
-                    instanceInstaller.cancel(true);
-                    return;
+                    if (strict) {
+                        LogManager.error("Failed to process processor with jar " + this.jar
+                                + " as the argument with name " + arg + " as the data item with key " + key
+                                + " was empty or null");
+                    }
+                    return null;
                 }
 
-                LogManager.debug("Got value of " + value);
                 // checking for local file paths returned "/data/client.lzma" and then makes
                 // sure we localise it to the libraries folder if it's indeed local
                 if (value.charAt(0) == '/') {
@@ -145,13 +220,11 @@ public class Processor {
                         args.add(value);
                     } else {
                         File localFile = new File(extractedDir, value);
-                        LogManager.debug("Got argument with local file of " + localFile.getAbsolutePath());
 
-                        if (!localFile.exists() || !localFile.isFile()) {
+                        if (strict && (!localFile.exists() || !localFile.isFile())) {
                             LogManager.error("Failed to process argument with value of " + value + " as the local file "
                                     + localFile.getAbsolutePath() + " doesn't exist");
-                            instanceInstaller.cancel(true);
-                            return;
+                            return null;
                         }
 
                         args.add(localFile.getAbsolutePath());
@@ -162,13 +235,11 @@ public class Processor {
             } else if (start == '[' && end == ']') {
                 String artifact = arg.substring(1, arg.length() - 1);
                 File artifactFile = Utils.convertMavenIdentifierToFile(artifact, FileSystem.LIBRARIES.toFile());
-                LogManager.debug("Got argument with file of " + artifactFile.getAbsolutePath());
 
-                if (!artifactFile.exists() || !artifactFile.isFile()) {
+                if (strict && (!artifactFile.exists() || !artifactFile.isFile())) {
                     LogManager.error("Failed to process argument with value of " + arg + " as the file "
                             + artifactFile.getAbsolutePath() + " doesn't exist");
-                    instanceInstaller.cancel(true);
-                    return;
+                    return null;
                 }
 
                 args.add(artifactFile.getAbsolutePath());
@@ -185,42 +256,92 @@ public class Processor {
             args.add(FileSystem.LIBRARIES.toFile().getAbsolutePath());
         }
 
-        ClassLoader parentClassLoader = null;
-        try {
-            Method getPlatform = ClassLoader.class.getDeclaredMethod("getPlatformClassLoader");
-            parentClassLoader = (ClassLoader) getPlatform.invoke(null);
-        } catch (Exception e) {
+        return args;
+    }
+
+    /**
+     * Gets the files this processor reads or writes, as far as can be told from its arguments, or null if they
+     * couldn't be worked out.
+     */
+    public List<File> getUsedFiles(ForgeInstallProfile installProfile, File extractedDir,
+            InstanceInstaller instanceInstaller) {
+        List<String> args = this.resolveArgs(installProfile, extractedDir, instanceInstaller, false);
+
+        if (args == null) {
+            return null;
         }
 
-        ClassLoader cl = new URLClassLoader(classpath.toArray(new URL[0]), parentClassLoader);
-        Thread currentThread = Thread.currentThread();
-        ClassLoader threadClassloader = currentThread.getContextClassLoader();
-        currentThread.setContextClassLoader(cl);
+        List<File> files = args.stream().map(File::new).filter(File::isAbsolute).collect(Collectors.toList());
 
-        try {
-            LogManager.debug("Running processor with args \"" + String.join(" ", args) + "\"");
-            Class<?> cls = Class.forName(mainClass, true, cl);
-            Method main = cls.getDeclaredMethod("main", String[].class);
-            main.invoke(null, (Object) args.toArray(new String[args.size()]));
-        } catch (InvocationTargetException ite) {
-            Throwable e = ite.getCause();
-            LogManager.logStackTrace(e);
-            LogManager.error(
-                    "Failed to process processor with jar " + this.jar + " as there was an error invoking the jar");
-            instanceInstaller.cancel(true);
-        } catch (Throwable e) {
-            LogManager.logStackTrace(e);
-            LogManager.error(
-                    "Failed to process processor with jar " + this.jar + " as there was an error invoking the jar");
-            instanceInstaller.cancel(true);
-        } finally {
-            currentThread.setContextClassLoader(threadClassloader);
+        Map<String, File> outputFiles = this.getOutputFiles(installProfile, instanceInstaller);
+        if (outputFiles != null) {
+            files.addAll(outputFiles.values());
+        }
+
+        return files;
+    }
+
+    /**
+     * Gets the files this processor outputs keyed by their output key, or null if it has none or they can't be worked
+     * out.
+     */
+    private Map<String, File> getOutputFiles(ForgeInstallProfile installProfile, InstanceInstaller instanceInstaller) {
+        if (!this.hasOutputs()) {
+            return null;
+        }
+
+        File librariesDirectory = getLibrariesDirectory(instanceInstaller);
+        Map<String, File> outputFiles = new HashMap<>();
+
+        for (String key : this.outputs.keySet()) {
+            if (key.charAt(0) != '{' || key.charAt(key.length() - 1) != '}') {
+                return null;
+            }
+
+            Data data = installProfile.data.get(key.substring(1, key.length() - 1));
+            String dataItem = data == null ? null : data.getValue(!instanceInstaller.isServer, librariesDirectory);
+
+            if (dataItem == null || dataItem.isEmpty()) {
+                return null;
+            }
+
+            outputFiles.put(key, new File(dataItem));
         }
+
+        return outputFiles;
+    }
+
+    private String getRunKey(ForgeInstallProfile installProfile, File extractedDir,
+            InstanceInstaller instanceInstaller, List<String> args, Map<String, File> outputFiles) {
+        List<String> parts = new ArrayList<>();
+        parts.add(installProfile.version);
+        parts.add(installProfile.minecraft);
+        parts.add(instanceInstaller.isServer ? "server" : "client");
+        parts.add(this.jar);
+        parts.addAll(this.getClasspath());
+
+        // paths unique to this install are replaced so that the same run for another instance has the same key
+        String extractedPath = extractedDir.getAbsolutePath();
+        String tempPath = instanceInstaller.temp.toAbsolutePath().toString();
+        String rootPath = instanceInstaller.root.toAbsolutePath().toString();
+        List<String> normalisedArgs = args.stream().map(arg -> arg.replace(extractedPath, "{EXTRACTED}")
+                .replace(tempPath, "{TEMP}").replace(rootPath, "{ROOT}")).collect(Collectors.toList());
+
+        List<Path> inputFiles = args.stream().map(File::new)
+                .filter(file -> file.isAbsolute() && file.isFile() && !outputFiles.containsValue(file))
+                .map(File::toPath).collect(Collectors.toList());
+
+        return ProcessorCacheManager.getRunKey(parts, normalisedArgs, inputFiles);
+    }
+
+    private static File getLibrariesDirectory(InstanceInstaller instanceInstaller) {
+        return instanceInstaller.isServer ? instanceInstaller.root.resolve("libraries").toFile()
+                : FileSystem.LIBRARIES.toFile();
     }
 
     public boolean needToRun(ForgeInstallProfile installProfile, File extractedDir,
             InstanceInstaller instanceInstaller) {
-        if (this.sides != null && !this.sides.contains(instanceInstaller.isServer ? "server" : "client")) {
+        if (!this.isForSide(instanceInstaller.isServer)) {
             LogManager.debug("No need to run processor " + this.jar + " since it's not needed for this side");
             return false;
         }
@@ -229,8 +350,7 @@ public class Processor {
             return true;
         }
 
-        File librariesDirectory = instanceInstaller.isServer ? instanceInstaller.root.resolve("libraries").toFile()
-                : FileSystem.LIBRARIES.toFile();
+        File librariesDirectory = getLibrariesDirectory(instanceInstaller);
 
         for (Entry<String, String> entry : this.outputs.entrySet()) {
             String key = entry.getKey();
@@ -264,19 +384,19 @@ public class Processor {
                     LogManager.debug("Getting data with key of " + value.substring(1, value.length() - 1));
                     String valueDataItem = installProfile.data.get(value.substring(1, value.length() - 1))
                             .getValue(!instanceInstaller.isServer, librariesDirectory);
-                    if (dataItem == null || dataItem.isEmpty()) {
+                    if (valueDataItem == null || valueDataItem.isEmpty()) {
                         LogManager.error("Failed to process processor with jar " + this.jar
                                 + " as the output with value " + value + " doesn't have a corresponding data entry");
                         instanceInstaller.cancel(true);
                         return true;
                     }
 
-                    String sha1Hash = Hashing.sha1(outputFile.toPath()).toString();
+                    String sha1Hash = ProcessorCacheManager.sha1(outputFile.toPath());
                     String expectedHash = valueDataItem.charAt(0) == '\''
                             ? valueDataItem.substring(1, valueDataItem.length() - 1)
                             : valueDataItem;
 
-                    LogManager.debug("Expecting " + sha1Hash + " to equal " + sha1Hash);
+                    LogManager.debug("Expecting " + sha1Hash + " to equal " + expectedHash);
                     if (!sha1Hash.equals(expectedHash)) {
                         Utils.delete(outputFile);
                         return true;
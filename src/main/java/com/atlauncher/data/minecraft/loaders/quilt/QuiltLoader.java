@@ -18,24 +18,14 @@
 package com.atlauncher.data.minecraft.loaders.quilt;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.jar.Attributes;
-import java.util.jar.JarEntry;
-import java.util.jar.JarInputStream;
-import java.util.jar.Manifest;
 import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
-import com.atlauncher.FileSystem;
 import com.atlauncher.constants.Constants;
 import com.atlauncher.data.minecraft.Arguments;
 import com.atlauncher.data.minecraft.Library;
@@ -43,8 +33,8 @@ import com.atlauncher.data.minecraft.loaders.Loader;
 import com.atlauncher.data.minecraft.loaders.LoaderVersion;
 import com.atlauncher.managers.ConfigManager;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.managers.ServerLaunchJarManager;
 import com.atlauncher.network.Download;
-import com.atlauncher.utils.Utils;
 import com.atlauncher.workers.InstanceInstaller;
 import com.google.gson.reflect.TypeToken;
 
@@ -114,12 +104,6 @@ public class QuiltLoader implements Loader {
         return libraries;
     }
 
-    private List<File> getLibraryFiles() {
-        return this.getLibraries().stream()
-                .map(library -> FileSystem.LIBRARIES.resolve(library.downloads.artifact.path).toFile())
-                .collect(Collectors.toList());
-    }
-
     @Override
     public String getMainClass() {
         return this.version.launcherMeta.getMainClass(this.instanceInstaller.isServer);
@@ -145,63 +129,11 @@ public class QuiltLoader implements Loader {
     }
 
     private void makeServerLaunchJar() {
-        File file = new File(this.instanceInstaller.root.toFile(), "quilt-server-launch.jar");
-        if (file.exists()) {
-            Utils.delete(file);
-        }
-
         try {
-
-            FileOutputStream outputStream = new FileOutputStream(file);
-            ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream);
-
-            List<File> libraryFiles = this.getLibraryFiles();
-
-            Set<String> addedEntries = new HashSet<>();
-            {
-                addedEntries.add("META-INF/MANIFEST.MF");
-                zipOutputStream.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
-
-                Manifest manifest = new Manifest();
-                manifest.getMainAttributes().put(new Attributes.Name("Manifest-Version"), "1.0");
-                manifest.getMainAttributes().put(new Attributes.Name("Main-Class"),
-                        "org.quiltmc.loader.impl.launch.server.QuiltServerLauncher");
-                manifest.write(zipOutputStream);
-
-                zipOutputStream.closeEntry();
-
-                addedEntries.add("quilt-server-launch.properties");
-                zipOutputStream.putNextEntry(new ZipEntry("quilt-server-launch.properties"));
-                zipOutputStream.write(
-                        ("launch.mainClass=" + this.version.launcherMeta.getMainClass(this.instanceInstaller.isServer)
-                                + "\n").getBytes(StandardCharsets.UTF_8));
-                zipOutputStream.closeEntry();
-
-                byte[] buffer = new byte[32768];
-
-                for (File f : libraryFiles) {
-                    try (FileInputStream is = new FileInputStream(f); JarInputStream jis = new JarInputStream(is)) {
-                        JarEntry entry;
-                        while ((entry = jis.getNextJarEntry()) != null) {
-                            if (!addedEntries.contains(entry.getName())) {
-                                JarEntry newEntry = new JarEntry(entry.getName());
-                                zipOutputStream.putNextEntry(newEntry);
-
-                                int r;
-                                while ((r = jis.read(buffer, 0, buffer.length)) >= 0) {
-                                    zipOutputStream.write(buffer, 0, r);
-                                }
-
-                                zipOutputStream.closeEntry();
-                                addedEntries.add(entry.getName());
-                            }
-                        }
-                    }
-                }
-            }
-
-            zipOutputStream.close();
-            outputStream.close();
+            ServerLaunchJarManager.makeServerLaunchJar("quilt-server-launch.jar",
+                    "org.quiltmc.loader.impl.launch.server.QuiltServerLauncher",
+                    this.version.launcherMeta.getMainClass(this.instanceInstaller.isServer), this.getLibraries(),
+                    this.instanceInstaller.root);
 
             FileOutputStream propertiesOutputStream = new FileOutputStream(
                     new File(this.instanceInstaller.root.toFile(), "quilt-server-launcher.properties"));
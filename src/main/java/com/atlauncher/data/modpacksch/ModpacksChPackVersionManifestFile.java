@@ -56,6 +56,7 @@ public class ModpacksChPackVersionManifestFile {
         mod.sha1 = sha1;
         mod.name = name;
         mod.url = url;
+        mod.mirrors = mirrors;
         mod.type = getType();
         mod.version = version;
         mod.optional = optional;
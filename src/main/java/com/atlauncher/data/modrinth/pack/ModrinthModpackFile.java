@@ -54,6 +54,7 @@ public class ModrinthModpackFile {
         mod.sha1 = hashes.get("sha1");
         mod.name = path.replace("mods/", "").replace(".jar", "");
         mod.url = downloads.get(0);
+        mod.mirrors = downloads.subList(1, downloads.size());
         mod.type = getType();
         mod.version = "";
         mod.optional = isServer ? serverEnv.equals("optional") : clientEnv.equals("optional");
@@ -53,7 +53,7 @@ public final class LogEvent {
     }
 
     public void post(Logger logger) {
-        if ((this.meta & CONSOLE) == CONSOLE) {
+        if ((this.meta & CONSOLE) == CONSOLE && App.console != null) {
             Console c = App.console.console;
             c.setColor(this.type.color()).setBold(true).write("[" + Timestamper.now() + "] ");
             c.setColor(UIManager.getColor("EditorPane.foreground")).setBold(false).write(this.body);
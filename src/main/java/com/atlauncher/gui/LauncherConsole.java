@@ -32,11 +32,13 @@ import javax.swing.JFrame;
 import javax.swing.JMenuItem;
 import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
 
 import org.mini2Dx.gettext.GetText;
 
 import com.atlauncher.App;
 import com.atlauncher.constants.Constants;
+import com.atlauncher.data.ProcessStats;
 import com.atlauncher.evnt.listener.RelocalizationListener;
 import com.atlauncher.evnt.manager.ConsoleCloseManager;
 import com.atlauncher.evnt.manager.ConsoleOpenManager;
@@ -155,6 +157,10 @@ public class LauncherConsole extends JFrame implements RelocalizationListener {
         bottomBar.hideKillMinecraft();
     }
 
+    public void setProcessStats(ProcessStats stats) {
+        SwingUtilities.invokeLater(() -> bottomBar.setProcessStats(stats));
+    }
+
     public void setupLanguage() {
         LogManager.debug("Setting up language for console");
         copy.setText(GetText.tr("Copy"));
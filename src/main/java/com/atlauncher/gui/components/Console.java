@@ -25,6 +25,7 @@ import javax.swing.text.AbstractDocument;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.BoxView;
 import javax.swing.text.ComponentView;
+import javax.swing.text.Document;
 import javax.swing.text.Element;
 import javax.swing.text.IconView;
 import javax.swing.text.LabelView;
@@ -39,6 +40,13 @@ import com.atlauncher.App;
 
 @SuppressWarnings("serial")
 public final class Console extends JTextPane {
+    /**
+     * Once the console has this many characters, the oldest are removed so only the tail is kept. The full output of
+     * the game is in its session log.
+     */
+    private static final int MAX_LENGTH = 500_000;
+    private static final int TRIM_TO_LENGTH = 400_000;
+
     private final SimpleAttributeSet attrs = new SimpleAttributeSet();
 
     public Console() {
@@ -64,8 +72,18 @@ public final class Console extends JTextPane {
 
     public void write(String str) {
         try {
-            this.getDocument().insertString(this.getDocument().getLength(), str, this.attrs);
-            this.setCaretPosition(this.getDocument().getLength());
+            Document document = this.getDocument();
+            document.insertString(document.getLength(), str, this.attrs);
+
+            if (document.getLength() > MAX_LENGTH) {
+                int trimTo = document.getLength() - TRIM_TO_LENGTH;
+                String text = document.getText(trimTo, Math.min(1000, document.getLength() - trimTo));
+                int nextLine = text.indexOf('\n');
+
+                document.remove(0, nextLine == -1 ? trimTo : trimTo + nextLine + 1);
+            }
+
+            this.setCaretPosition(document.getLength());
         } catch (BadLocationException ex) {
             ex.printStackTrace(System.err);
         }
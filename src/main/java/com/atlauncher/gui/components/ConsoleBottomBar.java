@@ -25,6 +25,7 @@ import java.awt.datatransfer.StringSelection;
 import java.util.concurrent.ExecutionException;
 
 import javax.swing.JButton;
+import javax.swing.JLabel;
 import javax.swing.JPanel;
 
 import org.mini2Dx.gettext.GetText;
@@ -32,6 +33,7 @@ import org.mini2Dx.gettext.GetText;
 import com.atlauncher.App;
 import com.atlauncher.builders.HTMLBuilder;
 import com.atlauncher.constants.Constants;
+import com.atlauncher.data.ProcessStats;
 import com.atlauncher.evnt.listener.RelocalizationListener;
 import com.atlauncher.evnt.manager.RelocalizationManager;
 import com.atlauncher.gui.dialogs.ProgressDialog;
@@ -39,6 +41,7 @@ import com.atlauncher.managers.DialogManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.network.Analytics;
 import com.atlauncher.thread.PasteUpload;
+import com.atlauncher.thread.TaskPools;
 
 @SuppressWarnings("serial")
 public class ConsoleBottomBar extends BottomBar implements RelocalizationListener {
@@ -47,6 +50,7 @@ public class ConsoleBottomBar extends BottomBar implements RelocalizationListene
     private final JButton copyLogButton = new JButton(GetText.tr("Copy Log"));
     private final JButton uploadLogButton = new JButton(GetText.tr("Upload Log"));
     private final JButton killMinecraftButton = new JButton(GetText.tr("Kill Minecraft"));
+    private final JLabel processStatsLabel = new JLabel();
 
     public ConsoleBottomBar() {
         this.addActionListeners(); // Setup Action Listeners
@@ -59,7 +63,11 @@ public class ConsoleBottomBar extends BottomBar implements RelocalizationListene
 
         this.killMinecraftButton.setVisible(false);
 
+        JPanel rightSide = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 13));
+        rightSide.add(this.processStatsLabel);
+
         this.add(leftSide, BorderLayout.WEST);
+        this.add(rightSide, BorderLayout.EAST);
 
         RelocalizationManager.addListener(this);
     }
@@ -87,7 +95,7 @@ public class ConsoleBottomBar extends BottomBar implements RelocalizationListene
 
             dialog.addThread(new Thread(() -> {
                 try {
-                    dialog.setReturnValue(App.TASKPOOL.submit(new PasteUpload()).get());
+                    dialog.setReturnValue(TaskPools.NETWORK.submit("PasteUpload", new PasteUpload()).get());
                 } catch (InterruptedException ignored) {
                     Thread.currentThread().interrupt();
                     dialog.setReturnValue(null);
@@ -136,6 +144,25 @@ public class ConsoleBottomBar extends BottomBar implements RelocalizationListene
         killMinecraftButton.setVisible(false);
     }
 
+    /**
+     * Shows the latest resource usage of the running Minecraft process, or clears it if null.
+     */
+    public void setProcessStats(ProcessStats stats) {
+        if (stats == null) {
+            processStatsLabel.setText("");
+            processStatsLabel.setToolTipText(null);
+            return;
+        }
+
+        processStatsLabel.setText(GetText.tr("Memory: {0} MB | CPU: {1}% | Threads: {2}", stats.currentRss / 1048576,
+                String.format("%.1f", stats.currentCpu), stats.threads));
+        processStatsLabel.setToolTipText(new HTMLBuilder().text(GetText.tr(
+                "Memory: {0} MB peak, {1} MB average ({2} MB maximum set)<br/>CPU: {3}% peak, {4}% average<br/>Threads: {5} peak",
+                stats.peakRss / 1048576, stats.averageRss / 1048576, stats.maximumMemory,
+                String.format("%.1f", stats.peakCpu), String.format("%.1f", stats.averageCpu), stats.peakThreads))
+                .build());
+    }
+
     public void setupLanguage() {
         this.onRelocalization();
     }
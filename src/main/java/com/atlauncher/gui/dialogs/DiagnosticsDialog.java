@@ -0,0 +1,192 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.gui.dialogs;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.BorderFactory;
+import javax.swing.DefaultListModel;
+import javax.swing.JComponent;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSplitPane;
+import javax.swing.JTabbedPane;
+import javax.swing.JTable;
+import javax.swing.Timer;
+import javax.swing.table.DefaultTableModel;
+
+import org.mini2Dx.gettext.GetText;
+
+import com.atlauncher.App;
+import com.atlauncher.network.Analytics;
+import com.atlauncher.network.NetworkMetrics;
+import com.atlauncher.thread.Task;
+import com.atlauncher.thread.TaskPool;
+import com.atlauncher.thread.TaskPools;
+
+/**
+ * Shows live information about what the launcher is doing behind the scenes, refreshed every second while open.
+ */
+@SuppressWarnings("serial")
+public final class DiagnosticsDialog extends JDialog {
+    private final JTabbedPane tabbedPane = new JTabbedPane(JTabbedPane.TOP);
+    private final List<Runnable> refreshers = new ArrayList<>();
+    private final Timer timer = new Timer(1000, e -> refresh());
+
+    private DefaultTableModel poolsTableModel;
+    private final DefaultListModel<String> runningTasksModel = new DefaultListModel<>();
+    private DefaultTableModel networkTableModel;
+
+    public DiagnosticsDialog() {
+        super(App.launcher.getParent(), GetText.tr("Diagnostics"), ModalityType.MODELESS);
+
+        Analytics.sendScreenView("Diagnostics Dialog");
+
+        this.setPreferredSize(new Dimension(700, 450));
+        this.setMinimumSize(new Dimension(700, 450));
+        this.setResizable(true);
+        this.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+
+        addTab(GetText.tr("Thread Pools"), setupThreadPoolsPanel(), this::refreshThreadPools);
+        addTab(GetText.tr("Network"), setupNetworkPanel(), this::refreshNetwork);
+
+        this.add(tabbedPane, BorderLayout.CENTER);
+
+        this.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                timer.stop();
+            }
+        });
+
+        refresh();
+        timer.start();
+
+        this.pack();
+        this.setLocationRelativeTo(App.launcher.getParent());
+    }
+
+    /**
+     * Adds a tab to the dialog. The refresher is called on the event dispatch thread every time the dialog refreshes.
+     */
+    private void addTab(String title, JComponent component, Runnable refresher) {
+        tabbedPane.addTab(title, component);
+        refreshers.add(refresher);
+    }
+
+    private void refresh() {
+        refreshers.forEach(Runnable::run);
+    }
+
+    private JComponent setupThreadPoolsPanel() {
+        poolsTableModel = new DefaultTableModel(new String[][] {},
+                new String[] { GetText.tr("Pool"), GetText.tr("Threads"), GetText.tr("Active"), GetText.tr("Queued"),
+                        GetText.tr("Completed"), GetText.tr("Failed"), GetText.tr("Average Wait") }) {
+
+            @Override
+            public boolean isCellEditable(int rowIndex, int columnIndex) {
+                return false;
+            }
+        };
+        JTable poolsTable = new JTable(poolsTableModel);
+        poolsTable.getTableHeader().setReorderingAllowed(false);
+
+        JPanel runningTasksPanel = new JPanel(new BorderLayout());
+        runningTasksPanel.setBorder(BorderFactory.createEmptyBorder(5, 0, 0, 0));
+        runningTasksPanel.add(new JLabel(GetText.tr("Running Tasks")), BorderLayout.NORTH);
+        runningTasksPanel.add(new JScrollPane(new JList<>(runningTasksModel)), BorderLayout.CENTER);
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(poolsTable),
+                runningTasksPanel);
+        splitPane.setResizeWeight(0.4);
+        splitPane.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+
+        return splitPane;
+    }
+
+    private void refreshThreadPools() {
+        List<TaskPool> pools = TaskPools.getPools();
+        long now = System.currentTimeMillis();
+
+        poolsTableModel.setRowCount(0);
+        runningTasksModel.clear();
+
+        for (TaskPool pool : pools) {
+            poolsTableModel.addRow(new Object[] { pool.getName(),
+                    pool.getThreadCount() + "/" + pool.getMaximumThreads(), pool.getActiveCount(),
+                    pool.getQueuedCount(), pool.getCompletedCount(), pool.getFailedCount(),
+                    pool.getAverageWaitTime() + "ms" });
+
+            for (Task<?> task : pool.getRunningTasks()) {
+                runningTasksModel.addElement(String.format("[%s] %s (%.1fs)", pool.getName(), task.getName(),
+                        (now - task.getStartedAt()) / 1000.0));
+            }
+        }
+    }
+
+    private JComponent setupNetworkPanel() {
+        networkTableModel = new DefaultTableModel(new String[][] {},
+                new String[] { GetText.tr("Host"), GetText.tr("Requests"), GetText.tr("Failed"),
+                        GetText.tr("Downloaded"), GetText.tr("DNS"), GetText.tr("Connect"), GetText.tr("TLS"),
+                        GetText.tr("First Byte"), GetText.tr("Throughput") }) {
+
+            @Override
+            public boolean isCellEditable(int rowIndex, int columnIndex) {
+                return false;
+            }
+        };
+        JTable networkTable = new JTable(networkTableModel);
+        networkTable.getTableHeader().setReorderingAllowed(false);
+        networkTable.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+
+        JPanel networkPanel = new JPanel(new BorderLayout());
+        networkPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        networkPanel.add(new JScrollPane(networkTable), BorderLayout.CENTER);
+        networkPanel.add(new JLabel(GetText.tr("Timings are shown as the median / 95th percentile.")),
+                BorderLayout.SOUTH);
+
+        return networkPanel;
+    }
+
+    private void refreshNetwork() {
+        networkTableModel.setRowCount(0);
+
+        for (NetworkMetrics.HostMetrics metrics : NetworkMetrics.getHostMetrics()) {
+            networkTableModel.addRow(new Object[] { metrics.host, metrics.requests.get(), metrics.failures.get(),
+                    String.format("%.2f MB", metrics.bytes.get() / 1024.0 / 1024.0), percentiles(metrics.dns),
+                    percentiles(metrics.connect), percentiles(metrics.tls), percentiles(metrics.firstByte),
+                    percentiles(metrics.throughput) });
+        }
+    }
+
+    private static String percentiles(NetworkMetrics.Histogram histogram) {
+        if (histogram.getCount() == 0) {
+            return "-";
+        }
+
+        return histogram.getPercentile(0.5) + " / " + histogram.getPercentile(0.95);
+    }
+}
@@ -31,7 +31,6 @@ import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -101,6 +100,7 @@ import com.atlauncher.network.Analytics;
 import com.atlauncher.utils.ComboItem;
 import com.atlauncher.utils.CurseForgeApi;
 import com.atlauncher.utils.ModrinthApi;
+import com.atlauncher.utils.PackArchive;
 import com.atlauncher.utils.TechnicApi;
 import com.atlauncher.utils.Utils;
 import com.atlauncher.utils.WindowUtils;
@@ -139,18 +139,18 @@ public class InstanceInstallerDialog extends JDialog {
     private JCheckBox saveModsCheckbox;
     private final boolean isUpdate;
     private final PackVersion autoInstallVersion;
-    private final Path extractedPath;
+    private final PackArchive packArchive;
 
-    public InstanceInstallerDialog(CurseForgeManifest manifest, Path curseExtractedPath) {
-        this(manifest, false, false, null, null, false, curseExtractedPath, App.launcher.getParent(), null);
+    public InstanceInstallerDialog(CurseForgeManifest manifest, PackArchive curseForgeArchive) {
+        this(manifest, false, false, null, null, false, curseForgeArchive, App.launcher.getParent(), null);
     }
 
-    public InstanceInstallerDialog(ModrinthModpackManifest manifest, Path modrinthExtractedPath) {
-        this(manifest, false, false, null, null, false, modrinthExtractedPath, App.launcher.getParent(), null);
+    public InstanceInstallerDialog(ModrinthModpackManifest manifest, PackArchive modrinthArchive) {
+        this(manifest, false, false, null, null, false, modrinthArchive, App.launcher.getParent(), null);
     }
 
-    public InstanceInstallerDialog(MultiMCManifest manifest, Path multiMCExtractedPath) {
-        this(manifest, false, false, null, null, false, multiMCExtractedPath, App.launcher.getParent(), null);
+    public InstanceInstallerDialog(MultiMCManifest manifest, PackArchive multiMCArchive) {
+        this(manifest, false, false, null, null, false, multiMCArchive, App.launcher.getParent(), null);
     }
 
     public InstanceInstallerDialog(Object object) {
@@ -179,20 +179,20 @@ public class InstanceInstallerDialog extends JDialog {
     }
 
     public InstanceInstallerDialog(Object object, boolean isUpdate, boolean isServer, PackVersion autoInstallVersion,
-            String shareCode, boolean showModsChooser, Path extractedPath) {
-        this(object, isUpdate, isServer, autoInstallVersion, shareCode, showModsChooser, extractedPath,
+            String shareCode, boolean showModsChooser, PackArchive packArchive) {
+        this(object, isUpdate, isServer, autoInstallVersion, shareCode, showModsChooser, packArchive,
                 App.launcher.getParent(), null);
     }
 
     public InstanceInstallerDialog(Object object, final boolean isUpdate, final boolean isServer,
             final PackVersion autoInstallVersion, final String shareCode, final boolean showModsChooser,
-            Path extractedPathCon, Window parent, ModrinthVersion preselectedModrinthVersion) {
+            PackArchive packArchiveCon, Window parent, ModrinthVersion preselectedModrinthVersion) {
         super(parent, ModalityType.DOCUMENT_MODAL);
 
         setName("instanceInstallerDialog");
         this.isUpdate = isUpdate;
         this.autoInstallVersion = autoInstallVersion;
-        this.extractedPath = extractedPathCon;
+        this.packArchive = packArchiveCon;
         this.preselectedModrinthVersion = preselectedModrinthVersion;
 
         Analytics.sendScreenView("Instance Installer Dialog");
@@ -339,12 +339,12 @@ public class InstanceInstallerDialog extends JDialog {
                     installable = new CurseForgeManifestInstallable(pack, packVersion, loaderVersion);
 
                     installable.curseForgeManifest = curseForgeManifest;
-                    installable.curseExtractedPath = extractedPath;
+                    installable.curseForgeArchive = packArchive;
                 } else if (curseForgeProject != null) {
                     installable = new CurseForgeInstallable(pack, packVersion, loaderVersion);
 
                     installable.curseForgeManifest = curseForgeManifest;
-                    installable.curseExtractedPath = extractedPath;
+                    installable.curseForgeArchive = packArchive;
                 } else if (modrinthProject != null) {
                     installable = new ModrinthInstallable(pack, packVersion, loaderVersion);
 
@@ -353,7 +353,7 @@ public class InstanceInstallerDialog extends JDialog {
                     installable = new ModrinthManifestInstallable(pack, packVersion, loaderVersion);
 
                     installable.modrinthManifest = modrinthManifest;
-                    installable.modrinthExtractedPath = extractedPath;
+                    installable.modrinthArchive = packArchive;
                 } else if (modpacksChPackManifest != null) {
                     installable = new ModpacksChInstallable(pack, packVersion, loaderVersion);
 
@@ -362,7 +362,7 @@ public class InstanceInstallerDialog extends JDialog {
                     installable = new MultiMCInstallable(pack, packVersion, loaderVersion);
 
                     installable.multiMCManifest = multiMCManifest;
-                    installable.multiMCExtractedPath = extractedPath;
+                    installable.multiMCArchive = packArchive;
                 } else if (technicModpack != null) {
                     installable = new TechnicModpackInstallable(pack, packVersion, loaderVersion);
 
@@ -33,6 +33,8 @@ import org.mini2Dx.gettext.GetText;
 import com.atlauncher.App;
 import com.atlauncher.interfaces.NetworkProgressable;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.thread.Task;
+import com.atlauncher.thread.TaskPool;
 import com.atlauncher.utils.Utils;
 
 @SuppressWarnings("serial")
@@ -41,6 +43,10 @@ public class ProgressDialog<T> extends JDialog implements NetworkProgressable {
     private final JProgressBar progressBar; // The Progress Bar
     private final JProgressBar subProgressBar; // The Progress Bar
     private Thread thread = null; // The Thread were optionally running
+    private TaskPool taskPool = null; // The pool to run the task in, if using a task rather than a thread
+    private String taskName = null; // The name of the task to run
+    private Runnable taskRunnable = null; // The task to run
+    private Task<Void> task = null; // The task once it's been submitted
     private final String closedLogMessage; // The message to log to the console when dialog closed
     private T returnValue = null; // The value returned
     public boolean wasClosed = false; // If the dialog was closed by the user
@@ -93,6 +99,9 @@ public class ProgressDialog<T> extends JDialog implements NetworkProgressable {
                         thread.interrupt();
                     }
                 }
+                if (task != null && !task.isDone()) {
+                    task.cancel();
+                }
                 close(); // Close the dialog
             }
         });
@@ -131,10 +140,22 @@ public class ProgressDialog<T> extends JDialog implements NetworkProgressable {
         this.thread = thread;
     }
 
+    /**
+     * Adds a task to be run in the given pool when the dialog is started. Closing the dialog will cancel the task.
+     */
+    public void addTask(TaskPool pool, String name, Runnable runnable) {
+        this.taskPool = pool;
+        this.taskName = name;
+        this.taskRunnable = runnable;
+    }
+
     public void start() {
         if (this.thread != null) {
             thread.start();
         }
+        if (this.taskRunnable != null) {
+            task = taskPool.submit(taskName, taskRunnable);
+        }
         setVisible(true);
     }
 
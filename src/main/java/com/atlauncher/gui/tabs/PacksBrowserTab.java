@@ -62,6 +62,8 @@ import com.atlauncher.managers.ConfigManager;
 import com.atlauncher.managers.DialogManager;
 import com.atlauncher.managers.MinecraftManager;
 import com.atlauncher.network.Analytics;
+import com.atlauncher.thread.Task;
+import com.atlauncher.thread.TaskPools;
 import com.atlauncher.utils.ComboItem;
 import com.atlauncher.utils.Utils;
 import com.formdev.flatlaf.icons.FlatSearchIcon;
@@ -105,6 +107,7 @@ public final class PacksBrowserTab extends JPanel implements Tab, Relocalization
 
     private boolean loading = false;
     private int page = 1;
+    private Task<Void> loadTask = null;
 
     public PacksBrowserTab() {
         super(new BorderLayout());
@@ -349,12 +352,12 @@ public final class PacksBrowserTab extends JPanel implements Tab, Relocalization
 
         // add in categories combo box items if the platform supports it
         if (selectedPanel.hasCategories()) {
-            new Thread(() -> {
+            TaskPools.NETWORK.submit("PacksBrowserTab::loadCategories", () -> {
                 categoriesComboBox.addItem(new ComboItem<String>(null, GetText.tr("All Categories")));
                 for (Map.Entry<String, String> entry : selectedPanel.getCategoryFields().entrySet()) {
                     categoriesComboBox.addItem(new ComboItem<String>(entry.getKey(), entry.getValue()));
                 }
-            }).start();
+            });
         }
 
         // add in sort combo box items if the platform supports it
@@ -406,7 +409,8 @@ public final class PacksBrowserTab extends JPanel implements Tab, Relocalization
             Analytics.sendEvent(page, "Next", "Navigation", selectedPanel.getAnalyticsCategory());
 
             // load in the content for the platform
-            new Thread(() -> {
+            cancelLoading();
+            loadTask = TaskPools.NETWORK.submit("PacksBrowserTab::loadMorePacks", () -> {
                 String minecraftVersion = null;
                 if (selectedPanel.hasCategories()) {
                     minecraftVersion = ((ComboItem<String>) minecraftVersionComboBox.getSelectedItem()).getValue();
@@ -436,7 +440,7 @@ public final class PacksBrowserTab extends JPanel implements Tab, Relocalization
 
                 revalidate();
                 repaint();
-            }).start();
+            });
         }
     }
 
@@ -460,7 +464,8 @@ public final class PacksBrowserTab extends JPanel implements Tab, Relocalization
     private void load(boolean scrollToTop) {
         PackBrowserPlatformPanel selectedPanel = (PackBrowserPlatformPanel) platformTabbedPane.getSelectedComponent();
 
-        new Thread(() -> {
+        cancelLoading();
+        loadTask = TaskPools.NETWORK.submit("PacksBrowserTab::load", () -> {
             String minecraftVersion = null;
             if (selectedPanel.supportsMinecraftVersionFiltering()
                     && minecraftVersionComboBox.getSelectedItem() != null) {
@@ -495,7 +500,16 @@ public final class PacksBrowserTab extends JPanel implements Tab, Relocalization
 
             revalidate();
             repaint();
-        }).start();
+        });
+    }
+
+    /**
+     * Cancels any in progress load so that results from an old search don't get added after the new ones.
+     */
+    private void cancelLoading() {
+        if (loadTask != null && !loadTask.isDone()) {
+            loadTask.cancel();
+        }
     }
 
     public void reload() {
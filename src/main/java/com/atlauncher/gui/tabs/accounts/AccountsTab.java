@@ -59,9 +59,9 @@ import com.atlauncher.gui.tabs.accounts.IAccountsViewModel.LoginPreCheckResult;
 import com.atlauncher.managers.AccountManager;
 import com.atlauncher.managers.DialogManager;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.managers.SkinManager;
 import com.atlauncher.utils.ComboItem;
 import com.atlauncher.utils.OS;
-import com.atlauncher.utils.SkinUtils;
 
 public class AccountsTab extends JPanel implements Tab, RelocalizationListener {
     private static final long serialVersionUID = 2493791137600123223L;
@@ -287,7 +287,7 @@ public class AccountsTab extends JPanel implements Tab, RelocalizationListener {
             // TODO Have this done via listener
             // To describe, userSkin icon should be reactive, not active.
             AbstractAccount account = viewModel.getSelectedAccount();
-            userSkin.setIcon(account.getMinecraftSkin());
+            loadSkin(account);
         });
         contextMenu.add(changeSkin);
 
@@ -298,7 +298,7 @@ public class AccountsTab extends JPanel implements Tab, RelocalizationListener {
             // TODO Have this done via listener
             // To describe, userSkin icon should be reactive, not active.
             AbstractAccount account = viewModel.getSelectedAccount();
-            userSkin.setIcon(account.getMinecraftSkin());
+            loadSkin(account);
         });
         contextMenu.add(updateSkin);
 
@@ -313,7 +313,7 @@ public class AccountsTab extends JPanel implements Tab, RelocalizationListener {
         });
         contextMenu.add(refreshAccessTokenMenuItem);
 
-        userSkin = new JLabel(SkinUtils.getDefaultSkin());
+        userSkin = new JLabel(SkinManager.getDefaultSkin());
         userSkin.addMouseListener(new MouseAdapter() {
             public void mousePressed(MouseEvent e) {
                 if (e.getButton() == MouseEvent.BUTTON3) {
@@ -377,6 +377,18 @@ public class AccountsTab extends JPanel implements Tab, RelocalizationListener {
         }
     }
 
+    /**
+     * Shows the skin of the account, ignoring it if another account has been
+     * selected by the time it's rendered
+     */
+    private void loadSkin(AbstractAccount account) {
+        account.getMinecraftSkin(icon -> {
+            if (viewModel.getSelectedIndex() != 0 && viewModel.getSelectedAccount() == account) {
+                userSkin.setIcon(icon);
+            }
+        });
+    }
+
     /**
      * Start observing state changes from view model
      */
@@ -388,7 +400,7 @@ public class AccountsTab extends JPanel implements Tab, RelocalizationListener {
                 rememberField.setSelected(false);
                 leftButton.setText(GetText.tr("Add"));
                 rightButton.setText(GetText.tr("Clear"));
-                userSkin.setIcon(SkinUtils.getDefaultSkin());
+                userSkin.setIcon(SkinManager.getDefaultSkin());
 
                 usernameLabel.setVisible(true);
                 usernameField.setVisible(true);
@@ -428,7 +440,7 @@ public class AccountsTab extends JPanel implements Tab, RelocalizationListener {
 
                 leftButton.setText(GetText.tr("Save"));
                 rightButton.setText(GetText.tr("Delete"));
-                userSkin.setIcon(account.getMinecraftSkin());
+                loadSkin(account);
             }
         });
         viewModel.onAccountsNamesChanged(accounts -> {
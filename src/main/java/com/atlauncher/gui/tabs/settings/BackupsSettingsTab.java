@@ -21,10 +21,13 @@ import java.awt.GridBagConstraints;
 
 import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
 
 import org.mini2Dx.gettext.GetText;
 
 import com.atlauncher.App;
+import com.atlauncher.builders.HTMLBuilder;
 import com.atlauncher.constants.UIConstants;
 import com.atlauncher.data.BackupMode;
 import com.atlauncher.gui.components.JLabelWithHover;
@@ -34,6 +37,9 @@ import com.atlauncher.utils.ComboItem;
 public class BackupsSettingsTab extends AbstractSettingsTab {
     private final JComboBox<ComboItem<BackupMode>> backupMode;
     private final JCheckBox enableAutomaticBackupAfterLaunch;
+    private final JCheckBox enableIncrementalBackups;
+    private final JSpinner incrementalBackupsToKeep;
+    private final JSpinner archiveCompressionLevel;
 
     public BackupsSettingsTab() {
         // Backup mode
@@ -84,11 +90,78 @@ public class BackupsSettingsTab extends AbstractSettingsTab {
         enableAutomaticBackupAfterLaunch = new JCheckBox();
         enableAutomaticBackupAfterLaunch.setSelected(App.settings.enableAutomaticBackupAfterLaunch);
         add(enableAutomaticBackupAfterLaunch, gbc);
+
+        // Enable incremental backups
+
+        gbc.gridx = 0;
+        gbc.gridy++;
+        gbc.insets = UIConstants.LABEL_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_TRAILING;
+        JLabelWithHover enableIncrementalBackupsLabel = new JLabelWithHover(
+                GetText.tr("Enable Incremental Backups") + "?", HELP_ICON,
+                new HTMLBuilder().center().split(100).text(GetText.tr(
+                        "If backups should only store the files that have changed since the last backup rather than creating a new zip file each time. This makes backups much faster and smaller, but they can only be restored from within the launcher."))
+                        .build());
+        add(enableIncrementalBackupsLabel, gbc);
+
+        gbc.gridx++;
+        gbc.insets = UIConstants.CHECKBOX_FIELD_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_LEADING;
+        enableIncrementalBackups = new JCheckBox();
+        enableIncrementalBackups.setSelected(App.settings.enableIncrementalBackups);
+        add(enableIncrementalBackups, gbc);
+
+        // Incremental backups to keep
+
+        gbc.gridx = 0;
+        gbc.gridy++;
+        gbc.insets = UIConstants.LABEL_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_TRAILING;
+        JLabelWithHover incrementalBackupsToKeepLabel = new JLabelWithHover(
+                GetText.tr("Incremental Backups To Keep") + ":", HELP_ICON,
+                GetText.tr("How many incremental backups to keep for each instance before the oldest are deleted."));
+        add(incrementalBackupsToKeepLabel, gbc);
+
+        gbc.gridx++;
+        gbc.insets = UIConstants.FIELD_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_LEADING;
+        SpinnerNumberModel incrementalBackupsToKeepModel = new SpinnerNumberModel(
+                App.settings.incrementalBackupsToKeep, 1, null, 1);
+        incrementalBackupsToKeep = new JSpinner(incrementalBackupsToKeepModel);
+        ((JSpinner.DefaultEditor) incrementalBackupsToKeep.getEditor()).getTextField().setColumns(5);
+        incrementalBackupsToKeep.setEnabled(App.settings.enableIncrementalBackups);
+        enableIncrementalBackups.addActionListener(
+                e -> incrementalBackupsToKeep.setEnabled(enableIncrementalBackups.isSelected()));
+        add(incrementalBackupsToKeep, gbc);
+
+        // Archive compression level
+
+        gbc.gridx = 0;
+        gbc.gridy++;
+        gbc.insets = UIConstants.LABEL_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_TRAILING;
+        JLabelWithHover archiveCompressionLevelLabel = new JLabelWithHover(GetText.tr("Compression Level") + ":",
+                HELP_ICON, new HTMLBuilder().center().split(100).text(GetText.tr(
+                        "How much to compress zip backups and exports, from 0 (no compression) to 9 (smallest). Higher levels take longer but make smaller files."))
+                        .build());
+        add(archiveCompressionLevelLabel, gbc);
+
+        gbc.gridx++;
+        gbc.insets = UIConstants.FIELD_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_LEADING;
+        SpinnerNumberModel archiveCompressionLevelModel = new SpinnerNumberModel(
+                App.settings.archiveCompressionLevel, 0, 9, 1);
+        archiveCompressionLevel = new JSpinner(archiveCompressionLevelModel);
+        ((JSpinner.DefaultEditor) archiveCompressionLevel.getEditor()).getTextField().setColumns(5);
+        add(archiveCompressionLevel, gbc);
     }
 
     public void save() {
         App.settings.backupMode = ((ComboItem<BackupMode>) backupMode.getSelectedItem()).getValue();
         App.settings.enableAutomaticBackupAfterLaunch = enableAutomaticBackupAfterLaunch.isSelected();
+        App.settings.enableIncrementalBackups = enableIncrementalBackups.isSelected();
+        App.settings.incrementalBackupsToKeep = (Integer) incrementalBackupsToKeep.getValue();
+        App.settings.archiveCompressionLevel = (Integer) archiveCompressionLevel.getValue();
     }
 
     @Override
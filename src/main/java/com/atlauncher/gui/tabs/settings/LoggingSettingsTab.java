@@ -21,6 +21,8 @@ import java.awt.GridBagConstraints;
 
 import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
 
 import org.mini2Dx.gettext.GetText;
 
@@ -37,6 +39,8 @@ public class LoggingSettingsTab extends AbstractSettingsTab {
 
     private final JCheckBox enableAnalytics;
 
+    private final JSpinner processMonitorInterval;
+
     public LoggingSettingsTab() {
         // Forge Logging Level
         gbc.gridx = 0;
@@ -104,12 +108,35 @@ public class LoggingSettingsTab extends AbstractSettingsTab {
             enableAnalytics.setSelected(true);
         }
         add(enableAnalytics, gbc);
+
+        // Process Monitor Interval
+
+        gbc.gridx = 0;
+        gbc.gridy++;
+        gbc.insets = UIConstants.LABEL_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_TRAILING;
+        JLabelWithHover processMonitorIntervalLabel = new JLabelWithHover(
+                GetText.tr("Resource Monitor Interval") + ":", HELP_ICON,
+                new HTMLBuilder().center().split(100).text(GetText.tr(
+                        "How often (in seconds) to check how much memory and CPU Minecraft is using while it's running. This is shown at the bottom of the console. Set to 0 to turn it off."))
+                        .build());
+        add(processMonitorIntervalLabel, gbc);
+
+        gbc.gridx++;
+        gbc.insets = UIConstants.FIELD_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_LEADING;
+        SpinnerNumberModel processMonitorIntervalModel = new SpinnerNumberModel(App.settings.processMonitorInterval,
+                0, 60, 1);
+        processMonitorInterval = new JSpinner(processMonitorIntervalModel);
+        ((JSpinner.DefaultEditor) processMonitorInterval.getEditor()).getTextField().setColumns(5);
+        add(processMonitorInterval, gbc);
     }
 
     public void save() {
         App.settings.forgeLoggingLevel = (String) forgeLoggingLevel.getSelectedItem();
         App.settings.enableLogs = enableLogs.isSelected();
         App.settings.enableAnalytics = enableAnalytics.isSelected();
+        App.settings.processMonitorInterval = (Integer) processMonitorInterval.getValue();
     }
 
     @Override
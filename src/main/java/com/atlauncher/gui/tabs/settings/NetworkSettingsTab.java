@@ -48,6 +48,12 @@ public class NetworkSettingsTab extends AbstractSettingsTab implements Relocaliz
     private final JLabelWithHover connectionTimeoutLabel;
     private final JSpinner connectionTimeout;
 
+    private final JLabelWithHover downloadSpeedLimitLabel;
+    private final JSpinner downloadSpeedLimit;
+
+    private final JLabelWithHover backgroundDownloadSpeedLimitLabel;
+    private final JSpinner backgroundDownloadSpeedLimit;
+
     private final JLabelWithHover dontUseHttp2Label;
     private final JCheckBox dontUseHttp2;
 
@@ -102,6 +108,45 @@ public class NetworkSettingsTab extends AbstractSettingsTab implements Relocaliz
         connectionTimeout = new JSpinner(connectionTimeoutModel);
         add(connectionTimeout, gbc);
 
+        // Download Speed Limit
+        gbc.gridx = 0;
+        gbc.gridy++;
+        gbc.insets = UIConstants.LABEL_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_TRAILING;
+        downloadSpeedLimitLabel = new JLabelWithHover(GetText.tr("Download Speed Limit") + ":", HELP_ICON,
+                "<html>" + GetText.tr("The most KB/s all downloads together can use. Set to 0 for no limit.")
+                        + "</html>");
+        add(downloadSpeedLimitLabel, gbc);
+
+        gbc.gridx++;
+        gbc.insets = UIConstants.FIELD_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_LEADING;
+        SpinnerNumberModel downloadSpeedLimitModel = new SpinnerNumberModel(App.settings.downloadSpeedLimit, null,
+                null, 128);
+        downloadSpeedLimitModel.setMinimum(0);
+        downloadSpeedLimit = new JSpinner(downloadSpeedLimitModel);
+        add(downloadSpeedLimit, gbc);
+
+        // Background Download Speed Limit
+        gbc.gridx = 0;
+        gbc.gridy++;
+        gbc.insets = UIConstants.LABEL_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_TRAILING;
+        backgroundDownloadSpeedLimitLabel = new JLabelWithHover(GetText.tr("Background Download Speed Limit") + ":",
+                HELP_ICON, "<html>" + GetText.tr(
+                        "The most KB/s downloads running in the background and images can use. Set to 0 for no limit.")
+                        + "</html>");
+        add(backgroundDownloadSpeedLimitLabel, gbc);
+
+        gbc.gridx++;
+        gbc.insets = UIConstants.FIELD_INSETS;
+        gbc.anchor = GridBagConstraints.BASELINE_LEADING;
+        SpinnerNumberModel backgroundDownloadSpeedLimitModel = new SpinnerNumberModel(
+                App.settings.backgroundDownloadSpeedLimit, null, null, 128);
+        backgroundDownloadSpeedLimitModel.setMinimum(0);
+        backgroundDownloadSpeedLimit = new JSpinner(backgroundDownloadSpeedLimitModel);
+        add(backgroundDownloadSpeedLimit, gbc);
+
         // Don't use HTTP2
         gbc.gridx = 0;
         gbc.gridy++;
@@ -260,6 +305,8 @@ public class NetworkSettingsTab extends AbstractSettingsTab implements Relocaliz
 
         App.settings.concurrentConnections = (Integer) concurrentConnections.getValue();
         App.settings.connectionTimeout = (Integer) connectionTimeout.getValue();
+        App.settings.downloadSpeedLimit = (Integer) downloadSpeedLimit.getValue();
+        App.settings.backgroundDownloadSpeedLimit = (Integer) backgroundDownloadSpeedLimit.getValue();
         App.settings.dontUseHttp2 = dontUseHttp2.isSelected();
         App.settings.enableProxy = enableProxy.isSelected();
         if (enableProxy.isSelected()) {
@@ -297,6 +344,15 @@ public class NetworkSettingsTab extends AbstractSettingsTab implements Relocaliz
         this.connectionTimeoutLabel.setToolTipText(
                 "<html>" + GetText.tr("This determines how long connections will wait before timing out.") + "</html>");
 
+        this.downloadSpeedLimitLabel.setText(GetText.tr("Download Speed Limit") + ":");
+        this.downloadSpeedLimitLabel.setToolTipText("<html>"
+                + GetText.tr("The most KB/s all downloads together can use. Set to 0 for no limit.") + "</html>");
+
+        this.backgroundDownloadSpeedLimitLabel.setText(GetText.tr("Background Download Speed Limit") + ":");
+        this.backgroundDownloadSpeedLimitLabel.setToolTipText("<html>" + GetText.tr(
+                "The most KB/s downloads running in the background and images can use. Set to 0 for no limit.")
+                + "</html>");
+
         this.dontUseHttp2Label.setText(GetText.tr("Don't Use HTTP/2") + "?");
         this.dontUseHttp2Label.setToolTipText(GetText
                 .tr("If HTTP/2 connections shouldn't be used. This should not be checked in a majority of cases."));
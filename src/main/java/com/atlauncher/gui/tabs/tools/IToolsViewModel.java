@@ -66,9 +66,9 @@ public interface IToolsViewModel {
     void onCanRunNetworkCheckerChanged(Consumer<Boolean> onChanged);
 
     /**
-     * @return Amount of hosts to be called
+     * @return Amount of tasks the network checker will complete
      */
-    int hostsLength();
+    int networkCheckerTaskCount();
 
     /**
      * Run network checker
@@ -58,7 +58,7 @@ public class NetworkCheckerToolPanel extends AbstractToolPanel implements Action
 
         if (ret == 0) {
             final ProgressDialog<Boolean> dialog = new ProgressDialog<>(GetText.tr("Network Checker"),
-                    17 + viewModel.hostsLength(), GetText.tr("Network Checker Running. Please Wait!"),
+                    viewModel.networkCheckerTaskCount(), GetText.tr("Network Checker Running. Please Wait!"),
                     "Network Checker Tool Cancelled!");
             dialog.addThread(new Thread(() -> {
                 viewModel.runNetworkChecker(
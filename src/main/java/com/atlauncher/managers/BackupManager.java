@@ -0,0 +1,385 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.zeroturnaround.zip.NameMapper;
+
+import com.atlauncher.App;
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.BackupMode;
+import com.atlauncher.data.IncrementalBackup;
+import com.atlauncher.data.Instance;
+import com.atlauncher.thread.TaskPools;
+import com.atlauncher.utils.Hashing;
+import com.atlauncher.utils.ZipNameMapper;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Manages incremental backups of instances.
+ *
+ * File contents are stored once in a content addressed store (keyed by SHA1 hash) which is shared between all
+ * backups of all instances, and each backup is a small manifest listing the hash of each file. Files whose size and
+ * last modified time haven't changed since the previous backup aren't read at all, so backing up a world that only
+ * had a few chunks change only needs to copy those region files.
+ */
+public class BackupManager {
+    private static final Path INCREMENTAL_BACKUPS = FileSystem.BACKUPS.resolve("incremental");
+    private static final Path OBJECTS = INCREMENTAL_BACKUPS.resolve("objects");
+    private static final Path MANIFESTS = INCREMENTAL_BACKUPS.resolve("manifests");
+
+    /**
+     * Creates a new incremental backup of the given instance, then prunes old backups down to the configured amount.
+     *
+     * @return the backup created, or null if it failed
+     */
+    public static synchronized IncrementalBackup createIncrementalBackup(Instance instance, BackupMode backupMode) {
+        PerformanceManager.start("BackupManager::createIncrementalBackup");
+
+        Path root = instance.getRoot();
+        Map<String, IncrementalBackup.BackupFile> previousFiles = getPreviousFiles(instance);
+
+        Map<String, Path> files;
+        try {
+            files = walkInstance(root, backupMode);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to scan instance " + instance.launcher.name + " for backup", e);
+            PerformanceManager.end("BackupManager::createIncrementalBackup");
+            return null;
+        }
+
+        IncrementalBackup backup = new IncrementalBackup();
+        backup.instanceName = instance.launcher.name;
+        backup.backupMode = backupMode;
+        backup.createdAt = System.currentTimeMillis();
+
+        try {
+            List<IncrementalBackup.BackupFile> backupFiles = TaskPools.DISK.map("BackupManager::storeFile",
+                    files.entrySet().stream().collect(Collectors.toList()),
+                    entry -> storeFile(entry.getValue(), previousFiles.get(entry.getKey())));
+
+            backup.files = new LinkedHashMap<>();
+            int i = 0;
+            for (String name : files.keySet()) {
+                backup.files.put(name, backupFiles.get(i++));
+            }
+
+            Path manifestPath = getManifestsDirectory(instance).resolve(backup.createdAt + ".json");
+            Files.createDirectories(manifestPath.getParent());
+
+            try (FileWriter fileWriter = new FileWriter(manifestPath.toFile())) {
+                Gsons.DEFAULT_SLIM.toJson(backup, fileWriter);
+            }
+
+            backup.manifestPath = manifestPath;
+        } catch (Exception e) {
+            LogManager.logStackTrace("Failed to create backup of instance " + instance.launcher.name, e);
+            PerformanceManager.end("BackupManager::createIncrementalBackup");
+            return null;
+        }
+
+        long changedFiles = backup.files.entrySet().stream().filter(e -> {
+            IncrementalBackup.BackupFile previous = previousFiles.get(e.getKey());
+            return previous == null || !previous.hash.equals(e.getValue().hash);
+        }).count();
+        LogManager.info(String.format("Backed up %d files (%d changed) from instance %s", backup.files.size(),
+                changedFiles, instance.launcher.name));
+
+        pruneBackups(instance, App.settings.incrementalBackupsToKeep);
+
+        PerformanceManager.end("BackupManager::createIncrementalBackup");
+        return backup;
+    }
+
+    /**
+     * Gets the incremental backups for the given instance, newest first.
+     */
+    public static List<IncrementalBackup> getBackups(Instance instance) {
+        return getBackups(getManifestsDirectory(instance));
+    }
+
+    /**
+     * Restores the given backup into the instance. Files covered by the backup mode which didn't exist when the
+     * backup was taken are removed, so that worlds aren't left with a mix of new and old region files. If any of
+     * the backup's stored files are missing, nothing in the instance is touched and false is returned.
+     */
+    public static synchronized boolean restoreBackup(Instance instance, IncrementalBackup backup) {
+        PerformanceManager.start("BackupManager::restoreBackup");
+        Path root = instance.getRoot();
+
+        try {
+            for (Map.Entry<String, IncrementalBackup.BackupFile> entry : backup.files.entrySet()) {
+                Path object = getObjectPath(entry.getValue().hash);
+                if (!Files.exists(object) || Files.size(object) != entry.getValue().size) {
+                    LogManager.error("Not restoring backup of instance " + instance.launcher.name
+                            + " as it's missing the contents of " + entry.getKey());
+                    PerformanceManager.end("BackupManager::restoreBackup");
+                    return false;
+                }
+            }
+
+            Map<String, Path> currentFiles = walkInstance(root, backup.backupMode);
+
+            for (Map.Entry<String, Path> entry : currentFiles.entrySet()) {
+                if (!backup.files.containsKey(entry.getKey())) {
+                    Files.delete(entry.getValue());
+                }
+            }
+
+            for (Map.Entry<String, IncrementalBackup.BackupFile> entry : backup.files.entrySet()) {
+                Path path = root.resolve(entry.getKey());
+                IncrementalBackup.BackupFile file = entry.getValue();
+
+                if (Files.exists(path) && Files.size(path) == file.size
+                        && Files.getLastModifiedTime(path).toMillis() == file.lastModified) {
+                    continue;
+                }
+
+                Files.createDirectories(path.getParent());
+                Files.copy(getObjectPath(file.hash), path, StandardCopyOption.REPLACE_EXISTING);
+                Files.setLastModifiedTime(path, FileTime.fromMillis(file.lastModified));
+            }
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to restore backup of instance " + instance.launcher.name, e);
+            PerformanceManager.end("BackupManager::restoreBackup");
+            return false;
+        }
+
+        PerformanceManager.end("BackupManager::restoreBackup");
+        return true;
+    }
+
+    /**
+     * Deletes all but the newest given amount of backups for the instance, removing any stored files that are no
+     * longer used by any backup.
+     */
+    public static synchronized void pruneBackups(Instance instance, int backupsToKeep) {
+        List<IncrementalBackup> backups = getBackups(instance);
+
+        if (backupsToKeep <= 0 || backups.size() <= backupsToKeep) {
+            return;
+        }
+
+        for (IncrementalBackup backup : backups.subList(backupsToKeep, backups.size())) {
+            try {
+                Files.delete(backup.manifestPath);
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to delete backup " + backup.manifestPath, e);
+            }
+        }
+
+        deleteUnusedObjects();
+    }
+
+    /**
+     * Walks the instance, only descending into folders that the backup mode includes.
+     *
+     * @return map of path relative to the root (using forward slashes) to the file
+     */
+    private static Map<String, Path> walkInstance(Path root, BackupMode backupMode) throws IOException {
+        NameMapper nameMapper = ZipNameMapper.getMapperForBackupMode(backupMode);
+        Map<String, Path> files = new LinkedHashMap<>();
+
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                if (dir.equals(root)) {
+                    return FileVisitResult.CONTINUE;
+                }
+
+                return nameMapper.map(getRelativeName(root, dir)) == null ? FileVisitResult.SKIP_SUBTREE
+                        : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (attributes.isRegularFile()) {
+                    String name = getRelativeName(root, file);
+
+                    if (nameMapper.map(name) != null) {
+                        files.put(name, file);
+                    }
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                LogManager.logStackTrace(String.format("Unable to backup %s", file), e);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        return files;
+    }
+
+    private static String getRelativeName(Path root, Path path) {
+        return root.relativize(path).toString().replace("\\", "/");
+    }
+
+    /**
+     * Stores the file in the object store if it's not already there. If the file hasn't changed since the previous
+     * backup, the previous entry is reused without reading the file.
+     */
+    private static IncrementalBackup.BackupFile storeFile(Path file, IncrementalBackup.BackupFile previous) {
+        try {
+            long size = Files.size(file);
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+
+            if (previous != null && previous.size == size && previous.lastModified == lastModified
+                    && Files.exists(getObjectPath(previous.hash))) {
+                return previous;
+            }
+
+            String hash = Hashing.sha1(file).toString();
+            if (hash.equals(Hashing.EMPTY_HASH_CODE.toString())) {
+                throw new IOException("Failed to hash " + file);
+            }
+
+            Path object = getObjectPath(hash);
+            if (!Files.exists(object)) {
+                Files.createDirectories(object.getParent());
+
+                Path temp = object.resolveSibling(hash + "." + Thread.currentThread().getId() + ".tmp");
+                Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, object, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            IncrementalBackup.BackupFile backupFile = new IncrementalBackup.BackupFile();
+            backupFile.hash = hash;
+            backupFile.size = size;
+            backupFile.lastModified = lastModified;
+            return backupFile;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Map<String, IncrementalBackup.BackupFile> getPreviousFiles(Instance instance) {
+        List<IncrementalBackup> backups = getBackups(instance);
+
+        if (backups.size() == 0) {
+            return new LinkedHashMap<>();
+        }
+
+        return backups.get(0).files;
+    }
+
+    private static Path getManifestsDirectory(Instance instance) {
+        return MANIFESTS.resolve(instance.getRoot().getFileName().toString());
+    }
+
+    private static Path getObjectPath(String hash) {
+        return OBJECTS.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static List<IncrementalBackup> getBackups(Path manifestsDirectory) {
+        if (!Files.isDirectory(manifestsDirectory)) {
+            return new ArrayList<>();
+        }
+
+        try (Stream<Path> stream = Files.list(manifestsDirectory)) {
+            return stream.filter(p -> p.getFileName().toString().endsWith(".json")).map(BackupManager::loadBackup)
+                    .filter(b -> b != null && b.files != null)
+                    .sorted(Comparator.comparingLong((IncrementalBackup b) -> b.createdAt).reversed())
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to list backups in " + manifestsDirectory, e);
+            return new ArrayList<>();
+        }
+    }
+
+    private static IncrementalBackup loadBackup(Path manifestPath) {
+        try (FileReader fileReader = new FileReader(manifestPath.toFile())) {
+            IncrementalBackup backup = Gsons.DEFAULT_SLIM.fromJson(fileReader, IncrementalBackup.class);
+
+            if (backup != null) {
+                backup.manifestPath = manifestPath;
+            }
+
+            return backup;
+        } catch (JsonIOException | JsonSyntaxException | IOException e) {
+            LogManager.logStackTrace("Failed to load backup manifest " + manifestPath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Removes any objects from the store which aren't referenced by any backup of any instance.
+     */
+    private static void deleteUnusedObjects() {
+        if (!Files.isDirectory(OBJECTS) || !Files.isDirectory(MANIFESTS)) {
+            return;
+        }
+
+        Set<String> usedHashes = new HashSet<>();
+
+        try (Stream<Path> manifests = Files.walk(MANIFESTS)) {
+            for (Path manifestPath : manifests.filter(p -> p.getFileName().toString().endsWith(".json"))
+                    .collect(Collectors.toList())) {
+                IncrementalBackup backup = loadBackup(manifestPath);
+
+                // if we can't tell what a backup uses, don't delete anything rather than risk breaking it
+                if (backup == null || backup.files == null) {
+                    return;
+                }
+
+                backup.files.values().forEach(f -> usedHashes.add(f.hash));
+            }
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to list backup manifests", e);
+            return;
+        }
+
+        try (Stream<Path> objects = Files.walk(OBJECTS)) {
+            objects.filter(Files::isRegularFile)
+                    .filter(p -> !usedHashes.contains(p.getFileName().toString()))
+                    .forEach(p -> {
+                        try {
+                            Files.delete(p);
+                        } catch (IOException e) {
+                            LogManager.logStackTrace("Failed to delete unused backup file " + p, e);
+                        }
+                    });
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to clean up unused backup files", e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.data.Instance;
+import com.atlauncher.thread.Task;
+import com.atlauncher.thread.TaskPools;
+import com.atlauncher.utils.Hashing;
+import com.atlauncher.utils.Utils;
+
+/**
+ * Caches the custom minecraft.jar made by combining the Minecraft jar with an instances bin/modpack.jar, so it only
+ * needs to be made again when one of them changes rather than on every launch.
+ *
+ * Each instance keeps only its latest combined jar, named by a hash of the instance folder and the hashes of the jars
+ * that went into it.
+ */
+public class CombinedJarManager {
+    private static final Path CACHE_DIR = FileSystem.CACHE.resolve("combined_jars");
+
+    private static final Map<Path, Task<Path>> building = new ConcurrentHashMap<>();
+
+    /**
+     * Starts building the combined jar for the instance in the background if it isn't already cached, so it's ready by
+     * the time the instance is launched.
+     */
+    public static void prebuild(Instance instance) {
+        if (!instance.usesCustomMinecraftJar() || !instance.getMinecraftJar().exists()) {
+            return;
+        }
+
+        TaskPools.DISK.submit("CombinedJarManager::prebuild", () -> {
+            getCombinedJar(instance);
+        });
+    }
+
+    /**
+     * Gets the combined jar for the instance, building it if nothing has changed since it was last built, or waiting
+     * for it if it's already being built in the background.
+     *
+     * @return the path to the cached combined jar, or null if it couldn't be made
+     */
+    public static Path getCombinedJar(Instance instance) {
+        Path modpackJar = instance.getRoot().resolve("bin/modpack.jar");
+        String instancePrefix = Hashing.md5(instance.getRoot().toAbsolutePath().toString()).toString() + "-";
+        Path combinedJar = CACHE_DIR.resolve(instancePrefix
+                + Hashing.md5(Hashing.sha1(instance.getMinecraftJar().toPath()) + "\n" + Hashing.sha1(modpackJar))
+                + ".jar");
+
+        if (Files.exists(combinedJar)) {
+            return combinedJar;
+        }
+
+        Task<Path> task = building.computeIfAbsent(combinedJar,
+                path -> TaskPools.DISK.submit("CombinedJarManager::build", () -> {
+                    try {
+                        return build(instance, modpackJar, instancePrefix, path);
+                    } finally {
+                        building.remove(path);
+                    }
+                }));
+
+        // run it here if a pool thread hasn't picked it up yet
+        task.run();
+
+        try {
+            return task.get();
+        } catch (Exception e) {
+            LogManager.logStackTrace("Failed to combine jars for " + instance.getName(), e);
+            return null;
+        }
+    }
+
+    private static Path build(Instance instance, Path modpackJar, String instancePrefix, Path combinedJar)
+            throws IOException {
+        PerformanceManager.start("CombinedJarManager::build");
+        LogManager.debug("Combining jars for " + instance.getName());
+        Files.createDirectories(CACHE_DIR);
+
+        // remove the jar from the last time anything changed
+        try (DirectoryStream<Path> oldJars = Files.newDirectoryStream(CACHE_DIR, instancePrefix + "*")) {
+            for (Path oldJar : oldJars) {
+                Files.deleteIfExists(oldJar);
+            }
+        }
+
+        Path tempJar = Files.createTempFile(CACHE_DIR, instancePrefix, ".tmp");
+        try {
+            if (!Utils.combineJars(instance.getMinecraftJar(), modpackJar.toFile(), tempJar.toFile())) {
+                return null;
+            }
+
+            Files.move(tempJar, combinedJar, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempJar);
+            PerformanceManager.end("CombinedJarManager::build");
+        }
+
+        return combinedJar;
+    }
+}
@@ -25,6 +25,8 @@ import com.atlauncher.Data;
 import com.atlauncher.data.Instance;
 import com.atlauncher.data.curseforge.CurseForgeFile;
 import com.atlauncher.data.curseforge.CurseForgeProject;
+import com.atlauncher.network.BandwidthScheduler;
+import com.atlauncher.network.DownloadPriority;
 import com.atlauncher.utils.CurseForgeApi;
 
 public class CurseForgeUpdateManager {
@@ -52,7 +54,8 @@ public class CurseForgeUpdateManager {
         if (foundProjects != null) {
 
             boolean refreshInstancesPanel = Data.INSTANCES.parallelStream()
-                    .filter(i -> i.isCurseForgePack() && i.hasCurseForgeProjectId()).map(i -> {
+                    .filter(i -> i.isCurseForgePack() && i.hasCurseForgeProjectId())
+                    .map(BandwidthScheduler.withPriority(DownloadPriority.BACKGROUND, i -> {
                         boolean wasUpdated = false;
 
                         CurseForgeProject curseForgeMod = foundProjects.get(i.launcher.curseForgeManifest != null
@@ -82,7 +85,7 @@ public class CurseForgeUpdateManager {
                         Data.CURSEFORGE_INSTANCE_LATEST_VERSION.put(i, latestVersion);
 
                         return wasUpdated;
-                    }).anyMatch(b -> b);
+                    })).anyMatch(b -> b);
 
             if (refreshInstancesPanel) {
                 App.launcher.reloadInstancesPanel();
@@ -146,6 +146,7 @@ public class InstanceManager {
     public static void removeInstance(Instance instance) {
         if (Data.INSTANCES.remove(instance)) {
             FileUtils.delete(instance.getRoot(), true);
+            LaunchPlanManager.invalidate(instance);
             App.launcher.reloadInstancesPanel();
         }
     }
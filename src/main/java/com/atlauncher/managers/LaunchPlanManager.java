@@ -0,0 +1,156 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.constants.Constants;
+import com.atlauncher.data.Instance;
+import com.atlauncher.mclauncher.LaunchPlan;
+import com.atlauncher.utils.Hashing;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Caches the launch plan for each instance, both in memory and on disk, so launching an instance doesn't need to
+ * rebuild the classpath or check the Java version each time.
+ *
+ * Plans are keyed by a fingerprint of everything that goes into them (the instances libraries, arguments and main
+ * class, the Java install, any jar mods or custom libraries, and the OS), so any change to those builds a new plan.
+ */
+public class LaunchPlanManager {
+    private static final Path CACHE_DIR = FileSystem.CACHE.resolve("launch_plans");
+
+    private static final Map<String, LaunchPlan> plans = new ConcurrentHashMap<>();
+
+    public static LaunchPlan getLaunchPlan(Instance instance) {
+        PerformanceManager.start("LaunchPlanManager::getLaunchPlan");
+        String key = instance.getRoot().toAbsolutePath().toString();
+        String fingerprint = getFingerprint(instance);
+
+        LaunchPlan plan = plans.get(key);
+        if (plan == null || !fingerprint.equals(plan.fingerprint)) {
+            plan = loadLaunchPlan(instance);
+        }
+
+        if (plan == null || !fingerprint.equals(plan.fingerprint)) {
+            LogManager.debug("Building launch plan for " + instance.getName());
+            plan = LaunchPlan.build(instance, fingerprint);
+            saveLaunchPlan(instance, plan);
+        }
+
+        plans.put(key, plan);
+        PerformanceManager.end("LaunchPlanManager::getLaunchPlan");
+
+        return plan;
+    }
+
+    /**
+     * Removes the cached plan for the instance, so the next launch builds it again.
+     */
+    public static void invalidate(Instance instance) {
+        plans.remove(instance.getRoot().toAbsolutePath().toString());
+
+        try {
+            Files.deleteIfExists(getCacheFile(instance));
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to delete launch plan for " + instance.getName(), e);
+        }
+    }
+
+    private static String getFingerprint(Instance instance) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append(Constants.VERSION).append('\n');
+        sb.append(System.getProperty("os.name")).append(' ').append(System.getProperty("os.arch")).append('\n');
+        sb.append(FileSystem.LIBRARIES.toAbsolutePath()).append('\n');
+        sb.append(Gsons.DEFAULT_SLIM.toJson(instance.libraries)).append('\n');
+        sb.append(Gsons.DEFAULT_SLIM.toJson(instance.arguments)).append('\n');
+        sb.append(instance.getMainClass()).append('\n');
+        sb.append(instance.usesLegacyLaunch()).append(' ').append(instance.usesCustomMinecraftJar()).append('\n');
+
+        String javaPath = instance.getJavaPath();
+        sb.append(javaPath).append(' ').append(new File(javaPath, "release").lastModified()).append('\n');
+
+        appendDirectoryListing(sb, instance.getJarModsDirectory());
+        appendDirectoryListing(sb, instance.getBinDirectory());
+
+        return Hashing.md5(sb.toString()).toString();
+    }
+
+    private static void appendDirectoryListing(StringBuilder sb, File directory) {
+        File[] files = directory.listFiles();
+
+        if (files == null) {
+            return;
+        }
+
+        Arrays.stream(files).sorted(Comparator.comparing(File::getName)).forEach(file -> sb.append(file.getName())
+                .append(' ').append(file.length()).append(' ').append(file.lastModified()).append('\n'));
+    }
+
+    private static Path getCacheFile(Instance instance) {
+        return CACHE_DIR.resolve(Hashing.md5(instance.getRoot().toAbsolutePath().toString()) + ".json");
+    }
+
+    private static LaunchPlan loadLaunchPlan(Instance instance) {
+        Path cacheFile = getCacheFile(instance);
+
+        if (!Files.exists(cacheFile)) {
+            return null;
+        }
+
+        try (FileReader fileReader = new FileReader(cacheFile.toFile())) {
+            LaunchPlan plan = Gsons.DEFAULT_SLIM.fromJson(fileReader, LaunchPlan.class);
+
+            // the classpath can't be trusted if any of its files have since been removed
+            if (plan != null && plan.classpath != null && Arrays.stream(plan.classpath.split(File.pathSeparator))
+                    .allMatch(entry -> Files.exists(Paths.get(entry)))) {
+                return plan;
+            }
+        } catch (JsonIOException | JsonSyntaxException | IOException e) {
+            LogManager.logStackTrace("Failed to read launch plan for " + instance.getName(), e);
+        }
+
+        return null;
+    }
+
+    private static void saveLaunchPlan(Instance instance, LaunchPlan plan) {
+        try {
+            Files.createDirectories(CACHE_DIR);
+
+            try (FileWriter fileWriter = new FileWriter(getCacheFile(instance).toFile())) {
+                Gsons.DEFAULT_SLIM.toJson(plan, fileWriter);
+            }
+        } catch (JsonIOException | IOException e) {
+            LogManager.logStackTrace("Failed to save launch plan for " + instance.getName(), e);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import com.atlauncher.exceptions.LocalException;
 import com.atlauncher.network.Analytics;
 import com.atlauncher.network.DownloadException;
 import com.atlauncher.network.ErrorReporting;
+import com.atlauncher.thread.GameLogWriter;
 import com.atlauncher.thread.LoggingThread;
 import com.atlauncher.utils.SystemOutInterceptor;
 
@@ -39,6 +40,11 @@ public final class LogManager {
     private static final BlockingQueue<LogEvent> queue = new ArrayBlockingQueue<>(128);
     public static boolean showDebug = false;
 
+    /**
+     * Where the output of the running game is also written to, if anywhere.
+     */
+    private static volatile GameLogWriter gameLog = null;
+
     private static final Pattern LOG4J_THREAD_REGEX = Pattern.compile("<log4j:Event.*?thread=\"(.*?)\".*?>");
     private static final Pattern LOG4J_LEVEL_REGEX = Pattern.compile("<log4j:Event.*?level=\"(.*?)\".*?>");
     private static final Pattern LOG4J_MESSAGE_REGEX = Pattern
@@ -92,9 +98,18 @@ public final class LogManager {
         }
     }
 
+    public static void setGameLog(GameLogWriter gameLogWriter) {
+        gameLog = gameLogWriter;
+    }
+
     public static void minecraft(String message) {
         Object[] value = prepareMessageForMinecraftLog(message);
         queue.offer(new LogEvent((LogType) value[0], (String) value[1], LogEvent.CONSOLE));
+
+        GameLogWriter gameLogWriter = gameLog;
+        if (gameLogWriter != null) {
+            gameLogWriter.write(message);
+        }
     }
 
     public static void logStackTrace(Throwable t) {
@@ -253,7 +268,12 @@ public final class LogManager {
             message = messageMatcher.group(1);
         }
 
-        queue.offer(new LogEvent(level, String.format("[%s/%s] %s", thread, levelString, message),
-                LogEvent.CONSOLE));
+        String line = String.format("[%s/%s] %s", thread, levelString, message);
+        queue.offer(new LogEvent(level, line, LogEvent.CONSOLE));
+
+        GameLogWriter gameLogWriter = gameLog;
+        if (gameLogWriter != null) {
+            gameLogWriter.write(line);
+        }
     }
 }
@@ -24,11 +24,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.joda.time.format.ISODateTimeFormat;
-
 import com.atlauncher.Data;
 import com.atlauncher.FileSystem;
 import com.atlauncher.Gsons;
@@ -46,6 +48,10 @@ import com.google.gson.reflect.TypeToken;
 public class MinecraftManager {
     private static boolean forceReloaded = false;
 
+    private static volatile List<VersionManifestVersion> versionsByReleaseTime = new ArrayList<>();
+    private static volatile Map<VersionManifestVersionType, List<VersionManifestVersion>> versionsByType =
+            new EnumMap<>(VersionManifestVersionType.class);
+
     public static void loadMinecraftVersions() {
         loadMinecraftVersions(false);
     }
@@ -70,18 +76,13 @@ public class MinecraftManager {
                 download = download.cached();
             }
 
-            versionManifest = download.asClassWithThrow(VersionManifest.class);
+            download.downloadFile();
         } catch (IOException e) {
             LogManager.logStackTrace(e);
+        }
 
-            if (Files.exists(manifestPath)) {
-                try {
-                    versionManifest = Gsons.DEFAULT.fromJson(new FileReader(manifestPath.toFile()),
-                            VersionManifest.class);
-                } catch (JsonSyntaxException | FileNotFoundException | JsonIOException e1) {
-                    LogManager.logStackTrace(e1);
-                }
-            }
+        if (Files.exists(manifestPath)) {
+            versionManifest = SnapshotManager.getVersionManifest(manifestPath);
         }
 
         if (versionManifest != null) {
@@ -91,6 +92,7 @@ public class MinecraftManager {
         }
 
         loadAdditiveVersions();
+        buildVersionIndexes();
 
         LogManager.debug("Finished loading Minecraft versions");
         PerformanceManager.end();
@@ -118,6 +120,31 @@ public class MinecraftManager {
         }
     }
 
+    /**
+     * Builds the lookups of versions by release time and type, newest first. Release times are parsed at most once per
+     * version (and not at all when the manifest came from its snapshot), and the versions in the manifest are already
+     * sorted, so this is cheap.
+     */
+    private static void buildVersionIndexes() {
+        List<VersionManifestVersion> sorted = new ArrayList<>(Data.MINECRAFT.values());
+        sorted.sort(Comparator.comparingLong(VersionManifestVersion::getReleaseTimeMillis).reversed());
+
+        Map<VersionManifestVersionType, List<VersionManifestVersion>> byType = new EnumMap<>(
+                VersionManifestVersionType.class);
+        for (VersionManifestVersionType type : VersionManifestVersionType.values()) {
+            byType.put(type, new ArrayList<>());
+        }
+
+        for (VersionManifestVersion version : sorted) {
+            if (version.type != null) {
+                byType.get(version.type).add(version);
+            }
+        }
+
+        versionsByReleaseTime = sorted;
+        versionsByType = byType;
+    }
+
     public static void loadJavaRuntimes() {
         loadJavaRuntimes(false);
     }
@@ -174,68 +201,48 @@ public class MinecraftManager {
             return singleList;
         }
 
-        return Data.MINECRAFT.entrySet().stream()
-                .filter(e -> {
-                    if (e.getValue().type != VersionManifestVersionType.RELEASE) {
-                        return false;
-                    }
-
+        return versionsByType.getOrDefault(VersionManifestVersionType.RELEASE, new ArrayList<>()).stream()
+                .filter(mv -> {
                     // no patch version (for instance 1.19, 1.18, etc)
                     if (version.split("\\.").length == 2) {
-                        return e.getKey().startsWith(version);
+                        return mv.id.startsWith(version);
                     }
 
-                    return e.getKey().startsWith(version.substring(0, version.lastIndexOf(".")));
-                })
-                .map(e -> e.getValue()).collect(Collectors.toList());
+                    return mv.id.startsWith(version.substring(0, version.lastIndexOf(".")));
+                }).collect(Collectors.toList());
     }
 
     public static List<VersionManifestVersion> getFilteredMinecraftVersions(
             List<VersionManifestVersionType> filterTypes) {
-        List<String> disabledVersions = new ArrayList<>();
+        Set<String> disabledVersions = new HashSet<>();
 
         filterTypes.forEach(ft -> {
             disabledVersions.addAll(ConfigManager.getConfigItem(
                     String.format("minecraft.%s.disabledVersions", ft.getValue()), new ArrayList<String>()));
         });
 
-        return Data.MINECRAFT.values().stream().filter(mv -> {
-            if (disabledVersions.contains(mv.id)) {
-                return false;
-            }
-
-            return filterTypes.contains(mv.type);
-        }).sorted(Comparator.comparingLong((VersionManifestVersion mv) -> {
-            return ISODateTimeFormat.dateTimeParser().parseDateTime(mv.releaseTime).getMillis() / 1000;
-        }).reversed()).collect(Collectors.toList());
+        return versionsByReleaseTime.stream()
+                .filter(mv -> filterTypes.contains(mv.type) && !disabledVersions.contains(mv.id))
+                .collect(Collectors.toList());
     }
 
     public static List<VersionManifestVersion> getFilteredMinecraftVersions(VersionManifestVersionType filterType) {
-        List<String> disabledVersions = ConfigManager.getConfigItem(
-                String.format("minecraft.%s.disabledVersions", filterType.getValue()), new ArrayList<String>());
-
-        return Data.MINECRAFT.values().stream().filter(mv -> {
-            if (disabledVersions.contains(mv.id)) {
-                return false;
-            }
+        Set<String> disabledVersions = new HashSet<>(ConfigManager.getConfigItem(
+                String.format("minecraft.%s.disabledVersions", filterType.getValue()), new ArrayList<String>()));
 
-            return mv.type == filterType;
-        }).sorted(Comparator.comparingLong((VersionManifestVersion mv) -> {
-            return ISODateTimeFormat.dateTimeParser().parseDateTime(mv.releaseTime).getMillis() / 1000;
-        }).reversed()).collect(Collectors.toList());
+        return versionsByType.getOrDefault(filterType, new ArrayList<>()).stream()
+                .filter(mv -> !disabledVersions.contains(mv.id)).collect(Collectors.toList());
     }
 
     public static List<VersionManifestVersion> getMinecraftVersions() {
-        List<String> disabledVersions = new ArrayList<>();
+        Set<String> disabledVersions = new HashSet<>();
 
         for (VersionManifestVersionType vt : VersionManifestVersionType.values()) {
             disabledVersions.addAll(ConfigManager.getConfigItem(
                     String.format("minecraft.%s.disabledVersions", vt.getValue()), new ArrayList<String>()));
         }
 
-        return Data.MINECRAFT.values().stream().filter(mv -> !disabledVersions.contains(mv.id))
-                .sorted(Comparator.comparingLong((VersionManifestVersion mv) -> {
-                    return ISODateTimeFormat.dateTimeParser().parseDateTime(mv.releaseTime).getMillis() / 1000;
-                }).reversed()).collect(Collectors.toList());
+        return versionsByReleaseTime.stream().filter(mv -> !disabledVersions.contains(mv.id))
+                .collect(Collectors.toList());
     }
 }
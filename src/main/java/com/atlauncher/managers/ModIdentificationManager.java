@@ -0,0 +1,454 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.atlauncher.App;
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.DisableableMod;
+import com.atlauncher.data.ModPlatform;
+import com.atlauncher.data.curseforge.CurseForgeFile;
+import com.atlauncher.data.curseforge.CurseForgeFingerprint;
+import com.atlauncher.data.curseforge.CurseForgeFingerprintedMod;
+import com.atlauncher.data.curseforge.CurseForgeProject;
+import com.atlauncher.data.modrinth.ModrinthProject;
+import com.atlauncher.data.modrinth.ModrinthVersion;
+import com.atlauncher.thread.TaskPools;
+import com.atlauncher.utils.CurseForgeApi;
+import com.atlauncher.utils.Hashing;
+import com.atlauncher.utils.ModrinthApi;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Identifies mod files on CurseForge and Modrinth.
+ *
+ * Each file is read once to compute all the hashes needed, files are hashed in parallel, and both platforms are
+ * queried at the same time. File hashes are cached by path, size and last modified time, and the results of lookups
+ * are cached by the files SHA1 hash, so rescanning mods that have already been identified doesn't need to hash them
+ * again or make any network requests.
+ */
+public class ModIdentificationManager {
+    private static final Path CACHE_FILE = FileSystem.CACHE.resolve("mod_identification.json");
+
+    private static final long FOUND_CACHE_TIME = TimeUnit.DAYS.toMillis(7);
+    private static final long NOT_FOUND_CACHE_TIME = TimeUnit.DAYS.toMillis(1);
+
+    private static volatile IdentificationCache cache = null;
+    private static volatile boolean dirty = false;
+
+    /**
+     * Identifies the given mods, filling in the CurseForge and Modrinth information for any mods that are found and
+     * don't already have it.
+     *
+     * @param mods         the mods to identify
+     * @param pathResolver gets the path on disk of the given mod, or null if it has no file
+     */
+    public static void identify(List<DisableableMod> mods, Function<DisableableMod, Path> pathResolver) {
+        boolean checkCurseForge = !App.settings.dontCheckModsOnCurseForge;
+        boolean checkModrinth = !App.settings.dontCheckModsOnModrinth;
+
+        if (mods.size() == 0 || (!checkCurseForge && !checkModrinth)) {
+            return;
+        }
+
+        PerformanceManager.start("ModIdentificationManager::identify");
+        loadCache();
+
+        List<DisableableMod> toCheck = mods.stream()
+                .filter(dm -> (checkCurseForge && dm.curseForgeProject == null && dm.curseForgeFile == null)
+                        || (checkModrinth && dm.modrinthProject == null && dm.modrinthVersion == null))
+                .collect(Collectors.toList());
+
+        if (toCheck.size() == 0) {
+            PerformanceManager.end("ModIdentificationManager::identify");
+            return;
+        }
+
+        Map<DisableableMod, Hashing.ModHashes> hashes = hashMods(toCheck, pathResolver);
+
+        // group by SHA1 in case the same file is in there multiple times
+        Map<String, List<DisableableMod>> modsByHash = new LinkedHashMap<>();
+        Map<String, Hashing.ModHashes> hashesBySha1 = new HashMap<>();
+        hashes.forEach((dm, h) -> {
+            modsByHash.computeIfAbsent(h.sha1, k -> new ArrayList<>()).add(dm);
+            hashesBySha1.put(h.sha1, h);
+        });
+
+        long now = System.currentTimeMillis();
+        Map<Long, String> murmursToCheck = new HashMap<>();
+        Map<String, String> sha512sToCheck = new HashMap<>();
+
+        hashesBySha1.forEach((sha1, h) -> {
+            ModIdentification identification = cache.identifications.get(sha1);
+            List<DisableableMod> dms = modsByHash.get(sha1);
+
+            if (checkCurseForge && (identification == null || !identification.isCurseForgeFresh(now))
+                    && dms.stream().anyMatch(dm -> dm.curseForgeProject == null && dm.curseForgeFile == null)) {
+                murmursToCheck.put(h.murmur, sha1);
+            }
+
+            if (checkModrinth && (identification == null || !identification.isModrinthFresh(now))
+                    && dms.stream().anyMatch(dm -> dm.modrinthProject == null && dm.modrinthVersion == null)) {
+                sha512sToCheck.put(h.sha512, sha1);
+            }
+        });
+
+        CompletableFuture<Map<String, CurseForgeMatch>> curseForgeFuture = CompletableFuture
+                .supplyAsync(() -> lookupOnCurseForge(murmursToCheck),
+                        TaskPools.NETWORK.executor("ModIdentificationManager::lookupOnCurseForge"));
+        CompletableFuture<Map<String, ModrinthMatch>> modrinthFuture = CompletableFuture
+                .supplyAsync(() -> lookupOnModrinth(sha512sToCheck),
+                        TaskPools.NETWORK.executor("ModIdentificationManager::lookupOnModrinth"));
+
+        Map<String, CurseForgeMatch> curseForgeMatches = curseForgeFuture.join();
+        Map<String, ModrinthMatch> modrinthMatches = modrinthFuture.join();
+
+        // a null result means the request failed, so we don't know if the mods exist or not
+        if (curseForgeMatches != null) {
+            for (String sha1 : murmursToCheck.values()) {
+                ModIdentification identification = cache.identifications.computeIfAbsent(sha1,
+                        k -> new ModIdentification());
+                identification.curseForge = curseForgeMatches.get(sha1);
+                identification.curseForgeCheckedAt = now;
+            }
+        }
+
+        if (modrinthMatches != null) {
+            for (String sha1 : sha512sToCheck.values()) {
+                ModIdentification identification = cache.identifications.computeIfAbsent(sha1,
+                        k -> new ModIdentification());
+                identification.modrinth = modrinthMatches.get(sha1);
+                identification.modrinthCheckedAt = now;
+            }
+        }
+
+        if (curseForgeMatches != null || modrinthMatches != null) {
+            dirty = true;
+        }
+
+        modsByHash.forEach((sha1, dms) -> {
+            ModIdentification identification = cache.identifications.get(sha1);
+
+            if (identification != null) {
+                dms.forEach(dm -> applyIdentification(dm, identification, checkCurseForge, checkModrinth));
+            }
+        });
+
+        saveCache();
+        PerformanceManager.end("ModIdentificationManager::identify");
+    }
+
+    private static Map<DisableableMod, Hashing.ModHashes> hashMods(List<DisableableMod> mods,
+            Function<DisableableMod, Path> pathResolver) {
+        Map<DisableableMod, Future<Hashing.ModHashes>> futures = new LinkedHashMap<>();
+
+        for (DisableableMod dm : mods) {
+            Path path = pathResolver.apply(dm);
+
+            if (path == null || !Files.exists(path)) {
+                continue;
+            }
+
+            futures.put(dm, TaskPools.CPU.submit("ModIdentificationManager::hashMod", () -> getHashes(path)));
+        }
+
+        Map<DisableableMod, Hashing.ModHashes> hashes = new LinkedHashMap<>();
+
+        futures.forEach((dm, future) -> {
+            try {
+                Hashing.ModHashes h = future.get();
+
+                if (h != null) {
+                    hashes.put(dm, h);
+                }
+            } catch (Throwable t) {
+                LogManager.logStackTrace("Error hashing mod " + dm.file, t);
+            }
+        });
+
+        return hashes;
+    }
+
+    private static Hashing.ModHashes getHashes(Path path) throws IOException {
+        String key = path.toAbsolutePath().toString();
+        long size = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+
+        CachedModHashes cached = cache.hashes.get(key);
+        if (cached != null && cached.size == size && cached.lastModified == lastModified && cached.hashes != null) {
+            return cached.hashes;
+        }
+
+        CachedModHashes entry = new CachedModHashes();
+        entry.size = size;
+        entry.lastModified = lastModified;
+        entry.hashes = Hashing.modHashes(path);
+        cache.hashes.put(key, entry);
+        dirty = true;
+
+        return entry.hashes;
+    }
+
+    /**
+     * Looks up the given murmur fingerprints on CurseForge.
+     *
+     * @return map of SHA1 hash to the match found, or null if the lookup failed
+     */
+    private static Map<String, CurseForgeMatch> lookupOnCurseForge(Map<Long, String> murmurs) {
+        Map<String, CurseForgeMatch> matches = new HashMap<>();
+
+        if (murmurs.size() == 0) {
+            return matches;
+        }
+
+        CurseForgeFingerprint fingerprintResponse = CurseForgeApi
+                .checkFingerprints(murmurs.keySet().stream().toArray(Long[]::new));
+
+        if (fingerprintResponse == null) {
+            return null;
+        }
+
+        if (fingerprintResponse.exactMatches == null) {
+            return matches;
+        }
+
+        int[] projectIdsFound = fingerprintResponse.exactMatches.stream().filter(em -> em != null)
+                .mapToInt(em -> em.id).toArray();
+
+        if (projectIdsFound.length == 0) {
+            return matches;
+        }
+
+        Map<Integer, CurseForgeProject> foundProjects = CurseForgeApi.getProjectsAsMap(projectIdsFound);
+
+        if (foundProjects == null) {
+            return null;
+        }
+
+        for (CurseForgeFingerprintedMod foundMod : fingerprintResponse.exactMatches) {
+            if (foundMod == null || foundMod.file == null || !murmurs.containsKey(foundMod.file.packageFingerprint)) {
+                continue;
+            }
+
+            CurseForgeMatch match = new CurseForgeMatch();
+            match.projectId = foundMod.id;
+            match.file = foundMod.file;
+            match.project = foundProjects.get(foundMod.id);
+
+            matches.put(murmurs.get(foundMod.file.packageFingerprint), match);
+        }
+
+        return matches;
+    }
+
+    /**
+     * Looks up the given SHA512 hashes on Modrinth.
+     *
+     * @return map of SHA1 hash to the match found, or null if the lookup failed
+     */
+    private static Map<String, ModrinthMatch> lookupOnModrinth(Map<String, String> sha512s) {
+        Map<String, ModrinthMatch> matches = new HashMap<>();
+
+        if (sha512s.size() == 0) {
+            return matches;
+        }
+
+        Set<String> keys = sha512s.keySet();
+        Map<String, ModrinthVersion> modrinthVersions = ModrinthApi
+                .getVersionsFromSha512Hashes(keys.toArray(new String[keys.size()]));
+
+        // the request failed, so don't remember that nothing was found
+        if (modrinthVersions == null) {
+            return null;
+        }
+
+        // none of the mods are on Modrinth, which is remembered like any other mod that isn't found
+        if (modrinthVersions.size() == 0) {
+            return matches;
+        }
+
+        String[] projectIdsFound = modrinthVersions.values().stream().map(mv -> mv.projectId)
+                .toArray(String[]::new);
+
+        Map<String, ModrinthProject> foundProjects = ModrinthApi.getProjectsAsMap(projectIdsFound);
+
+        if (foundProjects == null) {
+            return null;
+        }
+
+        for (Map.Entry<String, ModrinthVersion> entry : modrinthVersions.entrySet()) {
+            ModrinthVersion version = entry.getValue();
+            ModrinthProject project = foundProjects.get(version.projectId);
+
+            if (project != null && sha512s.containsKey(entry.getKey())) {
+                ModrinthMatch match = new ModrinthMatch();
+                match.project = project;
+                match.version = version;
+
+                matches.put(sha512s.get(entry.getKey()), match);
+            }
+        }
+
+        return matches;
+    }
+
+    private static void applyIdentification(DisableableMod dm, ModIdentification identification,
+            boolean checkCurseForge, boolean checkModrinth) {
+        if (checkCurseForge && identification.curseForge != null && dm.curseForgeProject == null
+                && dm.curseForgeFile == null) {
+            CurseForgeMatch match = identification.curseForge;
+
+            // add CurseForge information
+            dm.curseForgeProjectId = match.projectId;
+            dm.curseForgeFile = match.file;
+            dm.curseForgeFileId = match.file.id;
+
+            if (match.project != null) {
+                dm.curseForgeProject = match.project;
+                dm.name = match.project.name;
+                dm.description = match.project.summary;
+            }
+
+            LogManager.debug("Found matching mod from CurseForge called " + dm.curseForgeFile.displayName);
+        }
+
+        if (checkModrinth && identification.modrinth != null && dm.modrinthProject == null
+                && dm.modrinthVersion == null) {
+            ModrinthMatch match = identification.modrinth;
+
+            // add Modrinth information
+            dm.modrinthProject = match.project;
+            dm.modrinthVersion = match.version;
+
+            if (!dm.isFromCurseForge() || App.settings.defaultModPlatform == ModPlatform.MODRINTH) {
+                dm.name = match.project.title;
+                dm.description = match.project.description;
+            }
+
+            LogManager.debug(String.format("Found matching mod from Modrinth called %s with file %s",
+                    match.project.title, match.version.name));
+        }
+    }
+
+    private static synchronized void loadCache() {
+        if (cache != null) {
+            return;
+        }
+
+        IdentificationCache newCache = null;
+
+        if (Files.exists(CACHE_FILE)) {
+            try (FileReader fileReader = new FileReader(CACHE_FILE.toFile())) {
+                newCache = Gsons.DEFAULT_SLIM.fromJson(fileReader, IdentificationCache.class);
+            } catch (JsonIOException | JsonSyntaxException | IOException e) {
+                LogManager.logStackTrace("Failed to load mod identification cache", e);
+            }
+        }
+
+        if (newCache == null) {
+            newCache = new IdentificationCache();
+        }
+
+        newCache.hashes = new ConcurrentHashMap<>(
+                newCache.hashes == null ? new HashMap<>() : newCache.hashes);
+        newCache.identifications = new ConcurrentHashMap<>(
+                newCache.identifications == null ? new HashMap<>() : newCache.identifications);
+
+        cache = newCache;
+    }
+
+    /**
+     * Saves the cache to disk if anything has changed, dropping hashes for files which no longer exist and results
+     * which have expired.
+     */
+    public static synchronized void saveCache() {
+        if (cache == null || !dirty) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        cache.hashes.keySet().removeIf(key -> !new File(key).exists());
+        cache.identifications.values()
+                .removeIf(identification -> !identification.isCurseForgeFresh(now)
+                        && !identification.isModrinthFresh(now));
+
+        try (FileWriter fileWriter = new FileWriter(CACHE_FILE.toFile())) {
+            Gsons.DEFAULT_SLIM.toJson(cache, fileWriter);
+            dirty = false;
+        } catch (JsonIOException | IOException e) {
+            LogManager.logStackTrace("Failed to save mod identification cache", e);
+        }
+    }
+
+    private static class IdentificationCache {
+        public Map<String, CachedModHashes> hashes;
+        public Map<String, ModIdentification> identifications;
+    }
+
+    private static class CachedModHashes {
+        public long size;
+        public long lastModified;
+        public Hashing.ModHashes hashes;
+    }
+
+    private static class ModIdentification {
+        public CurseForgeMatch curseForge;
+        public long curseForgeCheckedAt;
+        public ModrinthMatch modrinth;
+        public long modrinthCheckedAt;
+
+        public boolean isCurseForgeFresh(long now) {
+            return now - curseForgeCheckedAt < (curseForge == null ? NOT_FOUND_CACHE_TIME : FOUND_CACHE_TIME);
+        }
+
+        public boolean isModrinthFresh(long now) {
+            return now - modrinthCheckedAt < (modrinth == null ? NOT_FOUND_CACHE_TIME : FOUND_CACHE_TIME);
+        }
+    }
+
+    private static class CurseForgeMatch {
+        public int projectId;
+        public CurseForgeFile file;
+        public CurseForgeProject project;
+    }
+
+    private static class ModrinthMatch {
+        public ModrinthProject project;
+        public ModrinthVersion version;
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.minecraft.FabricMod;
+import com.atlauncher.data.minecraft.ForgeMod;
+import com.atlauncher.data.minecraft.MCMod;
+import com.atlauncher.data.minecraft.ModMetadata;
+import com.atlauncher.data.minecraft.QuiltMod;
+import com.atlauncher.utils.ArchiveUtils;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Reads the metadata (mcmod.info, fabric.mod.json, quilt.mod.json and META-INF/mods.toml) out of mod files.
+ *
+ * Results are cached by the files path, size and last modified time, and the cache is persisted to disk so that
+ * scanning a folder of mods that hasn't changed doesn't need to open any of the files.
+ */
+public class ModMetadataManager {
+    private static final Path CACHE_FILE = FileSystem.CACHE.resolve("mod_metadata.json");
+
+    private static final String MCMOD_INFO = "mcmod.info";
+    private static final String FABRIC_MOD_JSON = "fabric.mod.json";
+    private static final String QUILT_MOD_JSON = "quilt.mod.json";
+    private static final String MODS_TOML = "META-INF/mods.toml";
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+
+    private static final List<String> METADATA_FILES = Arrays.asList(MCMOD_INFO, FABRIC_MOD_JSON, QUILT_MOD_JSON,
+            MODS_TOML, MANIFEST);
+
+    private static volatile Map<String, CachedModMetadata> cache = null;
+    private static volatile boolean dirty = false;
+
+    public static ModMetadata getMetadata(File file) {
+        return getMetadata(file.toPath());
+    }
+
+    public static ModMetadata getMetadata(Path path) {
+        loadCache();
+
+        String key = path.toAbsolutePath().toString();
+        long size;
+        long lastModified;
+
+        try {
+            size = Files.size(path);
+            lastModified = Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to read attributes of mod file " + path, e);
+            return new ModMetadata();
+        }
+
+        CachedModMetadata cached = cache.get(key);
+        if (cached != null && cached.size == size && cached.lastModified == lastModified && cached.metadata != null) {
+            return cached.metadata;
+        }
+
+        ModMetadata metadata = readMetadata(path);
+
+        CachedModMetadata entry = new CachedModMetadata();
+        entry.size = size;
+        entry.lastModified = lastModified;
+        entry.metadata = metadata;
+        cache.put(key, entry);
+        dirty = true;
+
+        return metadata;
+    }
+
+    /**
+     * Reads all the metadata files from the mod in a single pass over the archive. This doesn't use the cache.
+     */
+    public static ModMetadata readMetadata(Path path) {
+        ModMetadata metadata = new ModMetadata();
+        Map<String, String> files = ArchiveUtils.getFiles(path, METADATA_FILES);
+
+        if (files.containsKey(MCMOD_INFO)) {
+            try {
+                java.lang.reflect.Type type = new TypeToken<List<MCMod>>() {
+                }.getType();
+
+                List<MCMod> mods = Gsons.MINECRAFT.fromJson(files.get(MCMOD_INFO), type);
+
+                if (mods != null && mods.size() != 0 && mods.get(0) != null) {
+                    metadata.mcMod = mods.get(0);
+                }
+            } catch (Exception ignored) {
+            }
+        }
+
+        if (files.containsKey(FABRIC_MOD_JSON)) {
+            try {
+                metadata.fabricMod = Gsons.MINECRAFT.fromJson(files.get(FABRIC_MOD_JSON), FabricMod.class);
+            } catch (Exception ignored) {
+            }
+        }
+
+        if (files.containsKey(QUILT_MOD_JSON)) {
+            try {
+                metadata.quiltMod = Gsons.MINECRAFT.fromJson(files.get(QUILT_MOD_JSON), QuiltMod.class);
+            } catch (Exception ignored) {
+            }
+        }
+
+        if (files.containsKey(MODS_TOML)) {
+            try {
+                metadata.forgeMod = parseModsToml(files.get(MODS_TOML), files.get(MANIFEST));
+            } catch (Exception ignored) {
+            }
+        }
+
+        return metadata;
+    }
+
+    /**
+     * Very small parser for the parts of a mods.toml file we care about. This only reads the simple string keys of
+     * the first [[mods]] table rather than being a full TOML parser.
+     */
+    private static ForgeMod parseModsToml(String contents, String manifest) {
+        ForgeMod mod = null;
+        String[] lines = contents.split("\\r?\\n");
+
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+
+            if (line.startsWith("[")) {
+                if (mod != null) {
+                    break;
+                }
+
+                String header = line.contains("#") ? line.substring(0, line.indexOf("#")) : line;
+
+                if (header.replace(" ", "").equals("[[mods]]")) {
+                    mod = new ForgeMod();
+                }
+
+                continue;
+            }
+
+            if (mod == null || line.startsWith("#") || !line.contains("=")) {
+                continue;
+            }
+
+            String key = line.substring(0, line.indexOf("=")).trim();
+            String value = line.substring(line.indexOf("=") + 1).trim();
+
+            if (value.startsWith("'''") || value.startsWith("\"\"\"")) {
+                String quote = value.substring(0, 3);
+                StringBuilder sb = new StringBuilder(value.substring(3));
+
+                while (!sb.toString().contains(quote) && i + 1 < lines.length) {
+                    sb.append("\n").append(lines[++i]);
+                }
+
+                value = sb.toString();
+                value = value.substring(0, value.contains(quote) ? value.indexOf(quote) : value.length()).trim();
+            } else if (value.startsWith("\"") || value.startsWith("'")) {
+                char quote = value.charAt(0);
+                int end = value.indexOf(quote, 1);
+                value = value.substring(1, end == -1 ? value.length() : end);
+            } else {
+                continue;
+            }
+
+            switch (key) {
+                case "modId":
+                    mod.modId = value;
+                    break;
+                case "version":
+                    mod.version = value;
+                    break;
+                case "displayName":
+                    mod.displayName = value;
+                    break;
+                case "description":
+                    mod.description = value;
+                    break;
+            }
+        }
+
+        if (mod != null && "${file.jarVersion}".equals(mod.version)) {
+            mod.version = getImplementationVersion(manifest);
+        }
+
+        return mod;
+    }
+
+    private static String getImplementationVersion(String manifest) {
+        if (manifest == null) {
+            return null;
+        }
+
+        for (String line : manifest.split("\\r?\\n")) {
+            if (line.startsWith("Implementation-Version:")) {
+                return line.substring("Implementation-Version:".length()).trim();
+            }
+        }
+
+        return null;
+    }
+
+    private static synchronized void loadCache() {
+        if (cache != null) {
+            return;
+        }
+
+        Map<String, CachedModMetadata> newCache = new ConcurrentHashMap<>();
+
+        if (!Files.exists(CACHE_FILE)) {
+            cache = newCache;
+            return;
+        }
+
+        java.lang.reflect.Type type = new TypeToken<Map<String, CachedModMetadata>>() {
+        }.getType();
+
+        try (FileReader fileReader = new FileReader(CACHE_FILE.toFile())) {
+            Map<String, CachedModMetadata> loaded = Gsons.DEFAULT_SLIM.fromJson(fileReader, type);
+
+            if (loaded != null) {
+                newCache.putAll(loaded);
+            }
+        } catch (JsonIOException | JsonSyntaxException | IOException e) {
+            LogManager.logStackTrace("Failed to load mod metadata cache", e);
+        }
+
+        cache = newCache;
+    }
+
+    /**
+     * Saves the cache to disk if anything has changed, dropping entries for files which no longer exist.
+     */
+    public static synchronized void saveCache() {
+        if (cache == null || !dirty) {
+            return;
+        }
+
+        cache.keySet().removeIf(key -> !new File(key).exists());
+
+        try (FileWriter fileWriter = new FileWriter(CACHE_FILE.toFile())) {
+            Gsons.DEFAULT_SLIM.toJson(cache, fileWriter);
+            dirty = false;
+        } catch (JsonIOException | IOException e) {
+            LogManager.logStackTrace("Failed to save mod metadata cache", e);
+        }
+    }
+
+    private static class CachedModMetadata {
+        public long size;
+        public long lastModified;
+        public ModMetadata metadata;
+    }
+}
@@ -26,6 +26,8 @@ import com.atlauncher.constants.Constants;
 import com.atlauncher.data.Instance;
 import com.atlauncher.data.modpacksch.ModpacksChPackManifest;
 import com.atlauncher.data.modpacksch.ModpacksChPackVersion;
+import com.atlauncher.network.BandwidthScheduler;
+import com.atlauncher.network.DownloadPriority;
 
 import okhttp3.CacheControl;
 
@@ -44,7 +46,7 @@ public class ModpacksChUpdateManager {
 
         boolean refreshInstancesPanel = Data.INSTANCES.parallelStream().filter(
                 i -> i.launcher.modpacksChPackManifest != null && i.launcher.modpacksChPackVersionManifest != null)
-                .map(i -> {
+                .map(BandwidthScheduler.withPriority(DownloadPriority.BACKGROUND, i -> {
                     boolean wasUpdated = false;
 
                     ModpacksChPackManifest packManifest = com.atlauncher.network.Download.build()
@@ -75,7 +77,7 @@ public class ModpacksChUpdateManager {
                     Data.MODPACKS_CH_INSTANCE_LATEST_VERSION.put(i, latestVersion);
 
                     return wasUpdated;
-                }).anyMatch(b -> b);
+                })).anyMatch(b -> b);
 
         if (refreshInstancesPanel) {
             App.launcher.reloadInstancesPanel();
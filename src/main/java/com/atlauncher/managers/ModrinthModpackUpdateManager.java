@@ -24,6 +24,8 @@ import com.atlauncher.App;
 import com.atlauncher.Data;
 import com.atlauncher.data.Instance;
 import com.atlauncher.data.modrinth.ModrinthVersion;
+import com.atlauncher.network.BandwidthScheduler;
+import com.atlauncher.network.DownloadPriority;
 import com.atlauncher.utils.ModrinthApi;
 
 public class ModrinthModpackUpdateManager {
@@ -40,7 +42,8 @@ public class ModrinthModpackUpdateManager {
         LogManager.info("Checking for updates to Modrinth instances");
 
         boolean refreshInstancesPanel = Data.INSTANCES.parallelStream()
-                .filter(i -> i.isModrinthPack()).map(i -> {
+                .filter(i -> i.isModrinthPack())
+                .map(BandwidthScheduler.withPriority(DownloadPriority.BACKGROUND, i -> {
                     boolean wasUpdated = false;
 
                     List<ModrinthVersion> packVersions = ModrinthApi.getVersions(i.launcher.modrinthProject.id);
@@ -67,7 +70,7 @@ public class ModrinthModpackUpdateManager {
                     Data.MODRINTH_INSTANCE_LATEST_VERSION.put(i, latestVersion);
 
                     return wasUpdated;
-                }).anyMatch(b -> b);
+                })).anyMatch(b -> b);
 
         if (refreshInstancesPanel) {
             App.launcher.reloadInstancesPanel();
@@ -0,0 +1,240 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.utils.Hashing;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Caches the results of running Forge's install processors so they don't need to be run again.
+ *
+ * Each run is keyed by the Forge version, Minecraft version, side, processor and the hashes of its inputs, and
+ * records the hash of each file it output. Outputs that aren't in the shared libraries folder (such as for servers)
+ * are also copied into a store, so installing the same Forge version again can copy them back rather than running the
+ * processor.
+ *
+ * The SHA1 of files is also cached by path, size and last modified time, so large outputs don't need to be hashed
+ * again every time an install checks them.
+ */
+public class ProcessorCacheManager {
+    private static final Path CACHE_FILE = FileSystem.CACHE.resolve("forge_processors.json");
+    private static final Path STORE_DIR = FileSystem.CACHE.resolve("forge_processor_outputs");
+
+    private static volatile CacheData cache = null;
+    private static volatile boolean dirty = false;
+
+    /**
+     * Gets the SHA1 hash of the given file, reusing the last hash if the file hasn't changed since.
+     */
+    public static String sha1(Path path) {
+        loadCache();
+
+        String key = path.toAbsolutePath().toString();
+        long size;
+        long lastModified;
+
+        try {
+            size = Files.size(path);
+            lastModified = Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return Hashing.sha1(path).toString();
+        }
+
+        HashedFile cached = cache.hashes.get(key);
+        if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+            return cached.sha1;
+        }
+
+        HashedFile hashed = new HashedFile();
+        hashed.size = size;
+        hashed.lastModified = lastModified;
+        hashed.sha1 = Hashing.sha1(path).toString();
+        cache.hashes.put(key, hashed);
+        dirty = true;
+
+        return hashed.sha1;
+    }
+
+    /**
+     * Gets the key for a run of a processor.
+     *
+     * @param parts       things identifying the processor and version being installed
+     * @param args        the processors arguments, with instance specific paths replaced
+     * @param inputFiles  the files read by the processor
+     */
+    public static String getRunKey(List<String> parts, List<String> args, List<Path> inputFiles) {
+        StringBuilder sb = new StringBuilder();
+
+        parts.forEach(part -> sb.append(part).append('\n'));
+        args.forEach(arg -> sb.append(arg).append('\n'));
+        inputFiles.forEach(file -> sb.append(sha1(file)).append('\n'));
+
+        return Hashing.md5(sb.toString()).toString();
+    }
+
+    /**
+     * Makes sure the outputs from a previous run with the same key are in place, copying them from the store if
+     * needed.
+     *
+     * @return if all the outputs are in place and the processor doesn't need to run
+     */
+    public static boolean restoreOutputs(String runKey, Map<String, File> outputs) {
+        loadCache();
+
+        Map<String, OutputFile> run = cache.runs.get(runKey);
+        if (run == null || !run.keySet().containsAll(outputs.keySet())) {
+            return false;
+        }
+
+        for (Map.Entry<String, File> output : outputs.entrySet()) {
+            OutputFile recorded = run.get(output.getKey());
+            Path path = output.getValue().toPath();
+
+            if (Files.isRegularFile(path) && recorded.sha1.equals(sha1(path))) {
+                continue;
+            }
+
+            Path stored = STORE_DIR.resolve(recorded.sha1);
+            if (!Files.isRegularFile(stored)) {
+                return false;
+            }
+
+            try {
+                Files.createDirectories(path.getParent());
+                Files.copy(stored, path, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to copy cached processor output to " + path, e);
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Records the outputs of a successful run of a processor.
+     */
+    public static void recordOutputs(String runKey, Map<String, File> outputs) {
+        loadCache();
+
+        Map<String, OutputFile> run = new HashMap<>();
+
+        for (Map.Entry<String, File> output : outputs.entrySet()) {
+            Path path = output.getValue().toPath();
+
+            if (!Files.isRegularFile(path)) {
+                return;
+            }
+
+            OutputFile outputFile = new OutputFile();
+            outputFile.sha1 = sha1(path);
+            run.put(output.getKey(), outputFile);
+
+            // libraries are shared between instances, so only other outputs need to be stored
+            if (!path.toAbsolutePath().startsWith(FileSystem.LIBRARIES.toAbsolutePath())) {
+                Path stored = STORE_DIR.resolve(outputFile.sha1);
+
+                try {
+                    if (!Files.exists(stored)) {
+                        Files.createDirectories(STORE_DIR);
+                        Files.copy(path, stored);
+                    }
+                } catch (IOException e) {
+                    LogManager.logStackTrace("Failed to store processor output " + path, e);
+                    return;
+                }
+            }
+        }
+
+        cache.runs.put(runKey, run);
+        dirty = true;
+    }
+
+    private static synchronized void loadCache() {
+        if (cache != null) {
+            return;
+        }
+
+        CacheData newCache = null;
+
+        if (Files.exists(CACHE_FILE)) {
+            try (FileReader fileReader = new FileReader(CACHE_FILE.toFile())) {
+                newCache = Gsons.DEFAULT_SLIM.fromJson(fileReader, CacheData.class);
+            } catch (JsonIOException | JsonSyntaxException | IOException e) {
+                LogManager.logStackTrace("Failed to read Forge processor cache", e);
+            }
+        }
+
+        if (newCache == null) {
+            newCache = new CacheData();
+        }
+
+        newCache.runs = new ConcurrentHashMap<>(newCache.runs == null ? new HashMap<>() : newCache.runs);
+        newCache.hashes = new ConcurrentHashMap<>(newCache.hashes == null ? new HashMap<>() : newCache.hashes);
+
+        cache = newCache;
+    }
+
+    /**
+     * Saves the cache to disk if anything has changed, dropping hashes for files which no longer exist.
+     */
+    public static synchronized void saveCache() {
+        if (cache == null || !dirty) {
+            return;
+        }
+
+        cache.hashes.keySet().removeIf(key -> !new File(key).exists());
+
+        try (FileWriter fileWriter = new FileWriter(CACHE_FILE.toFile())) {
+            Gsons.DEFAULT_SLIM.toJson(cache, fileWriter);
+            dirty = false;
+        } catch (JsonIOException | IOException e) {
+            LogManager.logStackTrace("Failed to save Forge processor cache", e);
+        }
+    }
+
+    private static class CacheData {
+        public Map<String, Map<String, OutputFile>> runs;
+        public Map<String, HashedFile> hashes;
+    }
+
+    private static class OutputFile {
+        public String sha1;
+    }
+
+    private static class HashedFile {
+        public long size;
+        public long lastModified;
+        public String sha1;
+    }
+}
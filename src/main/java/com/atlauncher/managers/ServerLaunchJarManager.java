@@ -0,0 +1,182 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.data.minecraft.Library;
+import com.atlauncher.utils.Hashing;
+
+/**
+ * Makes the server launch jars for Fabric and Quilt, which are all the loaders libraries merged into a single jar.
+ *
+ * Since many servers use the same loader and Minecraft version, the merged jar is cached by the libraries that went
+ * into it, and new servers get a hard link to (or copy of) the cached jar rather than merging them again.
+ */
+public class ServerLaunchJarManager {
+    private static final Path CACHE_DIR = FileSystem.CACHE.resolve("server_launch_jars");
+
+    private static final Pattern SIGNATURE_PATTERN = Pattern.compile("META-INF/[^/]+\\.(SF|DSA|RSA|EC)");
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * The time given to the entries the launcher writes itself, so merging the same libraries always makes the same
+     * jar rather than one stamped with when it was made.
+     */
+    private static final long ENTRY_TIME = 946684800000L;
+
+    /**
+     * Puts the server launch jar for the given libraries into the server.
+     *
+     * @param jarName            the name of the launch jar, such as "fabric-server-launch.jar"
+     * @param launcherMainClass  the main class of the launch jar
+     * @param mainClass          the main class the launch jar should start
+     * @param libraries          the libraries to merge, in order, which should all be in the libraries folder
+     * @param serverRoot         the root of the server to put the jar in
+     */
+    public static void makeServerLaunchJar(String jarName, String launcherMainClass, String mainClass,
+            List<Library> libraries, Path serverRoot) throws IOException {
+        PerformanceManager.start("ServerLaunchJarManager::makeServerLaunchJar");
+        Path cachedJar = CACHE_DIR.resolve(getCacheKey(jarName, launcherMainClass, mainClass, libraries) + ".jar");
+
+        if (!Files.exists(cachedJar)) {
+            Files.createDirectories(CACHE_DIR);
+
+            Path tempJar = Files.createTempFile(CACHE_DIR, jarName, ".tmp");
+            try {
+                mergeJars(tempJar, jarName.replace(".jar", ".properties"), launcherMainClass, mainClass, libraries);
+                Files.move(tempJar, cachedJar, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tempJar);
+            }
+        } else {
+            LogManager.debug("Using cached " + jarName);
+        }
+
+        Path serverJar = serverRoot.resolve(jarName);
+        Files.deleteIfExists(serverJar);
+
+        try {
+            Files.createLink(serverJar, cachedJar);
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            // cache may be on a different drive, or the file system may not support hard links
+            Files.copy(cachedJar, serverJar, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        PerformanceManager.end("ServerLaunchJarManager::makeServerLaunchJar");
+    }
+
+    private static String getCacheKey(String jarName, String launcherMainClass, String mainClass,
+            List<Library> libraries) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append(jarName).append('\n');
+        sb.append(launcherMainClass).append('\n');
+        sb.append(mainClass).append('\n');
+
+        for (Library library : libraries) {
+            Path path = FileSystem.LIBRARIES.resolve(library.downloads.artifact.path);
+            String sha1 = library.downloads.artifact.sha1 != null ? library.downloads.artifact.sha1
+                    : Hashing.sha1(path).toString();
+
+            sb.append(library.downloads.artifact.path).append(' ').append(sha1).append('\n');
+        }
+
+        return Hashing.md5(sb.toString()).toString();
+    }
+
+    /**
+     * Merges the libraries into a single jar in one pass, keeping the first of any duplicate entries and skipping
+     * signature files (which would no longer match). Entries keep the time they have in their library, so the output is
+     * the same every time.
+     */
+    private static void mergeJars(Path output, String propertiesName, String launcherMainClass, String mainClass,
+            List<Library> libraries) throws IOException {
+        Set<String> addedEntries = new HashSet<>();
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(output), BUFFER_SIZE);
+                ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            addedEntries.add("META-INF/MANIFEST.MF");
+            zipOutputStream.putNextEntry(newEntry("META-INF/MANIFEST.MF", ENTRY_TIME));
+
+            Manifest manifest = new Manifest();
+            manifest.getMainAttributes().put(new Attributes.Name("Manifest-Version"), "1.0");
+            manifest.getMainAttributes().put(new Attributes.Name("Main-Class"), launcherMainClass);
+            manifest.write(zipOutputStream);
+
+            zipOutputStream.closeEntry();
+
+            addedEntries.add(propertiesName);
+            zipOutputStream.putNextEntry(newEntry(propertiesName, ENTRY_TIME));
+            zipOutputStream.write(("launch.mainClass=" + mainClass + "\n").getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+
+            for (Library library : libraries) {
+                Path path = FileSystem.LIBRARIES.resolve(library.downloads.artifact.path);
+
+                try (InputStream is = Files.newInputStream(path);
+                        JarInputStream jis = new JarInputStream(is, false)) {
+                    JarEntry entry;
+                    while ((entry = jis.getNextJarEntry()) != null) {
+                        String name = entry.getName();
+
+                        if (SIGNATURE_PATTERN.matcher(name).matches() || !addedEntries.add(name)) {
+                            continue;
+                        }
+
+                        zipOutputStream.putNextEntry(newEntry(name, entry.getTime()));
+
+                        int r;
+                        while ((r = jis.read(buffer, 0, buffer.length)) >= 0) {
+                            zipOutputStream.write(buffer, 0, r);
+                        }
+
+                        zipOutputStream.closeEntry();
+                    }
+                }
+            }
+        }
+    }
+
+    private static ZipEntry newEntry(String name, long time) {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTime(time == -1 ? ENTRY_TIME : time);
+
+        return entry;
+    }
+}
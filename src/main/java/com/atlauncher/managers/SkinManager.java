@@ -0,0 +1,186 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+import com.atlauncher.thread.TaskPools;
+import com.atlauncher.utils.Hashing;
+import com.atlauncher.utils.SkinUtils;
+import com.atlauncher.utils.Utils;
+
+/**
+ * Caches the rendered heads and skins of accounts, so the skin files only need to be decoded and drawn once rather
+ * than every time an account is painted.
+ *
+ * Icons are keyed by the hash of the skin file and the size they were rendered at, so a changed skin file is rendered
+ * again. The hash of each skin file is reused until its size or last modified time changes.
+ */
+public class SkinManager {
+    public static final int HEAD_SIZE = 20;
+    public static final int SKIN_WIDTH = 128;
+    public static final int SKIN_HEIGHT = 256;
+
+    private static final Map<String, ImageIcon> icons = new ConcurrentHashMap<>();
+    private static final Map<Path, HashedSkin> hashes = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean> rendering = new ConcurrentHashMap<>();
+
+    private static ImageIcon defaultHead = null;
+    private static ImageIcon defaultSkin = null;
+
+    public static synchronized ImageIcon getDefaultHead() {
+        if (defaultHead == null) {
+            defaultHead = SkinUtils.getHead(Utils.getImage("/assets/image/skins/default.png"), HEAD_SIZE);
+        }
+
+        return defaultHead;
+    }
+
+    public static synchronized ImageIcon getDefaultSkin() {
+        if (defaultSkin == null) {
+            defaultSkin = SkinUtils.getSkin(Utils.getImage("/assets/image/skins/default.png"), SKIN_WIDTH,
+                    SKIN_HEIGHT);
+        }
+
+        return defaultSkin;
+    }
+
+    /**
+     * Gets the rendered head for the given skin file if it's been rendered already. If it hasn't, it's rendered in the
+     * background and accounts listeners are told once it's ready, and the default head is returned until then.
+     */
+    public static ImageIcon getHead(Path skin) {
+        String key = getKey(skin, "head", HEAD_SIZE, HEAD_SIZE);
+        if (key == null) {
+            return getDefaultHead();
+        }
+
+        ImageIcon icon = icons.get(key);
+        if (icon != null) {
+            return icon;
+        }
+
+        renderInBackground(key, skin, image -> SkinUtils.getHead(image, HEAD_SIZE), getDefaultHead(),
+                rendered -> com.atlauncher.evnt.manager.AccountManager.post());
+
+        return getDefaultHead();
+    }
+
+    /**
+     * Gets the rendered skin for the given skin file, rendering it in the background if needed. The callback is called
+     * on the EDT, straight away if the skin is already rendered.
+     */
+    public static void getSkin(Path skin, Consumer<ImageIcon> callback) {
+        String key = getKey(skin, "skin", SKIN_WIDTH, SKIN_HEIGHT);
+        if (key == null) {
+            callback.accept(getDefaultSkin());
+            return;
+        }
+
+        ImageIcon icon = icons.get(key);
+        if (icon != null) {
+            callback.accept(icon);
+            return;
+        }
+
+        renderInBackground(key, skin, image -> SkinUtils.getSkin(image, SKIN_WIDTH, SKIN_HEIGHT), getDefaultSkin(),
+                callback);
+    }
+
+    /**
+     * Forgets everything rendered from the given skin file, such as after a new skin has been downloaded to it.
+     */
+    public static void invalidate(Path skin) {
+        HashedSkin hashed = hashes.remove(skin.toAbsolutePath());
+
+        if (hashed != null) {
+            icons.keySet().removeIf(key -> key.startsWith(hashed.hash + "-"));
+        }
+    }
+
+    private static void renderInBackground(String key, Path skin, Function<BufferedImage, ImageIcon> render,
+            ImageIcon fallback, Consumer<ImageIcon> callback) {
+        if (rendering.putIfAbsent(key, true) != null) {
+            return;
+        }
+
+        TaskPools.CPU.submit("SkinManager::render", () -> {
+            ImageIcon icon = fallback;
+
+            try {
+                BufferedImage image = ImageIO.read(skin.toFile());
+
+                if (image != null) {
+                    icon = render.apply(image);
+                }
+            } catch (Exception e) {
+                LogManager.logStackTrace("Failed to render skin " + skin, e);
+            } finally {
+                // broken skins are cached as the fallback too, so they're not tried again until the file changes
+                icons.put(key, icon);
+                rendering.remove(key);
+            }
+
+            ImageIcon rendered = icon;
+            TaskPools.runOnEdt(() -> callback.accept(rendered));
+        });
+    }
+
+    private static String getKey(Path skin, String type, int width, int height) {
+        Path path = skin.toAbsolutePath();
+        long size;
+        long lastModified;
+
+        try {
+            size = Files.size(path);
+            lastModified = Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return null;
+        }
+
+        HashedSkin hashed = hashes.get(path);
+        if (hashed == null || hashed.size != size || hashed.lastModified != lastModified) {
+            hashed = new HashedSkin(Hashing.sha1(path).toString(), size, lastModified);
+            hashes.put(path, hashed);
+        }
+
+        return String.format("%s-%s-%dx%d", hashed.hash, type, width, height);
+    }
+
+    private static class HashedSkin {
+        public final String hash;
+        public final long size;
+        public final long lastModified;
+
+        public HashedSkin(String hash, long size, long lastModified) {
+            this.hash = hash;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
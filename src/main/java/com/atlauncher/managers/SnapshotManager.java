@@ -0,0 +1,296 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.data.minecraft.AssetIndex;
+import com.atlauncher.data.minecraft.AssetObject;
+import com.atlauncher.data.minecraft.MojangAssetIndex;
+import com.atlauncher.data.minecraft.VersionManifest;
+import com.atlauncher.data.minecraft.VersionManifestVersion;
+import com.atlauncher.data.minecraft.VersionManifestVersionType;
+import com.atlauncher.network.Download;
+import com.atlauncher.utils.Hashing;
+import com.google.gson.JsonParseException;
+
+/**
+ * Keeps compact binary snapshots of the Minecraft version manifest and asset indexes in the cache, so they only need
+ * to be parsed from json once rather than every time the launcher starts or an instance is launched.
+ *
+ * Each snapshot starts with the hash of the json it was made from, and is made again from the json whenever that
+ * changes. Versions in the manifest snapshot are stored newest first along with their parsed release time, so the
+ * lookups in {@link MinecraftManager} can be built without sorting or parsing any dates.
+ */
+public class SnapshotManager {
+    private static final Path SNAPSHOTS = FileSystem.CACHE.resolve("snapshots");
+
+    private static final int MAGIC = 0x41544C53;
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Gets the version manifest from the given json file, using the snapshot of it if it's still up to date.
+     *
+     * @return the version manifest, or null if it couldn't be read
+     */
+    public static VersionManifest getVersionManifest(Path manifestPath) {
+        PerformanceManager.start("SnapshotManager::getVersionManifest");
+        Path snapshotPath = SNAPSHOTS.resolve("version_manifest.bin");
+        String hash = Hashing.sha1(manifestPath).toString();
+
+        VersionManifest versionManifest = null;
+
+        try {
+            versionManifest = readVersionManifest(snapshotPath, hash);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to read version manifest snapshot", e);
+        }
+
+        if (versionManifest == null) {
+            try (Reader reader = new InputStreamReader(Files.newInputStream(manifestPath), StandardCharsets.UTF_8)) {
+                versionManifest = Gsons.MINECRAFT.fromJson(reader, VersionManifest.class);
+            } catch (IOException | JsonParseException e) {
+                LogManager.logStackTrace("Failed to read version manifest", e);
+            }
+
+            if (versionManifest != null && versionManifest.versions != null) {
+                writeVersionManifest(snapshotPath, hash, versionManifest);
+            }
+        }
+
+        PerformanceManager.end("SnapshotManager::getVersionManifest");
+        return versionManifest;
+    }
+
+    /**
+     * Gets the given asset index, downloading it first if it's missing or has changed. The snapshot of it is used if
+     * there is one, otherwise the json is parsed and a snapshot made for next time.
+     *
+     * @param assetIndex the asset index to get
+     * @param download   the download for the asset index json, which should be checked against the asset index hash
+     * @return the asset index, or null if it couldn't be downloaded or read
+     */
+    public static AssetIndex getAssetIndex(MojangAssetIndex assetIndex, Download download) {
+        PerformanceManager.start("SnapshotManager::getAssetIndex");
+        Path snapshotPath = SNAPSHOTS.resolve("asset_indexes").resolve(assetIndex.id + ".bin");
+
+        AssetIndex index = null;
+
+        // the json is still checked so the game has it to read, but the snapshot saves parsing it
+        if (!download.needToDownload()) {
+            try {
+                index = readAssetIndex(snapshotPath, assetIndex.sha1);
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to read asset index snapshot for " + assetIndex.id, e);
+            }
+        }
+
+        if (index == null) {
+            index = download.asClass(AssetIndex.class);
+
+            if (index != null && index.objects != null) {
+                writeAssetIndex(snapshotPath, assetIndex.sha1, index);
+            }
+        }
+
+        VerifiedFileManager.saveCache();
+        PerformanceManager.end("SnapshotManager::getAssetIndex");
+        return index;
+    }
+
+    private static VersionManifest readVersionManifest(Path snapshotPath, String hash) throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return null;
+        }
+
+        try (DataInputStream in = openSnapshot(snapshotPath)) {
+            if (!readHeader(in, hash)) {
+                return null;
+            }
+
+            VersionManifest versionManifest = new VersionManifest();
+
+            int latestCount = in.readInt();
+            versionManifest.latest = new HashMap<>(latestCount * 2);
+            for (int i = 0; i < latestCount; i++) {
+                versionManifest.latest.put(in.readUTF(), in.readUTF());
+            }
+
+            VersionManifestVersionType[] types = VersionManifestVersionType.values();
+            int versionCount = in.readInt();
+            versionManifest.versions = new ArrayList<>(versionCount);
+            for (int i = 0; i < versionCount; i++) {
+                VersionManifestVersion version = new VersionManifestVersion();
+                version.id = in.readUTF();
+
+                int type = in.readByte();
+                version.type = type == -1 ? null : types[type];
+
+                version.url = readString(in);
+                version.time = readString(in);
+                version.releaseTime = in.readUTF();
+                version.setReleaseTimeMillis(in.readLong());
+
+                versionManifest.versions.add(version);
+            }
+
+            return versionManifest;
+        }
+    }
+
+    private static void writeVersionManifest(Path snapshotPath, String hash, VersionManifest versionManifest) {
+        List<VersionManifestVersion> versions = new ArrayList<>(versionManifest.versions);
+        versions.sort(Comparator.comparingLong(VersionManifestVersion::getReleaseTimeMillis).reversed());
+
+        writeSnapshot(snapshotPath, hash, out -> {
+            Map<String, String> latest = versionManifest.latest == null ? new HashMap<>() : versionManifest.latest;
+            out.writeInt(latest.size());
+            for (Map.Entry<String, String> entry : latest.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeUTF(entry.getValue());
+            }
+
+            out.writeInt(versions.size());
+            for (VersionManifestVersion version : versions) {
+                out.writeUTF(version.id);
+                out.writeByte(version.type == null ? -1 : version.type.ordinal());
+                writeString(out, version.url);
+                writeString(out, version.time);
+                out.writeUTF(version.releaseTime);
+                out.writeLong(version.getReleaseTimeMillis());
+            }
+        });
+    }
+
+    private static AssetIndex readAssetIndex(Path snapshotPath, String hash) throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return null;
+        }
+
+        try (DataInputStream in = openSnapshot(snapshotPath)) {
+            if (!readHeader(in, hash)) {
+                return null;
+            }
+
+            AssetIndex index = new AssetIndex();
+            index.virtual = in.readBoolean();
+            index.mapToResources = in.readBoolean();
+
+            int count = in.readInt();
+            index.objects = new LinkedHashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+
+                AssetObject object = new AssetObject();
+                object.hash = in.readUTF();
+                object.size = in.readLong();
+
+                index.objects.put(key, object);
+            }
+
+            return index;
+        }
+    }
+
+    private static void writeAssetIndex(Path snapshotPath, String hash, AssetIndex index) {
+        writeSnapshot(snapshotPath, hash, out -> {
+            out.writeBoolean(index.virtual);
+            out.writeBoolean(index.mapToResources);
+
+            out.writeInt(index.objects.size());
+            for (Map.Entry<String, AssetObject> entry : index.objects.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeUTF(entry.getValue().hash);
+                out.writeLong(entry.getValue().size);
+            }
+        });
+    }
+
+    private static DataInputStream openSnapshot(Path snapshotPath) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath), 64 * 1024));
+    }
+
+    private static boolean readHeader(DataInputStream in, String hash) throws IOException {
+        return in.readInt() == MAGIC && in.readInt() == FORMAT_VERSION && in.readUTF().equalsIgnoreCase(hash);
+    }
+
+    private static void writeSnapshot(Path snapshotPath, String hash, SnapshotWriter writer) {
+        Path tempFile = null;
+
+        try {
+            Files.createDirectories(snapshotPath.getParent());
+
+            // written to a temp file first so a half written snapshot is never read
+            tempFile = Files.createTempFile(snapshotPath.getParent(), snapshotPath.getFileName().toString(), ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(hash);
+                writer.write(out);
+            }
+
+            Files.move(tempFile, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to write snapshot " + snapshotPath, e);
+
+            try {
+                if (tempFile != null) {
+                    Files.deleteIfExists(tempFile);
+                }
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        out.writeBoolean(string != null);
+
+        if (string != null) {
+            out.writeUTF(string);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SnapshotWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
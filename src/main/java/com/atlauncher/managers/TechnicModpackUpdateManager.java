@@ -25,7 +25,9 @@ import com.atlauncher.Gsons;
 import com.atlauncher.data.Instance;
 import com.atlauncher.data.technic.TechnicModpack;
 import com.atlauncher.data.technic.TechnicSolderModpack;
+import com.atlauncher.network.BandwidthScheduler;
 import com.atlauncher.network.DownloadException;
+import com.atlauncher.network.DownloadPriority;
 import com.atlauncher.utils.TechnicApi;
 
 public class TechnicModpackUpdateManager {
@@ -46,7 +48,8 @@ public class TechnicModpackUpdateManager {
         LogManager.info("Checking for updates to Technic Modpack instances");
 
         boolean refreshInstancesPanel = Data.INSTANCES.parallelStream()
-                .filter(i -> i.isTechnicPack() && i.launcher.checkForUpdates).map(i -> {
+                .filter(i -> i.isTechnicPack() && i.launcher.checkForUpdates)
+                .map(BandwidthScheduler.withPriority(DownloadPriority.BACKGROUND, i -> {
                     boolean wasUpdated = false;
 
                     TechnicModpack technicModpack = null;
@@ -118,7 +121,7 @@ public class TechnicModpackUpdateManager {
                     }
 
                     return wasUpdated;
-                }).anyMatch(b -> b);
+                })).anyMatch(b -> b);
 
         if (refreshInstancesPanel) {
             App.launcher.reloadInstancesPanel();
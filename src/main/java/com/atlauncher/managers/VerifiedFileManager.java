@@ -0,0 +1,121 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Remembers which files have been checked against their expected hash, along with their size and last modified time
+ * at the time, so they don't need to be hashed again on the next start unless they've changed since.
+ */
+public class VerifiedFileManager {
+    private static final Path CACHE_FILE = FileSystem.CACHE.resolve("verified_files.json");
+
+    private static volatile Map<String, VerifiedFile> files = null;
+    private static volatile boolean dirty = false;
+
+    /**
+     * Checks if the file was verified to have the given hash, and hasn't changed since.
+     */
+    public static boolean isVerified(Path path, String hash) {
+        loadCache();
+
+        VerifiedFile verified = files.get(path.toAbsolutePath().toString());
+        if (verified == null || !verified.hash.equalsIgnoreCase(hash)) {
+            return false;
+        }
+
+        try {
+            return Files.size(path) == verified.size
+                    && Files.getLastModifiedTime(path).toMillis() == verified.lastModified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Records that the file has just been checked to have the given hash.
+     */
+    public static void setVerified(Path path, String hash) {
+        loadCache();
+
+        try {
+            VerifiedFile verified = new VerifiedFile();
+            verified.hash = hash;
+            verified.size = Files.size(path);
+            verified.lastModified = Files.getLastModifiedTime(path).toMillis();
+
+            files.put(path.toAbsolutePath().toString(), verified);
+            dirty = true;
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to record verified file " + path, e);
+        }
+    }
+
+    public static synchronized void saveCache() {
+        if (!dirty) {
+            return;
+        }
+
+        try (FileWriter fileWriter = new FileWriter(CACHE_FILE.toFile())) {
+            Gsons.DEFAULT_SLIM.toJson(files, fileWriter);
+            dirty = false;
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to save verified files cache", e);
+        }
+    }
+
+    private static synchronized void loadCache() {
+        if (files != null) {
+            return;
+        }
+
+        Map<String, VerifiedFile> loaded = null;
+
+        if (Files.exists(CACHE_FILE)) {
+            Type type = new TypeToken<ConcurrentHashMap<String, VerifiedFile>>() {
+            }.getType();
+
+            try (FileReader fileReader = new FileReader(CACHE_FILE.toFile())) {
+                loaded = Gsons.DEFAULT_SLIM.fromJson(fileReader, type);
+            } catch (IOException | JsonParseException e) {
+                LogManager.logStackTrace("Failed to read verified files cache", e);
+            }
+        }
+
+        files = loaded == null ? new ConcurrentHashMap<>() : loaded;
+    }
+
+    private static class VerifiedFile {
+        public String hash;
+        public long size;
+        public long lastModified;
+    }
+}
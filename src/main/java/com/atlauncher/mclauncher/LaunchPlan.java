@@ -0,0 +1,145 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.mclauncher;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.data.Instance;
+import com.atlauncher.data.minecraft.Library;
+import com.atlauncher.managers.LogManager;
+import com.atlauncher.utils.Java;
+import com.atlauncher.utils.OS;
+
+/**
+ * The parts of the arguments used to launch an instance which only change when the instance or the Java install it
+ * uses changes, so they can be worked out once and reused for every launch.
+ *
+ * The JVM and game arguments are kept as templates, with the values that change per launch (such as the account and
+ * natives directory) being replaced in when launching.
+ */
+public class LaunchPlan {
+    /**
+     * The fingerprint of everything that went into building this plan.
+     */
+    public String fingerprint;
+
+    public String javaExecutable;
+    public boolean useMetaspace;
+    public boolean hasCustomJarMods;
+    public String classpath;
+    public List<String> jvmArguments;
+    public List<String> gameArguments;
+
+    public static LaunchPlan build(Instance instance, String fingerprint) {
+        LaunchPlan plan = new LaunchPlan();
+        plan.fingerprint = fingerprint;
+
+        String javaPath = instance.getJavaPath();
+
+        String path = javaPath + File.separator + "bin" + File.separator + "java";
+        if (OS.isWindows() && (Files.exists(Paths.get(path + "w")) || Files.exists(Paths.get(path + "w.exe")))) {
+            path += "w";
+        }
+        plan.javaExecutable = path;
+        plan.useMetaspace = Java.useMetaspace(javaPath);
+
+        List<String> classpath = new ArrayList<>();
+
+        File[] jarModFiles = instance.getJarModsDirectory().listFiles();
+        if (jarModFiles != null && jarModFiles.length != 0) {
+            plan.hasCustomJarMods = true;
+
+            for (File file : jarModFiles) {
+                classpath.add(file.getAbsolutePath());
+            }
+        }
+
+        Set<String> libraryPaths = new HashSet<>();
+        instance.libraries.stream().filter(
+                library -> library.shouldInstall() && library.downloads.artifact != null && !library.hasNativeForOS())
+                .filter(library -> library.downloads.artifact != null && library.downloads.artifact.path != null)
+                .forEach(library -> {
+                    String libraryPath = FileSystem.LIBRARIES.resolve(library.downloads.artifact.path).toFile()
+                            .getAbsolutePath();
+
+                    if (libraryPaths.add(libraryPath)) {
+                        classpath.add(libraryPath);
+                    }
+                });
+
+        instance.libraries.stream().filter(Library::hasNativeForOS).forEach(library -> classpath.add(
+                FileSystem.LIBRARIES.resolve(library.getNativeDownloadForOS().path).toFile().getAbsolutePath()));
+
+        File[] libraryFiles = instance.getBinDirectory().listFiles();
+        if (libraryFiles != null) {
+            for (File file : libraryFiles) {
+                if (!file.getName().equalsIgnoreCase("minecraft.jar")
+                        && !file.getName().equalsIgnoreCase("modpack.jar")) {
+                    LogManager.info("Added in custom library " + file.getName());
+
+                    classpath.add(file.toString());
+                }
+            }
+        }
+
+        // add minecraft client jar last
+        if (instance.usesCustomMinecraftJar()) {
+            classpath.add(instance.getCustomMinecraftJar().getAbsolutePath());
+        } else {
+            classpath.add(instance.getMinecraftJar().getAbsolutePath());
+        }
+
+        if (instance.usesLegacyLaunch()) {
+            classpath.add(getLauncherJarPath());
+        }
+
+        plan.classpath = String.join(File.pathSeparator, classpath);
+
+        plan.jvmArguments = instance.arguments.jvmAsStringList().stream()
+                .filter(argument -> !MCLauncher.IGNORED_ARGUMENTS.contains(argument)).collect(Collectors.toList());
+        plan.gameArguments = instance.arguments.gameAsStringList().stream()
+                .filter(argument -> !MCLauncher.IGNORED_ARGUMENTS.contains(argument)).collect(Collectors.toList());
+
+        return plan;
+    }
+
+    static String getLauncherJarPath() {
+        File thisFile = new File(MCLauncher.class.getProtectionDomain().getCodeSource().getLocation().getPath());
+
+        try {
+            return URLDecoder.decode(thisFile.getCanonicalPath(), "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            LogManager.logStackTrace(e);
+        } catch (IOException e) {
+            LogManager.logStackTrace(e);
+        }
+
+        return System.getProperty("java.class.path");
+    }
+}
@@ -19,11 +19,8 @@ package com.atlauncher.mclauncher;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
@@ -39,9 +36,9 @@ import com.atlauncher.data.Instance;
 import com.atlauncher.data.LoginResponse;
 import com.atlauncher.data.MicrosoftAccount;
 import com.atlauncher.data.MojangAccount;
-import com.atlauncher.data.minecraft.Library;
 import com.atlauncher.data.minecraft.LoggingClient;
 import com.atlauncher.data.minecraft.PropertyMapSerializer;
+import com.atlauncher.managers.LaunchPlanManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.mclauncher.legacy.LegacyMCLauncher;
 import com.atlauncher.network.ErrorReporting;
@@ -170,9 +167,6 @@ public class MCLauncher {
 
     private static List<String> getArguments(AbstractAccount account, Instance instance, String props,
             String nativesDir, String username) {
-        StringBuilder cpb = new StringBuilder();
-        boolean hasCustomJarMods = false;
-
         ErrorReporting.recordInstancePlay(instance.getPackName(), instance.getVersion(), instance.getLoaderVersion(),
                 2);
 
@@ -180,81 +174,13 @@ public class MCLauncher {
         int maximumMemory = Optional.ofNullable(instance.launcher.maximumMemory).orElse(App.settings.maximumMemory);
         int permGen = Optional.ofNullable(instance.launcher.permGen).orElse(App.settings.metaspace);
         String javaArguments = Optional.ofNullable(instance.launcher.javaArguments).orElse(App.settings.javaParameters);
-        String javaPath = instance.getJavaPath();
 
         if (instance.isUsingJavaRuntime()) {
             LogManager.debug(String.format("Using Java runtime %s (major version %d) at path %s",
-                    instance.javaVersion.component, instance.javaVersion.majorVersion, javaPath));
-        }
-
-        File jarMods = instance.getJarModsDirectory();
-        File[] jarModFiles = jarMods.listFiles();
-        if (jarMods.exists() && jarModFiles != null && jarModFiles.length != 0) {
-            for (File file : jarModFiles) {
-                hasCustomJarMods = true;
-                cpb.append(file.getAbsolutePath());
-                cpb.append(File.pathSeparator);
-            }
-        }
-
-        instance.libraries.stream().filter(
-                library -> library.shouldInstall() && library.downloads.artifact != null && !library.hasNativeForOS())
-                .filter(library -> library.downloads.artifact != null && library.downloads.artifact.path != null)
-                .forEach(library -> {
-                    String path = FileSystem.LIBRARIES.resolve(library.downloads.artifact.path).toFile()
-                            .getAbsolutePath();
-
-                    if (cpb.indexOf(path) == -1) {
-                        cpb.append(path);
-                        cpb.append(File.pathSeparator);
-                    }
-                });
-
-        instance.libraries.stream().filter(Library::hasNativeForOS).forEach(library -> {
-            com.atlauncher.data.minecraft.Download download = library.getNativeDownloadForOS();
-
-            cpb.append(FileSystem.LIBRARIES.resolve(download.path).toFile().getAbsolutePath());
-            cpb.append(File.pathSeparator);
-        });
-
-        File binFolder = instance.getBinDirectory();
-        File[] libraryFiles = binFolder.listFiles();
-        if (binFolder.exists() && libraryFiles != null && libraryFiles.length != 0) {
-            for (File file : libraryFiles) {
-                if (!file.getName().equalsIgnoreCase("minecraft.jar")
-                        && !file.getName().equalsIgnoreCase("modpack.jar")) {
-                    LogManager.info("Added in custom library " + file.getName());
-
-                    cpb.append(file);
-                    cpb.append(File.pathSeparator);
-                }
-            }
+                    instance.javaVersion.component, instance.javaVersion.majorVersion, instance.getJavaPath()));
         }
 
-        // add minecraft client jar last
-        if (instance.usesCustomMinecraftJar()) {
-            cpb.append(instance.getCustomMinecraftJar().getAbsolutePath());
-        } else {
-            cpb.append(instance.getMinecraftJar().getAbsolutePath());
-        }
-
-        if (instance.usesLegacyLaunch()) {
-            cpb.append(File.pathSeparator);
-
-            File thisFile = new File(MCLauncher.class.getProtectionDomain().getCodeSource().getLocation().getPath());
-            String pathh = null;
-            try {
-                pathh = thisFile.getCanonicalPath();
-                pathh = URLDecoder.decode(pathh, "UTF-8");
-            } catch (UnsupportedEncodingException e) {
-                pathh = System.getProperty("java.class.path");
-                LogManager.logStackTrace(e);
-            } catch (IOException e) {
-                pathh = System.getProperty("java.class.path");
-                LogManager.logStackTrace(e);
-            }
-            cpb.append(pathh);
-        }
+        LaunchPlan plan = LaunchPlanManager.getLaunchPlan(instance);
 
         List<String> arguments = new ArrayList<>();
 
@@ -262,11 +188,7 @@ public class MCLauncher {
             arguments.add("gamemoderun");
         }
 
-        String path = javaPath + File.separator + "bin" + File.separator + "java";
-        if (OS.isWindows() && (Files.exists(Paths.get(path + "w")) || Files.exists(Paths.get(path + "w.exe")))) {
-            path += "w";
-        }
-        arguments.add(path);
+        arguments.add(plan.javaExecutable);
 
         arguments.add("-XX:-OmitStackTraceInFastThrow");
 
@@ -284,13 +206,13 @@ public class MCLauncher {
 
         if (OS.getMaximumRam() != 0 && permGen < instance.getPermGen()
                 && (OS.getMaximumRam() / 8) < instance.getPermGen()) {
-            if (Java.useMetaspace(javaPath)) {
+            if (plan.useMetaspace) {
                 arguments.add("-XX:MetaspaceSize=" + instance.getPermGen() + "M");
             } else {
                 arguments.add("-XX:PermSize=" + instance.getPermGen() + "M");
             }
         } else {
-            if (Java.useMetaspace(javaPath)) {
+            if (plan.useMetaspace) {
                 arguments.add("-XX:MetaspaceSize=" + permGen + "M");
             } else {
                 arguments.add("-XX:PermSize=" + permGen + "M");
@@ -300,7 +222,7 @@ public class MCLauncher {
         arguments.add("-Duser.language=en");
         arguments.add("-Duser.country=US");
 
-        if (hasCustomJarMods) {
+        if (plan.hasCustomJarMods) {
             System.out.println("OH NOES! Avert your eyes!");
             arguments.add("-Dfml.ignorePatchDiscrepancies=true");
             arguments.add("-Dfml.ignoreInvalidMinecraftCertificates=true");
@@ -342,13 +264,9 @@ public class MCLauncher {
             }
         }
 
-        String classpath = cpb.toString();
-
-        for (String argument : instance.arguments.jvmAsStringList()) {
-            if (IGNORED_ARGUMENTS.contains(argument)) {
-                continue;
-            }
+        String classpath = plan.classpath;
 
+        for (String argument : plan.jvmArguments) {
             arguments.add(replaceArgument(argument, instance, account, props, nativesDir, classpath, username));
         }
 
@@ -365,7 +283,7 @@ public class MCLauncher {
         // if there's no classpath already, then add it (for older versions)
         if (!arguments.contains("-cp")) {
             arguments.add("-cp");
-            arguments.add(cpb.toString());
+            arguments.add(classpath);
         }
 
         if (instance.usesLegacyLaunch()) {
@@ -387,11 +305,7 @@ public class MCLauncher {
         }
 
         if (!instance.usesLegacyLaunch()) {
-            for (String argument : instance.arguments.gameAsStringList()) {
-                if (IGNORED_ARGUMENTS.contains(argument)) {
-                    continue;
-                }
-
+            for (String argument : plan.gameArguments) {
                 arguments.add(replaceArgument(argument, instance, account, props, nativesDir, classpath, username));
             }
 
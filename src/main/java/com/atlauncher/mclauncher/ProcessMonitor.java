@@ -0,0 +1,171 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.mclauncher;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.atlauncher.data.ProcessStats;
+import com.atlauncher.managers.LogManager;
+import com.atlauncher.utils.OS;
+
+import oshi.SystemInfo;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+import oshi.software.os.OperatingSystem.ProcessSorting;
+
+/**
+ * Samples the memory, CPU and thread usage of a launched process via oshi every few seconds, keeping the current, peak
+ * and average values.
+ *
+ * This only sees what the OS sees, so memory is the resident set size rather than the heap, and garbage collection
+ * isn't visible from here.
+ */
+public class ProcessMonitor {
+    private final Process process;
+    private final int intervalSeconds;
+    private final Consumer<ProcessStats> listener;
+    private final ProcessStats stats = new ProcessStats();
+
+    private Thread thread;
+    private volatile boolean running = false;
+
+    private long totalRss = 0;
+    private double totalCpu = 0;
+
+    /**
+     * @param process          the process to monitor
+     * @param maximumMemory    the maximum memory (in MB) the process was launched with
+     * @param intervalSeconds  how often to sample the process
+     * @param listener         called on the monitors thread after each sample
+     */
+    public ProcessMonitor(Process process, int maximumMemory, int intervalSeconds, Consumer<ProcessStats> listener) {
+        this.process = process;
+        this.intervalSeconds = intervalSeconds;
+        this.listener = listener;
+
+        this.stats.started = Instant.now();
+        this.stats.maximumMemory = maximumMemory;
+    }
+
+    public void start() {
+        running = true;
+
+        thread = new Thread(this::run, "ProcessMonitor");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops sampling and returns the summary of the session.
+     */
+    public ProcessStats stop() {
+        running = false;
+
+        if (thread != null) {
+            thread.interrupt();
+
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        stats.durationSeconds = Instant.now().getEpochSecond() - stats.started.getEpochSecond();
+
+        return stats;
+    }
+
+    private void run() {
+        try {
+            SystemInfo systemInfo = OS.getSystemInfo();
+            OperatingSystem os = systemInfo.getOperatingSystem();
+            int logicalProcessors = Math.max(1, systemInfo.getHardware().getProcessor().getLogicalProcessorCount());
+
+            int pid = getPid(process, os);
+            if (pid == -1) {
+                LogManager.debug("Couldn't find the process id of the launched process, so not monitoring it");
+                return;
+            }
+
+            OSProcess previous = os.getProcess(pid);
+
+            while (running && previous != null && process.isAlive()) {
+                Thread.sleep(intervalSeconds * 1000L);
+
+                OSProcess current = os.getProcess(pid);
+                if (current == null) {
+                    break;
+                }
+
+                sample(current, current.getProcessCpuLoadBetweenTicks(previous) / logicalProcessors * 100);
+                previous = current;
+
+                listener.accept(stats);
+            }
+        } catch (InterruptedException ignored) {
+            // stopped
+        } catch (Throwable t) {
+            LogManager.logStackTrace("Error monitoring process", t);
+        }
+    }
+
+    private synchronized void sample(OSProcess osProcess, double cpu) {
+        stats.samples++;
+
+        stats.currentRss = osProcess.getResidentSetSize();
+        stats.peakRss = Math.max(stats.peakRss, stats.currentRss);
+        totalRss += stats.currentRss;
+        stats.averageRss = totalRss / stats.samples;
+
+        stats.currentCpu = cpu;
+        stats.peakCpu = Math.max(stats.peakCpu, cpu);
+        totalCpu += cpu;
+        stats.averageCpu = totalCpu / stats.samples;
+
+        stats.threads = osProcess.getThreadCount();
+        stats.peakThreads = Math.max(stats.peakThreads, stats.threads);
+    }
+
+    /**
+     * Gets the process id of the process. Java 8 has no API for this, so it's read from the process implementation on
+     * Linux and macOS, and otherwise is the newest child process of the launcher.
+     */
+    private static int getPid(Process process, OperatingSystem os) {
+        try {
+            Method pid = Process.class.getMethod("pid");
+            return ((Long) pid.invoke(process)).intValue();
+        } catch (Throwable ignored) {
+        }
+
+        try {
+            Field pid = process.getClass().getDeclaredField("pid");
+            pid.setAccessible(true);
+            return pid.getInt(process);
+        } catch (Throwable ignored) {
+        }
+
+        List<OSProcess> children = os.getChildProcesses(os.getProcessId(), null, ProcessSorting.UPTIME_ASC, 1);
+
+        return children.isEmpty() ? -1 : children.get(0).getProcessID();
+    }
+}
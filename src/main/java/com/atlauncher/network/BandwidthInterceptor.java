@@ -0,0 +1,48 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import java.io.IOException;
+
+import com.atlauncher.utils.ProgressResponseBody;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Passes every response body through the {@link BandwidthScheduler}, using the priority the request was tagged with,
+ * or else the priority of the thread making it.
+ */
+public final class BandwidthInterceptor implements Interceptor {
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        DownloadPriority priority = chain.request().tag(DownloadPriority.class);
+
+        if (priority == null) {
+            priority = BandwidthScheduler.getPriority();
+        }
+
+        Response response = chain.proceed(chain.request());
+
+        if (response.body() == null) {
+            return response;
+        }
+
+        return response.newBuilder().body(new ProgressResponseBody(response.body(), priority)).build();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import java.io.InterruptedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+import com.atlauncher.App;
+
+/**
+ * Shares the available bandwidth between downloads by their {@link DownloadPriority}. Every response body read through
+ * the launchers clients takes tokens from a token bucket for the bytes it read, and waits if there aren't enough.
+ *
+ * There's an optional limit on all downloads together, and on background downloads and images. On top of that, while
+ * a download is running, any less important ones are slowed right down rather than stopped, so their connections don't
+ * time out.
+ */
+public final class BandwidthScheduler {
+    /**
+     * How fast less important downloads can go while a more important one is running, in bytes per second.
+     */
+    private static final long YIELDED_BYTES_PER_SECOND = 64 * 1024;
+
+    /**
+     * How long after its last read a download still counts as running.
+     */
+    private static final long ACTIVE_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    /**
+     * How many seconds worth of unused bandwidth can build up, to allow for small bursts.
+     */
+    private static final double MAX_BURST_SECONDS = 0.25;
+
+    private static final ThreadLocal<DownloadPriority> threadPriority = ThreadLocal
+            .withInitial(() -> DownloadPriority.INSTALL);
+
+    private static final TokenBucket global = new TokenBucket();
+    private static final Map<DownloadPriority, TokenBucket> buckets = new EnumMap<>(DownloadPriority.class);
+    private static final Map<DownloadPriority, TokenBucket> yieldedBuckets = new EnumMap<>(DownloadPriority.class);
+    private static final AtomicLongArray lastRead = new AtomicLongArray(DownloadPriority.values().length);
+
+    static {
+        for (DownloadPriority priority : DownloadPriority.values()) {
+            buckets.put(priority, new TokenBucket());
+            yieldedBuckets.put(priority, new TokenBucket());
+            lastRead.set(priority.ordinal(), System.nanoTime() - ACTIVE_NANOS);
+        }
+    }
+
+    /**
+     * Gets the priority of requests made on this thread which haven't been given one.
+     */
+    public static DownloadPriority getPriority() {
+        return threadPriority.get();
+    }
+
+    /**
+     * Runs the given code with any requests it makes on this thread which haven't been given a priority using the
+     * given one.
+     */
+    public static void runWithPriority(DownloadPriority priority, Runnable runnable) {
+        DownloadPriority previous = threadPriority.get();
+        threadPriority.set(priority);
+
+        try {
+            runnable.run();
+        } finally {
+            threadPriority.set(previous);
+        }
+    }
+
+    /**
+     * Wraps the given function so any requests it makes which haven't been given a priority use the given one, no
+     * matter which thread it's called on. This is needed for parallel streams, which run on the common fork join pool
+     * rather than the thread that started them.
+     */
+    public static <T, R> Function<T, R> withPriority(DownloadPriority priority, Function<T, R> function) {
+        return t -> {
+            DownloadPriority previous = threadPriority.get();
+            threadPriority.set(priority);
+
+            try {
+                return function.apply(t);
+            } finally {
+                threadPriority.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Takes the given number of bytes just read from the bandwidth available to the given priority, waiting until
+     * they're within its limits.
+     */
+    public static void consume(DownloadPriority priority, long bytes) throws InterruptedIOException {
+        if (bytes <= 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        lastRead.set(priority.ordinal(), now);
+
+        long waitNanos = 0;
+
+        long globalLimit = App.settings.downloadSpeedLimit * 1024L;
+        if (globalLimit > 0) {
+            waitNanos = global.take(bytes, globalLimit);
+        }
+
+        long limit = getLimit(priority);
+        if (limit > 0) {
+            waitNanos = Math.max(waitNanos, buckets.get(priority).take(bytes, limit));
+        }
+
+        if (isMoreImportantRunning(priority, now)) {
+            waitNanos = Math.max(waitNanos, yieldedBuckets.get(priority).take(bytes, YIELDED_BYTES_PER_SECOND));
+        }
+
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for bandwidth");
+            }
+        }
+    }
+
+    /**
+     * Gets the limit for the given priority on its own, in bytes per second, or 0 if it's not limited.
+     */
+    private static long getLimit(DownloadPriority priority) {
+        switch (priority) {
+            case BACKGROUND:
+            case IMAGES:
+                return App.settings.backgroundDownloadSpeedLimit * 1024L;
+            default:
+                return 0;
+        }
+    }
+
+    private static boolean isMoreImportantRunning(DownloadPriority priority, long now) {
+        for (int i = 0; i < priority.ordinal(); i++) {
+            if (now - lastRead.get(i) < ACTIVE_NANOS) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static final class TokenBucket {
+        private double tokens = 0;
+        private long lastRefill = System.nanoTime();
+
+        /**
+         * Takes the given number of tokens, going into debt if there aren't enough, and returns how long to wait for
+         * the debt to be paid off.
+         */
+        public synchronized long take(long bytes, long bytesPerSecond) {
+            long now = System.nanoTime();
+            tokens = Math.min(bytesPerSecond * MAX_BURST_SECONDS,
+                    tokens + (now - lastRefill) * bytesPerSecond / (double) TimeUnit.SECONDS.toNanos(1));
+            lastRefill = now;
+
+            tokens -= bytes;
+
+            return tokens >= 0 ? 0 : (long) (-tokens * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond);
+        }
+    }
+}
@@ -17,6 +17,7 @@
  */
 package com.atlauncher.network;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.lang.reflect.Type;
@@ -25,13 +26,21 @@ import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.tukaani.xz.LZMAInputStream;
 
 import com.atlauncher.FileSystem;
 import com.atlauncher.Gsons;
 import com.atlauncher.Network;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.managers.VerifiedFileManager;
 import com.atlauncher.utils.ArchiveUtils;
 import com.atlauncher.utils.FileUtils;
 import com.atlauncher.utils.Hashing;
@@ -64,10 +73,18 @@ public final class Download {
     private Long fingerprint = null;
     public long size = -1L;
     private boolean executable = false;
+    private String lzmaUrl = null;
+    private long lzmaSize = -1L;
+    private boolean lzmaFailed = false;
+    private boolean rememberVerified = false;
+    private final List<String> mirrors = new ArrayList<>();
+    private List<String> sources = null;
+    private int source = 0;
     public InstanceInstaller instanceInstaller;
     private OkHttpClient httpClient = Network.CLIENT;
     private RequestBody post = null;
     private CacheControl cacheControl = null;
+    private DownloadPriority priority = null;
     private final Map<String, String> headers = new HashMap<String, String>();
 
     // generated on/after request
@@ -254,6 +271,35 @@ public final class Download {
         return this;
     }
 
+    /**
+     * Downloads the file from an LZMA compressed copy at the given url instead, decompressing it as it's downloaded.
+     * The hash and size set should still be for the decompressed file. If the compressed copy can't be downloaded or
+     * doesn't match the hash, the file is downloaded from the normal url instead.
+     */
+    public Download lzma(String lzmaUrl, long lzmaSize) {
+        this.lzmaUrl = lzmaUrl;
+        this.lzmaSize = lzmaSize;
+        return this;
+    }
+
+    /**
+     * Remembers when the downloaded file has been checked against its hash, so it's not hashed again until it changes.
+     */
+    public Download rememberVerified() {
+        this.rememberVerified = true;
+        return this;
+    }
+
+    /**
+     * Adds other urls the same file can be downloaded from, on top of any known mirrors of the url. The best source is
+     * tried first, moving onto the next if it fails.
+     */
+    public Download mirrors(String... urls) {
+        this.mirrors.addAll(Arrays.asList(urls));
+        this.sources = null;
+        return this;
+    }
+
     public Download copyTo(Path copyTo) {
         this.copyTo = copyTo;
 
@@ -262,6 +308,8 @@ public final class Download {
 
     public Download setUrl(String url) {
         this.url = url;
+        this.sources = null;
+        this.source = 0;
         return this;
     }
 
@@ -280,6 +328,15 @@ public final class Download {
         return this;
     }
 
+    /**
+     * Sets how important this download is compared to others, rather than using the priority of the thread or client
+     * it's downloaded with.
+     */
+    public Download priority(DownloadPriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
     public Download withInstanceInstaller(InstanceInstaller instanceInstaller) {
         this.instanceInstaller = instanceInstaller;
         return this;
@@ -301,25 +358,127 @@ public final class Download {
             this.response.close();
         }
 
-        Request.Builder builder = new Request.Builder().url(this.url);
+        while (true) {
+            String sourceUrl = getSourceUrl();
+            Request.Builder builder = new Request.Builder().url(sourceUrl);
+
+            if (this.post != null) {
+                builder.post(this.post);
+            }
+
+            if (this.headers.size() != 0) {
+                builder.headers(Headers.of(this.headers));
+            }
+
+            if (this.cacheControl != null) {
+                builder.cacheControl(this.cacheControl);
+            }
+
+            if (this.priority != null) {
+                builder.tag(DownloadPriority.class, this.priority);
+            }
+
+            long start = System.nanoTime();
+
+            try {
+                this.response = httpClient.newCall(builder.build()).execute();
+            } catch (IOException e) {
+                Mirrors.recordFailure(sourceUrl);
+
+                if (!Thread.currentThread().isInterrupted() && failOver()) {
+                    continue;
+                }
+
+                throw e;
+            }
+
+            if (this.response.isSuccessful()) {
+                Mirrors.recordSuccess(sourceUrl, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                return;
+            }
+
+            if (this.ignoreFailures) {
+                return;
+            }
+
+            // a missing file is the file's fault rather than the server's, but a mirror may still have it
+            if (this.response.code() >= 500) {
+                Mirrors.recordFailure(sourceUrl);
+            }
+
+            if (!failOver()) {
+                throw new DownloadException(this);
+            }
+        }
+    }
+
+    private String getSourceUrl() {
+        if (useLzma()) {
+            return this.lzmaUrl;
+        }
+
+        if (this.sources == null) {
+            // posts aren't safe to send to more than one place
+            this.sources = this.post == null ? Mirrors.getSources(this.url, this.mirrors)
+                    : Collections.singletonList(this.url);
+        }
+
+        return this.sources.get(this.source);
+    }
 
-        if (this.post != null) {
-            builder.post(this.post);
+    /**
+     * If the current source failed, sets this download to use the next best source from now on.
+     *
+     * @return if there's another source to move onto
+     */
+    private boolean failOver() {
+        if (useLzma() || this.sources == null || this.source + 1 >= this.sources.size()) {
+            return false;
         }
 
-        if (this.headers.size() != 0) {
-            builder.headers(Headers.of(this.headers));
+        LogManager.warn("Failed to download " + this.sources.get(this.source) + ", so trying "
+                + this.sources.get(this.source + 1) + " instead");
+        this.source++;
+
+        if (this.response != null) {
+            this.response.close();
+            this.response = null;
         }
 
-        if (this.cacheControl != null) {
-            builder.cacheControl(this.cacheControl);
+        return true;
+    }
+
+    private boolean useLzma() {
+        return this.lzmaUrl != null && !this.lzmaFailed;
+    }
+
+    /**
+     * If downloading the LZMA compressed copy failed, sets this download to use the normal url from now on.
+     *
+     * @return if there's the normal url to fall back to
+     */
+    private boolean fallBackFromLzma() {
+        if (!useLzma()) {
+            return false;
         }
 
-        this.response = httpClient.newCall(builder.build()).execute();
+        LogManager.warn("Failed to download " + this.lzmaUrl + ", so downloading " + this.url + " instead");
+        this.lzmaFailed = true;
 
-        if (this.response == null || (!this.ignoreFailures && !this.response.isSuccessful())) {
-            throw new DownloadException(this);
+        if (this.response != null) {
+            this.response.close();
+            this.response = null;
         }
+
+        return true;
+    }
+
+    /**
+     * Gets the number of bytes that will be transferred to download this file, which for LZMA compressed downloads is
+     * the size of the compressed copy.
+     */
+    public long getDownloadSize() {
+        return useLzma() && this.lzmaSize != -1L ? this.lzmaSize : this.size;
     }
 
     public int code() {
@@ -419,6 +578,10 @@ public final class Download {
                 return false;
             }
 
+            if (this.rememberVerified && this.hash != null && VerifiedFileManager.isVerified(this.to, this.hash)) {
+                return false;
+            }
+
             if (this.fingerprint != null) {
                 try {
                     if (Hashing.murmur(this.to) == this.fingerprint) {
@@ -429,10 +592,13 @@ public final class Download {
                     return false;
                 }
             } else if (this.md5() && Hashing.md5(this.to).equals(Hashing.toHashCode(this.getHash()))) {
+                setVerified();
                 return false;
             } else if (this.sha512() && Hashing.sha512(this.to).equals(Hashing.toHashCode(this.getHash()))) {
+                setVerified();
                 return false;
             } else if (Hashing.sha1(this.to).equals(Hashing.toHashCode(this.getHash()))) {
+                setVerified();
                 return false;
             }
 
@@ -445,6 +611,12 @@ public final class Download {
         return true;
     }
 
+    private void setVerified() {
+        if (this.rememberVerified && this.fingerprint == null && this.hash != null && !this.hash.equals("-")) {
+            VerifiedFileManager.setVerified(this.to, this.hash);
+        }
+    }
+
     private void downloadDirect() {
         if (size == -1L) {
             size = this.getFilesize();
@@ -454,7 +626,9 @@ public final class Download {
             }
         }
         try (FileChannel fc = FileChannel.open(this.to, Utils.WRITE);
-                ReadableByteChannel rbc = Channels.newChannel(this.response.body().byteStream())) {
+                ReadableByteChannel rbc = Channels.newChannel(useLzma()
+                        ? new LZMAInputStream(new BufferedInputStream(this.response.body().byteStream(), 64 * 1024))
+                        : this.response.body().byteStream())) {
             fc.transferFrom(rbc, 0, Long.MAX_VALUE);
         } catch (Exception e) {
             LogManager.logStackTrace("Failed to download file " + this.to, e, false);
@@ -515,6 +689,7 @@ public final class Download {
 
         // if hash matches we're good
         if (hashMatches) {
+            setVerified();
             return true;
         }
 
@@ -527,9 +702,14 @@ public final class Download {
             return true;
         }
 
-        // if the hash doesn't match, attempt again
+        // if the hash doesn't match, attempt again, from the next source if there is one
         LogManager.debug("Failed downloading " + this.url + " on attempt " + attempt);
-        return this.downloadRec(attempt + 1);
+
+        if (!useLzma() && this.sources != null) {
+            Mirrors.recordFailure(this.sources.get(this.source));
+        }
+
+        return this.downloadRec(failOver() ? attempt : attempt + 1);
     }
 
     public void copy() {
@@ -591,11 +771,13 @@ public final class Download {
             try {
                 this.execute();
             } catch (IOException e) {
-                if (this.instanceInstaller != null) {
-                    this.instanceInstaller.cancel(true);
-                }
+                if (!fallBackFromLzma()) {
+                    if (this.instanceInstaller != null) {
+                        this.instanceInstaller.cancel(true);
+                    }
 
-                throw e;
+                    throw e;
+                }
             }
         }
 
@@ -627,8 +809,12 @@ public final class Download {
         } else {
             boolean downloaded = this.downloadRec(1);
 
+            if (!downloaded && fallBackFromLzma()) {
+                downloaded = this.downloadRec(1);
+            }
+
             if (!downloaded) {
-                if (this.response != null && this.response.header("content-type").contains("text/html")) {
+                if (this.response != null && this.response.header("content-type", "").contains("text/html")) {
                     LogManager.error(
                             "The response from this request was a HTML response. This is usually caused by an antivirus or firewall software intercepting and rewriting the response. The response is below.");
 
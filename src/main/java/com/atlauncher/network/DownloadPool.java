@@ -65,7 +65,7 @@ public final class DownloadPool extends LinkedList<Download> {
         synchronized (this) {
             for (Download dl : this) {
                 if (dl.needToDownload()) {
-                    size += dl.size;
+                    size += dl.getDownloadSize();
                 }
             }
         }
@@ -0,0 +1,44 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+/**
+ * How important a download is, from most to least important. While a download is running, any less important ones are
+ * slowed down so they don't take bandwidth away from it.
+ */
+public enum DownloadPriority {
+    /**
+     * Files needed to launch an instance, which the user is waiting on.
+     */
+    LAUNCH,
+
+    /**
+     * Files needed to install or update an instance.
+     */
+    INSTALL,
+
+    /**
+     * Work the user isn't waiting on, such as checking for pack updates.
+     */
+    BACKGROUND,
+
+    /**
+     * Images shown in the launcher, such as pack and mod thumbnails.
+     */
+    IMAGES
+}
@@ -0,0 +1,59 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import com.atlauncher.Network;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Limits how many requests can be waiting on each host at once, as set by {@link Network#getMaxRequestsForHost}.
+ *
+ * OkHttp's dispatcher only limits asynchronous calls, and the launcher makes its calls synchronously from the network
+ * pool, so it's done here instead. A request holds its place until its response headers arrive, so a response body
+ * which is never closed can't block the host.
+ */
+public final class HostLimitInterceptor implements Interceptor {
+    private final Map<String, Semaphore> semaphores = new ConcurrentHashMap<>();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Semaphore semaphore = semaphores.computeIfAbsent(chain.request().url().host(),
+                host -> new Semaphore(Network.getMaxRequestsForHost(host), true));
+
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to connect to " + chain.request().url().host());
+        }
+
+        try {
+            return chain.proceed(chain.request());
+        } finally {
+            semaphore.release();
+        }
+    }
+}
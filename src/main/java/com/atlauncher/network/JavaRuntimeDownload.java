@@ -0,0 +1,173 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.data.minecraft.JavaRuntime;
+import com.atlauncher.data.minecraft.JavaRuntimeManifest;
+import com.atlauncher.data.minecraft.JavaRuntimeManifestFileType;
+import com.atlauncher.interfaces.NetworkProgressable;
+import com.atlauncher.managers.LogManager;
+import com.atlauncher.utils.FileUtils;
+import com.atlauncher.workers.InstanceInstaller;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * Downloads one of Mojang's Java runtimes from its manifest into the runtimes folder.
+ *
+ * Files are downloaded from their LZMA compressed copy when the manifest has one, falling back to the raw file if that
+ * fails. Links are created once everything they could point to exists.
+ *
+ * Runtimes are shared by every instance using them, so only one runtime for each component is downloaded at a time,
+ * whether that's from an install or from getting ready to launch.
+ */
+public final class JavaRuntimeDownload {
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    private final JavaRuntime runtime;
+    private final String component;
+    private final String system;
+    private final OkHttpClient httpClient;
+    private final NetworkProgressable progressable;
+
+    private InstanceInstaller instanceInstaller = null;
+
+    /**
+     * @param runtime      the runtime to download
+     * @param component    the component the runtime is for, such as "java-runtime-gamma"
+     * @param system       the system the runtime is for, such as "linux"
+     * @param httpClient   the client to make requests with
+     * @param progressable told how many bytes need to be downloaded, or null
+     */
+    public JavaRuntimeDownload(JavaRuntime runtime, String component, String system, OkHttpClient httpClient,
+            NetworkProgressable progressable) {
+        this.runtime = runtime;
+        this.component = component;
+        this.system = system;
+        this.httpClient = httpClient;
+        this.progressable = progressable;
+    }
+
+    public JavaRuntimeDownload withInstanceInstaller(InstanceInstaller instanceInstaller) {
+        this.instanceInstaller = instanceInstaller;
+        return this;
+    }
+
+    /**
+     * Gets the directory the runtime is downloaded to, which is the Java home for it.
+     */
+    public Path getRuntimeDirectory() {
+        return FileSystem.MINECRAFT_RUNTIMES.resolve(component).resolve(system).resolve(component);
+    }
+
+    public void download() throws IOException {
+        synchronized (locks.computeIfAbsent(component, c -> new Object())) {
+            downloadRuntime();
+        }
+    }
+
+    private void downloadRuntime() throws IOException {
+        JavaRuntimeManifest javaRuntimeManifest = Download.build().cached().setUrl(runtime.manifest.url)
+                .size(runtime.manifest.size).hash(runtime.manifest.sha1)
+                .downloadTo(FileSystem.MINECRAFT_RUNTIMES.resolve(component).resolve("manifest.json"))
+                .asClassWithThrow(JavaRuntimeManifest.class);
+
+        DownloadPool pool = new DownloadPool();
+
+        // create root directory
+        Path runtimeDirectory = getRuntimeDirectory();
+        FileUtils.createDirectory(runtimeDirectory);
+
+        // create all the directories
+        javaRuntimeManifest.files.forEach((key, file) -> {
+            if (file.type == JavaRuntimeManifestFileType.DIRECTORY) {
+                FileUtils.createDirectory(runtimeDirectory.resolve(key));
+            }
+        });
+
+        // collect the files we need to download
+        javaRuntimeManifest.files.forEach((key, file) -> {
+            if (file.type == JavaRuntimeManifestFileType.FILE) {
+                Download download = new Download().setUrl(file.downloads.raw.url)
+                        .downloadTo(runtimeDirectory.resolve(key)).hash(file.downloads.raw.sha1)
+                        .size(file.downloads.raw.size).executable(file.executable).withHttpClient(httpClient);
+
+                if (instanceInstaller != null) {
+                    download = download.withInstanceInstaller(instanceInstaller);
+                }
+
+                // prefer the compressed copy, which is usually less than half the size
+                if (file.downloads.lzma != null) {
+                    download = download.lzma(file.downloads.lzma.url, file.downloads.lzma.size);
+                }
+
+                pool.add(download);
+            }
+        });
+
+        DownloadPool smallPool = pool.downsize();
+
+        if (progressable != null) {
+            progressable.setTotalBytes(smallPool.totalSize());
+        }
+
+        smallPool.downloadAll();
+
+        // links are made once everything they could point to exists
+        javaRuntimeManifest.files.forEach((key, file) -> {
+            if (file.type == JavaRuntimeManifestFileType.LINK) {
+                createLink(runtimeDirectory.resolve(key), file.target);
+            }
+        });
+
+        // write out the version file (theres also a .sha1 file created, but we're not doing that)
+        Files.write(runtimeDirectory.getParent().resolve(".version"),
+                runtime.version.name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void createLink(Path link, String target) {
+        try {
+            if (Files.isSymbolicLink(link) && Files.readSymbolicLink(link).toString().equals(target)) {
+                return;
+            }
+
+            FileUtils.createDirectory(link.getParent());
+            Files.deleteIfExists(link);
+            Files.createSymbolicLink(link, Paths.get(target));
+        } catch (IOException | UnsupportedOperationException e) {
+            // symlinks need extra permissions on Windows, so copy what it points to instead
+            Path resolvedTarget = link.resolveSibling(target).normalize();
+
+            if (Files.isRegularFile(resolvedTarget)) {
+                LogManager.debug("Couldn't create link " + link + " so copying " + resolvedTarget + " instead");
+                FileUtils.copyFile(resolvedTarget, link, true);
+            } else {
+                LogManager.logStackTrace("Failed to create link " + link + " to " + target, e);
+            }
+        }
+    }
+}
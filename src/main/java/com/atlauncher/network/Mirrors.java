@@ -0,0 +1,163 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.atlauncher.constants.Constants;
+import com.atlauncher.managers.ConfigManager;
+
+import okhttp3.HttpUrl;
+
+/**
+ * Knows which servers serve the same files as each other, and how well each one has been responding, so downloads can
+ * start with the best one and move on to the next if it fails.
+ *
+ * Mirrors are groups of url prefixes which serve the same files under the same paths. The built in groups can be
+ * replaced with the "network.mirrors" config item, which is a list of these groups, such as to add a local mirror of
+ * the Minecraft libraries and assets. Minecraft's libraries and assets and the Fabric maven have no other public hosts,
+ * so they're only mirrored when added there.
+ *
+ * Files which list their own alternative urls, such as those in Modrinth and Modpacks.ch packs, pass them in as extra
+ * sources.
+ */
+public final class Mirrors {
+    private static final List<List<String>> DEFAULT_MIRRORS = Arrays.asList(
+            Arrays.asList("https://launcher.mojang.com/v1/objects/", "https://piston-data.mojang.com/v1/objects/"),
+            Arrays.asList("https://launchermeta.mojang.com/", "https://piston-meta.mojang.com/"),
+            Arrays.asList("https://repo1.maven.org/maven2/", "https://repo.maven.apache.org/maven2/"),
+            Arrays.asList("https://maven.minecraftforge.net/", "https://files.minecraftforge.net/maven/",
+                    Constants.DOWNLOAD_SERVER + "/maven/"),
+            Arrays.asList("https://edge.forgecdn.net/", "https://mediafilez.forgecdn.net/"));
+
+    /**
+     * How much each new request counts towards a hosts average latency and error rate.
+     */
+    private static final double WEIGHT = 0.2;
+
+    /**
+     * The latency assumed for hosts which haven't been used yet, in milliseconds.
+     */
+    private static final double DEFAULT_LATENCY = 250;
+
+    /**
+     * How long after a hosts last error before its errors stop counting against it, so it gets tried again.
+     */
+    private static final long ERROR_COOL_DOWN = TimeUnit.MINUTES.toMillis(5);
+
+    private static final Map<String, HostStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the urls the given file can be downloaded from, best first. This is the given url along with the same file
+     * on any mirrors of it, and any extra mirrors given for this file.
+     */
+    public static List<String> getSources(String url, List<String> extraSources) {
+        List<String> sources = new ArrayList<>();
+        sources.add(url);
+
+        for (List<String> group : getMirrors()) {
+            String prefix = group.stream().filter(url::startsWith).findFirst().orElse(null);
+
+            if (prefix != null) {
+                for (String mirror : group) {
+                    if (!mirror.equals(prefix)) {
+                        sources.add(mirror + url.substring(prefix.length()));
+                    }
+                }
+            }
+        }
+
+        extraSources.stream().filter(source -> !sources.contains(source)).forEach(sources::add);
+
+        if (sources.size() > 1) {
+            // sorting is stable, so sources which haven't been used yet stay in the order given
+            sources.sort(Comparator.comparingDouble(Mirrors::getScore));
+        }
+
+        return sources;
+    }
+
+    public static void recordSuccess(String url, long latencyMillis) {
+        HostStats hostStats = getStats(url);
+
+        if (hostStats != null) {
+            hostStats.record(latencyMillis, false);
+        }
+    }
+
+    public static void recordFailure(String url) {
+        HostStats hostStats = getStats(url);
+
+        if (hostStats != null) {
+            hostStats.record(-1, true);
+        }
+    }
+
+    /**
+     * Lower is better. The average latency is multiplied up by how often the host has been failing recently.
+     */
+    private static double getScore(String url) {
+        HostStats hostStats = getStats(url);
+
+        return hostStats == null ? DEFAULT_LATENCY : hostStats.getScore();
+    }
+
+    private static HostStats getStats(String url) {
+        HttpUrl httpUrl = HttpUrl.parse(url);
+
+        if (httpUrl == null) {
+            return null;
+        }
+
+        return stats.computeIfAbsent(httpUrl.host() + ":" + httpUrl.port(), host -> new HostStats());
+    }
+
+    private static List<List<String>> getMirrors() {
+        return ConfigManager.getConfigItem("network.mirrors", DEFAULT_MIRRORS);
+    }
+
+    private static final class HostStats {
+        private double latency = DEFAULT_LATENCY;
+        private double errorRate = 0;
+        private long lastError = 0;
+
+        public synchronized void record(long latencyMillis, boolean failed) {
+            if (failed) {
+                errorRate = errorRate * (1 - WEIGHT) + WEIGHT;
+                lastError = System.currentTimeMillis();
+            } else {
+                errorRate = errorRate * (1 - WEIGHT);
+                latency = latency * (1 - WEIGHT) + latencyMillis * WEIGHT;
+            }
+        }
+
+        public synchronized double getScore() {
+            if (System.currentTimeMillis() - lastError > ERROR_COOL_DOWN) {
+                return latency;
+            }
+
+            return latency * (1 + errorRate * 10);
+        }
+    }
+}
@@ -0,0 +1,580 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Network;
+import com.atlauncher.constants.Constants;
+import com.atlauncher.managers.LogManager;
+import com.atlauncher.thread.Task;
+import com.atlauncher.thread.TaskPools;
+import com.atlauncher.utils.OS;
+
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Checks the connection to the hosts the launcher uses, for the network checker tool.
+ *
+ * All the hosts are pinged, traced, resolved and connected to at the same time, each with its own time limit, and each
+ * result is passed on as soon as it's in rather than once everything has finished. The download speed test is run
+ * last over several connections at once, so it doesn't slow down the other checks.
+ */
+public class NetworkChecker {
+    /**
+     * The hosts which are pinged and traced, as well as resolved and connected to.
+     */
+    private static final String[] ROUTED_HOSTS = { Constants.DOWNLOAD_HOST, Constants.API_HOST,
+            Constants.CURSEFORGE_CORE_API_HOST, Constants.MODRINTH_HOST, Constants.MODPACKS_CH_HOST,
+            Constants.FABRIC_HOST, Constants.FORGE_HOST, Constants.QUILT_HOST };
+
+    /**
+     * The hosts which are resolved and connected to.
+     */
+    private static final String[] HOSTS = { "authserver.mojang.com", "session.minecraft.net",
+            "libraries.minecraft.net", "launchermeta.mojang.com", "launcher.mojang.com", Constants.API_HOST,
+            Constants.PASTE_HOST, Constants.DOWNLOAD_HOST, Constants.FABRIC_HOST, Constants.FORGE_HOST,
+            Constants.QUILT_HOST, Constants.CURSEFORGE_CORE_API_HOST, Constants.MODRINTH_HOST,
+            Constants.MODPACKS_CH_HOST };
+
+    private static final long PING_TIMEOUT_SECONDS = 30;
+    private static final long TRACE_ROUTE_TIMEOUT_SECONDS = 120;
+    private static final long RESOLVE_TIMEOUT_SECONDS = 15;
+    private static final long REQUEST_TIMEOUT_SECONDS = 30;
+    private static final long SPEED_TEST_TIMEOUT_SECONDS = 300;
+
+    private static final int SPEED_TEST_CONNECTIONS = 4;
+    private static final long SPEED_TEST_SIZE = 100L * 1024 * 1024;
+
+    private static final String SEPARATOR = "\n\n----------------\n\n";
+
+    private final List<String> routedHosts;
+    private final List<String> hosts;
+    private final String scheme;
+    private final String server;
+    private final long requestTimeoutSeconds;
+    private final long speedTestSize;
+
+    private final StringBuilder results = new StringBuilder();
+
+    /**
+     * @param routedHosts the hosts to ping and trace
+     * @param hosts       the hosts to resolve and time requests to
+     * @param scheme      the scheme to use for requests to the hosts
+     * @param server      the server to check the response code and download speed of
+     */
+    public NetworkChecker(List<String> routedHosts, List<String> hosts, String scheme, String server) {
+        this(routedHosts, hosts, scheme, server, REQUEST_TIMEOUT_SECONDS, SPEED_TEST_SIZE);
+    }
+
+    /**
+     * @param requestTimeoutSeconds the time limit for each request to the hosts and server
+     * @param speedTestSize         the size of the file used for the download speed test
+     */
+    NetworkChecker(List<String> routedHosts, List<String> hosts, String scheme, String server,
+            long requestTimeoutSeconds, long speedTestSize) {
+        this.routedHosts = routedHosts;
+        this.hosts = hosts;
+        this.scheme = scheme;
+        this.server = server;
+        this.requestTimeoutSeconds = requestTimeoutSeconds;
+        this.speedTestSize = speedTestSize;
+    }
+
+    public static NetworkChecker forLauncher() {
+        return new NetworkChecker(Arrays.asList(ROUTED_HOSTS), Arrays.asList(HOSTS), "https",
+                Constants.DOWNLOAD_SERVER);
+    }
+
+    /**
+     * @return the number of results {@link #run(Consumer)} will pass on
+     */
+    public int getTaskCount() {
+        return routedHosts.size() * 2 + hosts.size() * 2 + 3;
+    }
+
+    /**
+     * Runs all the checks, waiting for them to finish.
+     *
+     * @param onResult called with each result as it comes in, one at a time
+     * @return all the results
+     */
+    public String run(Consumer<String> onResult) throws InterruptedException {
+        List<Probe> probes = new ArrayList<>();
+
+        for (String host : routedHosts) {
+            probes.add(startProcess("Ping results to " + host, PING_TIMEOUT_SECONDS,
+                    OS.isWindows() ? new String[] { "ping", "-n", "10", host }
+                            : new String[] { "ping", "-c", "10", host }));
+            probes.add(startProcess("Tracert to " + host, TRACE_ROUTE_TIMEOUT_SECONDS,
+                    OS.isWindows() ? new String[] { "tracert", host } : new String[] { "traceroute", host }));
+        }
+
+        for (String host : hosts) {
+            probes.add(submit("Resolution of " + host, RESOLVE_TIMEOUT_SECONDS, () -> resolve(host)));
+            probes.add(submit("Request to " + host, requestTimeoutSeconds,
+                    () -> timeRequest(String.format("%s://%s/", scheme, host))));
+        }
+
+        probes.add(submit("Response code to " + server, requestTimeoutSeconds,
+                () -> timeRequest(String.format("%s/launcher/json/files.json", server))));
+        probes.add(submit("Response to ping on " + server, requestTimeoutSeconds,
+                () -> Download.build().setUrl(String.format("%s/ping", server)).asString()));
+
+        try {
+            waitFor(probes, onResult);
+        } finally {
+            probes.forEach(Probe::cancel);
+        }
+
+        List<Probe> speedTest = new ArrayList<>();
+        speedTest.add(submit("Download speed from " + server, SPEED_TEST_TIMEOUT_SECONDS, this::speedTest));
+        try {
+            waitFor(speedTest, onResult);
+        } finally {
+            speedTest.forEach(Probe::cancel);
+        }
+
+        return results.toString();
+    }
+
+    private void waitFor(List<Probe> probes, Consumer<String> onResult) throws InterruptedException {
+        List<Probe> pending = new ArrayList<>(probes);
+
+        while (!pending.isEmpty()) {
+            long now = System.currentTimeMillis();
+
+            for (Iterator<Probe> iterator = pending.iterator(); iterator.hasNext();) {
+                Probe probe = iterator.next();
+                String result = null;
+
+                if (probe.isDone()) {
+                    result = probe.getResult();
+                } else if (probe.isTimedOut(now)) {
+                    result = String.format("timed out after %d seconds\n%s", probe.timeoutSeconds,
+                            probe.getPartialResult());
+                    probe.cancel();
+                }
+
+                if (result != null) {
+                    iterator.remove();
+
+                    String section = String.format("%s was %s", probe.title, result.trim());
+                    results.append(section).append(SEPARATOR);
+                    onResult.accept(section);
+                }
+            }
+
+            if (!pending.isEmpty()) {
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    private Probe startProcess(String title, long timeoutSeconds, String... command) {
+        Path output = null;
+
+        try {
+            Files.createDirectories(FileSystem.TEMP);
+            output = Files.createTempFile(FileSystem.TEMP, "network-checker", ".txt");
+
+            ProcessBuilder processBuilder = new ProcessBuilder(command);
+            processBuilder.redirectErrorStream(true);
+            processBuilder.redirectOutput(output.toFile());
+
+            return new ProcessProbe(title, timeoutSeconds, processBuilder.start(), output);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to run " + String.join(" ", command), e);
+
+            try {
+                if (output != null) {
+                    Files.deleteIfExists(output);
+                }
+            } catch (IOException ignored) {
+            }
+
+            return new FailedProbe(title, e);
+        }
+    }
+
+    private Probe submit(String title, long timeoutSeconds, Callable<String> callable) {
+        return new TaskProbe(title, timeoutSeconds, TaskPools.NETWORK.submit("NetworkChecker::" + title, callable));
+    }
+
+    private static String resolve(String host) throws IOException {
+        return Arrays.stream(InetAddress.getAllByName(host)).map(InetAddress::getHostAddress)
+                .collect(Collectors.joining(", "));
+    }
+
+    private String timeRequest(String url) {
+        RequestTimings timings = new RequestTimings();
+        int code;
+
+        try (Response response = newClient(timings, requestTimeoutSeconds)
+                .newCall(new Request.Builder().url(url).build()).execute()) {
+            code = response.code();
+        } catch (IOException e) {
+            return String.format("failed: %s (%s)", e, timings);
+        }
+
+        return String.format("%d (%s)", code, timings);
+    }
+
+    /**
+     * Creates a client which records the timings of its requests. Each one has its own connections, so the time taken
+     * to connect is always measured rather than reusing a connection made by another check.
+     */
+    private static OkHttpClient newClient(RequestTimings timings, long timeoutSeconds) {
+        return Network.CLIENT.newBuilder().connectionPool(new ConnectionPool()).eventListener(timings)
+                .callTimeout(timeoutSeconds, TimeUnit.SECONDS).build();
+    }
+
+    /**
+     * Downloads the test file over several connections at once, each fetching its own part of the file. If the server
+     * doesn't support ranges, each connection reads the same amount from the start of the file instead.
+     */
+    private String speedTest() {
+        String url = String.format("%s/100MB.bin", server);
+        long partSize = speedTestSize / SPEED_TEST_CONNECTIONS;
+        AtomicLong downloaded = new AtomicLong();
+
+        long started = System.nanoTime();
+        List<String> connections = TaskPools.NETWORK.map("NetworkChecker::speedTest",
+                IntStream.range(0, SPEED_TEST_CONNECTIONS).boxed().collect(Collectors.toList()),
+                part -> downloadPart(url, part * partSize, partSize, downloaded));
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        double bps = downloaded.get() / Math.max(seconds, 0.001);
+        double kbps = bps / 1024;
+        double mbps = kbps / 1024;
+        String speed = (mbps < 1
+                ? (kbps < 1 ? String.format("%.2f B/s", bps) : String.format("%.2f KB/s", kbps))
+                : String.format("%.2f MB/s", mbps));
+
+        StringBuilder result = new StringBuilder(String.format(
+                "%s, taking %.2f seconds to download %.2f MB over %d connections", speed, seconds,
+                downloaded.get() / 1024.0 / 1024.0, SPEED_TEST_CONNECTIONS));
+
+        for (int i = 0; i < connections.size(); i++) {
+            result.append(String.format("\nConnection %d: %s", i + 1, connections.get(i)));
+        }
+
+        return result.toString();
+    }
+
+    private static String downloadPart(String url, long start, long size, AtomicLong downloaded) {
+        RequestTimings timings = new RequestTimings();
+        Request request = new Request.Builder().url(url)
+                .header("Range", String.format("bytes=%d-%d", start, start + size - 1)).build();
+
+        long read = 0;
+        int code;
+
+        try (Response response = newClient(timings, SPEED_TEST_TIMEOUT_SECONDS).newCall(request).execute()) {
+            code = response.code();
+
+            if (response.isSuccessful()) {
+                byte[] buffer = new byte[64 * 1024];
+                InputStream stream = response.body().byteStream();
+                int count;
+
+                while (read < size
+                        && (count = stream.read(buffer, 0, (int) Math.min(buffer.length, size - read))) != -1) {
+                    read += count;
+                    downloaded.addAndGet(count);
+                }
+            }
+        } catch (IOException e) {
+            return String.format("failed after %d bytes: %s (%s)", read, e, timings);
+        }
+
+        return String.format("%d bytes, response code %d (%s)", read, code, timings);
+    }
+
+    /**
+     * Something being checked, which has a time limit to finish in.
+     */
+    private abstract static class Probe {
+        public final String title;
+        public final long timeoutSeconds;
+
+        public Probe(String title, long timeoutSeconds) {
+            this.title = title;
+            this.timeoutSeconds = timeoutSeconds;
+        }
+
+        /**
+         * Checks if the probe has run for longer than its time limit. The time limit starts when the probe starts
+         * running, not when it's queued, so probes waiting for a free thread don't time out before they've run.
+         */
+        public boolean isTimedOut(long now) {
+            long startedAt = getStartedAt();
+
+            return startedAt != 0 && now > startedAt + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        }
+
+        /**
+         * @return when the probe started running, or 0 if it's still waiting to
+         */
+        public abstract long getStartedAt();
+
+        public abstract boolean isDone();
+
+        public abstract String getResult();
+
+        public abstract String getPartialResult();
+
+        public abstract void cancel();
+    }
+
+    /**
+     * A check run as its own process, such as ping. The output goes to a temp file so that no thread needs to sit
+     * reading it, and so whatever was output can still be shown if it times out.
+     */
+    private static class ProcessProbe extends Probe {
+        private final Process process;
+        private final Path output;
+        private final long startedAt = System.currentTimeMillis();
+
+        public ProcessProbe(String title, long timeoutSeconds, Process process, Path output) {
+            super(title, timeoutSeconds);
+            this.process = process;
+            this.output = output;
+        }
+
+        @Override
+        public long getStartedAt() {
+            return startedAt;
+        }
+
+        @Override
+        public boolean isDone() {
+            return !process.isAlive();
+        }
+
+        @Override
+        public String getResult() {
+            return getPartialResult();
+        }
+
+        @Override
+        public String getPartialResult() {
+            try {
+                return new String(Files.readAllBytes(output), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                return "";
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+
+            try {
+                Files.deleteIfExists(output);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * A check which couldn't be started.
+     */
+    private static class FailedProbe extends Probe {
+        private final Exception exception;
+
+        public FailedProbe(String title, Exception exception) {
+            super(title, 0);
+            this.exception = exception;
+        }
+
+        @Override
+        public long getStartedAt() {
+            return 0;
+        }
+
+        @Override
+        public boolean isDone() {
+            return true;
+        }
+
+        @Override
+        public String getResult() {
+            return "failed: " + exception;
+        }
+
+        @Override
+        public String getPartialResult() {
+            return "";
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+
+    /**
+     * A check run in the network pool, such as resolving a host.
+     */
+    private static class TaskProbe extends Probe {
+        private final Task<String> task;
+
+        public TaskProbe(String title, long timeoutSeconds, Task<String> task) {
+            super(title, timeoutSeconds);
+            this.task = task;
+        }
+
+        @Override
+        public long getStartedAt() {
+            return task.getStartedAt();
+        }
+
+        @Override
+        public boolean isDone() {
+            return task.isDone();
+        }
+
+        @Override
+        public String getResult() {
+            try {
+                return String.valueOf(task.get());
+            } catch (ExecutionException e) {
+                return "failed: " + e.getCause();
+            } catch (Exception e) {
+                return "failed: " + e;
+            }
+        }
+
+        @Override
+        public String getPartialResult() {
+            return "";
+        }
+
+        @Override
+        public void cancel() {
+            task.cancel(true);
+        }
+    }
+
+    /**
+     * Records how long each stage of a request took.
+     */
+    private static class RequestTimings extends EventListener {
+        private volatile long callStart = -1;
+        private volatile long dnsStart = -1;
+        private volatile long dnsEnd = -1;
+        private volatile long connectStart = -1;
+        private volatile long connectEnd = -1;
+        private volatile long secureConnectStart = -1;
+        private volatile long secureConnectEnd = -1;
+        private volatile long responseHeadersStart = -1;
+        private volatile long callEnd = -1;
+        private volatile Protocol protocol = null;
+
+        @Override
+        public void callStart(Call call) {
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+            dnsEnd = System.nanoTime();
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            secureConnectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            secureConnectEnd = System.nanoTime();
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            connectEnd = System.nanoTime();
+            this.protocol = protocol;
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            responseHeadersStart = System.nanoTime();
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            callEnd = System.nanoTime();
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            callEnd = System.nanoTime();
+        }
+
+        private static String between(long start, long end) {
+            return start == -1 || end == -1 ? "-" : String.format("%d ms", TimeUnit.NANOSECONDS.toMillis(end - start));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("dns %s, connect %s, tls %s, first byte %s, total %s%s", between(dnsStart, dnsEnd),
+                    between(connectStart, connectEnd), between(secureConnectStart, secureConnectEnd),
+                    between(callStart, responseHeadersStart), between(callStart, callEnd),
+                    protocol == null ? "" : ", " + protocol);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+
+/**
+ * Records how long each stage of every request made through the launchers clients takes, grouped by host, so slow
+ * hosts can be spotted in the diagnostics dialog.
+ *
+ * Timings are kept as histograms with fixed buckets rather than as individual values, so memory use stays the same no
+ * matter how many requests are made.
+ */
+public final class NetworkMetrics {
+    /**
+     * The upper bounds of the buckets timings are put in, in milliseconds.
+     */
+    private static final long[] TIME_BUCKETS = { 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+    /**
+     * The upper bounds of the buckets throughputs are put in, in KB/s.
+     */
+    private static final long[] THROUGHPUT_BUCKETS = { 64, 256, 512, 1024, 2048, 4096, 8192, 16384, 32768, 65536 };
+
+    /**
+     * Responses smaller than this are too quick to give a meaningful throughput, so aren't counted towards it.
+     */
+    private static final long MIN_THROUGHPUT_BYTES = 64 * 1024;
+
+    private static final Map<String, HostMetrics> hosts = new ConcurrentHashMap<>();
+
+    public static final EventListener.Factory FACTORY = call -> new MetricsListener(call.request().url().host());
+
+    /**
+     * @return the metrics for each host a request has been made to, busiest first
+     */
+    public static List<HostMetrics> getHostMetrics() {
+        List<HostMetrics> metrics = new ArrayList<>(hosts.values());
+        metrics.sort(Comparator.comparingLong((HostMetrics m) -> m.requests.get()).reversed());
+        return metrics;
+    }
+
+    private static HostMetrics getHost(String host) {
+        return hosts.computeIfAbsent(host, HostMetrics::new);
+    }
+
+    public static final class HostMetrics {
+        public final String host;
+        public final AtomicLong requests = new AtomicLong();
+        public final AtomicLong failures = new AtomicLong();
+        public final AtomicLong bytes = new AtomicLong();
+        public final Histogram dns = new Histogram(TIME_BUCKETS, "ms");
+        public final Histogram connect = new Histogram(TIME_BUCKETS, "ms");
+        public final Histogram tls = new Histogram(TIME_BUCKETS, "ms");
+        public final Histogram firstByte = new Histogram(TIME_BUCKETS, "ms");
+        public final Histogram throughput = new Histogram(THROUGHPUT_BUCKETS, "KB/s");
+
+        private HostMetrics(String host) {
+            this.host = host;
+        }
+    }
+
+    public static final class Histogram {
+        private final long[] buckets;
+        private final String unit;
+        private final AtomicLongArray counts;
+        private final AtomicLong total = new AtomicLong();
+
+        private Histogram(long[] buckets, String unit) {
+            this.buckets = buckets;
+            this.unit = unit;
+            this.counts = new AtomicLongArray(buckets.length + 1);
+        }
+
+        public void record(long value) {
+            int bucket = 0;
+            while (bucket < buckets.length && value > buckets[bucket]) {
+                bucket++;
+            }
+
+            counts.incrementAndGet(bucket);
+            total.incrementAndGet();
+        }
+
+        public long getCount() {
+            return total.get();
+        }
+
+        /**
+         * Gets the bucket the given percentile of values falls in, such as "<= 100 ms", or "-" if nothing has been
+         * recorded.
+         */
+        public String getPercentile(double percentile) {
+            long count = total.get();
+            if (count == 0) {
+                return "-";
+            }
+
+            long target = (long) Math.ceil(count * percentile);
+            long seen = 0;
+
+            for (int bucket = 0; bucket < buckets.length; bucket++) {
+                seen += counts.get(bucket);
+
+                if (seen >= target) {
+                    return String.format("<= %d %s", buckets[bucket], unit);
+                }
+            }
+
+            return String.format("> %d %s", buckets[buckets.length - 1], unit);
+        }
+    }
+
+    /**
+     * Created for each call, so the start times of each stage don't need to be shared between calls.
+     */
+    private static final class MetricsListener extends EventListener {
+        private final HostMetrics metrics;
+
+        private long dnsStart;
+        private long connectStart;
+        private long secureConnectStart;
+        private long requestSent;
+        private long responseBodyStart;
+
+        public MetricsListener(String host) {
+            this.metrics = getHost(host);
+        }
+
+        private static long millisSince(long start) {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+
+        @Override
+        public void callStart(Call call) {
+            metrics.requests.incrementAndGet();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+            metrics.dns.record(millisSince(dnsStart));
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            secureConnectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            metrics.tls.record(millisSince(secureConnectStart));
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            metrics.connect.record(millisSince(connectStart));
+        }
+
+        /**
+         * Time to first byte is timed from when the request has been sent, so waiting for a host limit, a connection or
+         * the request body to upload isn't counted towards it.
+         */
+        @Override
+        public void requestHeadersEnd(Call call, Request request) {
+            requestSent = System.nanoTime();
+        }
+
+        @Override
+        public void requestBodyEnd(Call call, long byteCount) {
+            requestSent = System.nanoTime();
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            metrics.firstByte.record(millisSince(requestSent));
+        }
+
+        @Override
+        public void responseBodyStart(Call call) {
+            responseBodyStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            metrics.bytes.addAndGet(byteCount);
+
+            long nanos = System.nanoTime() - responseBodyStart;
+            if (byteCount >= MIN_THROUGHPUT_BYTES && nanos > 0) {
+                metrics.throughput.record(byteCount * TimeUnit.SECONDS.toNanos(1) / nanos / 1024);
+            }
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            metrics.failures.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,482 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.atlauncher.interfaces.NetworkProgressable;
+import com.atlauncher.managers.LogManager;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Downloads a new version of a zip file (such as the launcher jar or exe) by reusing the entries which haven't changed
+ * from a local copy, and only downloading the rest with range requests.
+ *
+ * The zip's central directory is downloaded first and compared to the local copy's. Entries with the same name, CRC,
+ * sizes and compression are copied across as is, and everything else (including anything before the first entry, such
+ * as an exe stub) is downloaded. Once put together, the file must be the same size as the remote file and every entry
+ * must match its CRC, otherwise the download fails and the caller should download the whole file instead.
+ */
+public final class ZipDeltaDownload {
+    private static final int END_HEADER_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int CENTRAL_SIGNATURE = 0x02014b50;
+
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+
+    private final String url;
+    private final Path base;
+    private final Path to;
+    private final OkHttpClient httpClient;
+    private final NetworkProgressable progressable;
+
+    private String resolvedUrl;
+    private long remoteSize;
+
+    /**
+     * @param url          the url of the new version of the file, which must support range requests
+     * @param base         the local copy to reuse entries from
+     * @param to           where to save the new version
+     * @param httpClient   the client to make requests with
+     * @param progressable told how many bytes need to be downloaded, or null
+     */
+    public ZipDeltaDownload(String url, Path base, Path to, OkHttpClient httpClient,
+            NetworkProgressable progressable) {
+        this.url = url;
+        this.base = base;
+        this.to = to;
+        this.httpClient = httpClient;
+        this.progressable = progressable;
+    }
+
+    /**
+     * Downloads the file as a delta if there's a local copy to reuse entries from, otherwise (or if that fails) downloads
+     * the whole file.
+     */
+    public void downloadOrFallBack() throws IOException {
+        if (Files.isRegularFile(base) && download()) {
+            return;
+        }
+
+        Download download = Download.build().setUrl(url).withHttpClient(httpClient).downloadTo(to);
+
+        if (progressable != null) {
+            progressable.setTotalBytes(download.getFilesize());
+        }
+
+        download.downloadFile();
+    }
+
+    /**
+     * Downloads the file.
+     *
+     * @return if the file was downloaded and verified. If not, the whole file should be downloaded instead
+     */
+    public boolean download() {
+        try {
+            downloadDelta();
+            verify();
+            return true;
+        } catch (Exception e) {
+            LogManager.logStackTrace("Failed to download " + url + " as a delta, so downloading the whole file", e,
+                    false);
+
+            try {
+                Files.deleteIfExists(to);
+            } catch (IOException ignored) {
+            }
+
+            return false;
+        }
+    }
+
+    private void downloadDelta() throws IOException {
+        // the end of central directory record is in the last 64KB, and tells us where the central directory is
+        byte[] tail = fetchTail(END_HEADER_SIZE + MAX_COMMENT_SIZE);
+        long tailStart = remoteSize - tail.length;
+        int endOffset = findEndHeader(tail);
+        ByteBuffer end = ByteBuffer.wrap(tail, endOffset, END_HEADER_SIZE).slice().order(ByteOrder.LITTLE_ENDIAN);
+
+        long centralSize = Integer.toUnsignedLong(end.getInt(12));
+        long centralStart = tailStart + endOffset - centralSize;
+        if (centralStart < 0) {
+            throw new IOException("Invalid central directory in " + url);
+        }
+
+        byte[] central = centralStart >= tailStart
+                ? Arrays.copyOfRange(tail, (int) (centralStart - tailStart), tail.length)
+                : fetchRange(centralStart, remoteSize - 1);
+
+        List<ZipEntrySpan> remoteEntries = readEntries(central, (int) centralSize, end, centralStart);
+        Map<String, ZipEntrySpan> localEntries = readLocalEntries();
+
+        // work out which parts of the file can be copied from the local copy and which need to be downloaded
+        List<Segment> segments = new ArrayList<>();
+        long position = 0;
+        long bytesToDownload = 0;
+        int reused = 0;
+
+        for (ZipEntrySpan entry : remoteEntries) {
+            if (entry.start > position) {
+                segments.add(Segment.remote(position, entry.start));
+            }
+
+            ZipEntrySpan local = localEntries.get(entry.name);
+            if (local != null && local.isSameAs(entry)) {
+                segments.add(Segment.local(entry.start, entry.end, local.start));
+                reused++;
+            } else {
+                segments.add(Segment.remote(entry.start, entry.end));
+            }
+
+            position = entry.end;
+        }
+
+        if (position < centralStart) {
+            segments.add(Segment.remote(position, centralStart));
+        }
+
+        List<Segment> merged = merge(segments);
+        for (Segment segment : merged) {
+            if (segment.localStart == -1) {
+                bytesToDownload += segment.end - segment.start;
+            }
+        }
+
+        LogManager.info(String.format("Reusing %d of %d entries for %s, downloading %d of %d bytes", reused,
+                remoteEntries.size(), to.getFileName(), bytesToDownload + central.length, remoteSize));
+
+        if (progressable != null) {
+            progressable.setTotalBytes(bytesToDownload);
+        }
+
+        try (OutputStream os = Files.newOutputStream(to);
+                RandomAccessFile local = new RandomAccessFile(base.toFile(), "r")) {
+            byte[] buffer = new byte[64 * 1024];
+
+            for (Segment segment : merged) {
+                if (segment.localStart != -1) {
+                    local.seek(segment.localStart);
+
+                    long remaining = segment.end - segment.start;
+                    while (remaining > 0) {
+                        int read = local.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                        if (read == -1) {
+                            throw new IOException("Unexpected end of " + base);
+                        }
+                        os.write(buffer, 0, read);
+                        remaining -= read;
+                    }
+                } else {
+                    try (Response response = requestRange(segment.start, segment.end - 1);
+                            InputStream is = response.body().byteStream()) {
+                        long copied = copy(is, os, buffer);
+
+                        if (copied != segment.end - segment.start) {
+                            throw new IOException("Expected " + (segment.end - segment.start) + " bytes but got "
+                                    + copied);
+                        }
+                    }
+                }
+            }
+
+            os.write(central);
+        }
+    }
+
+    private void verify() throws IOException {
+        if (Files.size(to) != remoteSize) {
+            throw new IOException("Expected " + remoteSize + " bytes but put together " + Files.size(to));
+        }
+
+        byte[] buffer = new byte[64 * 1024];
+
+        try (ZipFile zipFile = new ZipFile(to.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+
+                CRC32 crc = new CRC32();
+                try (InputStream is = zipFile.getInputStream(entry)) {
+                    int read;
+                    while ((read = is.read(buffer)) != -1) {
+                        crc.update(buffer, 0, read);
+                    }
+                }
+
+                if (crc.getValue() != entry.getCrc()) {
+                    throw new IOException("CRC of " + entry.getName() + " doesn't match");
+                }
+            }
+        }
+    }
+
+    private byte[] fetchTail(int length) throws IOException {
+        Request request = new Request.Builder().url(url).header("Range", "bytes=-" + length).build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            long[] range = getContentRange(response);
+
+            // make sure the rest of the requests go to the same file, if the url redirects to the latest version
+            resolvedUrl = response.request().url().toString();
+            remoteSize = range[2];
+
+            return response.body().bytes();
+        }
+    }
+
+    private byte[] fetchRange(long start, long end) throws IOException {
+        try (Response response = requestRange(start, end)) {
+            return response.body().bytes();
+        }
+    }
+
+    private Response requestRange(long start, long end) throws IOException {
+        Request request = new Request.Builder().url(resolvedUrl).header("Range", "bytes=" + start + "-" + end)
+                .build();
+        Response response = httpClient.newCall(request).execute();
+
+        try {
+            long[] range = getContentRange(response);
+
+            if (range[0] != start || range[1] != end || range[2] != remoteSize) {
+                throw new IOException("Server returned the wrong range for " + resolvedUrl);
+            }
+        } catch (IOException e) {
+            response.close();
+            throw e;
+        }
+
+        return response;
+    }
+
+    private static long[] getContentRange(Response response) throws IOException {
+        String contentRange = response.header("Content-Range");
+
+        if (response.code() != 206 || contentRange == null) {
+            throw new IOException("Server doesn't support range requests (returned " + response.code() + ")");
+        }
+
+        Matcher matcher = CONTENT_RANGE.matcher(contentRange);
+        if (!matcher.matches()) {
+            throw new IOException("Unknown Content-Range " + contentRange);
+        }
+
+        return new long[] { Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2)),
+                Long.parseLong(matcher.group(3)) };
+    }
+
+    private Map<String, ZipEntrySpan> readLocalEntries() throws IOException {
+        Map<String, ZipEntrySpan> entries = new HashMap<>();
+
+        try (RandomAccessFile file = new RandomAccessFile(base.toFile(), "r")) {
+            int tailLength = (int) Math.min(file.length(), END_HEADER_SIZE + MAX_COMMENT_SIZE);
+            long tailStart = file.length() - tailLength;
+            byte[] tail = new byte[tailLength];
+            file.seek(tailStart);
+            file.readFully(tail);
+
+            int endOffset = findEndHeader(tail);
+            ByteBuffer end = ByteBuffer.wrap(tail, endOffset, END_HEADER_SIZE).slice().order(ByteOrder.LITTLE_ENDIAN);
+            long centralSize = Integer.toUnsignedLong(end.getInt(12));
+            long centralStart = tailStart + endOffset - centralSize;
+
+            byte[] central = new byte[(int) centralSize];
+            file.seek(centralStart);
+            file.readFully(central);
+
+            for (ZipEntrySpan entry : readEntries(central, central.length, end, centralStart)) {
+                entries.put(entry.name, entry);
+            }
+        }
+
+        return entries;
+    }
+
+    private static int findEndHeader(byte[] tail) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(tail).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (int i = tail.length - END_HEADER_SIZE; i >= 0; i--) {
+            if (buffer.getInt(i) == END_SIGNATURE
+                    && i + END_HEADER_SIZE + Short.toUnsignedInt(buffer.getShort(i + 20)) == tail.length) {
+                return i;
+            }
+        }
+
+        throw new IOException("Couldn't find the end of the central directory");
+    }
+
+    /**
+     * Reads the entries from the central directory, working out the span of the file each one takes up (from its
+     * local header to the start of the next entry).
+     */
+    private static List<ZipEntrySpan> readEntries(byte[] central, int centralSize, ByteBuffer end, long centralStart)
+            throws IOException {
+        int count = Short.toUnsignedInt(end.getShort(10));
+        long centralOffset = Integer.toUnsignedLong(end.getInt(16));
+
+        if (count == 0xFFFF || centralOffset == 0xFFFFFFFFL) {
+            throw new IOException("Zip64 files aren't supported");
+        }
+
+        // anything before the zip (such as an exe stub) shifts all the offsets
+        long prefix = centralStart - centralOffset;
+
+        ByteBuffer buffer = ByteBuffer.wrap(central, 0, centralSize).order(ByteOrder.LITTLE_ENDIAN);
+        List<ZipEntrySpan> entries = new ArrayList<>(count);
+        int position = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (position + CENTRAL_HEADER_SIZE > centralSize || buffer.getInt(position) != CENTRAL_SIGNATURE) {
+                throw new IOException("Invalid central directory entry");
+            }
+
+            ZipEntrySpan entry = new ZipEntrySpan();
+            entry.method = Short.toUnsignedInt(buffer.getShort(position + 10));
+            entry.crc = Integer.toUnsignedLong(buffer.getInt(position + 16));
+            entry.compressedSize = Integer.toUnsignedLong(buffer.getInt(position + 20));
+            entry.size = Integer.toUnsignedLong(buffer.getInt(position + 24));
+            int nameLength = Short.toUnsignedInt(buffer.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(buffer.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(buffer.getShort(position + 32));
+            entry.start = Integer.toUnsignedLong(buffer.getInt(position + 42)) + prefix;
+            entry.name = new String(central, position + CENTRAL_HEADER_SIZE, nameLength, StandardCharsets.UTF_8);
+
+            if (entry.compressedSize == 0xFFFFFFFFL || entry.size == 0xFFFFFFFFL) {
+                throw new IOException("Zip64 files aren't supported");
+            }
+
+            entries.add(entry);
+            position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+
+        entries.sort(Comparator.comparingLong(e -> e.start));
+
+        for (int i = 0; i < entries.size(); i++) {
+            entries.get(i).end = i + 1 < entries.size() ? entries.get(i + 1).start : centralStart;
+
+            if (entries.get(i).end < entries.get(i).start) {
+                throw new IOException("Overlapping entries in zip");
+            }
+        }
+
+        return entries;
+    }
+
+    private static List<Segment> merge(List<Segment> segments) {
+        List<Segment> merged = new ArrayList<>();
+
+        for (Segment segment : segments) {
+            if (segment.end == segment.start) {
+                continue;
+            }
+
+            Segment last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+
+            if (last != null && last.end == segment.start && ((last.localStart == -1 && segment.localStart == -1)
+                    || (last.localStart != -1 && last.localStart + (last.end - last.start) == segment.localStart))) {
+                merged.set(merged.size() - 1, new Segment(last.start, segment.end, last.localStart));
+            } else {
+                merged.add(segment);
+            }
+        }
+
+        return merged;
+    }
+
+    private static long copy(InputStream is, OutputStream os, byte[] buffer) throws IOException {
+        long copied = 0;
+        int read;
+
+        while ((read = is.read(buffer)) != -1) {
+            os.write(buffer, 0, read);
+            copied += read;
+        }
+
+        return copied;
+    }
+
+    private static class ZipEntrySpan {
+        public String name;
+        public int method;
+        public long crc;
+        public long compressedSize;
+        public long size;
+        public long start;
+        public long end;
+
+        public boolean isSameAs(ZipEntrySpan other) {
+            return method == other.method && crc == other.crc && compressedSize == other.compressedSize
+                    && size == other.size && end - start == other.end - other.start;
+        }
+    }
+
+    /**
+     * A part of the new file, either copied from the local copy (starting at localStart) or downloaded (localStart of
+     * -1).
+     */
+    private static class Segment {
+        public final long start;
+        public final long end;
+        public final long localStart;
+
+        public Segment(long start, long end, long localStart) {
+            this.start = start;
+            this.end = end;
+            this.localStart = localStart;
+        }
+
+        public static Segment local(long start, long end, long localStart) {
+            return new Segment(start, end, localStart);
+        }
+
+        public static Segment remote(long start, long end) {
+            return new Segment(start, end, -1);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.thread;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.data.Instance;
+import com.atlauncher.managers.LogManager;
+
+/**
+ * Writes everything the game outputs during a session to its own log file in logs/instances/[instance].
+ *
+ * Lines are handed over through a bounded buffer and written on this thread, so the game output is never held up by
+ * the disk for long, and memory use stays the same no matter how much the game logs. If the disk can't keep up, or
+ * writing fails (such as when the disk is full), lines are dropped rather than holding up the game.
+ *
+ * Once a file reaches the maximum size it's rotated out and gzipped in the background, and only the last few sessions
+ * for each instance are kept.
+ */
+public final class GameLogWriter extends Thread {
+    private static final int BUFFER_LINES = 8192;
+
+    /**
+     * How long to wait for space in the buffer before dropping a line, in milliseconds.
+     */
+    private static final long WRITE_TIMEOUT = 100;
+    private static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
+    private static final int SESSIONS_TO_KEEP = 10;
+
+    private static final DateTimeFormatter SESSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /**
+     * Put on the buffer to tell the thread there's nothing more to write.
+     */
+    private static final String END = new String();
+
+    private final BlockingQueue<String> buffer = new ArrayBlockingQueue<>(BUFFER_LINES);
+    private final Path directory;
+    private final String session;
+
+    /**
+     * Set once the log is closed or the thread has stopped, after which lines are dropped.
+     */
+    private volatile boolean closed = false;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private Writer writer;
+    private long written = 0;
+    private int part = 0;
+
+    private GameLogWriter(Path directory, String session) {
+        this.directory = directory;
+        this.session = session;
+        this.setName("ATL-Game-Log-Thread");
+        this.setDaemon(true);
+    }
+
+    /**
+     * Starts a new session log for the instance, or returns null if the log couldn't be created.
+     */
+    public static GameLogWriter open(Instance instance) {
+        Path directory = FileSystem.LOGS.resolve("instances").resolve(instance.getSafeName());
+        String session = LocalDateTime.now().format(SESSION_FORMAT);
+
+        try {
+            Files.createDirectories(directory);
+
+            GameLogWriter gameLogWriter = new GameLogWriter(directory, session);
+            gameLogWriter.openWriter();
+            gameLogWriter.start();
+
+            TaskPools.DISK.submit("GameLogWriter::cleanup", () -> cleanup(directory, session));
+
+            return gameLogWriter;
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to create game log for " + instance.getName(), e);
+            return null;
+        }
+    }
+
+    public Path getLogFile() {
+        return directory.resolve(session + ".log");
+    }
+
+    /**
+     * Adds a line to be written, waiting a short time if the buffer is full before dropping it.
+     */
+    public void write(String line) {
+        if (closed) {
+            return;
+        }
+
+        try {
+            if (!buffer.offer(line, WRITE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                dropped.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes out anything left in the buffer and closes the log. Doesn't wait if the thread has already stopped.
+     */
+    public void close() {
+        closed = true;
+
+        try {
+            while (isAlive()) {
+                if (buffer.offer(END, WRITE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    join();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (dropped.get() != 0) {
+            LogManager.warn(
+                    "Dropped " + dropped.get() + " lines from the game log as they couldn't be written in time");
+        }
+    }
+
+    @Override
+    public void run() {
+        List<String> lines = new ArrayList<>();
+
+        try {
+            while (true) {
+                lines.add(buffer.take());
+                buffer.drainTo(lines);
+
+                for (String line : lines) {
+                    if (line == END) {
+                        writer.close();
+                        return;
+                    }
+
+                    writer.write(line);
+                    writer.write(System.lineSeparator());
+                    written += line.length() + 1;
+
+                    if (written >= MAX_FILE_SIZE) {
+                        rotate();
+                    }
+                }
+
+                lines.clear();
+
+                // only flush once caught up, so bursts of lines are written together
+                if (buffer.isEmpty()) {
+                    writer.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LogManager.logStackTrace("Error writing game log", e);
+        } finally {
+            // nothing will take from the buffer any more, so make sure nothing waits on it
+            closed = true;
+            buffer.clear();
+
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void openWriter() throws IOException {
+        writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(getLogFile()), StandardCharsets.UTF_8),
+                64 * 1024);
+        written = 0;
+    }
+
+    private void rotate() throws IOException {
+        writer.close();
+
+        Path rotated = directory.resolve(String.format("%s-%d.log", session, ++part));
+        Files.move(getLogFile(), rotated);
+        TaskPools.DISK.submit("GameLogWriter::compress", () -> compress(rotated));
+
+        openWriter();
+    }
+
+    private static void compress(Path log) {
+        Path compressed = log.resolveSibling(log.getFileName() + ".gz");
+
+        try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(compressed), 64 * 1024)) {
+            Files.copy(log, os);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to compress game log " + log, e);
+            return;
+        }
+
+        try {
+            Files.delete(log);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to delete game log " + log, e);
+        }
+    }
+
+    /**
+     * Deletes the logs of all but the last few sessions, and compresses the logs of previous sessions.
+     */
+    private static void cleanup(Path directory, String currentSession) {
+        List<Path> logs;
+        try (Stream<Path> files = Files.list(directory)) {
+            logs = files.filter(p -> p.getFileName().toString().length() > currentSession.length())
+                    .sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to clean up game logs in " + directory, e);
+            return;
+        }
+
+        List<String> sessions = logs.stream()
+                .map(p -> p.getFileName().toString().substring(0, currentSession.length())).distinct().sorted()
+                .collect(Collectors.toList());
+        List<String> sessionsToDelete = sessions.subList(0, Math.max(0, sessions.size() - SESSIONS_TO_KEEP));
+
+        for (Path log : logs) {
+            String name = log.getFileName().toString();
+            String logSession = name.substring(0, currentSession.length());
+
+            try {
+                if (sessionsToDelete.contains(logSession)) {
+                    Files.delete(log);
+                } else if (!logSession.equals(currentSession) && name.endsWith(".log")) {
+                    compress(log);
+                }
+            } catch (IOException e) {
+                LogManager.logStackTrace("Failed to delete game log " + log, e);
+            }
+        }
+    }
+}
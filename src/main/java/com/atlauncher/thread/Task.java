@@ -0,0 +1,87 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.thread;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A named, cancellable unit of work submitted to a {@link TaskPool}.
+ *
+ * While running, the thread executing the task is renamed to include the tasks name so that thread dumps and the
+ * diagnostics dialog show what each pool is busy doing.
+ */
+public class Task<T> extends FutureTask<T> {
+    private final String name;
+    private final TaskPool pool;
+    private final long submittedAt;
+    private volatile long startedAt = 0;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    Task(String name, TaskPool pool, Callable<T> callable) {
+        super(callable);
+        this.name = name;
+        this.pool = pool;
+        this.submittedAt = System.currentTimeMillis();
+    }
+
+    @Override
+    public void run() {
+        if (isDone() || !started.compareAndSet(false, true)) {
+            return;
+        }
+
+        Thread thread = Thread.currentThread();
+        String originalName = thread.getName();
+
+        startedAt = System.currentTimeMillis();
+        pool.taskStarted(this);
+        thread.setName(originalName + " (" + name + ")");
+
+        try {
+            super.run();
+        } finally {
+            thread.setName(originalName);
+            pool.taskFinished(this);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TaskPool getPool() {
+        return pool;
+    }
+
+    public long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Cancels the task, interrupting it if it's already running.
+     */
+    public boolean cancel() {
+        return cancel(true);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.thread;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.atlauncher.managers.LogManager;
+
+/**
+ * A fixed size pool of daemon threads which runs named {@link Task}s. Idle threads are let go after a minute so
+ * pools that aren't being used don't hold onto threads.
+ */
+public class TaskPool {
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final Set<Task<?>> runningTasks = ConcurrentHashMap.newKeySet();
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong failedTasks = new AtomicLong();
+    private final AtomicLong totalWaitTime = new AtomicLong();
+
+    public TaskPool(String name, int threads) {
+        this.name = name;
+
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "ATL-" + name + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                threadFactory);
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> Task<T> submit(String taskName, Callable<T> callable) {
+        Task<T> task = new Task<>(taskName, this, callable);
+        executor.execute(task);
+        return task;
+    }
+
+    public Task<Void> submit(String taskName, Runnable runnable) {
+        return submit(taskName, () -> {
+            try {
+                runnable.run();
+            } catch (CancellationException e) {
+                throw e;
+            } catch (Throwable t) {
+                LogManager.logStackTrace("Error running task " + taskName, t);
+                throw t;
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Runs the function over every item in this pool and waits for all the results, returning them in the same order
+     * as the items. While waiting, the calling thread runs any tasks which haven't been picked up yet, so this is safe
+     * to call from a task already running in this pool.
+     *
+     * If the calling thread is interrupted, or any of the functions throw, the remaining tasks are cancelled.
+     */
+    public <T, R> List<R> map(String taskName, Collection<T> items, Function<T, R> function) {
+        List<Task<R>> tasks = items.stream().map(item -> submit(taskName, () -> function.apply(item)))
+                .collect(Collectors.toList());
+        List<R> results = new ArrayList<>(tasks.size());
+
+        try {
+            for (Task<R> task : tasks) {
+                if (executor.remove(task)) {
+                    task.run();
+                }
+
+                results.add(task.get());
+            }
+        } catch (InterruptedException e) {
+            tasks.forEach(Task::cancel);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for " + taskName);
+        } catch (ExecutionException e) {
+            tasks.forEach(Task::cancel);
+
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RuntimeException(e.getCause());
+        }
+
+        return results;
+    }
+
+    /**
+     * Runs the consumer over every item in this pool and waits for them all to finish. See
+     * {@link #map(String, Collection, Function)}.
+     */
+    public <T> void forEach(String taskName, Collection<T> items, Consumer<T> consumer) {
+        map(taskName, items, item -> {
+            consumer.accept(item);
+            return null;
+        });
+    }
+
+    /**
+     * Gets an {@link Executor} which runs everything given to it in this pool under the given task name. Useful for
+     * {@link java.util.concurrent.CompletableFuture}s.
+     */
+    public Executor executor(String taskName) {
+        return runnable -> submit(taskName, runnable);
+    }
+
+    void taskStarted(Task<?> task) {
+        runningTasks.add(task);
+        totalWaitTime.addAndGet(task.getStartedAt() - task.getSubmittedAt());
+    }
+
+    void taskFinished(Task<?> task) {
+        runningTasks.remove(task);
+        completedTasks.incrementAndGet();
+
+        if (!task.isCancelled()) {
+            try {
+                task.get(0, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                failedTasks.incrementAndGet();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaximumThreads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getThreadCount() {
+        return executor.getPoolSize();
+    }
+
+    public int getActiveCount() {
+        return runningTasks.size();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public long getCompletedCount() {
+        return completedTasks.get();
+    }
+
+    public long getFailedCount() {
+        return failedTasks.get();
+    }
+
+    /**
+     * @return the average time in milliseconds that tasks waited in the queue before starting
+     */
+    public long getAverageWaitTime() {
+        long completed = completedTasks.get() + runningTasks.size();
+        return completed == 0 ? 0 : totalWaitTime.get() / completed;
+    }
+
+    public List<Task<?>> getRunningTasks() {
+        return runningTasks.stream().sorted(Comparator.comparingLong(Task::getStartedAt))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.thread;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * The launcher wide thread pools. Work should be submitted to the pool matching what it spends most of its time
+ * doing, so that slow network requests can't hold up disk or CPU bound work and vice versa.
+ */
+public final class TaskPools {
+    /**
+     * For work that spends most of its time waiting on the network, such as API calls and downloads.
+     */
+    public static final TaskPool NETWORK = new TaskPool("Network", 8);
+
+    /**
+     * For work that spends most of its time reading or writing files, such as copying, zipping and backups.
+     */
+    public static final TaskPool DISK = new TaskPool("Disk", 4);
+
+    /**
+     * For CPU bound work such as hashing and decoding images.
+     */
+    public static final TaskPool CPU = new TaskPool("CPU",
+            Math.max(2, java.lang.Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Hands work off to the Swing event dispatch thread.
+     */
+    public static final Executor EDT = SwingUtilities::invokeLater;
+
+    public static List<TaskPool> getPools() {
+        return Arrays.asList(NETWORK, DISK, CPU);
+    }
+
+    public static void runOnEdt(Runnable runnable) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            runnable.run();
+        } else {
+            SwingUtilities.invokeLater(runnable);
+        }
+    }
+}
@@ -20,22 +20,34 @@ package com.atlauncher.utils;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import javax.annotation.Nullable;
 
+import com.atlauncher.App;
 import com.atlauncher.managers.LogManager;
+import com.atlauncher.thread.TaskPool;
+import com.atlauncher.thread.TaskPools;
 
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveInputStream;
-import org.apache.commons.compress.archivers.ArchiveOutputStream;
 import org.apache.commons.compress.archivers.ArchiveStreamFactory;
 import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
 import org.apache.commons.compress.utils.IOUtils;
@@ -132,6 +144,65 @@ public class ArchiveUtils {
         return contents;
     }
 
+    /**
+     * Gets the contents of multiple files in an archive at once. This reads the
+     * central directory of the archive so only the requested entries are read
+     * rather than scanning the whole archive once per file.
+     *
+     * @param archivePath Path of the archive to read from
+     * @param files       Names of the entries to read
+     * @return Map of entry name to its contents. Entries that don't exist in the
+     *         archive won't be in the map
+     */
+    public static Map<String, String> getFiles(Path archivePath, Collection<String> files) {
+        Map<String, String> contents = new HashMap<>();
+
+        if (!archivePath.toString().startsWith("file:")) {
+            try (ZipFile zipFile = new ZipFile(archivePath.toFile())) {
+                for (String file : files) {
+                    ZipEntry entry = zipFile.getEntry(file);
+
+                    if (entry == null || entry.isDirectory()) {
+                        continue;
+                    }
+
+                    try (InputStream is = zipFile.getInputStream(entry)) {
+                        contents.put(file, new String(IOUtils.toByteArray(is), StandardCharsets.UTF_8));
+                    }
+                }
+
+                return contents;
+            } catch (Throwable t) {
+                // allow this to fail as we can fallback to reading the archive as a stream
+                LogManager.debug("Failed to read central directory of " + archivePath.toAbsolutePath()
+                        + ". Trying fallback method");
+                contents.clear();
+            }
+        }
+
+        try (InputStream is = createInputStream(archivePath);
+                ZipArchiveInputStream zais = new ZipArchiveInputStream(is, "UTF8", true, true)) {
+            ArchiveEntry entry = null;
+            while ((entry = zais.getNextEntry()) != null) {
+                if (!zais.canReadEntryData(entry)) {
+                    continue;
+                }
+
+                if (files.contains(entry.getName())) {
+                    contents.put(entry.getName(), new String(IOUtils.toByteArray(zais), StandardCharsets.UTF_8));
+
+                    if (contents.size() == files.size()) {
+                        break;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            LogManager.logStackTrace(e);
+        }
+
+        return contents;
+    }
+
     public static boolean extract(Path archivePath, Path extractToPath) {
         return extract(archivePath, extractToPath, name -> name);
     }
@@ -197,62 +268,99 @@ public class ArchiveUtils {
         return createZip(pathToCompress, archivePath, name -> name);
     }
 
+    /**
+     * Creates a zip of the given folder, compressing the files in parallel.
+     *
+     * Directories which the name mapper returns null for are skipped entirely rather than being walked, so a mapper
+     * must include a directory if it includes anything inside of it.
+     */
     public static boolean createZip(Path pathToCompress, Path archivePath, NameMapper nameMapper) {
-        try {
-            ZipUtil.pack(pathToCompress.toFile(), archivePath.toFile(), nameMapper);
-            return true;
-        } catch (Throwable t) {
-            // allow this to fail as we can fallback to Apache Commons library
-            LogManager.error("Failed to create zip " + archivePath.toAbsolutePath() + " from "
-                    + pathToCompress.toAbsolutePath());
-        }
+        return createZip(pathToCompress, archivePath, nameMapper, App.settings.archiveCompressionLevel);
+    }
+
+    public static boolean createZip(Path pathToCompress, Path archivePath, NameMapper nameMapper,
+            int compressionLevel) {
+        return createZip(pathToCompress, archivePath, nameMapper, compressionLevel, TaskPools.CPU);
+    }
 
+    /**
+     * Creates a zip of the given folder, compressing the files on the given pool.
+     */
+    public static boolean createZip(Path pathToCompress, Path archivePath, NameMapper nameMapper,
+            int compressionLevel, TaskPool pool) {
         // TODO, It seems that exports currently do not use dbus for dir sel,
         //  it would be optimal to be aware the below line will cause problems
         //  once dbus is setup for export as well
-        try (OutputStream os = Files.newOutputStream(archivePath);
-                ArchiveOutputStream aos = new ArchiveStreamFactory().createArchiveOutputStream("ZIP", os)) {
-
-            Files.walkFileTree(pathToCompress, new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
-                    // only copy files, no symbolic links or directories
-                    if (attributes.isSymbolicLink() || attributes.isDirectory()) {
-                        return FileVisitResult.CONTINUE;
-                    }
+        try {
+            new ParallelZipWriter(compressionLevel, pool).write(getFilesToZip(pathToCompress, nameMapper), archivePath);
+            return true;
+        } catch (InterruptedIOException e) {
+            LogManager.warn("Cancelled creating zip " + archivePath.toAbsolutePath());
+            FileUtils.delete(archivePath);
+            return false;
+        } catch (Throwable t) {
+            // allow this to fail as we can fallback to zt-zip
+            LogManager.logStackTrace("Failed to create zip " + archivePath.toAbsolutePath() + " from "
+                    + pathToCompress.toAbsolutePath(), t);
+        }
 
-                    // get filename
-                    String fileName = nameMapper.map(pathToCompress.relativize(file).toString());
+        try {
+            ZipUtil.pack(pathToCompress.toFile(), archivePath.toFile(), nameMapper);
+        } catch (Throwable t) {
+            LogManager.logStackTrace(t);
+            return false;
+        }
 
-                    if (fileName == null) {
-                        return FileVisitResult.CONTINUE;
-                    }
+        return true;
+    }
 
-                    try {
-                        ArchiveEntry entry = aos.createArchiveEntry(file.toFile(), fileName);
-                        aos.putArchiveEntry(entry);
-                        Files.copy(file, aos);
-                        aos.closeArchiveEntry();
+    /**
+     * Gets the files to add to a zip, sorted by entry name so that zips of the same files are always the same.
+     */
+    private static List<Pair<Path, String>> getFilesToZip(Path pathToCompress, NameMapper nameMapper)
+            throws IOException {
+        List<Pair<Path, String>> files = new ArrayList<>();
+
+        Files.walkFileTree(pathToCompress, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                if (dir.equals(pathToCompress)) {
+                    return FileVisitResult.CONTINUE;
+                }
 
-                    } catch (IOException e) {
-                        LogManager.logStackTrace(String.format("Unable to add %s to zip", file), e);
-                    }
+                return nameMapper.map(getEntryName(pathToCompress, dir)) == null ? FileVisitResult.SKIP_SUBTREE
+                        : FileVisitResult.CONTINUE;
+            }
 
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                // only copy files, no symbolic links or directories
+                if (!attributes.isRegularFile()) {
                     return FileVisitResult.CONTINUE;
                 }
 
-                @Override
-                public FileVisitResult visitFileFailed(Path file, IOException e) {
-                    LogManager.logStackTrace(String.format("Unable to add %s to zip", file), e);
-                    return FileVisitResult.CONTINUE;
+                String fileName = nameMapper.map(getEntryName(pathToCompress, file));
+
+                if (fileName != null) {
+                    files.add(new Pair<>(file, fileName));
                 }
 
-            });
-        } catch (Exception e) {
-            LogManager.logStackTrace(e);
-            return false;
-        }
+                return FileVisitResult.CONTINUE;
+            }
 
-        return true;
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                LogManager.logStackTrace(String.format("Unable to add %s to zip", file), e);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        files.sort(Comparator.comparing(file -> file.right()));
+
+        return files;
+    }
+
+    private static String getEntryName(Path root, Path path) {
+        return root.relativize(path).toString().replace("\\", "/");
     }
 }
@@ -26,7 +26,7 @@ import java.util.stream.Stream;
 
 import com.atlauncher.App;
 import com.atlauncher.managers.LogManager;
-import com.atlauncher.utils.walker.DeleteDirVisitor;
+import com.atlauncher.utils.walker.FileTree;
 
 public class FileUtils {
     public static boolean delete(Path path) {
@@ -88,7 +88,7 @@ public class FileUtils {
         }
 
         try {
-            Files.walkFileTree(dir, new DeleteDirVisitor());
+            FileTree.delete(dir);
         } catch (IOException e) {
             LogManager.logStackTrace("Error trying to delete the directory " + dir, e, false);
             return false;
@@ -21,8 +21,8 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-
-import org.apache.commons.lang3.ArrayUtils;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 import com.atlauncher.managers.LogManager;
 import com.google.common.hash.HashCode;
@@ -78,15 +78,48 @@ public final class Hashing {
         }
     }
 
-    // TODO: this is really not efficient or good on memory
     public static long murmur(Path to) throws IOException {
-        byte[] bytes = ArrayUtils
-                .removeAllOccurrences(ArrayUtils.removeAllOccurrences(
-                        ArrayUtils.removeAllOccurrences(
-                                ArrayUtils.removeAllOccurrences(Files.readAllBytes(to), (byte) 9), (byte) 10),
-                        (byte) 13), (byte) 32);
+        return murmur(Files.readAllBytes(to));
+    }
+
+    /**
+     * Computes the CurseForge fingerprint of the given bytes, which is a murmur2 hash of the contents with all
+     * whitespace (tab, line feed, carriage return and space) removed.
+     */
+    public static long murmur(byte[] bytes) {
+        byte[] stripped = new byte[bytes.length];
+        int length = 0;
+
+        for (byte b : bytes) {
+            if (b != 9 && b != 10 && b != 13 && b != 32) {
+                stripped[length++] = b;
+            }
+        }
+
+        return Murmur2.hash(stripped, length, 1L);
+    }
+
+    /**
+     * Computes the murmur2 fingerprint, SHA1 and SHA512 hashes of a mod file while only reading it from disk once.
+     */
+    public static ModHashes modHashes(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
 
-        return Murmur2.hash(bytes, bytes.length, 1L);
+        ModHashes hashes = new ModHashes();
+        hashes.murmur = murmur(bytes);
+        hashes.sha1 = digest("SHA-1", bytes);
+        hashes.sha512 = digest("SHA-512", bytes);
+
+        return hashes;
+    }
+
+    private static String digest(String algorithm, byte[] bytes) {
+        try {
+            return HashCode.fromBytes(MessageDigest.getInstance(algorithm).digest(bytes)).toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has to support SHA-1 and SHA-512, so this can't happen
+            throw new IllegalStateException(e);
+        }
     }
 
     public static HashCode toHashCode(String hash) {
@@ -96,4 +129,10 @@ public final class Hashing {
 
         return HashCode.fromString(hash);
     }
+
+    public static class ModHashes {
+        public long murmur;
+        public String sha1;
+        public String sha512;
+    }
 }
@@ -18,10 +18,8 @@
 package com.atlauncher.utils;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.StringReader;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.Properties;
@@ -171,28 +169,24 @@ public class ImportPackUtils {
 
     public static boolean loadFromFile(File file) {
         try {
-            if (ArchiveUtils.archiveContainsFile(file.toPath(), "manifest.json")) {
-                return loadCurseForgeFormat(file, null, null);
-            }
+            PackArchive archive = PackArchive.open(file.toPath());
 
-            if (ArchiveUtils.archiveContainsFile(file.toPath(), "modrinth.index.json")) {
-                return loadModrinthFormat(file);
+            if (archive.hasFile("manifest.json")) {
+                return loadCurseForgeFormat(archive, null, null);
             }
 
-            Path tmpDir = FileSystem.TEMP.resolve("multimcimport" + file.getName().toString().toLowerCase());
-
-            ArchiveUtils.extract(file.toPath(), tmpDir);
-
-            if (ArchiveUtils.archiveContainsFile(file.toPath(), "mmc-pack.json")) {
-                return loadMultiMCFormat(tmpDir);
+            if (archive.hasFile("modrinth.index.json")) {
+                return loadModrinthFormat(archive);
             }
 
-            if (tmpDir.toFile().list().length == 1
-                    && ArchiveUtils.archiveContainsFile(file.toPath(), tmpDir.toFile().list()[0] + "/mmc-pack.json")) {
-                return loadMultiMCFormat(tmpDir.resolve(tmpDir.toFile().list()[0]));
+            if (archive.hasFile("mmc-pack.json")) {
+                return loadMultiMCFormat(archive);
             }
 
-            FileUtils.deleteDirectory(tmpDir);
+            String topLevelFolder = archive.getSingleTopLevelFolder();
+            if (topLevelFolder != null && archive.withRoot(topLevelFolder).hasFile("mmc-pack.json")) {
+                return loadMultiMCFormat(archive.withRoot(topLevelFolder));
+            }
 
             LogManager.error("Unknown format for importing");
         } catch (Throwable t) {
@@ -203,15 +197,22 @@ public class ImportPackUtils {
     }
 
     public static boolean loadCurseForgeFormat(File file, Integer projectId, Integer fileId) {
-        if (!file.getName().endsWith(".zip")) {
-            LogManager.error("Cannot install as the file was not a zip file");
+        try {
+            return loadCurseForgeFormat(PackArchive.open(file.toPath()), projectId, fileId);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Error in zip file for import", e);
             return false;
         }
+    }
 
-        Path tmpDir = FileSystem.TEMP.resolve("curseforgeimport" + file.getName().toString().toLowerCase());
+    public static boolean loadCurseForgeFormat(PackArchive archive, Integer projectId, Integer fileId) {
+        if (!archive.getArchivePath().getFileName().toString().endsWith(".zip")) {
+            LogManager.error("Cannot install as the file was not a zip file");
+            return false;
+        }
 
         try {
-            CurseForgeManifest manifest = Gsons.MINECRAFT.fromJson(ArchiveUtils.getFile(file.toPath(), "manifest.json"),
+            CurseForgeManifest manifest = Gsons.MINECRAFT.fromJson(archive.getFile("manifest.json"),
                     CurseForgeManifest.class);
 
             if (projectId != null) {
@@ -231,25 +232,24 @@ public class ImportPackUtils {
                 LogManager.warn("Manifest is version " + manifest.manifestVersion + " which may be an issue!");
             }
 
-            ArchiveUtils.extract(file.toPath(), tmpDir);
-
-            new InstanceInstallerDialog(manifest, tmpDir);
+            new InstanceInstallerDialog(manifest, archive);
         } catch (Exception e) {
             LogManager.logStackTrace("Failed to install CurseForge pack", e);
-            FileUtils.deleteDirectory(tmpDir);
             return false;
         }
 
         return true;
     }
 
-    public static boolean loadModrinthFormat(File file) {
-        if (!file.getName().endsWith(".mrpack")) {
+    public static boolean loadModrinthFormat(PackArchive archive) {
+        Path file = archive.getArchivePath();
+
+        if (!file.getFileName().toString().endsWith(".mrpack")) {
             LogManager.error("Cannot install as the file was not a mrpack file");
             return false;
         }
 
-        ModrinthVersion version = ModrinthApi.getVersionFromSha1Hash(Hashing.sha1(file.toPath()).toString());
+        ModrinthVersion version = ModrinthApi.getVersionFromSha1Hash(Hashing.sha1(file).toString());
         if (version != null) {
             try {
                 ModrinthProject project = ModrinthApi.getProject(version.projectId);
@@ -265,12 +265,9 @@ public class ImportPackUtils {
             }
         }
 
-        Path tmpDir = FileSystem.TEMP.resolve("modrinthimport" + file.getName().toString().toLowerCase());
-
         try {
-            ModrinthModpackManifest manifest = Gsons.MINECRAFT
-                    .fromJson(ArchiveUtils.getFile(file.toPath(), "modrinth.index.json"),
-                            ModrinthModpackManifest.class);
+            ModrinthModpackManifest manifest = Gsons.MINECRAFT.fromJson(archive.getFile("modrinth.index.json"),
+                    ModrinthModpackManifest.class);
 
             if (!manifest.game.equals("minecraft")) {
                 LogManager.error(
@@ -287,25 +284,23 @@ public class ImportPackUtils {
                 LogManager.warn("Manifest is version " + manifest.formatVersion + " which may be an issue!");
             }
 
-            ArchiveUtils.extract(file.toPath(), tmpDir);
-
-            new InstanceInstallerDialog(manifest, tmpDir);
+            new InstanceInstallerDialog(manifest, archive);
         } catch (Exception e) {
             LogManager.logStackTrace("Failed to install Modrinth pack", e);
-            FileUtils.deleteDirectory(tmpDir);
             return false;
         }
 
         return true;
     }
 
-    public static boolean loadMultiMCFormat(Path extractedPath) {
-        try (FileReader fileReader = new FileReader(extractedPath.resolve("mmc-pack.json").toFile());
-                InputStream instanceCfgStream = new FileInputStream(extractedPath.resolve("instance.cfg").toFile())) {
-            MultiMCManifest manifest = Gsons.MINECRAFT.fromJson(fileReader, MultiMCManifest.class);
+    public static boolean loadMultiMCFormat(PackArchive archive) {
+        try (StringReader instanceCfgReader = new StringReader(
+                Optional.ofNullable(archive.getFile("instance.cfg")).orElse(""))) {
+            MultiMCManifest manifest = Gsons.MINECRAFT.fromJson(archive.getFile("mmc-pack.json"),
+                    MultiMCManifest.class);
 
             Properties props = new Properties();
-            props.load(instanceCfgStream);
+            props.load(instanceCfgReader);
             manifest.config = new MultiMCInstanceConfig(props);
 
             if (manifest.formatVersion != 1) {
@@ -314,7 +309,7 @@ public class ImportPackUtils {
                 return false;
             }
 
-            new InstanceInstallerDialog(manifest, extractedPath);
+            new InstanceInstallerDialog(manifest, archive);
         } catch (Exception e) {
             LogManager.logStackTrace("Failed to install MultiMC pack", e);
             return false;
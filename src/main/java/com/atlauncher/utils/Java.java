@@ -29,6 +29,7 @@ import java.nio.file.Paths;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.cert.Certificate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -192,15 +193,19 @@ public class Java {
         }
 
         if (Files.isDirectory(FileSystem.RUNTIMES)) {
+            List<String> runtimeJavaExecs = new ArrayList<>();
+
             try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(FileSystem.RUNTIMES)) {
                 for (Path path : directoryStream) {
                     if (Files.exists(path.resolve("release"))) {
-                        javas.add(new JavaInfo(Java.getPathToJavaExecutable(path)));
+                        runtimeJavaExecs.add(Java.getPathToJavaExecutable(path));
                     }
                 }
             } catch (IOException e) {
                 LogManager.logStackTrace(e);
             }
+
+            javas.addAll(JavaFinder.getJavaInfos(runtimeJavaExecs));
         }
 
         PerformanceManager.end();
@@ -28,6 +28,7 @@ import com.atlauncher.data.modpacksch.ModpacksChPackManifest;
 import com.atlauncher.data.modpacksch.ModpacksChPackVersionModsManifest;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.network.Download;
+import com.atlauncher.thread.TaskPools;
 
 import okhttp3.CacheControl;
 
@@ -51,12 +52,12 @@ public class ModpacksChApi {
         List<Integer> packsToShow = packList.packs.stream().skip((page - 1) * Constants.MODPACKS_CH_PAGINATION_SIZE)
                 .limit(Constants.MODPACKS_CH_PAGINATION_SIZE).collect(Collectors.toList());
 
-        List<ModpacksChPackManifest> packs = packsToShow.parallelStream()
-                .map(packId -> com.atlauncher.network.Download.build()
+        List<ModpacksChPackManifest> packs = TaskPools.NETWORK
+                .map("ModpacksChApi::getPack", packsToShow, packId -> com.atlauncher.network.Download.build()
                         .setUrl(String.format("%s/modpack/%s", Constants.MODPACKS_CH_API_URL, packId))
                         .cached(new CacheControl.Builder().maxStale(1, TimeUnit.HOURS).build())
                         .asClass(ModpacksChPackManifest.class))
-                .filter(p -> p.versions != null).collect(Collectors.toList());
+                .stream().filter(p -> p != null && p.versions != null).collect(Collectors.toList());
 
         return packs;
     }
@@ -73,12 +74,12 @@ public class ModpacksChApi {
         List<Integer> packsToShow = packList.packs.stream().skip((page - 1) * Constants.MODPACKS_CH_PAGINATION_SIZE)
                 .limit(Constants.MODPACKS_CH_PAGINATION_SIZE).collect(Collectors.toList());
 
-        List<ModpacksChPackManifest> packs = packsToShow.parallelStream()
-                .map(packId -> com.atlauncher.network.Download.build()
+        List<ModpacksChPackManifest> packs = TaskPools.NETWORK
+                .map("ModpacksChApi::getPack", packsToShow, packId -> com.atlauncher.network.Download.build()
                         .setUrl(String.format("%s/modpack/%s", Constants.MODPACKS_CH_API_URL, packId))
                         .cached(new CacheControl.Builder().maxStale(1, TimeUnit.HOURS).build())
                         .asClass(ModpacksChPackManifest.class))
-                .filter(p -> p.versions != null).collect(Collectors.toList());
+                .stream().filter(p -> p != null && p.versions != null).collect(Collectors.toList());
 
         return packs;
     }
@@ -221,10 +221,18 @@ public class ModrinthApi {
         }
     }
 
+    /**
+     * Gets the versions which have files with the given hashes, keyed by hash. Hashes which aren't found are left out.
+     *
+     * @return the versions found, or null if the request failed
+     */
     public static Map<String, ModrinthVersion> getVersionsFromSha1Hashes(String[] hashes) {
         return getVersionsFromHashes(hashes, "sha1");
     }
 
+    /**
+     * @see #getVersionsFromSha1Hashes(String[])
+     */
     public static Map<String, ModrinthVersion> getVersionsFromSha512Hashes(String[] hashes) {
         return getVersionsFromHashes(hashes, "sha512");
     }
@@ -248,7 +256,8 @@ public class ModrinthApi {
                             MediaType.get("application/json; charset=utf-8")))
                     .asTypeWithThrow(type);
         } catch (Exception e) {
-            return new HashMap<>();
+            LogManager.logStackTrace("Error trying to get Modrinth versions from hashes", e);
+            return null;
         }
     }
 
@@ -0,0 +1,205 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.compress.utils.IOUtils;
+
+import com.atlauncher.managers.LogManager;
+
+/**
+ * A modpack archive (zip/mrpack) which is read directly rather than being extracted to a temporary folder first.
+ *
+ * Opening the archive reads its central directory once to get the list of entries, so checking what files exist is
+ * done in memory, and files are only read out of the archive when they're needed. The pack can be in a sub folder of
+ * the archive (for instance MultiMC exports put everything in a folder named after the instance), in which case all
+ * names are relative to that folder.
+ */
+public class PackArchive {
+    /**
+     * The manifest files of the formats we can import. These are read when the archive is opened, as long as they're
+     * at the top level or one folder deep, so detecting the format and reading the manifest doesn't need to open the
+     * archive again.
+     */
+    private static final List<String> MANIFEST_FILES = Arrays.asList("manifest.json", "modrinth.index.json",
+            "mmc-pack.json", "instance.cfg");
+
+    private final Path archivePath;
+    private final String root;
+
+    /**
+     * Map of the entry names (always using forward slashes) to the actual name in the archive.
+     */
+    private final Map<String, String> entries;
+    private final Map<String, String> manifests;
+
+    private PackArchive(Path archivePath, String root, Map<String, String> entries, Map<String, String> manifests) {
+        this.archivePath = archivePath;
+        this.root = root;
+        this.entries = entries;
+        this.manifests = manifests;
+    }
+
+    /**
+     * Opens the archive at the given path, reading the names of all the files in it.
+     */
+    public static PackArchive open(Path archivePath) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        Map<String, String> manifests = new HashMap<>();
+
+        try (ZipFile zipFile = new ZipFile(archivePath.toFile())) {
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry entry = zipEntries.nextElement();
+
+                if (entry.isDirectory()) {
+                    continue;
+                }
+
+                String name = entry.getName().replace("\\", "/");
+                entries.put(name, entry.getName());
+
+                String[] parts = name.split("/");
+                if (parts.length <= 2 && MANIFEST_FILES.contains(parts[parts.length - 1])) {
+                    try (InputStream is = zipFile.getInputStream(entry)) {
+                        manifests.put(name, new String(IOUtils.toByteArray(is), StandardCharsets.UTF_8));
+                    }
+                }
+            }
+        }
+
+        return new PackArchive(archivePath, "", Collections.unmodifiableMap(entries), manifests);
+    }
+
+    /**
+     * Gets a view of this archive where all names are relative to the given folder.
+     */
+    public PackArchive withRoot(String folder) {
+        return new PackArchive(archivePath, root + (folder.endsWith("/") ? folder : folder + "/"), entries,
+                manifests);
+    }
+
+    /**
+     * If every file in the archive is inside the same top level folder, returns that folder's name.
+     */
+    public String getSingleTopLevelFolder() {
+        Set<String> topLevel = entries.keySet().stream().filter(e -> e.startsWith(root))
+                .map(e -> e.substring(root.length()))
+                .map(e -> e.contains("/") ? e.substring(0, e.indexOf("/") + 1) : e).collect(Collectors.toSet());
+
+        if (topLevel.size() == 1) {
+            String folder = topLevel.iterator().next();
+
+            if (folder.endsWith("/")) {
+                return folder.substring(0, folder.length() - 1);
+            }
+        }
+
+        return null;
+    }
+
+    public Path getArchivePath() {
+        return archivePath;
+    }
+
+    public boolean hasFile(String name) {
+        return entries.containsKey(root + name);
+    }
+
+    public boolean hasDirectory(String name) {
+        String prefix = root + (name.endsWith("/") ? name : name + "/");
+        return entries.keySet().stream().anyMatch(e -> e.startsWith(prefix));
+    }
+
+    /**
+     * Lists the names of the files directly inside the given folder.
+     */
+    public List<String> listFiles(String directory) {
+        String prefix = root + (directory.endsWith("/") ? directory : directory + "/");
+
+        return entries.keySet().stream().filter(e -> e.startsWith(prefix) && e.indexOf('/', prefix.length()) == -1)
+                .map(e -> e.substring(prefix.length())).collect(Collectors.toList());
+    }
+
+    /**
+     * Reads the contents of the given file as a string, or null if it doesn't exist.
+     */
+    public String getFile(String name) throws IOException {
+        if (!hasFile(name)) {
+            return null;
+        }
+
+        if (manifests.containsKey(root + name)) {
+            return manifests.get(root + name);
+        }
+
+        try (ZipFile zipFile = new ZipFile(archivePath.toFile());
+                InputStream is = zipFile.getInputStream(zipFile.getEntry(entries.get(root + name)))) {
+            return new String(IOUtils.toByteArray(is), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Extracts everything inside the given folder straight into the target folder, overwriting any existing files.
+     */
+    public void extractDirectory(String directory, Path to) throws IOException {
+        String prefix = root + (directory.isEmpty() || directory.endsWith("/") ? directory : directory + "/");
+        Path target = to.toAbsolutePath().normalize();
+
+        try (ZipFile zipFile = new ZipFile(archivePath.toFile())) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                String name = entry.getKey();
+
+                if (!name.startsWith(prefix)) {
+                    continue;
+                }
+
+                Path outputPath = target.resolve(name.substring(prefix.length())).normalize();
+
+                if (!outputPath.startsWith(target)) {
+                    LogManager.warn("Skipping extracting " + name + " as it's outside of the folder to extract to");
+                    continue;
+                }
+
+                Files.createDirectories(outputPath.getParent());
+
+                try (InputStream is = zipFile.getInputStream(zipFile.getEntry(entry.getValue()))) {
+                    Files.copy(is, outputPath, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+}
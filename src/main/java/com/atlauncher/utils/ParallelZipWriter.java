@@ -0,0 +1,192 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+import com.atlauncher.managers.LogManager;
+import com.atlauncher.thread.Task;
+import com.atlauncher.thread.TaskPool;
+import com.atlauncher.thread.TaskPools;
+
+/**
+ * Writes zip files using multiple threads.
+ *
+ * Each entry is read and compressed on its own in the CPU pool, and the already compressed entries are then written
+ * to the zip file one after the other in the order they were given, so the output is the same no matter how many
+ * threads were used. Only a limited number of entries are compressed ahead of the writer so memory use stays bounded,
+ * and files too large to hold in memory are compressed on the writing thread instead.
+ */
+public final class ParallelZipWriter {
+    /**
+     * Files that are already compressed, so are stored as is rather than spending time compressing them again.
+     */
+    private static final Set<String> STORED_EXTENSIONS = new HashSet<>(Arrays.asList("jar", "zip", "png", "ogg"));
+
+    private static final long MAX_IN_MEMORY_SIZE = 32L * 1024 * 1024;
+
+    private final int compressionLevel;
+    private final TaskPool pool;
+    private final int maxInFlight;
+
+    public ParallelZipWriter(int compressionLevel) {
+        this(compressionLevel, TaskPools.CPU);
+    }
+
+    public ParallelZipWriter(int compressionLevel, TaskPool pool) {
+        this.compressionLevel = compressionLevel;
+        this.pool = pool;
+        this.maxInFlight = pool.getMaximumThreads() * 2;
+    }
+
+    /**
+     * Writes the given files to the archive in order.
+     *
+     * @param files       pairs of file on disk and the name of the entry to store it as
+     * @param archivePath where to write the zip to
+     */
+    public void write(List<Pair<Path, String>> files, Path archivePath) throws IOException {
+        Deque<Pair<String, Task<CompressedEntry>>> inFlight = new ArrayDeque<>();
+
+        try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(archivePath.toFile())) {
+            zos.setLevel(compressionLevel);
+
+            for (Pair<Path, String> file : files) {
+                if (Files.size(file.left()) > MAX_IN_MEMORY_SIZE) {
+                    // keep the order by writing everything before this first
+                    while (!inFlight.isEmpty()) {
+                        writeEntry(zos, inFlight.removeFirst());
+                    }
+
+                    writeLargeEntry(zos, file.left(), file.right());
+                    continue;
+                }
+
+                inFlight.addLast(new Pair<>(file.right(), pool.submit("ParallelZipWriter::compress",
+                        () -> compress(file.left(), file.right()))));
+
+                if (inFlight.size() >= maxInFlight) {
+                    writeEntry(zos, inFlight.removeFirst());
+                }
+            }
+
+            while (!inFlight.isEmpty()) {
+                writeEntry(zos, inFlight.removeFirst());
+            }
+        } finally {
+            inFlight.forEach(p -> p.right().cancel());
+        }
+    }
+
+    private void writeEntry(ZipArchiveOutputStream zos, Pair<String, Task<CompressedEntry>> pending)
+            throws IOException {
+        CompressedEntry compressed;
+
+        try {
+            compressed = pending.right().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while creating zip");
+        } catch (ExecutionException e) {
+            LogManager.logStackTrace(String.format("Unable to add %s to zip", pending.left()), e.getCause());
+            return;
+        }
+
+        zos.addRawArchiveEntry(compressed.entry, new ByteArrayInputStream(compressed.data));
+    }
+
+    private void writeLargeEntry(ZipArchiveOutputStream zos, Path file, String name) throws IOException {
+        ZipArchiveEntry entry = new ZipArchiveEntry(name);
+        entry.setTime(Files.getLastModifiedTime(file).toMillis());
+        entry.setMethod(shouldStore(name) ? ZipEntry.STORED : ZipEntry.DEFLATED);
+
+        zos.putArchiveEntry(entry);
+        Files.copy(file, zos);
+        zos.closeArchiveEntry();
+    }
+
+    private CompressedEntry compress(Path file, String name) throws IOException {
+        byte[] data = Files.readAllBytes(file);
+
+        CRC32 crc = new CRC32();
+        crc.update(data);
+
+        ZipArchiveEntry entry = new ZipArchiveEntry(name);
+        entry.setTime(Files.getLastModifiedTime(file).toMillis());
+        entry.setSize(data.length);
+        entry.setCrc(crc.getValue());
+
+        if (shouldStore(name)) {
+            entry.setMethod(ZipEntry.STORED);
+            entry.setCompressedSize(data.length);
+            return new CompressedEntry(entry, data);
+        }
+
+        Deflater deflater = new Deflater(compressionLevel, true);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(Math.max(32, data.length / 2));
+
+        try (DeflaterOutputStream dos = new DeflaterOutputStream(baos, deflater)) {
+            dos.write(data);
+        } finally {
+            deflater.end();
+        }
+
+        entry.setMethod(ZipEntry.DEFLATED);
+        entry.setCompressedSize(baos.size());
+        return new CompressedEntry(entry, baos.toByteArray());
+    }
+
+    private boolean shouldStore(String name) {
+        if (compressionLevel == Deflater.NO_COMPRESSION) {
+            return true;
+        }
+
+        int dot = name.lastIndexOf('.');
+        return dot != -1 && STORED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ENGLISH));
+    }
+
+    private static class CompressedEntry {
+        private final ZipArchiveEntry entry;
+        private final byte[] data;
+
+        private CompressedEntry(ZipArchiveEntry entry, byte[] data) {
+            this.entry = entry;
+            this.data = data;
+        }
+    }
+}
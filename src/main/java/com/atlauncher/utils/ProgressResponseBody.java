@@ -20,6 +20,8 @@ package com.atlauncher.utils;
 import java.io.IOException;
 
 import com.atlauncher.listener.ProgressListener;
+import com.atlauncher.network.BandwidthScheduler;
+import com.atlauncher.network.DownloadPriority;
 
 import okhttp3.MediaType;
 import okhttp3.ResponseBody;
@@ -29,14 +31,29 @@ import okio.ForwardingSource;
 import okio.Okio;
 import okio.Source;
 
+/**
+ * Wraps a response body to report how much of it has been read, and/or to limit how fast it's read through the
+ * {@link BandwidthScheduler}.
+ */
 public class ProgressResponseBody extends ResponseBody {
     private final ResponseBody responseBody;
     private final ProgressListener progressListener;
+    private final DownloadPriority priority;
     private BufferedSource bufferedSource;
 
     public ProgressResponseBody(ResponseBody responseBody, ProgressListener progressListener) {
+        this(responseBody, progressListener, null);
+    }
+
+    public ProgressResponseBody(ResponseBody responseBody, DownloadPriority priority) {
+        this(responseBody, null, priority);
+    }
+
+    public ProgressResponseBody(ResponseBody responseBody, ProgressListener progressListener,
+            DownloadPriority priority) {
         this.responseBody = responseBody;
         this.progressListener = progressListener;
+        this.priority = priority;
     }
 
     @Override
@@ -62,8 +79,15 @@ public class ProgressResponseBody extends ResponseBody {
             @Override
             public long read(Buffer sink, long byteCount) throws IOException {
                 long bytesRead = super.read(sink, byteCount);
+
+                if (priority != null) {
+                    BandwidthScheduler.consume(priority, bytesRead);
+                }
+
                 // read() returns the number of bytes read, or -1 if this source is exhausted.
-                progressListener.update(bytesRead, responseBody.contentLength(), bytesRead == -1);
+                if (progressListener != null) {
+                    progressListener.update(bytesRead, responseBody.contentLength(), bytesRead == -1);
+                }
                 return bytesRead;
             }
         };
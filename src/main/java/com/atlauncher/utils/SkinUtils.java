@@ -34,6 +34,10 @@ public class SkinUtils {
     }
 
     public static ImageIcon getHead(BufferedImage image) {
+        return getHead(image, 20);
+    }
+
+    public static ImageIcon getHead(BufferedImage image, int size) {
         BufferedImage main = image.getSubimage(8, 8, 8, 8);
         BufferedImage helmet = image.getSubimage(40, 8, 8, 8);
         BufferedImage head = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB);
@@ -44,7 +48,7 @@ public class SkinUtils {
             g.drawImage(helmet, 0, 0, null);
         }
 
-        return new ImageIcon(head.getScaledInstance(20, 20, Image.SCALE_SMOOTH));
+        return new ImageIcon(head.getScaledInstance(size, size, Image.SCALE_SMOOTH));
     }
 
     public static ImageIcon getHead(File file) {
@@ -59,12 +63,6 @@ public class SkinUtils {
             return getHead(Utils.getImage("/assets/image/skins/default.png"));
         }
 
-        try {
-            image = ImageIO.read(file);
-        } catch (IOException e) {
-            LogManager.logStackTrace(e);
-        }
-
         return getHead(image);
     }
 
@@ -73,6 +71,10 @@ public class SkinUtils {
     }
 
     public static ImageIcon getSkin(BufferedImage image) {
+        return getSkin(image, 128, 256);
+    }
+
+    public static ImageIcon getSkin(BufferedImage image, int width, int height) {
         // new skins are 64x64 and old ones are 64x32
         boolean isNewImage = image.getWidth() == 64 && image.getHeight() == 64;
 
@@ -118,7 +120,7 @@ public class SkinUtils {
         g.drawImage(leftLeg, 4, 20, null);
         g.drawImage(rightLeg, 8, 20, null);
 
-        return new ImageIcon(skin.getScaledInstance(128, 256, Image.SCALE_SMOOTH));
+        return new ImageIcon(skin.getScaledInstance(width, height, Image.SCALE_SMOOTH));
     }
 
     public static ImageIcon getSkin(File file) {
@@ -133,12 +135,6 @@ public class SkinUtils {
             return getSkin(Utils.getImage("/assets/image/skins/default.png"));
         }
 
-        try {
-            image = ImageIO.read(file);
-        } catch (IOException e) {
-            LogManager.logStackTrace(e);
-        }
-
         return getSkin(image);
     }
 }
@@ -50,6 +50,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.security.InvalidKeyException;
 import java.security.Key;
@@ -80,6 +81,8 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.ScrollPaneConstants;
 
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.io.IOUtils;
 import org.tukaani.xz.LZMAInputStream;
 import org.tukaani.xz.XZInputStream;
@@ -92,7 +95,8 @@ import com.atlauncher.data.minecraft.ExtractRule;
 import com.atlauncher.data.minecraft.FabricMod;
 import com.atlauncher.data.minecraft.MCMod;
 import com.atlauncher.managers.LogManager;
-import com.google.gson.reflect.TypeToken;
+import com.atlauncher.managers.ModMetadataManager;
+import com.atlauncher.utils.walker.FileTree;
 
 import net.iharder.Base64;
 
@@ -407,26 +411,9 @@ public class Utils {
         }
         try {
             if (sourceLocation.isDirectory()) {
-                if (!targetLocation.exists()) {
-                    targetLocation.mkdirs();
-                }
-
-                String[] children = sourceLocation.list();
-                for (String child : children) {
-                    copyDirectory(new File(sourceLocation, child), new File(targetLocation, child));
-                }
+                FileTree.copy(sourceLocation.toPath(), targetLocation.toPath(), false);
             } else {
-
-                InputStream in = new FileInputStream(sourceLocation);
-                OutputStream out = new FileOutputStream(targetLocation);
-
-                byte[] buf = new byte[1024];
-                int len;
-                while ((len = in.read(buf)) > 0) {
-                    out.write(buf, 0, len);
-                }
-                in.close();
-                out.close();
+                Files.copy(sourceLocation.toPath(), targetLocation.toPath(), StandardCopyOption.REPLACE_EXISTING);
             }
         } catch (IOException e) {
             LogManager.logStackTrace(e);
@@ -554,16 +541,10 @@ public class Utils {
     }
 
     public static void deleteWithFilter(File file, final List<String> files, boolean delete) {
-        FilenameFilter ffFilter;
-
-        if (delete) {
-            ffFilter = (dir, name) -> files.contains(name);
-        } else {
-            ffFilter = (dir, name) -> !files.contains(name);
-        }
-
-        for (File aFile : file.listFiles(ffFilter)) {
-            Utils.delete(aFile);
+        try {
+            FileTree.deleteChildren(file.toPath(), path -> files.contains(path.getFileName().toString()) == delete);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Error deleting files in " + file.getAbsolutePath(), e, false);
         }
     }
 
@@ -936,72 +917,45 @@ public class Utils {
         return false;
     }
 
+    /**
+     * Combines the two jars into the output jar, with entries in the jar to add overriding those in the main jar, and
+     * without any META-INF entries.
+     *
+     * Entries are copied as is without being decompressed and compressed again.
+     */
     public static boolean combineJars(File mainJar, File jarToAdd, File outputJar) {
-        try (FileInputStream is = new FileInputStream(mainJar);
-                JarInputStream jis = new JarInputStream(is);
-                JarFile jarFile = new JarFile(mainJar);
-
-                FileInputStream is2 = new FileInputStream(jarToAdd);
-                JarInputStream jis2 = new JarInputStream(is2);
-                JarFile jarFile2 = new JarFile(jarToAdd);
-
-                FileOutputStream fos = new FileOutputStream(outputJar);
-                JarOutputStream jos = new JarOutputStream(fos)) {
+        try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(outputJar)) {
             Set<String> entriesAdded = new HashSet<>();
-            JarEntry entry;
-            while ((entry = jis2.getNextJarEntry()) != null) {
-                if (entry.getName().contains("META-INF")) {
-                    continue;
-                }
 
-                InputStream jfis = jarFile2.getInputStream(entry);
+            copyRawJarEntries(jarToAdd, zos, entriesAdded);
+            copyRawJarEntries(mainJar, zos, entriesAdded);
+        } catch (Exception e) {
+            LogManager.logStackTrace(e);
 
-                JarEntry newEntry = new JarEntry(entry.getName());
-                jos.putNextEntry(newEntry);
-                entriesAdded.add(entry.getName());
+            return false;
+        }
 
-                byte[] buffer = new byte[8192];
+        return true;
+    }
 
-                int r;
-                while ((r = jis2.read(buffer, 0, buffer.length)) >= 0) {
-                    jos.write(buffer, 0, r);
-                }
+    private static void copyRawJarEntries(File jar, ZipArchiveOutputStream zos, Set<String> entriesAdded)
+            throws IOException {
+        try (org.apache.commons.compress.archivers.zip.ZipFile zipFile
+                = new org.apache.commons.compress.archivers.zip.ZipFile(jar)) {
+            Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
 
-                jfis.close();
-                jos.flush();
-                jos.closeEntry();
-            }
+            while (entries.hasMoreElements()) {
+                ZipArchiveEntry entry = entries.nextElement();
 
-            while ((entry = jis.getNextJarEntry()) != null) {
-                if (entry.getName().contains("META-INF") || entriesAdded.contains(entry.getName())) {
+                if (entry.getName().contains("META-INF") || !entriesAdded.add(entry.getName())) {
                     continue;
                 }
 
-                InputStream jfis = jarFile.getInputStream(entry);
-
-                JarEntry newEntry = new JarEntry(entry.getName());
-                jos.putNextEntry(newEntry);
-                entriesAdded.add(entry.getName());
-
-                byte[] buffer = new byte[8192];
-
-                int r;
-                while ((r = jis.read(buffer, 0, buffer.length)) >= 0) {
-                    jos.write(buffer, 0, r);
+                try (InputStream rawInputStream = zipFile.getRawInputStream(entry)) {
+                    zos.addRawArchiveEntry(entry, rawInputStream);
                 }
-
-                jfis.close();
-                jos.flush();
-                jos.closeEntry();
             }
-
-        } catch (Exception e) {
-            LogManager.logStackTrace(e);
-
-            return false;
         }
-
-        return true;
     }
 
     /**
@@ -1197,70 +1151,6 @@ public class Utils {
         return count;
     }
 
-    public static String pingAddress(String host) {
-        String pingStats = "";
-        StringBuilder response = new StringBuilder();
-        try {
-            InetAddress address = InetAddress.getByName(host);
-            Process traceRoute;
-            if (OS.isWindows()) {
-                traceRoute = Runtime.getRuntime().exec("ping -n 10 " + address.getHostAddress());
-            } else {
-                traceRoute = Runtime.getRuntime().exec("ping -c 10 " + address.getHostAddress());
-            }
-
-            BufferedReader reader;
-            reader = new BufferedReader(new InputStreamReader(traceRoute.getInputStream()));
-
-            response = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                response.append(line);
-                response.append('\r');
-            }
-            reader.close();
-
-            pingStats = response.toString();
-
-        } catch (IOException e) {
-            LogManager.logStackTrace("IOException while running ping on host " + host, e);
-        }
-
-        return pingStats;
-    }
-
-    public static String traceRoute(String host) {
-        String route = "";
-        StringBuilder response;
-        try {
-            InetAddress address = InetAddress.getByName(host);
-            Process traceRoute;
-            if (OS.isWindows()) {
-                traceRoute = Runtime.getRuntime().exec("tracert " + address.getHostAddress());
-            } else {
-                traceRoute = Runtime.getRuntime().exec("traceroute " + address.getHostAddress());
-            }
-
-            BufferedReader reader;
-            reader = new BufferedReader(new InputStreamReader(traceRoute.getInputStream()));
-
-            response = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                response.append(line);
-                response.append('\r');
-            }
-            reader.close();
-
-            route = response.toString();
-
-        } catch (IOException e) {
-            LogManager.logStackTrace("IOException while running traceRoute on host " + host, e);
-        }
-
-        return route;
-    }
-
     // public static Object[] prepareMessageForMinecraftLog(String text) {
     // LogType type = null; // The log message type
     // String message = null; // The log message
@@ -1531,35 +1421,11 @@ public class Utils {
     }
 
     public static MCMod getMCModForFile(File file) {
-        try {
-            java.lang.reflect.Type type = new TypeToken<List<MCMod>>() {
-            }.getType();
-
-            List<MCMod> mods = Gsons.MINECRAFT.fromJson(ArchiveUtils.getFile(file.toPath(), "mcmod.info"), type);
-
-            if (mods.size() != 0 && mods.get(0) != null) {
-                return mods.get(0);
-            }
-        } catch (Exception ignored) {
-
-        }
-
-        return null;
+        return ModMetadataManager.getMetadata(file).mcMod;
     }
 
     public static FabricMod getFabricModForFile(File file) {
-        try {
-            FabricMod mod = Gsons.MINECRAFT.fromJson(ArchiveUtils.getFile(file.toPath(), "fabric.mod.json"),
-                    FabricMod.class);
-
-            if (mod != null) {
-                return mod;
-            }
-        } catch (Exception ignored2) {
-
-        }
-
-        return null;
+        return ModMetadataManager.getMetadata(file).fabricMod;
     }
 
     public static boolean executableInPath(String executableName) {
@@ -18,7 +18,6 @@
 package com.atlauncher.utils.javafinder;
 
 import java.io.IOException;
-import java.lang.ref.SoftReference;
 import java.nio.file.FileSystems;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
@@ -31,94 +30,129 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import com.atlauncher.managers.PerformanceManager;
+import com.atlauncher.thread.TaskPools;
 import com.atlauncher.utils.OS;
 import com.atlauncher.utils.Utils;
 
 public class JavaFinder {
-    private static SoftReference<List<String>> javaPaths = new SoftReference<>(null);
-
+    private static final AtomicBoolean refreshed = new AtomicBoolean(false);
+
+    /**
+     * Finds the Java installs on this machine, running each one to get its version at the same time.
+     *
+     * The installs found by the last search are used straight away if there are any, and a new search is done in the
+     * background (once per run) so any installs added or removed since are picked up next time.
+     */
     public static List<JavaInfo> findJavas() {
         PerformanceManager.start();
-        List<String> javaExecs = javaPaths.get();
+        List<String> javaExecs = JavaInfoCache.getJavaPaths();
 
         if (javaExecs == null) {
-            javaExecs = new ArrayList<>();
+            javaExecs = scanForJavas();
+            JavaInfoCache.setJavaPaths(javaExecs);
+            refreshed.set(true);
+        } else if (refreshed.compareAndSet(false, true)) {
+            TaskPools.DISK.submit("JavaFinder::refresh", () -> {
+                List<String> foundJavaExecs = scanForJavas();
+                JavaInfoCache.setJavaPaths(foundJavaExecs);
+
+                // run any new installs now, so they're ready to show next time
+                getJavaInfos(foundJavaExecs);
+                JavaInfoCache.saveCache();
+            });
+        }
 
-            if (OS.isWindows()) {
-                if (OS.is64Bit()) {
-                    javaExecs.addAll(scanWindowsRegistry(64));
-                } else {
-                    javaExecs.addAll(scanWindowsRegistry(32));
-                }
+        List<JavaInfo> javas = getJavaInfos(javaExecs);
+        JavaInfoCache.saveCache();
 
-                PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher("glob:**/bin/java.exe");
+        PerformanceManager.end();
+        return javas;
+    }
 
-                String[] pathsToSearch = { "Java", "Amazon Corretto", "AdoptOpenJDK", "Eclipse Foundation" };
+    /**
+     * Gets the info for each of the given Java executables which exist, running any which need to be in parallel.
+     */
+    public static List<JavaInfo> getJavaInfos(List<String> javaExecs) {
+        List<String> existingJavaExecs = javaExecs.stream().distinct().filter(java -> Files.exists(Paths.get(java)))
+                .collect(Collectors.toList());
+
+        return TaskPools.CPU.map("JavaFinder::getJavaInfos", existingJavaExecs, JavaInfo::new);
+    }
+
+    private static List<String> scanForJavas() {
+        List<String> javaExecs = new ArrayList<>();
+
+        if (OS.isWindows()) {
+            if (OS.is64Bit()) {
+                javaExecs.addAll(scanWindowsRegistry(64));
+            } else {
+                javaExecs.addAll(scanWindowsRegistry(32));
+            }
 
-                for (String searchPath : pathsToSearch) {
-                    List<String> foundPaths = new ArrayList<>();
+            PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher("glob:**/bin/java.exe");
 
-                    try {
-                        Files.walkFileTree(Paths.get(System.getenv("programfiles"), searchPath),
-                                EnumSet.noneOf(FileVisitOption.class), 10, new SimpleFileVisitor<Path>() {
-                                    @Override
-                                    public FileVisitResult visitFile(Path path, BasicFileAttributes attrs)
-                                            throws IOException {
-                                        if (pathMatcher.matches(path)) {
-                                            foundPaths.add(path.toString());
-                                        }
+            String[] pathsToSearch = { "Java", "Amazon Corretto", "AdoptOpenJDK", "Eclipse Foundation" };
 
-                                        return FileVisitResult.CONTINUE;
+            for (String searchPath : pathsToSearch) {
+                List<String> foundPaths = new ArrayList<>();
+
+                try {
+                    Files.walkFileTree(Paths.get(System.getenv("programfiles"), searchPath),
+                            EnumSet.noneOf(FileVisitOption.class), 10, new SimpleFileVisitor<Path>() {
+                                @Override
+                                public FileVisitResult visitFile(Path path, BasicFileAttributes attrs)
+                                        throws IOException {
+                                    if (pathMatcher.matches(path)) {
+                                        foundPaths.add(path.toString());
                                     }
-                                });
-                    } catch (Exception ignored) {
-                    }
 
-                    if (foundPaths.size() != 0) {
-                        javaExecs.addAll(foundPaths);
-                    }
+                                    return FileVisitResult.CONTINUE;
+                                }
+                            });
+                } catch (Exception ignored) {
                 }
-            }
 
-            if (OS.isLinux()) {
-                PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher("glob:**/bin/java");
+                if (foundPaths.size() != 0) {
+                    javaExecs.addAll(foundPaths);
+                }
+            }
+        }
 
-                String[] pathsToSearch = { "/usr/java", "/usr/lib/jvm", "/usr/lib32/jvm" };
+        if (OS.isLinux()) {
+            PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher("glob:**/bin/java");
 
-                for (String searchPath : pathsToSearch) {
-                    List<String> foundPaths = new ArrayList<>();
+            String[] pathsToSearch = { "/usr/java", "/usr/lib/jvm", "/usr/lib32/jvm" };
 
-                    try {
-                        Files.walkFileTree(Paths.get(searchPath), EnumSet.noneOf(FileVisitOption.class), 10,
-                                new SimpleFileVisitor<Path>() {
-                                    @Override
-                                    public FileVisitResult visitFile(Path path, BasicFileAttributes attrs)
-                                            throws IOException {
-                                        if (pathMatcher.matches(path)) {
-                                            foundPaths.add(path.toString());
-                                        }
+            for (String searchPath : pathsToSearch) {
+                List<String> foundPaths = new ArrayList<>();
 
-                                        return FileVisitResult.CONTINUE;
+                try {
+                    Files.walkFileTree(Paths.get(searchPath), EnumSet.noneOf(FileVisitOption.class), 10,
+                            new SimpleFileVisitor<Path>() {
+                                @Override
+                                public FileVisitResult visitFile(Path path, BasicFileAttributes attrs)
+                                        throws IOException {
+                                    if (pathMatcher.matches(path)) {
+                                        foundPaths.add(path.toString());
                                     }
-                                });
-                    } catch (Exception ignored) {
-                    }
 
-                    if (foundPaths.size() != 0) {
-                        javaExecs.addAll(foundPaths);
-                    }
+                                    return FileVisitResult.CONTINUE;
+                                }
+                            });
+                } catch (Exception ignored) {
                 }
-            }
 
-            javaPaths = new SoftReference<>(javaExecs);
+                if (foundPaths.size() != 0) {
+                    javaExecs.addAll(foundPaths);
+                }
+            }
         }
 
-        PerformanceManager.end();
-        return javaExecs.stream().distinct().filter(java -> Files.exists(Paths.get(java))).map(JavaInfo::new)
-                .collect(Collectors.toList());
+        return javaExecs;
     }
 
     // Inspired by
@@ -0,0 +1,204 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils.javafinder;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Gsons;
+import com.atlauncher.managers.LogManager;
+import com.google.gson.JsonParseException;
+
+/**
+ * Remembers the output of running each Java install with -version, along with the size and last modified time of the
+ * executable at the time, so installs are only run again once they've changed. The paths found by the last search for
+ * Java installs are also kept, so the installs can be listed straight away on the next start.
+ */
+public class JavaInfoCache {
+    private static final Path CACHE_FILE = FileSystem.CACHE.resolve("java_infos.json");
+
+    /**
+     * How long to wait for a Java install to print its version before giving up on it.
+     */
+    private static final long PROBE_TIMEOUT_SECONDS = 10;
+
+    private static volatile CachedJavas cache = null;
+    private static volatile boolean dirty = false;
+
+    /**
+     * Gets the output of running the given Java executable with -version, running it only if it's not been run before
+     * or has changed since.
+     */
+    public static String getVersionInfo(String javaPath) {
+        loadCache();
+
+        Path path = Paths.get(javaPath);
+        ProbedJava probed = cache.probes.get(javaPath);
+
+        try {
+            String realPath = path.toRealPath().toString();
+            long size = Files.size(path);
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+
+            if (probed != null && realPath.equals(probed.realPath) && size == probed.size
+                    && lastModified == probed.lastModified) {
+                return probed.versionInfo;
+            }
+
+            probed = new ProbedJava();
+            probed.realPath = realPath;
+            probed.size = size;
+            probed.lastModified = lastModified;
+        } catch (IOException e) {
+            // if it can't be looked at, still try to run it but don't remember the output
+            return probe(javaPath);
+        }
+
+        probed.versionInfo = probe(javaPath);
+
+        // only successful runs are remembered, so a timed out install is tried again next time
+        if (!probed.versionInfo.isEmpty()) {
+            cache.probes.put(javaPath, probed);
+            dirty = true;
+        }
+
+        return probed.versionInfo;
+    }
+
+    /**
+     * Gets the Java executables found by the last search, or null if there hasn't been one.
+     */
+    public static List<String> getJavaPaths() {
+        loadCache();
+
+        return cache.javaPaths == null ? null : new ArrayList<>(cache.javaPaths);
+    }
+
+    public static void setJavaPaths(List<String> javaPaths) {
+        loadCache();
+
+        if (!javaPaths.equals(cache.javaPaths)) {
+            cache.javaPaths = new ArrayList<>(javaPaths);
+            dirty = true;
+        }
+    }
+
+    public static synchronized void saveCache() {
+        if (!dirty) {
+            return;
+        }
+
+        try (FileWriter fileWriter = new FileWriter(CACHE_FILE.toFile())) {
+            Gsons.DEFAULT_SLIM.toJson(cache, fileWriter);
+            dirty = false;
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to save Java installs cache", e);
+        }
+    }
+
+    private static synchronized void loadCache() {
+        if (cache != null) {
+            return;
+        }
+
+        CachedJavas loaded = null;
+
+        if (Files.exists(CACHE_FILE)) {
+            try (FileReader fileReader = new FileReader(CACHE_FILE.toFile())) {
+                loaded = Gsons.DEFAULT_SLIM.fromJson(fileReader, CachedJavas.class);
+            } catch (IOException | JsonParseException e) {
+                LogManager.logStackTrace("Failed to read Java installs cache", e);
+            }
+        }
+
+        if (loaded == null) {
+            loaded = new CachedJavas();
+        }
+
+        if (loaded.probes == null) {
+            loaded.probes = new ConcurrentHashMap<>();
+        }
+
+        cache = loaded;
+    }
+
+    /**
+     * Runs the given Java executable with -version, giving up if it takes too long. The output goes to a temp file
+     * rather than being read from the process, so an install which hangs can't hang the caller too.
+     */
+    private static String probe(String javaPath) {
+        Path output = null;
+        Process process = null;
+
+        try {
+            output = Files.createTempFile("java-version", ".txt");
+
+            ProcessBuilder processBuilder = new ProcessBuilder(javaPath, "-version");
+            processBuilder.redirectErrorStream(true);
+            processBuilder.redirectOutput(output.toFile());
+
+            process = processBuilder.start();
+
+            if (!process.waitFor(PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LogManager.warn("Timed out getting the version of Java at " + javaPath);
+                return "";
+            }
+
+            return new String(Files.readAllBytes(output), StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to get the version of Java at " + javaPath, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+
+            try {
+                if (output != null) {
+                    Files.deleteIfExists(output);
+                }
+            } catch (IOException ignored) {
+            }
+        }
+
+        return "";
+    }
+
+    private static class CachedJavas {
+        public List<String> javaPaths;
+        public ConcurrentHashMap<String, ProbedJava> probes;
+    }
+
+    private static class ProbedJava {
+        public String realPath;
+        public long size;
+        public long lastModified;
+        public String versionInfo;
+    }
+}
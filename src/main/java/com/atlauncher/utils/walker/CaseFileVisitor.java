@@ -23,25 +23,50 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import com.atlauncher.data.json.CaseType;
 import com.atlauncher.data.json.Mod;
 import com.atlauncher.utils.FileUtils;
 import com.atlauncher.utils.Utils;
 
+/**
+ * Renames the files of the given mods to be upper or lower case.
+ *
+ * Only the directories the mods can be installed to (and the directories leading to them) are descended into, so the
+ * data folders some mods keep in the mods directory aren't walked.
+ */
 public final class CaseFileVisitor extends SimpleFileVisitor<Path> {
     private final CaseType caseType;
-    private final List<Mod> mods;
+    private final Set<String> files;
+    private final Set<Path> directories = new HashSet<>();
 
-    public CaseFileVisitor(CaseType caseType, List<Mod> mods) {
+    public CaseFileVisitor(CaseType caseType, Path modsDirectory, List<Mod> mods) {
         this.caseType = caseType;
-        this.mods = mods;
+        this.files = mods.stream().map(m -> m.getFile().toLowerCase(Locale.ENGLISH)).collect(Collectors.toSet());
+
+        for (Mod mod : mods) {
+            Path directory = mod.path == null ? modsDirectory
+                    : modsDirectory.getParent().resolve(mod.path).normalize();
+
+            for (; directory != null && directory.startsWith(modsDirectory); directory = directory.getParent()) {
+                this.directories.add(directory);
+            }
+        }
+    }
+
+    @Override
+    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+        return directories.contains(dir) ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
     }
 
     @Override
     public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) throws IOException {
-        if (this.mods.stream().noneMatch(m -> m.getFile().equalsIgnoreCase(path.getFileName().toString()))) {
+        if (!this.files.contains(path.getFileName().toString().toLowerCase(Locale.ENGLISH))) {
             return FileVisitResult.CONTINUE;
         }
 
@@ -0,0 +1,220 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils.walker;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import com.atlauncher.thread.TaskPools;
+import com.google.common.collect.Lists;
+
+/**
+ * Walks, deletes and copies whole directory trees, doing the per file work on the disk pool.
+ *
+ * The tree is listed on the calling thread first, skipping any directories the caller isn't interested in before
+ * they're descended into, and then the files are worked on in batches so that large trees (such as instances with tens
+ * of thousands of config and resource files) don't queue up a task per file.
+ */
+public final class FileTree {
+    private static final int BATCH_SIZE = 128;
+
+    /**
+     * Lists all the files under the given directory, not descending into any directories the given predicate rejects.
+     *
+     * @param root    the directory to list
+     * @param descend if the given directory (under the root) should be descended into
+     * @param follow  if symbolic links to directories should be followed
+     * @return the files found, in the order they were visited
+     */
+    public static List<Path> listFiles(Path root, Predicate<Path> descend, boolean follow) throws IOException {
+        List<Path> files = new ArrayList<>();
+
+        walk(root, descend, follow, files, null);
+
+        return files;
+    }
+
+    /**
+     * Deletes the given directory and everything in it. Symbolic links are deleted rather than followed.
+     *
+     * Files are deleted in parallel, and then the directories from the deepest up. Everything that can be deleted is,
+     * and the first error (if any) is thrown at the end.
+     */
+    public static void delete(Path dir) throws IOException {
+        List<Path> files = new ArrayList<>();
+        List<Path> directories = new ArrayList<>();
+
+        walk(dir, d -> true, false, files, directories);
+
+        AtomicReference<IOException> error = new AtomicReference<>();
+        forEachBatch("FileTree::delete", files, file -> Files.delete(file), error);
+
+        // directories are listed parent first, so go backwards to delete the deepest ones first
+        for (Path directory : Lists.reverse(directories)) {
+            try {
+                Files.delete(directory);
+            } catch (IOException e) {
+                error.compareAndSet(null, e);
+            }
+        }
+
+        if (error.get() != null) {
+            throw error.get();
+        }
+    }
+
+    /**
+     * Deletes everything directly in the given directory which matches the predicate, recursively deleting any matching
+     * directories. The directory itself is left.
+     */
+    public static void deleteChildren(Path dir, Predicate<Path> filter) throws IOException {
+        List<Path> children = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, filter::test)) {
+            stream.forEach(children::add);
+        }
+
+        AtomicReference<IOException> error = new AtomicReference<>();
+        forEachBatch("FileTree::deleteChildren", children, child -> {
+            if (Files.isDirectory(child) && !Files.isSymbolicLink(child)) {
+                delete(child);
+            } else {
+                Files.delete(child);
+            }
+        }, error);
+
+        if (error.get() != null) {
+            throw error.get();
+        }
+    }
+
+    /**
+     * Copies the contents of one directory into another, replacing any files that already exist. Symbolic links are
+     * followed, so their contents are copied.
+     *
+     * @param from the directory to copy from
+     * @param to   the directory to copy into, which is created if needed
+     * @param link if files should be hard linked rather than copied when possible. This should only be used when
+     *             neither side will be written to in place afterwards, as both will share the same file on disk
+     */
+    public static void copy(Path from, Path to, boolean link) throws IOException {
+        List<Path> files = new ArrayList<>();
+        List<Path> directories = new ArrayList<>();
+
+        walk(from, d -> true, true, files, directories);
+
+        for (Path directory : directories) {
+            Files.createDirectories(resolve(from, to, directory));
+        }
+
+        // once a link fails (such as when copying across drives), all the others will too so stop trying
+        AtomicBoolean canLink = new AtomicBoolean(link);
+        AtomicReference<IOException> error = new AtomicReference<>();
+        forEachBatch("FileTree::copy", files, file -> {
+            Path target = resolve(from, to, file);
+
+            if (canLink.get()) {
+                try {
+                    Files.deleteIfExists(target);
+                    Files.createLink(target, file);
+                    return;
+                } catch (IOException | UnsupportedOperationException e) {
+                    canLink.set(false);
+                }
+            }
+
+            Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }, error);
+
+        if (error.get() != null) {
+            throw error.get();
+        }
+    }
+
+    private static Path resolve(Path from, Path to, Path path) {
+        // resolve by string, as the paths may be on different file systems
+        return to.resolve(from.relativize(path).toString());
+    }
+
+    private static void walk(Path root, Predicate<Path> descend, boolean follow, List<Path> files,
+            List<Path> directories) throws IOException {
+        Set<FileVisitOption> options = follow ? EnumSet.of(FileVisitOption.FOLLOW_LINKS)
+                : Collections.emptySet();
+
+        Files.walkFileTree(root, options, Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (!dir.equals(root) && !descend.test(dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+
+                if (directories != null) {
+                    directories.add(dir);
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                files.add(file);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void forEachBatch(String taskName, List<Path> paths, PathAction action,
+            AtomicReference<IOException> error) {
+        if (paths.size() <= BATCH_SIZE) {
+            runBatch(paths, action, error);
+            return;
+        }
+
+        TaskPools.DISK.forEach(taskName, Lists.partition(paths, BATCH_SIZE), batch -> runBatch(batch, action, error));
+    }
+
+    private static void runBatch(List<Path> paths, PathAction action, AtomicReference<IOException> error) {
+        for (Path path : paths) {
+            try {
+                action.run(path);
+            } catch (IOException e) {
+                error.compareAndSet(null, e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface PathAction {
+        void run(Path path) throws IOException;
+    }
+}
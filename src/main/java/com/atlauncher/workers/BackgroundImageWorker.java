@@ -30,6 +30,7 @@ import javax.swing.SwingWorker;
 import com.atlauncher.FileSystem;
 import com.atlauncher.network.Download;
 import com.atlauncher.network.DownloadException;
+import com.atlauncher.network.DownloadPriority;
 
 public class BackgroundImageWorker extends SwingWorker<ImageIcon, Object> {
     private final JLabel label;
@@ -48,7 +49,8 @@ public class BackgroundImageWorker extends SwingWorker<ImageIcon, Object> {
     protected ImageIcon doInBackground() throws Exception {
         Path path = FileSystem.REMOTE_IMAGE_CACHE.resolve(this.url.replaceAll("[^A-Za-z0-9]", ""));
 
-        Download download = Download.build().setUrl(this.url).ignoreFailures().downloadTo(path);
+        Download download = Download.build().setUrl(this.url).priority(DownloadPriority.IMAGES).ignoreFailures()
+                .downloadTo(path);
 
         if (!Files.exists(path)) {
             try {
@@ -33,7 +33,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -59,7 +58,6 @@ import com.atlauncher.data.Type;
 import com.atlauncher.data.curseforge.CurseForgeAttachment;
 import com.atlauncher.data.curseforge.CurseForgeFile;
 import com.atlauncher.data.curseforge.CurseForgeFileHash;
-import com.atlauncher.data.curseforge.CurseForgeFingerprint;
 import com.atlauncher.data.curseforge.CurseForgeProject;
 import com.atlauncher.data.curseforge.pack.CurseForgeManifest;
 import com.atlauncher.data.curseforge.pack.CurseForgeModLoader;
@@ -76,15 +74,12 @@ import com.atlauncher.data.minecraft.Arguments;
 import com.atlauncher.data.minecraft.AssetIndex;
 import com.atlauncher.data.minecraft.Download;
 import com.atlauncher.data.minecraft.Downloads;
-import com.atlauncher.data.minecraft.FabricMod;
 import com.atlauncher.data.minecraft.JavaRuntime;
-import com.atlauncher.data.minecraft.JavaRuntimeManifest;
-import com.atlauncher.data.minecraft.JavaRuntimeManifestFileType;
 import com.atlauncher.data.minecraft.JavaRuntimes;
 import com.atlauncher.data.minecraft.Library;
 import com.atlauncher.data.minecraft.LoggingFile;
-import com.atlauncher.data.minecraft.MCMod;
 import com.atlauncher.data.minecraft.MinecraftVersion;
+import com.atlauncher.data.minecraft.ModMetadata;
 import com.atlauncher.data.minecraft.MojangAssetIndex;
 import com.atlauncher.data.minecraft.MojangDownload;
 import com.atlauncher.data.minecraft.MojangDownloads;
@@ -115,26 +110,33 @@ import com.atlauncher.data.technic.TechnicSolderModpackManifest;
 import com.atlauncher.exceptions.LocalException;
 import com.atlauncher.gui.dialogs.BrowserDownloadDialog;
 import com.atlauncher.interfaces.NetworkProgressable;
+import com.atlauncher.managers.CombinedJarManager;
 import com.atlauncher.managers.DialogManager;
 import com.atlauncher.managers.InstanceManager;
 import com.atlauncher.managers.LogManager;
 import com.atlauncher.managers.MinecraftManager;
+import com.atlauncher.managers.ModIdentificationManager;
+import com.atlauncher.managers.ModMetadataManager;
 import com.atlauncher.managers.ServerManager;
+import com.atlauncher.managers.SnapshotManager;
 import com.atlauncher.network.Analytics;
 import com.atlauncher.network.DownloadPool;
 import com.atlauncher.network.ErrorReporting;
+import com.atlauncher.network.JavaRuntimeDownload;
+import com.atlauncher.thread.TaskPools;
 import com.atlauncher.utils.ArchiveUtils;
 import com.atlauncher.utils.CurseForgeApi;
 import com.atlauncher.utils.FileUtils;
-import com.atlauncher.utils.Hashing;
 import com.atlauncher.utils.Java;
 import com.atlauncher.utils.ModpacksChApi;
 import com.atlauncher.utils.ModrinthApi;
 import com.atlauncher.utils.OS;
+import com.atlauncher.utils.PackArchive;
 import com.atlauncher.utils.Pair;
 import com.atlauncher.utils.TechnicApi;
 import com.atlauncher.utils.Utils;
 import com.atlauncher.utils.walker.CaseFileVisitor;
+import com.atlauncher.utils.walker.FileTree;
 import com.google.gson.reflect.TypeToken;
 
 import okhttp3.CacheControl;
@@ -152,15 +154,21 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
     public final com.atlauncher.data.PackVersion version;
     public final String shareCode;
     public final boolean showModsChooser;
+
+    /**
+     * If this install is running without a UI (from the command line), in which case no dialogs are shown and the
+     * default selection of optional mods is used.
+     */
+    public boolean headless = false;
     public LoaderVersion loaderVersion;
     public CurseForgeManifest curseForgeManifest;
-    public Path curseForgeExtractedPath;
+    public PackArchive curseForgeArchive;
     public ModrinthModpackManifest modrinthManifest;
-    public Path modrinthExtractedPath;
+    public PackArchive modrinthArchive;
     public final ModpacksChPackManifest modpacksChPackManifest;
     public ModpacksChPackVersionManifest modpacksChPackVersionManifest;
     public final MultiMCManifest multiMCManifest;
-    public final Path multiMCExtractedPath;
+    public final PackArchive multiMCArchive;
     public final TechnicModpack technicModpack;
     public TechnicSolderModpackManifest technicSolderModpackManifest;
     public Path technicModpackExtractedPath;
@@ -184,6 +192,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
     public List<Mod> selectedMods;
     public List<Mod> unselectedMods = new ArrayList<>();
     public List<DisableableMod> modsInstalled = new ArrayList<>();
+    private final List<DisableableMod> modsFromArchive = new ArrayList<>();
 
     public boolean assetsMapToResources = false;
 
@@ -202,9 +211,9 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
     public InstanceInstaller(String name, com.atlauncher.data.Pack pack, com.atlauncher.data.PackVersion version,
             boolean isReinstall, boolean isServer, boolean changingLoader, boolean saveMods, String shareCode,
             boolean showModsChooser, LoaderVersion loaderVersion, CurseForgeManifest curseForgeManifest,
-            Path curseForgeExtractedPath, ModpacksChPackManifest modpacksChPackManifest,
-            ModrinthModpackManifest modrinthManifest, Path modrinthExtractedPath, MultiMCManifest multiMCManifest,
-            Path multiMCExtractedPath, TechnicModpack technicModpack, JDialog dialog) {
+            PackArchive curseForgeArchive, ModpacksChPackManifest modpacksChPackManifest,
+            ModrinthModpackManifest modrinthManifest, PackArchive modrinthArchive, MultiMCManifest multiMCManifest,
+            PackArchive multiMCArchive, TechnicModpack technicModpack, JDialog dialog) {
         this.name = name;
         this.pack = pack;
         this.version = version;
@@ -226,12 +235,12 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
 
         this.loaderVersion = loaderVersion;
         this.curseForgeManifest = curseForgeManifest;
-        this.curseForgeExtractedPath = curseForgeExtractedPath;
+        this.curseForgeArchive = curseForgeArchive;
         this.modpacksChPackManifest = modpacksChPackManifest;
         this.modrinthManifest = modrinthManifest;
-        this.modrinthExtractedPath = modrinthExtractedPath;
+        this.modrinthArchive = modrinthArchive;
         this.multiMCManifest = multiMCManifest;
-        this.multiMCExtractedPath = multiMCExtractedPath;
+        this.multiMCArchive = multiMCArchive;
         this.technicModpack = technicModpack;
     }
 
@@ -322,7 +331,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
 
             downloadMinecraftVersionJson();
 
-            if (this.packVersion.messages != null) {
+            if (this.packVersion.messages != null && !headless) {
                 showMessages();
             }
 
@@ -564,7 +573,11 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
                     .map(hash -> hash.value)
                     .toArray(String[]::new);
 
-            modrinthVersions.putAll(ModrinthApi.getVersionsFromSha1Hashes(sha1Hashes));
+            Map<String, ModrinthVersion> foundVersions = ModrinthApi.getVersionsFromSha1Hashes(sha1Hashes);
+
+            if (foundVersions != null) {
+                modrinthVersions.putAll(foundVersions);
+            }
 
             if (modrinthVersions.size() != 0) {
                 modrinthProjects.putAll(ModrinthApi.getProjectsAsMap(
@@ -620,7 +633,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
             return mod;
         }).filter(m -> m != null).collect(Collectors.toList());
 
-        if (manualDownloadMods.size() != 0 && !App.settings.seenCurseForgeProjectDistributionDialog) {
+        if (manualDownloadMods.size() != 0 && !headless && !App.settings.seenCurseForgeProjectDistributionDialog) {
             App.settings.seenCurseForgeProjectDistributionDialog = true;
             App.settings.save();
 
@@ -645,6 +658,10 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         Path manifestFile = this.temp.resolve(version._curseForgeFile.fileName.toLowerCase());
 
         if (version._curseForgeFile.downloadUrl == null) {
+            if (headless) {
+                throw new LocalException("This modpack needs to be downloaded manually through a browser");
+            }
+
             if (!App.settings.seenCurseForgeProjectDistributionDialog) {
                 App.settings.seenCurseForgeProjectDistributionDialog = true;
                 App.settings.save();
@@ -738,12 +755,9 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         fireTask(GetText.tr("Extracting Manifest"));
         fireSubProgressUnknown();
 
-        curseForgeManifest = Gsons.MINECRAFT.fromJson(new String(ArchiveUtils.getFile(manifestFile, "manifest.json")),
+        curseForgeArchive = PackArchive.open(manifestFile);
+        curseForgeManifest = Gsons.MINECRAFT.fromJson(curseForgeArchive.getFile("manifest.json"),
                 CurseForgeManifest.class);
-        curseForgeExtractedPath = this.temp.resolve("curseforgeimport");
-
-        ArchiveUtils.extract(manifestFile, curseForgeExtractedPath);
-        Files.delete(manifestFile);
 
         generatePackVersionFromCurseForgeManifest();
 
@@ -781,13 +795,9 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         fireTask(GetText.tr("Extracting Manifest"));
         fireSubProgressUnknown();
 
-        modrinthManifest = Gsons.MINECRAFT.fromJson(
-                new String(ArchiveUtils.getFile(manifestFile, "modrinth.index.json")),
+        modrinthArchive = PackArchive.open(manifestFile);
+        modrinthManifest = Gsons.MINECRAFT.fromJson(modrinthArchive.getFile("modrinth.index.json"),
                 ModrinthModpackManifest.class);
-        modrinthExtractedPath = this.temp.resolve("modrinthimport");
-
-        ArchiveUtils.extract(manifestFile, modrinthExtractedPath);
-        Files.delete(manifestFile);
 
         generatePackVersionFromModrinthManifest();
 
@@ -927,7 +937,10 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
                 .count();
 
         // if not all non downloadable mods, we can't install
-        if (nonDownloadableMods != 0) {
+        if (nonDownloadableMods != 0 && headless) {
+            throw new LocalException(String.format("%d mods for this pack are not available to download",
+                    nonDownloadableMods));
+        } else if (nonDownloadableMods != 0) {
             DialogManager.okDialog().setType(DialogManager.ERROR)
                     .setTitle(GetText.tr("{0} Mods Not Available", nonDownloadableMods))
                     .setContent(new HTMLBuilder().center().text(GetText.tr(
@@ -1007,7 +1020,11 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
                     .map(hash -> hash.value)
                     .toArray(String[]::new);
 
-            modrinthVersions.putAll(ModrinthApi.getVersionsFromSha1Hashes(sha1Hashes));
+            Map<String, ModrinthVersion> foundVersions = ModrinthApi.getVersionsFromSha1Hashes(sha1Hashes);
+
+            if (foundVersions != null) {
+                modrinthVersions.putAll(foundVersions);
+            }
 
             if (modrinthVersions.size() != 0) {
                 modrinthProjects.putAll(ModrinthApi.getProjectsAsMap(
@@ -1082,7 +1099,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
                 })
                 .collect(Collectors.toList());
 
-        if (manualDownloadMods.size() != 0 && !App.settings.seenCurseForgeProjectDistributionDialog) {
+        if (manualDownloadMods.size() != 0 && !headless && !App.settings.seenCurseForgeProjectDistributionDialog) {
             App.settings.seenCurseForgeProjectDistributionDialog = true;
             App.settings.save();
 
@@ -1599,7 +1616,13 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
 
         boolean hasOptional = this.allMods.stream().anyMatch(Mod::isOptional);
 
-        if (this.allMods.size() != 0 && hasOptional) {
+        if (this.allMods.size() != 0 && hasOptional && headless) {
+            this.selectedMods = this.allMods.stream()
+                    .filter(m -> !(isServer ? m.isServerOptional() : m.isOptional()) || m.isSelected())
+                    .collect(Collectors.toList());
+            this.unselectedMods = this.allMods.stream().filter(m -> !this.selectedMods.contains(m))
+                    .collect(Collectors.toList());
+        } else if (this.allMods.size() != 0 && hasOptional) {
             com.atlauncher.gui.dialogs.ModsChooser modsChooser = new com.atlauncher.gui.dialogs.ModsChooser(this);
 
             if (this.shareCode != null) {
@@ -1660,74 +1683,18 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         }
 
         if (this.multiMCManifest != null) {
-            String minecraftFolder = Files.exists(multiMCExtractedPath.resolve(".minecraft")) ? ".minecraft"
-                    : "minecraft";
-
-            if (Files.exists(multiMCExtractedPath.resolve(minecraftFolder + "/mods"))) {
-                try (Stream<Path> list = Files.list(multiMCExtractedPath.resolve(minecraftFolder + "/mods"))) {
-                    this.modsInstalled.addAll(list.filter(p -> !Files.isDirectory(p))
-                            .filter(p -> p.toString().toLowerCase().endsWith(".jar")
-                                    || p.toString().toLowerCase().endsWith(".zip"))
-                            .map(p -> convertPathToDisableableMod(p, Type.mods)).collect(Collectors.toList()));
-                } catch (IOException e) {
-                    LogManager.logStackTrace(e);
-                }
-            }
+            String minecraftFolder = multiMCArchive.hasDirectory(".minecraft") ? ".minecraft" : "minecraft";
 
-            if (Files.exists(multiMCExtractedPath.resolve(minecraftFolder + "/mods/" + packVersion.minecraft))) {
-                try (Stream<Path> list = Files
-                        .list(multiMCExtractedPath.resolve(minecraftFolder + "/mods/" + packVersion.minecraft))) {
-                    this.modsInstalled.addAll(list.filter(p -> !Files.isDirectory(p))
-                            .filter(p -> p.toString().toLowerCase().endsWith(".jar")
-                                    || p.toString().toLowerCase().endsWith(".zip"))
-                            .map(p -> convertPathToDisableableMod(p, Type.dependency)).collect(Collectors.toList()));
-                } catch (IOException e) {
-                    LogManager.logStackTrace(e);
-                }
-            }
-
-            if (Files.exists(multiMCExtractedPath.resolve(minecraftFolder + "/mods/ic2"))) {
-                try (Stream<Path> list = Files.list(multiMCExtractedPath.resolve(minecraftFolder + "/mods/ic2"))) {
-                    this.modsInstalled.addAll(list.filter(p -> !Files.isDirectory(p))
-                            .filter(p -> p.toString().toLowerCase().endsWith(".jar")
-                                    || p.toString().toLowerCase().endsWith(".zip"))
-                            .map(p -> convertPathToDisableableMod(p, Type.ic2lib)).collect(Collectors.toList()));
-                } catch (IOException e) {
-                    LogManager.logStackTrace(e);
-                }
-            }
+            addModsFromArchive(multiMCArchive, minecraftFolder + "/mods", Type.mods);
+            addModsFromArchive(multiMCArchive, minecraftFolder + "/mods/" + packVersion.minecraft, Type.dependency);
+            addModsFromArchive(multiMCArchive, minecraftFolder + "/mods/ic2", Type.ic2lib);
         }
 
         if (this.curseForgeManifest != null) {
-            if (Files.exists(curseForgeExtractedPath
-                    .resolve(Optional.ofNullable(curseForgeManifest.overrides).orElse("overrides") + "/mods"))) {
-                try (Stream<Path> list = Files.list(curseForgeExtractedPath
-                        .resolve(Optional.ofNullable(curseForgeManifest.overrides).orElse("overrides") + "/mods"))) {
-                    this.modsInstalled.addAll(list.filter(p -> !Files.isDirectory(p))
-                            .filter(p -> p.toString().toLowerCase().endsWith(".jar")
-                                    || p.toString().toLowerCase().endsWith(".zip"))
-                            .map(p -> convertPathToDisableableMod(p, Type.mods)).collect(Collectors.toList()));
-                } catch (IOException e) {
-                    LogManager.logStackTrace(e);
-                }
-            }
+            String overrides = Optional.ofNullable(curseForgeManifest.overrides).orElse("overrides");
 
-            if (Files.exists(
-                    curseForgeExtractedPath
-                            .resolve(Optional.ofNullable(curseForgeManifest.overrides).orElse("overrides")
-                                    + "/mods/" + packVersion.minecraft))) {
-                try (Stream<Path> list = Files.list(
-                        curseForgeExtractedPath
-                                .resolve(Optional.ofNullable(curseForgeManifest.overrides).orElse("overrides")
-                                        + "/mods/" + packVersion.minecraft))) {
-                    this.modsInstalled.addAll(list.filter(p -> !Files.isDirectory(p))
-                            .filter(p -> p.toString().toLowerCase().endsWith(".jar")
-                                    || p.toString().toLowerCase().endsWith(".zip"))
-                            .map(p -> convertPathToDisableableMod(p, Type.dependency)).collect(Collectors.toList()));
-                } catch (IOException e) {
-                    LogManager.logStackTrace(e);
-                }
-            }
+            addModsFromArchive(curseForgeArchive, overrides + "/mods", Type.mods);
+            addModsFromArchive(curseForgeArchive, overrides + "/mods/" + packVersion.minecraft, Type.dependency);
         }
 
         if (this.technicModpack != null && this.technicModpack.solder == null) {
@@ -1767,6 +1734,47 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         }
     }
 
+    /**
+     * Adds the mods in the given folder of the archive to the list of mods being installed. The mods aren't extracted
+     * until the overrides are copied into the instance, so their metadata is read once they're there.
+     */
+    private void addModsFromArchive(PackArchive archive, String directory, Type t) {
+        for (String filename : archive.listFiles(directory)) {
+            if (!filename.toLowerCase().endsWith(".jar") && !filename.toLowerCase().endsWith(".zip")) {
+                continue;
+            }
+
+            DisableableMod mod = new DisableableMod();
+
+            mod.optional = true;
+            mod.name = filename;
+            mod.version = "Unknown";
+            mod.description = null;
+            mod.file = filename;
+            mod.type = t;
+
+            this.modsInstalled.add(mod);
+            this.modsFromArchive.add(mod);
+        }
+    }
+
+    private void readMetadataForModsFromArchive() {
+        for (DisableableMod mod : this.modsFromArchive) {
+            Path p = mod.getFile(root, packVersion.minecraft).toPath();
+
+            if (!Files.exists(p)) {
+                continue;
+            }
+
+            ModMetadata metadata = ModMetadataManager.readMetadata(p);
+            if (metadata.hasMetadata()) {
+                mod.name = Optional.ofNullable(metadata.getName()).orElse(mod.file);
+                mod.version = Optional.ofNullable(metadata.getVersion()).orElse("Unknown");
+                mod.description = Optional.ofNullable(metadata.getDescription()).orElse(null);
+            }
+        }
+    }
+
     private DisableableMod convertPathToDisableableMod(Path p, Type t) {
         DisableableMod mod = new DisableableMod();
 
@@ -1775,18 +1783,11 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         mod.version = "Unknown";
         mod.description = null;
 
-        MCMod mcMod = Utils.getMCModForFile(p.toFile());
-        if (mcMod != null) {
-            mod.name = Optional.ofNullable(mcMod.name).orElse(p.getFileName().toString());
-            mod.version = Optional.ofNullable(mcMod.version).orElse("Unknown");
-            mod.description = Optional.ofNullable(mcMod.description).orElse(null);
-        } else {
-            FabricMod fabricMod = Utils.getFabricModForFile(p.toFile());
-            if (fabricMod != null) {
-                mod.name = Optional.ofNullable(fabricMod.name).orElse(p.getFileName().toString());
-                mod.version = Optional.ofNullable(fabricMod.version).orElse("Unknown");
-                mod.description = Optional.ofNullable(fabricMod.description).orElse(null);
-            }
+        ModMetadata metadata = ModMetadataManager.readMetadata(p);
+        if (metadata.hasMetadata()) {
+            mod.name = Optional.ofNullable(metadata.getName()).orElse(p.getFileName().toString());
+            mod.version = Optional.ofNullable(metadata.getVersion()).orElse("Unknown");
+            mod.description = Optional.ofNullable(metadata.getDescription()).orElse(null);
         }
 
         mod.file = p.getFileName().toString();
@@ -1866,17 +1867,14 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
             return false;
         }
 
-        downloadInstanceImage();
-        if (isCancelled()) {
-            return false;
-        }
+        readMetadataForModsFromArchive();
 
-        checkModsOnCurseForge();
+        downloadInstanceImage();
         if (isCancelled()) {
             return false;
         }
 
-        checkModsOnModrinth();
+        checkModsOnPlatforms();
         if (isCancelled()) {
             return false;
         }
@@ -1987,6 +1985,9 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
 
         instance.save();
 
+        // get the custom minecraft.jar ready before the first launch
+        CombinedJarManager.prebuild(instance);
+
         if (this.instance != null) {
             InstanceManager.getInstances().remove(this.instance);
         }
@@ -2164,9 +2165,10 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
 
         MojangAssetIndex assetIndex = this.minecraftVersion.assetIndex;
 
-        AssetIndex index = com.atlauncher.network.Download.build().cached().setUrl(assetIndex.url).hash(assetIndex.sha1)
-                .size(assetIndex.size).downloadTo(FileSystem.RESOURCES_INDEXES.resolve(assetIndex.id + ".json"))
-                .asClass(AssetIndex.class);
+        AssetIndex index = SnapshotManager.getAssetIndex(assetIndex,
+                com.atlauncher.network.Download.build().cached().setUrl(assetIndex.url).hash(assetIndex.sha1)
+                        .size(assetIndex.size).downloadTo(FileSystem.RESOURCES_INDEXES.resolve(assetIndex.id + ".json"))
+                        .rememberVerified());
 
         if (index.mapToResources) {
             this.assetsMapToResources = true;
@@ -2374,7 +2376,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         return libraries;
     }
 
-    private void downloadLibraries() {
+    protected void downloadLibraries() {
         addPercent(5);
         fireTask(GetText.tr("Downloading Libraries"));
         fireSubProgressUnknown();
@@ -2499,59 +2501,20 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
 
             JavaRuntime runtimeToDownload = runtimesForSystem.get(minecraftVersion.javaVersion.component).get(0);
 
-            try {
-                JavaRuntimeManifest javaRuntimeManifest = com.atlauncher.network.Download.build().cached()
-                        .setUrl(runtimeToDownload.manifest.url).size(runtimeToDownload.manifest.size)
-                        .hash(runtimeToDownload.manifest.sha1).downloadTo(FileSystem.MINECRAFT_RUNTIMES
-                                .resolve(minecraftVersion.javaVersion.component).resolve("manifest.json"))
-                        .asClassWithThrow(JavaRuntimeManifest.class);
-
-                OkHttpClient httpClient = Network.createProgressClient(this);
-                DownloadPool pool = new DownloadPool();
-
-                // create root directory
-                Path runtimeSystemDirectory = FileSystem.MINECRAFT_RUNTIMES
-                        .resolve(minecraftVersion.javaVersion.component).resolve(runtimeSystemString);
-                Path runtimeDirectory = runtimeSystemDirectory.resolve(minecraftVersion.javaVersion.component);
-                FileUtils.createDirectory(runtimeDirectory);
-
-                // create all the directories
-                javaRuntimeManifest.files.forEach((key, file) -> {
-                    if (file.type == JavaRuntimeManifestFileType.DIRECTORY) {
-                        FileUtils.createDirectory(runtimeDirectory.resolve(key));
-                    }
-                });
-
-                // collect the files we need to download
-                javaRuntimeManifest.files.forEach((key, file) -> {
-                    if (file.type == JavaRuntimeManifestFileType.FILE) {
-                        com.atlauncher.network.Download download = new com.atlauncher.network.Download()
-                                .setUrl(file.downloads.raw.url).downloadTo(runtimeDirectory.resolve(key))
-                                .hash(file.downloads.raw.sha1).size(file.downloads.raw.size).executable(file.executable)
-                                .withInstanceInstaller(this).withHttpClient(httpClient);
-
-                        pool.add(download);
-                    }
-                });
-
-                DownloadPool smallPool = pool.downsize();
-
-                this.setTotalBytes(smallPool.totalSize());
-                this.fireSubProgress(0);
+            downloadRuntime(runtimeToDownload, runtimeSystemString);
+        }
+    }
 
-                smallPool.downloadAll();
+    private void downloadRuntime(JavaRuntime runtimeToDownload, String runtimeSystemString) {
+        try {
+            this.fireSubProgress(0);
 
-                // write out the version file (theres also a .sha1 file created, but we're not
-                // doing that)
-                Files.write(runtimeSystemDirectory.resolve(".version"),
-                        runtimeToDownload.version.name.getBytes(StandardCharsets.UTF_8));
-                // Files.write(runtimeSystemDirectory.resolve(minecraftVersion.javaVersion.component
-                // + ".sha1"), runtimeToDownload.version.name.getBytes(StandardCharsets.UTF_8));
+            new JavaRuntimeDownload(runtimeToDownload, minecraftVersion.javaVersion.component, runtimeSystemString,
+                    Network.createProgressClient(this), this).withInstanceInstaller(this).download();
 
-                hideSubProgressBar();
-            } catch (IOException e) {
-                LogManager.logStackTrace("Failed to download Java runtime", e);
-            }
+            hideSubProgressBar();
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to download Java runtime", e);
         }
     }
 
@@ -2571,7 +2534,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         hideSubProgressBar();
     }
 
-    private void downloadMods() throws Exception {
+    protected void downloadMods() throws Exception {
         addPercent(25);
 
         if (multiMCManifest != null || selectedMods.size() == 0) {
@@ -2589,6 +2552,10 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
                     .setUrl(mod.getDownloadUrl()).downloadTo(FileSystem.DOWNLOADS.resolve(mod.getFile()))
                     .size(mod.filesize).withInstanceInstaller(this).withHttpClient(httpClient);
 
+            if (mod.mirrors != null) {
+                download = download.mirrors(mod.mirrors.toArray(new String[0]));
+            }
+
             if (mod.ignoreFailures) {
                 download = download.ignoreFailures();
             }
@@ -2617,7 +2584,11 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
 
         List<Mod> browserDownloadMods = this.selectedMods.stream().filter(mod -> mod.download == DownloadType.browser)
                 .collect(Collectors.toList());
-        if (browserDownloadMods.size() != 0) {
+        if (browserDownloadMods.size() != 0 && headless) {
+            throw new LocalException(String.format("%d mods need to be downloaded manually through a browser: %s",
+                    browserDownloadMods.size(),
+                    browserDownloadMods.stream().map(m -> m.name).collect(Collectors.joining(", "))));
+        } else if (browserDownloadMods.size() != 0) {
             if (curseForgeManifest != null || modpacksChPackManifest != null) {
                 fireTask(GetText.tr("Downloading Browser Mods"));
 
@@ -2680,7 +2651,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
 
         double subPercentPerMod = 100.0 / this.selectedMods.size();
 
-        this.selectedMods.parallelStream().forEach(mod -> {
+        TaskPools.DISK.forEach("InstanceInstaller::installMod", this.selectedMods, mod -> {
             mod.install(this);
             addSubPercent(subPercentPerMod);
         });
@@ -2807,6 +2778,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         }
 
         Files.walkFileTree(this.root.resolve("mods"), new CaseFileVisitor(this.packVersion.caseAllFiles,
+                this.root.resolve("mods"),
                 this.selectedMods.stream().filter(m -> m.type == ModType.mods).collect(Collectors.toList())));
     }
 
@@ -2832,20 +2804,17 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         if (curseForgeManifest != null) {
             fireSubProgressUnknown();
             fireTask(GetText.tr("Copying Overrides"));
-            Utils.copyDirectory(this.curseForgeExtractedPath
-                    .resolve(Optional.ofNullable(curseForgeManifest.overrides).orElse("overrides")).toFile(),
-                    this.root.toFile(), false);
+            curseForgeArchive.extractDirectory(Optional.ofNullable(curseForgeManifest.overrides).orElse("overrides"),
+                    this.root);
         } else if (modrinthManifest != null) {
             fireSubProgressUnknown();
             fireTask(GetText.tr("Copying Overrides"));
-            Utils.copyDirectory(this.modrinthExtractedPath.resolve("overrides").toFile(), this.root.toFile(), false);
+            modrinthArchive.extractDirectory("overrides", this.root);
 
-            if (isServer && Files.isDirectory(this.modrinthExtractedPath.resolve("server-overrides"))) {
-                Utils.copyDirectory(this.modrinthExtractedPath.resolve("server-overrides").toFile(), this.root.toFile(),
-                        false);
-            } else if (!isServer && Files.isDirectory(this.modrinthExtractedPath.resolve("client-overrides"))) {
-                Utils.copyDirectory(this.modrinthExtractedPath.resolve("client-overrides").toFile(), this.root.toFile(),
-                        false);
+            if (isServer && modrinthArchive.hasDirectory("server-overrides")) {
+                modrinthArchive.extractDirectory("server-overrides", this.root);
+            } else if (!isServer && modrinthArchive.hasDirectory("client-overrides")) {
+                modrinthArchive.extractDirectory("client-overrides", this.root);
             }
         } else if (modpacksChPackManifest != null) {
             fireSubProgressUnknown();
@@ -2892,12 +2861,10 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
             smallPool.downloadAll();
         } else if (multiMCManifest != null) {
             fireSubProgressUnknown();
-            String minecraftFolder = Files.exists(multiMCExtractedPath.resolve(".minecraft")) ? ".minecraft"
-                    : "minecraft";
+            String minecraftFolder = multiMCArchive.hasDirectory(".minecraft") ? ".minecraft" : "minecraft";
 
             fireTask(GetText.tr("Copying minecraft folder"));
-            Utils.copyDirectory(this.multiMCExtractedPath.resolve(minecraftFolder + "/").toFile(), this.root.toFile(),
-                    false);
+            multiMCArchive.extractDirectory(minecraftFolder, this.root);
         } else if (technicModpack != null) {
             if (technicModpackExtractedPath != null) {
                 fireSubProgressUnknown();
@@ -2983,120 +2950,28 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         }
     }
 
-    private void checkModsOnCurseForge() {
-        if (App.settings.dontCheckModsOnCurseForge || this.modsInstalled.size() == 0) {
+    private void checkModsOnPlatforms() {
+        if ((App.settings.dontCheckModsOnCurseForge && App.settings.dontCheckModsOnModrinth)
+                || this.modsInstalled.size() == 0) {
             return;
         }
 
-        // #. {0} is the platform we're checking mods on (e.g. CurseForge/Modrinth)
-        fireTask(GetText.tr("Checking Mods On {0}", "CurseForge"));
-        fireSubProgressUnknown();
-
-        Map<Long, DisableableMod> murmurHashes = new HashMap<>();
-
-        this.modsInstalled.stream().filter(dm -> dm.curseForgeProject == null && dm.curseForgeFile == null)
-                .filter(dm -> dm.getFile(root, this.packVersion.minecraft) != null).forEach(dm -> {
-                    try {
-                        long hash = Hashing.murmur(dm.getFile(root, this.packVersion.minecraft).toPath());
-                        murmurHashes.put(hash, dm);
-                    } catch (Throwable t) {
-                        LogManager.logStackTrace(t);
-                    }
-                });
-
-        if (murmurHashes.size() != 0) {
-            CurseForgeFingerprint fingerprintResponse = CurseForgeApi
-                    .checkFingerprints(murmurHashes.keySet().stream().toArray(Long[]::new));
-
-            if (fingerprintResponse != null && fingerprintResponse.exactMatches != null) {
-                int[] projectIdsFound = fingerprintResponse.exactMatches.stream().mapToInt(em -> em.id).toArray();
-
-                if (projectIdsFound.length != 0) {
-                    Map<Integer, CurseForgeProject> foundProjects = CurseForgeApi.getProjectsAsMap(projectIdsFound);
-
-                    if (foundProjects != null) {
-                        fingerprintResponse.exactMatches.stream().filter(em -> em != null && em.file != null
-                                && murmurHashes.containsKey(em.file.packageFingerprint)).forEach(foundMod -> {
-                                    DisableableMod dm = murmurHashes.get(foundMod.file.packageFingerprint);
-
-                                    // add CurseForge information
-                                    dm.curseForgeProjectId = foundMod.id;
-                                    dm.curseForgeFile = foundMod.file;
-                                    dm.curseForgeFileId = foundMod.file.id;
-
-                                    CurseForgeProject curseForgeProject = foundProjects.get(foundMod.id);
-
-                                    if (curseForgeProject != null) {
-                                        dm.curseForgeProject = curseForgeProject;
-                                        dm.name = curseForgeProject.name;
-                                        dm.description = curseForgeProject.summary;
-                                    }
-
-                                    LogManager.debug("Found matching mod from CurseForge called "
-                                            + dm.curseForgeFile.displayName);
-                                });
-                    }
-                }
-            }
+        List<String> platforms = new ArrayList<>();
+        if (!App.settings.dontCheckModsOnCurseForge) {
+            platforms.add("CurseForge");
         }
-    }
-
-    private void checkModsOnModrinth() {
-        if (App.settings.dontCheckModsOnModrinth || this.modsInstalled.size() == 0) {
-            return;
+        if (!App.settings.dontCheckModsOnModrinth) {
+            platforms.add("Modrinth");
         }
 
         // #. {0} is the platform we're checking mods on (e.g. CurseForge/Modrinth)
-        fireTask(GetText.tr("Checking Mods On {0}", "Modrinth"));
+        fireTask(GetText.tr("Checking Mods On {0}", String.join("/", platforms)));
         fireSubProgressUnknown();
 
-        Map<String, DisableableMod> sha1Hashes = new HashMap<>();
-
-        this.modsInstalled.stream().filter(dm -> dm.modrinthProject == null && dm.modrinthVersion == null)
-                .filter(dm -> dm.getFile(root, this.packVersion.minecraft) != null).forEach(dm -> {
-                    try {
-                        sha1Hashes.put(Hashing.sha1(dm.getFile(root, this.packVersion.minecraft).toPath()).toString(),
-                                dm);
-                    } catch (Throwable t) {
-                        LogManager.logStackTrace(t);
-                    }
-                });
-
-        if (sha1Hashes.size() != 0) {
-            Set<String> keys = sha1Hashes.keySet();
-            Map<String, ModrinthVersion> modrinthVersions = ModrinthApi
-                    .getVersionsFromSha1Hashes(keys.toArray(new String[keys.size()]));
-
-            if (modrinthVersions != null && modrinthVersions.size() != 0) {
-                String[] projectIdsFound = modrinthVersions.values().stream().map(mv -> mv.projectId)
-                        .toArray(String[]::new);
-
-                if (projectIdsFound.length != 0) {
-                    Map<String, ModrinthProject> foundProjects = ModrinthApi.getProjectsAsMap(projectIdsFound);
-
-                    if (foundProjects != null) {
-                        for (Map.Entry<String, ModrinthVersion> entry : modrinthVersions.entrySet()) {
-                            ModrinthVersion version = entry.getValue();
-                            ModrinthProject project = foundProjects.get(version.projectId);
-
-                            if (project != null) {
-                                DisableableMod dm = sha1Hashes.get(entry.getKey());
-
-                                // add Modrinth information
-                                dm.modrinthProject = project;
-                                dm.modrinthVersion = version;
-                                dm.name = project.title;
-                                dm.description = project.description;
-
-                                LogManager
-                                        .debug(String.format("Found matching mod from Modrinth called %s with file %s",
-                                                project.title, version.name));
-                            }
-                        }
-                    }
-                }
-            }
-        }
+        ModIdentificationManager.identify(this.modsInstalled, dm -> {
+            File file = dm.getFile(root, this.packVersion.minecraft);
+            return file == null ? null : file.toPath();
+        });
     }
 
     public List<Mod> sortMods(List<Mod> original) {
@@ -3137,14 +3012,14 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
     private void backupSelectFiles() {
         File reis = new File(this.root.resolve("mods").toFile(), "rei_minimap");
         if (reis.exists() && reis.isDirectory()) {
-            if (Utils.copyDirectory(reis, this.temp.toFile(), true)) {
+            if (copyDirectory(reis.toPath(), this.temp.resolve(reis.getName()))) {
                 savedReis = true;
             }
         }
 
         File zans = new File(this.root.resolve("mods").toFile(), "VoxelMods");
         if (zans.exists() && zans.isDirectory()) {
-            if (Utils.copyDirectory(zans, this.temp.toFile(), true)) {
+            if (copyDirectory(zans.toPath(), this.temp.resolve(zans.getName()))) {
                 savedZans = true;
             }
         }
@@ -3199,7 +3074,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
                                 keep.getBase().equalsIgnoreCase("config") ? this.root.resolve("config").toFile()
                                         : this.root.toFile());
                         if (file.exists() && file.isDirectory()) {
-                            Utils.copyDirectory(file, this.temp.toFile(), true);
+                            copyDirectory(file.toPath(), this.temp.resolve(file.getName()));
                         }
                     }
                 }
@@ -3337,15 +3212,28 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
         }
     }
 
+    /**
+     * Copies a directory aside while the instance is being reinstalled. This is a real copy rather than hard links, as
+     * extracting the pack over the instance truncates and rewrites existing files in place.
+     */
+    private boolean copyDirectory(Path from, Path to) {
+        try {
+            FileTree.copy(from, to, false);
+        } catch (IOException e) {
+            LogManager.logStackTrace("Failed to copy " + from + " to " + to, e);
+            return false;
+        }
+
+        return true;
+    }
+
     private void restoreSelectFiles() {
         if (savedReis) {
-            Utils.copyDirectory(new File(this.temp.toFile(), "rei_minimap"),
-                    new File(this.root.resolve("mods").toFile(), "rei_minimap"));
+            copyDirectory(this.temp.resolve("rei_minimap"), this.root.resolve("mods/rei_minimap"));
         }
 
         if (savedZans) {
-            Utils.copyDirectory(new File(this.temp.toFile(), "VoxelMods"),
-                    new File(this.root.resolve("mods").toFile(), "VoxelMods"));
+            copyDirectory(this.temp.resolve("VoxelMods"), this.root.resolve("mods/VoxelMods"));
         }
 
         if (savedNEICfg) {
@@ -3395,7 +3283,7 @@ public class InstanceInstaller extends SwingWorker<Boolean, Void> implements Net
                                         : this.root.toFile());
                         if (from.exists()) {
                             to.getParentFile().mkdirs();
-                            Utils.copyDirectory(from, to);
+                            copyDirectory(from.toPath(), to.toPath());
                         }
                     }
                 }
@@ -0,0 +1,54 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.atlauncher.data.Settings;
+
+/**
+ * Sets up the parts of the launcher that tests need, such as its settings and a working directory, which are static
+ * and so shared by all the tests run in the same JVM.
+ */
+public final class TestEnvironment {
+    private static Path workingDir;
+
+    /**
+     * Sets up the launcher with default settings and a temporary working directory, if it hasn't been already.
+     */
+    public static synchronized Path setUp() {
+        if (workingDir == null) {
+            try {
+                workingDir = Files.createTempDirectory("ATLauncherTests");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            App.workingDir = workingDir;
+        }
+
+        if (App.settings == null) {
+            App.settings = new Settings();
+        }
+
+        return workingDir;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.TestEnvironment;
+import com.atlauncher.data.BackupMode;
+import com.atlauncher.data.IncrementalBackup;
+import com.atlauncher.data.Instance;
+import com.atlauncher.data.InstanceLauncher;
+import com.atlauncher.data.minecraft.MinecraftVersion;
+
+public class BackupManagerTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final Random random = new Random();
+
+    private Instance instance;
+
+    @Before
+    public void setUp() throws IOException {
+        TestEnvironment.setUp();
+
+        instance = new Instance(new MinecraftVersion());
+        instance.launcher = new InstanceLauncher();
+        instance.launcher.name = "Backup Test";
+        instance.ROOT = temporaryFolder.newFolder("BackupTest" + random.nextInt(Integer.MAX_VALUE)).toPath();
+    }
+
+    @Test
+    public void testRestoreBackupRestoresChangedAndRemovesNewFiles() throws IOException {
+        byte[] level = randomBytes(4096);
+        byte[] region = randomBytes(16384);
+        Path levelPath = write("saves/World/level.dat", level);
+        Path regionPath = write("saves/World/region/r.0.0.mca", region);
+
+        IncrementalBackup backup = BackupManager.createIncrementalBackup(instance, BackupMode.NORMAL);
+        assertNotNull(backup);
+
+        Files.write(regionPath, randomBytes(16384));
+        Files.setLastModifiedTime(regionPath, FileTime.fromMillis(backup.createdAt + 60000));
+        Path newRegionPath = write("saves/World/region/r.1.0.mca", randomBytes(16384));
+
+        assertTrue(BackupManager.restoreBackup(instance, backup));
+
+        assertArrayEquals(level, Files.readAllBytes(levelPath));
+        assertArrayEquals(region, Files.readAllBytes(regionPath));
+        assertFalse(Files.exists(newRegionPath));
+    }
+
+    @Test
+    public void testRestoreBackupWithMissingObjectLeavesInstanceAlone() throws IOException {
+        byte[] level = randomBytes(4096);
+        write("saves/World/level.dat", level);
+        write("saves/World/region/r.0.0.mca", randomBytes(16384));
+
+        IncrementalBackup backup = BackupManager.createIncrementalBackup(instance, BackupMode.NORMAL);
+        assertNotNull(backup);
+
+        String hash = backup.files.get("saves/World/level.dat").hash;
+        Files.delete(FileSystem.BACKUPS.resolve("incremental").resolve("objects").resolve(hash.substring(0, 2))
+                .resolve(hash));
+
+        byte[] changedLevel = randomBytes(4096);
+        byte[] changedRegion = randomBytes(16384);
+        Path levelPath = write("saves/World/level.dat", changedLevel);
+        Path regionPath = write("saves/World/region/r.0.0.mca", changedRegion);
+        Path newRegionPath = write("saves/World/region/r.1.0.mca", randomBytes(16384));
+
+        assertFalse(BackupManager.restoreBackup(instance, backup));
+
+        assertArrayEquals(changedLevel, Files.readAllBytes(levelPath));
+        assertArrayEquals(changedRegion, Files.readAllBytes(regionPath));
+        assertTrue(Files.exists(newRegionPath));
+    }
+
+    private Path write(String name, byte[] bytes) throws IOException {
+        Path path = instance.getRoot().resolve(name);
+        Files.createDirectories(path.getParent());
+        return Files.write(path, bytes);
+    }
+
+    private byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.managers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.compress.utils.IOUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.TestEnvironment;
+import com.atlauncher.data.minecraft.Download;
+import com.atlauncher.data.minecraft.Downloads;
+import com.atlauncher.data.minecraft.Library;
+import com.atlauncher.utils.FileUtils;
+
+public class ServerLaunchJarManagerTest {
+    private static final String JAR_NAME = "fabric-server-launch.jar";
+    private static final String LAUNCHER_MAIN_CLASS = "net.fabricmc.loader.launch.server.FabricServerLauncher";
+    private static final String MAIN_CLASS = "net.fabricmc.loader.impl.launch.knot.KnotServer";
+    private static final Pattern SIGNATURE_PATTERN = Pattern.compile("META-INF/[^/]+\\.(SF|DSA|RSA|EC)");
+
+    /**
+     * The time ServerLaunchJarManager gives the manifest and properties it writes itself.
+     */
+    private static final long ENTRY_TIME = 946684800000L;
+
+    /**
+     * The time of every entry in the test libraries, rounded to the 2 seconds zip entry times are stored to.
+     */
+    private static final long LIBRARY_ENTRY_TIME = 1577836800000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path testStorage;
+    private List<Library> libraries;
+
+    @Before
+    public void setUp() throws Exception {
+        TestEnvironment.setUp();
+        testStorage = temporaryFolder.newFolder("ATLauncherTests").toPath();
+
+        // each test gets its own libraries, so they don't share cached jars
+        String group = testStorage.getParent().getFileName().toString();
+
+        libraries = Arrays.asList(
+                writeLibrary(group + "/loader/1.0/loader-1.0.jar", "net/fabricmc/loader/Loader.class", "loader",
+                        "META-INF/LOADER.SF", "signature"),
+                writeLibrary(group + "/mappings/1.0/mappings-1.0.jar", "mappings/mappings.tiny", "mappings",
+                        "net/fabricmc/loader/Loader.class", "duplicate"));
+    }
+
+    @Test
+    public void testMakeServerLaunchJar() throws Exception {
+        Path server = makeServer("server");
+
+        try (JarFile jar = new JarFile(server.resolve(JAR_NAME).toFile())) {
+            assertEquals(LAUNCHER_MAIN_CLASS, jar.getManifest().getMainAttributes().getValue("Main-Class"));
+            assertEquals("launch.mainClass=" + MAIN_CLASS + "\n", read(jar, "fabric-server-launch.properties"));
+            assertEquals("loader", read(jar, "net/fabricmc/loader/Loader.class"));
+            assertEquals("mappings", read(jar, "mappings/mappings.tiny"));
+            assertNull(jar.getEntry("META-INF/LOADER.SF"));
+        }
+    }
+
+    @Test
+    public void testCachedJarIsTheSameAsAFreshlyBuiltOne() throws Exception {
+        Path first = makeServer("first");
+        Path cached = makeServer("cached");
+
+        // the libraries having been touched since shouldn't change the jar, as entries keep their time in the library
+        for (Library library : libraries) {
+            Files.setLastModifiedTime(FileSystem.LIBRARIES.resolve(library.downloads.artifact.path),
+                    FileTime.fromMillis(System.currentTimeMillis() + 86400000L));
+        }
+
+        FileUtils.deleteDirectory(FileSystem.CACHE.resolve("server_launch_jars"));
+        Path fresh = makeServer("fresh");
+
+        byte[] cachedJar = Files.readAllBytes(cached.resolve(JAR_NAME));
+
+        assertArrayEquals(Files.readAllBytes(first.resolve(JAR_NAME)), cachedJar);
+        assertArrayEquals(Files.readAllBytes(fresh.resolve(JAR_NAME)), cachedJar);
+
+        // nothing is stamped with the time the jar was made, so it's the same whenever it's built
+        try (ZipFile jar = new ZipFile(fresh.resolve(JAR_NAME).toFile())) {
+            for (ZipEntry entry : Collections.list(jar.entries())) {
+                assertTrue(entry.getName(), entry.getTime() == ENTRY_TIME || entry.getTime() == LIBRARY_ENTRY_TIME);
+            }
+        }
+    }
+
+    /**
+     * The merge was rewritten to run in one pass and to not stamp entries with the time the jar was made, so apart from
+     * the entry times, the jar should be the same as the one the loaders used to make.
+     */
+    @Test
+    public void testMergedJarMatchesTheOldMerge() throws Exception {
+        Path server = makeServer("server");
+        Path oldJar = testStorage.resolve("old.jar");
+        oldMerge(oldJar);
+
+        try (JarFile jar = new JarFile(server.resolve(JAR_NAME).toFile());
+                JarFile old = new JarFile(oldJar.toFile())) {
+            List<String> names = Collections.list(jar.entries()).stream().map(ZipEntry::getName)
+                    .collect(Collectors.toList());
+            List<String> oldNames = Collections.list(old.entries()).stream().map(ZipEntry::getName)
+                    .collect(Collectors.toList());
+
+            assertEquals(oldNames, names);
+            for (String name : names) {
+                assertEquals(name, read(old, name), read(jar, name));
+            }
+            assertEquals(old.getManifest(), jar.getManifest());
+        }
+    }
+
+    @Test
+    public void testChangedLibraryIsNotServedFromTheCache() throws Exception {
+        Path first = makeServer("first");
+
+        Library loader = libraries.get(0);
+        writeJar(FileSystem.LIBRARIES.resolve(loader.downloads.artifact.path), "net/fabricmc/loader/Loader.class",
+                "updated loader");
+        Path second = makeServer("second");
+
+        try (JarFile firstJar = new JarFile(first.resolve(JAR_NAME).toFile());
+                JarFile secondJar = new JarFile(second.resolve(JAR_NAME).toFile())) {
+            assertEquals("loader", read(firstJar, "net/fabricmc/loader/Loader.class"));
+            assertEquals("updated loader", read(secondJar, "net/fabricmc/loader/Loader.class"));
+        }
+
+        assertFalse(Arrays.equals(Files.readAllBytes(first.resolve(JAR_NAME)),
+                Files.readAllBytes(second.resolve(JAR_NAME))));
+    }
+
+    private Path makeServer(String name) throws IOException {
+        Path server = Files.createDirectories(testStorage.resolve(name));
+
+        ServerLaunchJarManager.makeServerLaunchJar(JAR_NAME, LAUNCHER_MAIN_CLASS, MAIN_CLASS, libraries, server);
+
+        return server;
+    }
+
+    /**
+     * Writes a library jar with the given entry names and contents into the libraries folder.
+     */
+    private static Library writeLibrary(String path, String... entries) throws IOException {
+        writeJar(FileSystem.LIBRARIES.resolve(path), entries);
+
+        Library library = new Library();
+        library.name = path;
+        library.downloads = new Downloads();
+        library.downloads.artifact = new Download();
+        library.downloads.artifact.path = path;
+
+        return library;
+    }
+
+    private static void writeJar(Path jar, String... entries) throws IOException {
+        Files.createDirectories(jar.getParent());
+
+        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(jar))) {
+            for (int i = 0; i < entries.length; i += 2) {
+                ZipEntry entry = new ZipEntry(entries[i]);
+                entry.setTime(LIBRARY_ENTRY_TIME);
+                zos.putNextEntry(entry);
+                zos.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Merges the libraries the way FabricLoader and QuiltLoader did before ServerLaunchJarManager.
+     */
+    private void oldMerge(Path output) throws IOException {
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(output))) {
+            Set<String> addedEntries = new HashSet<>();
+
+            addedEntries.add("META-INF/MANIFEST.MF");
+            zipOutputStream.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+
+            Manifest manifest = new Manifest();
+            manifest.getMainAttributes().put(new Attributes.Name("Manifest-Version"), "1.0");
+            manifest.getMainAttributes().put(new Attributes.Name("Main-Class"), LAUNCHER_MAIN_CLASS);
+            manifest.write(zipOutputStream);
+
+            zipOutputStream.closeEntry();
+
+            addedEntries.add("fabric-server-launch.properties");
+            zipOutputStream.putNextEntry(new ZipEntry("fabric-server-launch.properties"));
+            zipOutputStream.write(("launch.mainClass=" + MAIN_CLASS + "\n").getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+
+            byte[] buffer = new byte[32768];
+
+            for (Library library : libraries) {
+                Path path = FileSystem.LIBRARIES.resolve(library.downloads.artifact.path);
+
+                try (InputStream is = Files.newInputStream(path); JarInputStream jis = new JarInputStream(is)) {
+                    JarEntry entry;
+                    while ((entry = jis.getNextJarEntry()) != null) {
+                        if (!addedEntries.contains(entry.getName())
+                                && !SIGNATURE_PATTERN.matcher(entry.getName()).matches()) {
+                            zipOutputStream.putNextEntry(new JarEntry(entry.getName()));
+
+                            int r;
+                            while ((r = jis.read(buffer, 0, buffer.length)) >= 0) {
+                                zipOutputStream.write(buffer, 0, r);
+                            }
+
+                            zipOutputStream.closeEntry();
+                            addedEntries.add(entry.getName());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static String read(JarFile jar, String name) throws IOException {
+        ZipEntry entry = jar.getEntry(name);
+        assertNotNull(name, entry);
+
+        try (InputStream is = jar.getInputStream(entry)) {
+            return new String(IOUtils.toByteArray(is), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.mclauncher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.atlauncher.TestEnvironment;
+import com.atlauncher.data.ProcessStats;
+
+public class ProcessMonitorTest {
+    private Process process;
+
+    @Before
+    public void setUp() {
+        TestEnvironment.setUp();
+    }
+
+    @After
+    public void tearDown() {
+        if (process != null) {
+            process.destroyForcibly();
+        }
+    }
+
+    @Test
+    public void testMonitorsProcessUntilItExits() throws Exception {
+        process = startSleeper(3);
+
+        AtomicInteger updates = new AtomicInteger();
+        ProcessMonitor processMonitor = new ProcessMonitor(process, 512, 1, stats -> updates.incrementAndGet());
+        processMonitor.start();
+
+        assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+
+        // give the monitor time to notice the process has gone
+        Thread.sleep(2000);
+        int updatesAfterExit = updates.get();
+        Thread.sleep(2000);
+
+        ProcessStats stats = processMonitor.stop();
+
+        assertTrue("Monitor was updated " + updatesAfterExit + " times", updatesAfterExit >= 1);
+        assertEquals("Monitor kept sampling after the process exited", updatesAfterExit, updates.get());
+        assertEquals(updatesAfterExit, stats.samples);
+
+        assertNotNull(stats.started);
+        assertEquals(512, stats.maximumMemory);
+        assertTrue(stats.durationSeconds >= 3);
+        assertTrue(stats.peakRss > 0);
+        assertTrue(stats.averageRss > 0);
+        assertTrue(stats.peakRss >= stats.averageRss);
+        assertTrue(stats.peakThreads > 0);
+        assertTrue(stats.peakCpu >= stats.averageCpu);
+    }
+
+    @Test
+    public void testStopStopsSampling() throws Exception {
+        process = startSleeper(30);
+
+        AtomicInteger updates = new AtomicInteger();
+        ProcessMonitor processMonitor = new ProcessMonitor(process, 512, 1, stats -> updates.incrementAndGet());
+        processMonitor.start();
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (updates.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+
+        ProcessStats stats = processMonitor.stop();
+        int samples = stats.samples;
+        Thread.sleep(2000);
+
+        assertTrue(samples >= 1);
+        assertEquals(samples, stats.samples);
+        assertEquals(samples, updates.get());
+        assertTrue(process.isAlive());
+    }
+
+    @Test
+    public void testStopBeforeAnySamples() throws Exception {
+        process = startSleeper(30);
+
+        ProcessMonitor processMonitor = new ProcessMonitor(process, 512, 5, stats -> {
+        });
+        processMonitor.start();
+
+        ProcessStats stats = processMonitor.stop();
+
+        assertEquals(0, stats.samples);
+        assertFalse(stats.peakRss > 0);
+    }
+
+    /**
+     * Starts a Java process which sleeps for the given number of seconds then exits.
+     */
+    private static Process startSleeper(int seconds) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+        return new ProcessBuilder(java, "-Xmx32m", "-cp", System.getProperty("java.class.path"),
+                Sleeper.class.getName(), String.valueOf(seconds)).inheritIO().start();
+    }
+
+    public static class Sleeper {
+        public static void main(String[] args) throws InterruptedException {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(Long.parseLong(args[0])));
+        }
+    }
+}
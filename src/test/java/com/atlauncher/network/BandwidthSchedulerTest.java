@@ -0,0 +1,118 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockserver.integration.ClientAndServer.startClientAndServer;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockserver.integration.ClientAndServer;
+
+import com.atlauncher.App;
+import com.atlauncher.TestEnvironment;
+
+public class BandwidthSchedulerTest {
+    private static final int FILE_SIZE = 1536 * 1024;
+
+    /**
+     * How far the measured speed can be from the limit, as the buckets allow small bursts.
+     */
+    private static final double TOLERANCE = 0.25;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path testStorage;
+    private ClientAndServer mockServer;
+
+    @Before
+    public void setUp() throws Exception {
+        TestEnvironment.setUp();
+        testStorage = temporaryFolder.newFolder("ATLauncherTests").toPath();
+
+        mockServer = startClientAndServer();
+        mockServer.when(request().withPath("/file")).respond(response().withBody(new byte[FILE_SIZE]));
+
+        // make a request first so setting up the client and connection isn't counted in the measured speeds
+        Download.build().setUrl(String.format("http://localhost:%d/file", mockServer.getPort())).asString();
+
+        // let any downloads from other tests stop counting as running, so they don't slow these ones down
+        Thread.sleep(1000);
+    }
+
+    @After
+    public void tearDown() {
+        mockServer.stop();
+
+        App.settings.downloadSpeedLimit = 0;
+        App.settings.backgroundDownloadSpeedLimit = 0;
+    }
+
+    @Test
+    public void testDownloadSpeedLimit() throws Exception {
+        App.settings.downloadSpeedLimit = 1024;
+
+        assertSpeed(1024, download(DownloadPriority.INSTALL));
+    }
+
+    @Test
+    public void testBackgroundDownloadSpeedLimit() throws Exception {
+        App.settings.backgroundDownloadSpeedLimit = 512;
+
+        assertSpeed(512, download(DownloadPriority.BACKGROUND));
+    }
+
+    @Test
+    public void testBackgroundDownloadSpeedLimitDoesntLimitInstalls() throws Exception {
+        App.settings.backgroundDownloadSpeedLimit = 128;
+
+        double speed = download(DownloadPriority.INSTALL);
+
+        assertTrue("Install downloaded at " + speed + " KB/s", speed > 128 * (1 + TOLERANCE));
+    }
+
+    /**
+     * Downloads the test file with the given priority, returning how fast it downloaded in KB/s.
+     */
+    private double download(DownloadPriority priority) throws Exception {
+        Path file = testStorage.resolve(priority.name().toLowerCase());
+
+        long start = System.nanoTime();
+        Download.build().setUrl(String.format("http://localhost:%d/file", mockServer.getPort())).priority(priority)
+                .downloadTo(file).downloadFile();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(FILE_SIZE, Files.size(file));
+
+        return FILE_SIZE / 1024.0 / seconds;
+    }
+
+    private static void assertSpeed(int limit, double speed) {
+        assertEquals("Downloaded at " + speed + " KB/s", limit, speed, limit * TOLERANCE);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockserver.integration.ClientAndServer.startClientAndServer;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.verify.VerificationTimes;
+
+import com.atlauncher.TestEnvironment;
+import com.atlauncher.utils.Hashing;
+
+public class DownloadFailoverTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path testStorage;
+
+    private byte[] file;
+    private String sha1;
+
+    private ClientAndServer failingServer;
+    private ClientAndServer truncatingServer;
+    private ClientAndServer workingServer;
+
+    @Before
+    public void setUp() throws Exception {
+        TestEnvironment.setUp();
+        testStorage = temporaryFolder.newFolder("ATLauncherTests").toPath();
+
+        file = new byte[256 * 1024];
+        new Random(1).nextBytes(file);
+        Path source = testStorage.resolve("source.jar");
+        Files.write(source, file);
+        sha1 = Hashing.sha1(source).toString();
+
+        failingServer = startClientAndServer();
+        failingServer.when(request().withPath("/file.jar")).respond(response().withStatusCode(500));
+
+        truncatingServer = startClientAndServer();
+        truncatingServer.when(request().withPath("/file.jar"))
+                .respond(response().withBody(Arrays.copyOf(file, file.length / 2)));
+
+        workingServer = startClientAndServer();
+        workingServer.when(request().withPath("/file.jar")).respond(response().withBody(file));
+    }
+
+    @After
+    public void tearDown() {
+        failingServer.stop();
+        truncatingServer.stop();
+        workingServer.stop();
+    }
+
+    @Test
+    public void testDownloadFailsOverToNextSource() throws Exception {
+        Path downloaded = download("file.jar");
+
+        assertArrayEquals(file, Files.readAllBytes(downloaded));
+
+        failingServer.verify(request().withPath("/file.jar"), VerificationTimes.exactly(1));
+        truncatingServer.verify(request().withPath("/file.jar"), VerificationTimes.exactly(1));
+        workingServer.verify(request().withPath("/file.jar"), VerificationTimes.exactly(1));
+    }
+
+    @Test
+    public void testDownloadStartsWithBestSourceOnceRanked() throws Exception {
+        download("first.jar");
+        Path downloaded = download("second.jar");
+
+        assertArrayEquals(file, Files.readAllBytes(downloaded));
+
+        // the second download went straight to the server which worked
+        failingServer.verify(request().withPath("/file.jar"), VerificationTimes.exactly(1));
+        truncatingServer.verify(request().withPath("/file.jar"), VerificationTimes.exactly(1));
+        workingServer.verify(request().withPath("/file.jar"), VerificationTimes.exactly(2));
+    }
+
+    @Test
+    public void testDownloadFailsWhenNoSourceWorks() throws Exception {
+        Path to = testStorage.resolve("file.jar");
+
+        Download.build().setUrl(getUrl(failingServer)).mirrors(getUrl(truncatingServer)).hash(sha1)
+                .size(file.length).downloadTo(to).downloadFile();
+
+        assertFalse(Files.exists(to) && Arrays.equals(file, Files.readAllBytes(to)));
+
+        failingServer.verify(request().withPath("/file.jar"), VerificationTimes.atLeast(1));
+        truncatingServer.verify(request().withPath("/file.jar"), VerificationTimes.atLeast(1));
+    }
+
+    private Path download(String name) throws IOException {
+        Path to = testStorage.resolve(name);
+
+        Download.build().setUrl(getUrl(failingServer)).mirrors(getUrl(truncatingServer), getUrl(workingServer))
+                .hash(sha1).size(file.length).downloadTo(to).downloadFile();
+
+        return to;
+    }
+
+    private static String getUrl(ClientAndServer server) {
+        return String.format("http://localhost:%d/file.jar", server.getPort());
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockserver.integration.ClientAndServer.startClientAndServer;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.verify.VerificationTimes;
+import org.tukaani.xz.LZMA2Options;
+import org.tukaani.xz.LZMAOutputStream;
+
+import com.atlauncher.FileSystem;
+import com.atlauncher.Network;
+import com.atlauncher.TestEnvironment;
+import com.atlauncher.data.minecraft.Download;
+import com.atlauncher.data.minecraft.JavaRuntime;
+import com.atlauncher.data.minecraft.JavaRuntimeVersion;
+import com.atlauncher.utils.Hashing;
+import com.atlauncher.utils.OS;
+
+public class JavaRuntimeDownloadTest {
+    private static final String COMPONENT = "java-runtime-test";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ClientAndServer mockServer;
+
+    private final Random random = new Random(1);
+
+    @Before
+    public void setUp() {
+        TestEnvironment.setUp();
+        mockServer = startClientAndServer();
+    }
+
+    @After
+    public void tearDown() {
+        mockServer.stop();
+    }
+
+    @Test
+    public void testDownloadCreatesRuntimeFromManifest() throws Exception {
+        byte[] java = randomBytes(64 * 1024);
+        byte[] modules = randomBytes(256 * 1024);
+        byte[] release = "JAVA_VERSION=\"17.0.1\"".getBytes(StandardCharsets.UTF_8);
+        byte[] compressedModules = lzma(modules);
+
+        // the compressed copy of the release file is truncated, so it should fall back to the raw file
+        serve("/raw/java", java);
+        serve("/lzma/java", lzma(java));
+        serve("/raw/modules", modules);
+        serve("/lzma/modules", compressedModules);
+        serve("/raw/release", release);
+        serve("/lzma/release", Arrays.copyOf(lzma(release), 10));
+
+        String manifest = "{\"files\": {"
+                + "\"bin\": {\"type\": \"directory\"},"
+                + "\"bin/java\": " + file(java, "java", true, true) + ","
+                + "\"lib\": {\"type\": \"directory\"},"
+                + "\"lib/modules\": " + file(modules, "modules", false, true) + ","
+                + "\"release\": " + file(release, "release", false, true) + ","
+                + "\"legal/java.base/LICENSE\": {\"type\": \"link\", \"target\": \"../../release\"}"
+                + "}}";
+        JavaRuntime runtime = serveManifest(manifest);
+
+        JavaRuntimeDownload download = new JavaRuntimeDownload(runtime, COMPONENT, "linux", Network.CLIENT, null);
+        download.download();
+
+        Path runtimeDirectory = download.getRuntimeDirectory();
+        assertEquals(FileSystem.MINECRAFT_RUNTIMES.resolve(COMPONENT).resolve("linux").resolve(COMPONENT),
+                runtimeDirectory);
+
+        assertArrayEquals(java, Files.readAllBytes(runtimeDirectory.resolve("bin/java")));
+        assertArrayEquals(modules, Files.readAllBytes(runtimeDirectory.resolve("lib/modules")));
+        assertArrayEquals(release, Files.readAllBytes(runtimeDirectory.resolve("release")));
+        assertArrayEquals(release, Files.readAllBytes(runtimeDirectory.resolve("legal/java.base/LICENSE")));
+        assertEquals("17.0.1", new String(Files.readAllBytes(runtimeDirectory.getParent().resolve(".version")),
+                StandardCharsets.UTF_8));
+
+        if (!OS.isWindows()) {
+            assertTrue(Files.isExecutable(runtimeDirectory.resolve("bin/java")));
+        }
+
+        // good compressed copies are used instead of the raw files
+        mockServer.verify(request().withPath("/lzma/modules"), VerificationTimes.exactly(1));
+        mockServer.verify(request().withPath("/raw/modules"), VerificationTimes.exactly(0));
+        mockServer.verify(request().withPath("/raw/java"), VerificationTimes.exactly(0));
+        mockServer.verify(request().withPath("/raw/release"), VerificationTimes.exactly(1));
+    }
+
+    @Test
+    public void testDownloadFallsBackToRawFileWhenCompressedCopyIsMissing() throws Exception {
+        byte[] java = randomBytes(64 * 1024);
+
+        serve("/raw/java", java);
+        mockServer.when(request().withPath("/lzma/java")).respond(response().withStatusCode(404));
+
+        JavaRuntime runtime = serveManifest("{\"files\": {\"bin/java\": " + file(java, "java", true, true) + "}}");
+
+        JavaRuntimeDownload download = new JavaRuntimeDownload(runtime, COMPONENT + "-missing", "linux",
+                Network.CLIENT, null);
+        download.download();
+
+        assertArrayEquals(java, Files.readAllBytes(download.getRuntimeDirectory().resolve("bin/java")));
+        mockServer.verify(request().withPath("/raw/java"), VerificationTimes.exactly(1));
+    }
+
+    private void serve(String path, byte[] body) {
+        mockServer.when(request().withPath(path)).respond(response().withBody(body));
+    }
+
+    private JavaRuntime serveManifest(String manifest) throws IOException {
+        byte[] bytes = manifest.getBytes(StandardCharsets.UTF_8);
+        serve("/manifest.json", bytes);
+
+        JavaRuntime runtime = new JavaRuntime();
+        runtime.manifest = download("/manifest.json", bytes);
+        runtime.version = new JavaRuntimeVersion();
+        runtime.version.name = "17.0.1";
+
+        return runtime;
+    }
+
+    private String file(byte[] raw, String name, boolean executable, boolean withLzma) throws IOException {
+        Download rawDownload = download("/raw/" + name, raw);
+        String json = String.format("{\"type\": \"file\", \"executable\": %s, \"downloads\": {\"raw\": %s", executable,
+                toJson(rawDownload));
+
+        if (withLzma) {
+            json += ", \"lzma\": " + toJson(download("/lzma/" + name, lzma(raw)));
+        }
+
+        return json + "}}";
+    }
+
+    private Download download(String path, byte[] bytes) throws IOException {
+        Path file = Files.write(temporaryFolder.newFile().toPath(), bytes);
+
+        Download download = new Download();
+        download.url = String.format("http://localhost:%d%s", mockServer.getPort(), path);
+        download.sha1 = Hashing.sha1(file).toString();
+        download.size = bytes.length;
+
+        return download;
+    }
+
+    private static String toJson(Download download) {
+        return String.format("{\"url\": \"%s\", \"sha1\": \"%s\", \"size\": %d}", download.url, download.sha1,
+                download.size);
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] lzma(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        try (LZMAOutputStream los = new LZMAOutputStream(compressed, new LZMA2Options(), bytes.length)) {
+            los.write(bytes);
+        }
+
+        return compressed.toByteArray();
+    }
+}
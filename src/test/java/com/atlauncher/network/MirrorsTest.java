@@ -0,0 +1,101 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.atlauncher.TestEnvironment;
+import com.atlauncher.constants.Constants;
+
+public class MirrorsTest {
+    @Before
+    public void setUp() {
+        TestEnvironment.setUp();
+    }
+
+    @Test
+    public void testGetSourcesAddsMirrors() {
+        assertEquals(Arrays.asList("https://launcher.mojang.com/v1/objects/abc123/client.jar",
+                "https://piston-data.mojang.com/v1/objects/abc123/client.jar"),
+                Mirrors.getSources("https://launcher.mojang.com/v1/objects/abc123/client.jar",
+                        Collections.emptyList()));
+    }
+
+    @Test
+    public void testGetSourcesAddsOurForgeMirror() {
+        String path = "net/minecraftforge/forge/1.12.2-14.23.5.2860/forge-1.12.2-14.23.5.2860-universal.jar";
+
+        assertEquals(Arrays.asList(Constants.DOWNLOAD_SERVER + "/maven/" + path,
+                "https://maven.minecraftforge.net/" + path, "https://files.minecraftforge.net/maven/" + path),
+                Mirrors.getSources(Constants.DOWNLOAD_SERVER + "/maven/" + path, Collections.emptyList()));
+    }
+
+    @Test
+    public void testGetSourcesWithoutMirrors() {
+        assertEquals(Collections.singletonList("https://no-mirrors.test/file.jar"),
+                Mirrors.getSources("https://no-mirrors.test/file.jar", Collections.emptyList()));
+    }
+
+    @Test
+    public void testGetSourcesAddsExtraSources() {
+        assertEquals(Arrays.asList("https://extra-a.test/file.jar", "https://extra-b.test/file.jar"),
+                Mirrors.getSources("https://extra-a.test/file.jar",
+                        Arrays.asList("https://extra-b.test/file.jar", "https://extra-a.test/file.jar")));
+    }
+
+    @Test
+    public void testGetSourcesRanksFailingHostsLast() {
+        Mirrors.recordFailure("https://failing-a.test/other.jar");
+
+        assertEquals(Arrays.asList("https://failing-b.test/file.jar", "https://failing-a.test/file.jar"),
+                Mirrors.getSources("https://failing-a.test/file.jar",
+                        Collections.singletonList("https://failing-b.test/file.jar")));
+    }
+
+    @Test
+    public void testGetSourcesRanksFasterHostsFirst() {
+        for (int i = 0; i < 5; i++) {
+            Mirrors.recordSuccess("https://slow-a.test/other.jar", 2000);
+            Mirrors.recordSuccess("https://slow-b.test/other.jar", 20);
+        }
+
+        assertEquals(Arrays.asList("https://slow-b.test/file.jar", "https://slow-a.test/file.jar"),
+                Mirrors.getSources("https://slow-a.test/file.jar",
+                        Collections.singletonList("https://slow-b.test/file.jar")));
+    }
+
+    @Test
+    public void testGetSourcesRecoversAfterSuccesses() {
+        Mirrors.recordFailure("https://recovering-a.test/other.jar");
+        Mirrors.recordSuccess("https://recovering-b.test/other.jar", 250);
+
+        for (int i = 0; i < 50; i++) {
+            Mirrors.recordSuccess("https://recovering-a.test/other.jar", 10);
+        }
+
+        assertEquals(Arrays.asList("https://recovering-a.test/file.jar", "https://recovering-b.test/file.jar"),
+                Mirrors.getSources("https://recovering-a.test/file.jar",
+                        Collections.singletonList("https://recovering-b.test/file.jar")));
+    }
+}
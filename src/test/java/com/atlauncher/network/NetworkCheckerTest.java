@@ -0,0 +1,155 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockserver.integration.ClientAndServer.startClientAndServer;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.verify.VerificationTimes;
+
+import com.atlauncher.TestEnvironment;
+
+public class NetworkCheckerTest {
+    private static final int SPEED_TEST_SIZE = 4 * 1024 * 1024;
+
+    private ClientAndServer mockServer;
+    private String server;
+    private byte[] speedTestFile;
+
+    @Before
+    public void setUp() {
+        TestEnvironment.setUp();
+
+        mockServer = startClientAndServer();
+        server = String.format("http://localhost:%d", mockServer.getPort());
+
+        speedTestFile = new byte[SPEED_TEST_SIZE];
+        new Random(1).nextBytes(speedTestFile);
+
+        mockServer.when(request().withPath("/")).respond(response().withStatusCode(200));
+        mockServer.when(request().withPath("/100MB.bin")).respond(httpRequest -> {
+            Matcher matcher = Pattern.compile("bytes=(\\d+)-(\\d+)").matcher(httpRequest.getFirstHeader("Range"));
+
+            if (!matcher.matches()) {
+                return response().withBody(speedTestFile);
+            }
+
+            int start = Integer.parseInt(matcher.group(1));
+            int end = Math.min(Integer.parseInt(matcher.group(2)), speedTestFile.length - 1);
+
+            return response().withStatusCode(206)
+                    .withHeader("Content-Range", String.format("bytes %d-%d/%d", start, end, speedTestFile.length))
+                    .withBody(Arrays.copyOfRange(speedTestFile, start, end + 1));
+        });
+    }
+
+    @After
+    public void tearDown() {
+        mockServer.stop();
+    }
+
+    @Test
+    public void testRunStreamsEachResultAsItFinishes() throws Exception {
+        mockServer.when(request().withPath("/ping")).respond(response().withBody("pong"));
+        mockServer.when(request().withPath("/launcher/json/files.json"))
+                .respond(response().withBody("{}").withDelay(TimeUnit.MILLISECONDS, 1500));
+
+        NetworkChecker networkChecker = newNetworkChecker(5);
+        List<String> streamed = Collections.synchronizedList(new ArrayList<>());
+
+        String results = networkChecker.run(streamed::add);
+
+        assertEquals(networkChecker.getTaskCount(), streamed.size());
+
+        // the quick checks come in first in whichever order they finish, then the slow one, then the speed test
+        List<String> quick = streamed.subList(0, 3);
+        assertTrue(quick.stream().anyMatch(result -> result.startsWith("Resolution of localhost:")));
+        assertTrue(quick.stream().anyMatch(result -> result.startsWith(
+                String.format("Request to localhost:%d was 200", mockServer.getPort()))));
+        assertTrue(quick.contains("Response to ping on " + server + " was pong"));
+        assertTrue(streamed.get(3).startsWith("Response code to " + server + " was 200"));
+        assertTrue(streamed.get(4).startsWith("Download speed from " + server + " was "));
+
+        for (String result : streamed) {
+            assertTrue(results.contains(result));
+        }
+    }
+
+    @Test
+    public void testRunTimesOutSlowChecks() throws Exception {
+        mockServer.when(request().withPath("/ping"))
+                .respond(response().withBody("pong").withDelay(TimeUnit.SECONDS, 10));
+        mockServer.when(request().withPath("/launcher/json/files.json")).respond(response().withBody("{}"));
+
+        List<String> streamed = Collections.synchronizedList(new ArrayList<>());
+
+        long started = System.nanoTime();
+        newNetworkChecker(1).run(streamed::add);
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started);
+
+        assertTrue("Took " + seconds + " seconds", seconds < 10);
+        assertTrue(streamed.contains("Response to ping on " + server + " was timed out after 1 seconds"));
+    }
+
+    @Test
+    public void testSpeedTestDownloadsTheWholeFileInRanges() throws Exception {
+        mockServer.when(request().withPath("/ping")).respond(response().withBody("pong"));
+        mockServer.when(request().withPath("/launcher/json/files.json")).respond(response().withBody("{}"));
+
+        List<String> streamed = Collections.synchronizedList(new ArrayList<>());
+        newNetworkChecker(5).run(streamed::add);
+
+        String speedTest = streamed.get(streamed.size() - 1);
+        assertTrue(speedTest, speedTest.contains("to download 4.00 MB over 4 connections"));
+
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(speedTest, speedTest.contains(String.format("Connection %d: %d bytes, response code 206", i,
+                    SPEED_TEST_SIZE / 4)));
+        }
+
+        mockServer.verify(request().withPath("/100MB.bin").withHeader("Range", "bytes=0-1048575"),
+                VerificationTimes.exactly(1));
+        mockServer.verify(request().withPath("/100MB.bin").withHeader("Range", "bytes=3145728-4194303"),
+                VerificationTimes.exactly(1));
+    }
+
+    /**
+     * Checks the mock server, without pinging or tracing anything as that needs the network.
+     */
+    private NetworkChecker newNetworkChecker(long requestTimeoutSeconds) {
+        return new NetworkChecker(Collections.emptyList(),
+                Collections.singletonList(String.format("localhost:%d", mockServer.getPort())), "http", server,
+                requestTimeoutSeconds, SPEED_TEST_SIZE);
+    }
+}
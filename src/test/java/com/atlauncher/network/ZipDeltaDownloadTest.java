@@ -0,0 +1,267 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.network;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockserver.integration.ClientAndServer.startClientAndServer;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockserver.integration.ClientAndServer;
+
+import com.atlauncher.Network;
+import com.atlauncher.TestEnvironment;
+
+public class ZipDeltaDownloadTest {
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path testStorage;
+    private ClientAndServer mockServer;
+
+    private final Random random = new Random(1);
+
+    private final AtomicLong bytesServed = new AtomicLong();
+    private final AtomicInteger wholeFileRequests = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        TestEnvironment.setUp();
+        testStorage = temporaryFolder.newFolder("ATLauncherTests").toPath();
+
+        mockServer = startClientAndServer();
+    }
+
+    @After
+    public void tearDown() {
+        mockServer.stop();
+    }
+
+    @Test
+    public void testDownloadReusesUnchangedEntries() throws Exception {
+        byte[] unchanged = randomBytes(400 * 1024);
+
+        Map<String, byte[]> oldEntries = new LinkedHashMap<>();
+        oldEntries.put("com/atlauncher/Unchanged.class", unchanged);
+        oldEntries.put("com/atlauncher/Changed.class", randomBytes(20 * 1024));
+        oldEntries.put("com/atlauncher/Removed.class", randomBytes(20 * 1024));
+
+        Map<String, byte[]> newEntries = new LinkedHashMap<>();
+        newEntries.put("com/atlauncher/Unchanged.class", unchanged);
+        newEntries.put("com/atlauncher/Changed.class", randomBytes(20 * 1024));
+        newEntries.put("com/atlauncher/Added.class", randomBytes(20 * 1024));
+
+        Path base = write("ATLauncher.jar", zip(new byte[0], oldEntries));
+        byte[] newZip = zip(new byte[0], newEntries);
+        serve(newZip, true);
+
+        Path to = testStorage.resolve("new/ATLauncher.jar");
+        Files.createDirectories(to.getParent());
+
+        assertTrue(newZipDeltaDownload(base, to).download());
+        assertArrayEquals(newZip, Files.readAllBytes(to));
+
+        // only the end of the file (which the central directory is found in) and the changed entries are downloaded
+        assertTrue(bytesServed.get() < newZip.length / 2);
+        assertEquals(0, wholeFileRequests.get());
+    }
+
+    @Test
+    public void testDownloadHandlesExeStubs() throws Exception {
+        byte[] unchanged = randomBytes(400 * 1024);
+
+        Map<String, byte[]> oldEntries = new LinkedHashMap<>();
+        oldEntries.put("com/atlauncher/Unchanged.class", unchanged);
+        oldEntries.put("com/atlauncher/Changed.class", randomBytes(10 * 1024));
+
+        Map<String, byte[]> newEntries = new LinkedHashMap<>();
+        newEntries.put("com/atlauncher/Unchanged.class", unchanged);
+        newEntries.put("com/atlauncher/Changed.class", randomBytes(10 * 1024));
+
+        Path base = write("ATLauncher.exe", zip(randomBytes(4 * 1024), oldEntries));
+        byte[] newZip = zip(randomBytes(6 * 1024), newEntries);
+        serve(newZip, true);
+
+        Path to = testStorage.resolve("new/ATLauncher.exe");
+        Files.createDirectories(to.getParent());
+
+        assertTrue(newZipDeltaDownload(base, to).download());
+        assertArrayEquals(newZip, Files.readAllBytes(to));
+        assertTrue(bytesServed.get() < newZip.length / 2);
+    }
+
+    @Test
+    public void testDownloadOrFallBackDownloadsWholeFileWhenCrcDoesNotMatch() throws Exception {
+        byte[] unchanged = randomBytes(100 * 1024);
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("com/atlauncher/Unchanged.class", unchanged);
+        entries.put("com/atlauncher/Changed.class", randomBytes(10 * 1024));
+
+        // the local copy's central directory says the entry is the same, but its data has been corrupted
+        byte[] oldZip = zip(new byte[0], entries);
+        oldZip[indexOf(oldZip, unchanged) + 1000] ^= 0xFF;
+        Path base = write("ATLauncher.jar", oldZip);
+
+        entries.put("com/atlauncher/Changed.class", randomBytes(10 * 1024));
+        byte[] newZip = zip(new byte[0], entries);
+        serve(newZip, true);
+
+        Path to = testStorage.resolve("new/ATLauncher.jar");
+        Files.createDirectories(to.getParent());
+
+        assertFalse(newZipDeltaDownload(base, to).download());
+        assertFalse(Files.exists(to));
+
+        newZipDeltaDownload(base, to).downloadOrFallBack();
+
+        assertArrayEquals(newZip, Files.readAllBytes(to));
+        assertTrue(wholeFileRequests.get() >= 1);
+    }
+
+    @Test
+    public void testDownloadOrFallBackDownloadsWholeFileWithoutRangeSupport() throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("com/atlauncher/Unchanged.class", randomBytes(10 * 1024));
+
+        Path base = write("ATLauncher.jar", zip(new byte[0], entries));
+        byte[] newZip = zip(new byte[0], entries);
+        serve(newZip, false);
+
+        Path to = testStorage.resolve("new/ATLauncher.jar");
+        Files.createDirectories(to.getParent());
+
+        newZipDeltaDownload(base, to).downloadOrFallBack();
+
+        assertArrayEquals(newZip, Files.readAllBytes(to));
+        assertTrue(wholeFileRequests.get() >= 1);
+    }
+
+    private ZipDeltaDownload newZipDeltaDownload(Path base, Path to) {
+        return new ZipDeltaDownload(String.format("http://localhost:%d/ATLauncher.jar", mockServer.getPort()), base,
+                to, Network.CLIENT, null);
+    }
+
+    private void serve(byte[] file, boolean supportsRanges) {
+        mockServer.when(request().withPath("/ATLauncher.jar")).respond(httpRequest -> {
+            Matcher matcher = RANGE.matcher(httpRequest.getFirstHeader("Range"));
+
+            if (!supportsRanges || !matcher.matches()) {
+                wholeFileRequests.incrementAndGet();
+                bytesServed.addAndGet(file.length);
+                return response().withBody(file);
+            }
+
+            int start;
+            int end;
+
+            if (matcher.group(1).isEmpty()) {
+                start = Math.max(0, file.length - Integer.parseInt(matcher.group(2)));
+                end = file.length - 1;
+            } else {
+                start = Integer.parseInt(matcher.group(1));
+                end = matcher.group(2).isEmpty() ? file.length - 1
+                        : Math.min(Integer.parseInt(matcher.group(2)), file.length - 1);
+            }
+
+            bytesServed.addAndGet(end + 1 - start);
+
+            return response().withStatusCode(206)
+                    .withHeader("Content-Range", String.format("bytes %d-%d/%d", start, end, file.length))
+                    .withBody(Arrays.copyOfRange(file, start, end + 1));
+        });
+    }
+
+    private Path write(String name, byte[] bytes) throws IOException {
+        return Files.write(testStorage.resolve(name), bytes);
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Makes a zip with the given entries stored (so their data can be found in the file), after the given prefix.
+     */
+    private static byte[] zip(byte[] prefix, Map<String, byte[]> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(prefix);
+
+        try (ZipOutputStream zos = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                CRC32 crc = new CRC32();
+                crc.update(entry.getValue());
+
+                ZipEntry zipEntry = new ZipEntry(entry.getKey());
+                zipEntry.setMethod(ZipEntry.STORED);
+                zipEntry.setSize(entry.getValue().length);
+                zipEntry.setCompressedSize(entry.getValue().length);
+                zipEntry.setCrc(crc.getValue());
+                zipEntry.setTime(946684800000L);
+
+                zos.putNextEntry(zipEntry);
+                zos.write(entry.getValue());
+                zos.closeEntry();
+            }
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle) {
+        outer: for (int i = 0; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+
+            return i;
+        }
+
+        throw new IllegalArgumentException("Not found");
+    }
+}
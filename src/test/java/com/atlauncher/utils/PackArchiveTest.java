@@ -0,0 +1,202 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.atlauncher.TestEnvironment;
+
+public class PackArchiveTest {
+    private static final String CURSEFORGE_MANIFEST = "{\"manifestType\":\"minecraftModpack\",\"manifestVersion\":1,"
+            + "\"name\":\"Test Pack\",\"overrides\":\"overrides\",\"files\":[]}";
+    private static final String MODRINTH_INDEX = "{\"formatVersion\":1,\"game\":\"minecraft\",\"name\":\"Test Pack\","
+            + "\"files\":[],\"dependencies\":{\"minecraft\":\"1.19.2\"}}";
+    private static final String MMC_PACK = "{\"formatVersion\":1,\"components\":[{\"uid\":\"net.minecraft\","
+            + "\"version\":\"1.19.2\"}]}";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path testStorage;
+
+    @Before
+    public void setUp() throws Exception {
+        TestEnvironment.setUp();
+        testStorage = temporaryFolder.newFolder("ATLauncherTests").toPath();
+    }
+
+    @Test
+    public void testOpenCurseForgeArchive() throws Exception {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("manifest.json", CURSEFORGE_MANIFEST);
+        files.put("modlist.html", "<ul></ul>");
+        files.put("overrides/config/test.cfg", "enabled=true");
+        files.put("overrides/options.txt", "fov:0.0");
+
+        PackArchive archive = PackArchive.open(writeZip("pack.zip", files));
+
+        assertTrue(archive.hasFile("manifest.json"));
+        assertFalse(archive.hasFile("modrinth.index.json"));
+        assertEquals(CURSEFORGE_MANIFEST, archive.getFile("manifest.json"));
+        assertTrue(archive.hasDirectory("overrides"));
+        assertFalse(archive.hasDirectory("mods"));
+        assertEquals(Collections.singletonList("options.txt"), archive.listFiles("overrides"));
+        assertNull(archive.getSingleTopLevelFolder());
+
+        Path instance = testStorage.resolve("instance");
+        archive.extractDirectory("overrides", instance);
+
+        assertEquals("enabled=true", read(instance.resolve("config/test.cfg")));
+        assertEquals("fov:0.0", read(instance.resolve("options.txt")));
+        assertFalse(Files.exists(instance.resolve("manifest.json")));
+    }
+
+    @Test
+    public void testOpenModrinthArchive() throws Exception {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("modrinth.index.json", MODRINTH_INDEX);
+        files.put("overrides/config/test.cfg", "enabled=true");
+        files.put("client-overrides/options.txt", "fov:0.0");
+
+        PackArchive archive = PackArchive.open(writeZip("pack.mrpack", files));
+
+        assertTrue(archive.hasFile("modrinth.index.json"));
+        assertFalse(archive.hasFile("manifest.json"));
+        assertEquals(MODRINTH_INDEX, archive.getFile("modrinth.index.json"));
+
+        Path instance = testStorage.resolve("instance");
+        archive.extractDirectory("overrides", instance);
+        archive.extractDirectory("client-overrides", instance);
+
+        assertEquals("enabled=true", read(instance.resolve("config/test.cfg")));
+        assertEquals("fov:0.0", read(instance.resolve("options.txt")));
+    }
+
+    @Test
+    public void testOpenMultiMCArchive() throws Exception {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("Test Pack/instance.cfg", "name=Test Pack");
+        files.put("Test Pack/mmc-pack.json", MMC_PACK);
+        files.put("Test Pack/.minecraft/config/test.cfg", "enabled=true");
+        files.put("Test Pack/.minecraft/mods/test.jar", "not really a jar");
+
+        PackArchive archive = PackArchive.open(writeZip("pack.zip", files));
+
+        assertFalse(archive.hasFile("mmc-pack.json"));
+        assertEquals("Test Pack", archive.getSingleTopLevelFolder());
+
+        PackArchive pack = archive.withRoot(archive.getSingleTopLevelFolder());
+
+        assertTrue(pack.hasFile("mmc-pack.json"));
+        assertEquals(MMC_PACK, pack.getFile("mmc-pack.json"));
+        assertEquals("name=Test Pack", pack.getFile("instance.cfg"));
+        assertTrue(pack.hasDirectory(".minecraft/mods"));
+        assertEquals(Collections.singletonList("test.jar"), pack.listFiles(".minecraft/mods"));
+        assertNull(pack.getSingleTopLevelFolder());
+
+        Path instance = testStorage.resolve("instance");
+        pack.extractDirectory(".minecraft", instance);
+
+        assertEquals("enabled=true", read(instance.resolve("config/test.cfg")));
+        assertEquals("not really a jar", read(instance.resolve("mods/test.jar")));
+    }
+
+    @Test
+    public void testGetFile() throws Exception {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("manifest.json", CURSEFORGE_MANIFEST);
+        files.put("overrides/config/test.cfg", "enabled=true");
+
+        PackArchive archive = PackArchive.open(writeZip("pack.zip", files));
+
+        assertEquals("enabled=true", archive.getFile("overrides/config/test.cfg"));
+        assertNull(archive.getFile("overrides/config/missing.cfg"));
+    }
+
+    @Test
+    public void testOpenWithWindowsSeparators() throws Exception {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("manifest.json", CURSEFORGE_MANIFEST);
+        files.put("overrides\\config\\test.cfg", "enabled=true");
+
+        PackArchive archive = PackArchive.open(writeZip("pack.zip", files));
+
+        assertTrue(archive.hasFile("overrides/config/test.cfg"));
+        assertEquals("enabled=true", archive.getFile("overrides/config/test.cfg"));
+
+        Path instance = testStorage.resolve("instance");
+        archive.extractDirectory("overrides", instance);
+
+        assertEquals("enabled=true", read(instance.resolve("config/test.cfg")));
+    }
+
+    @Test
+    public void testExtractDirectorySkipsFilesOutsideOfTheTarget() throws Exception {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("manifest.json", CURSEFORGE_MANIFEST);
+        files.put("overrides/options.txt", "fov:0.0");
+        files.put("overrides/../../escaped.txt", "escaped");
+
+        PackArchive archive = PackArchive.open(writeZip("pack.zip", files));
+
+        Path instance = testStorage.resolve("instances/instance");
+        archive.extractDirectory("overrides", instance);
+
+        List<String> extracted = Arrays.asList(instance.toFile().list());
+        assertEquals(Collections.singletonList("options.txt"), extracted);
+        assertFalse(Files.exists(testStorage.resolve("escaped.txt")));
+    }
+
+    private Path writeZip(String name, Map<String, String> files) throws IOException {
+        Path zip = testStorage.resolve(name);
+
+        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(zip))) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                zos.putNextEntry(new ZipEntry(file.getKey()));
+                zos.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+
+        return zip;
+    }
+
+    private static String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * ATLauncher - https://github.com/ATLauncher/ATLauncher
+ * Copyright (C) 2013-2022 ATLauncher
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.atlauncher.utils.javafinder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.atlauncher.TestEnvironment;
+import com.atlauncher.utils.OS;
+
+public class JavaInfoCacheTest {
+    private static final String VERSION_OUTPUT = "echo 'openjdk version \"17.0.2\" 2022-01-18' >&2\n"
+            + "echo 'OpenJDK 64-Bit Server VM (build 17.0.2+8, mixed mode, sharing)' >&2\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path testStorage;
+
+    @Before
+    public void setUp() throws Exception {
+        // the Java installs are stubbed with shell scripts
+        assumeFalse(OS.isWindows());
+
+        TestEnvironment.setUp();
+        testStorage = temporaryFolder.newFolder("ATLauncherTests").toPath();
+    }
+
+    @Test
+    public void testGetJavaInfosProbesInParallel() throws Exception {
+        // the CPU pool always has at least 2 threads, so these take 3 seconds together rather than 6 one by one
+        List<String> javas = Arrays.asList(writeStubJava("java1", "sleep 3\n" + VERSION_OUTPUT),
+                writeStubJava("java2", "sleep 3\n" + VERSION_OUTPUT));
+
+        long started = System.nanoTime();
+        List<JavaInfo> javaInfos = JavaFinder.getJavaInfos(javas);
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started);
+
+        assertTrue("Took " + seconds + " seconds", seconds < 5);
+        assertEquals(2, javaInfos.size());
+
+        for (JavaInfo javaInfo : javaInfos) {
+            assertEquals("17.0.2", javaInfo.version);
+            assertEquals(Integer.valueOf(17), javaInfo.majorVersion);
+            assertTrue(javaInfo.is64bits);
+        }
+    }
+
+    @Test
+    public void testGetVersionInfoGivesUpOnHangingJava() throws Exception {
+        String java = writeStubJava("hanging", "exec sleep 60\n");
+
+        long started = System.nanoTime();
+        String versionInfo = JavaInfoCache.getVersionInfo(java);
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started);
+
+        assertEquals("", versionInfo);
+        assertTrue("Took " + seconds + " seconds", seconds < 30);
+
+        // it was started, rather than failing to run at all
+        assertEquals(1, getRuns(java));
+    }
+
+    @Test
+    public void testGetVersionInfoUsesCache() throws Exception {
+        String java = writeStubJava("java", VERSION_OUTPUT);
+
+        String versionInfo = JavaInfoCache.getVersionInfo(java);
+
+        assertTrue(versionInfo.contains("17.0.2"));
+        assertEquals(versionInfo, JavaInfoCache.getVersionInfo(java));
+        assertEquals(1, getRuns(java));
+    }
+
+    @Test
+    public void testGetVersionInfoProbesAgainWhenJavaChanges() throws Exception {
+        String java = writeStubJava("java", VERSION_OUTPUT);
+
+        JavaInfoCache.getVersionInfo(java);
+        assertEquals(1, getRuns(java));
+
+        // a different size
+        writeStubJava("java", VERSION_OUTPUT.replace("17.0.2", "17.0.3"));
+        assertTrue(JavaInfoCache.getVersionInfo(java).contains("17.0.3"));
+        assertEquals(2, getRuns(java));
+
+        // the same size, but modified since
+        writeStubJava("java", VERSION_OUTPUT.replace("17.0.2", "17.0.4"));
+        Files.setLastModifiedTime(testStorage.resolve("java/bin/java"),
+                FileTime.fromMillis(System.currentTimeMillis() + 60000));
+        assertTrue(JavaInfoCache.getVersionInfo(java).contains("17.0.4"));
+        assertEquals(3, getRuns(java));
+
+        assertTrue(JavaInfoCache.getVersionInfo(java).contains("17.0.4"));
+        assertEquals(3, getRuns(java));
+    }
+
+    /**
+     * Writes a script to stand in for a Java install, which records each time it's run then runs the given commands.
+     */
+    private String writeStubJava(String name, String commands) throws IOException {
+        Path java = testStorage.resolve(name).resolve("bin/java");
+        Files.createDirectories(java.getParent());
+
+        Files.write(java, String.format("#!/bin/sh\necho run >> \"%s\"\n%s", getRunsFile(java), commands)
+                .getBytes(StandardCharsets.UTF_8));
+        Files.setPosixFilePermissions(java, PosixFilePermissions.fromString("rwxr-xr-x"));
+
+        return java.toString();
+    }
+
+    private int getRuns(String java) throws IOException {
+        return Files.readAllLines(getRunsFile(testStorage.resolve(java))).size();
+    }
+
+    private static Path getRunsFile(Path java) {
+        return java.resolveSibling("runs.txt");
+    }
+}